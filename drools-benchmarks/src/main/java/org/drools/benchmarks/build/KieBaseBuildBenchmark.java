@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.build;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Customer;
+import org.drools.benchmarks.domain.Order;
+import org.kie.api.KieBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to compile a set of rules and build the network of the resulting KieBase.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KieBaseBuildBenchmark {
+
+    @Param({"100", "1000"})
+    private int rulesNr;
+
+    private String drl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        drl = generateRules( rulesNr );
+    }
+
+    @Benchmark
+    public KieBase buildKieBase() {
+        return BenchmarkUtil.buildKieBase( drl );
+    }
+
+    static String generateRules( int rulesNr ) {
+        StringBuilder sb = new StringBuilder( BenchmarkUtil.imports( Customer.class, Order.class ) );
+        for (int i = 0; i < rulesNr; i++) {
+            sb.append( "rule R" ).append( i ).append( " when\n" )
+              .append( "  $c : Customer( category == \"category" ).append( i % 10 ).append( "\", $id : id )\n" )
+              .append( "  Order( customerId == $id, amount > " ).append( i ).append( " )\n" )
+              .append( "then end\n" );
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.build;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.compiler.builder.conf.ParallelBuildPoolSizeOption;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.builder.CompositeKnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
+import org.kie.internal.io.ResourceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the build of a KieBase made of many DRL files, each one in its own package, comparing
+ * the sequential build with the parallel parsing and rules building on pools of different sizes.
+ * The pool size 0 uses a pool with as many threads as the available processors.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelKieBaseBuildBenchmark {
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"0", "2", "4"})
+    private int poolSize;
+
+    @Param({"16"})
+    private int drlsNr;
+
+    @Param({"250"})
+    private int rulesPerDrl;
+
+    private String[] drls;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        drls = new String[drlsNr];
+        for (int i = 0; i < drlsNr; i++) {
+            drls[i] = "package org.drools.benchmarks.generated" + i + ";\n" + KieBaseBuildBenchmark.generateRules( rulesPerDrl );
+        }
+    }
+
+    @Benchmark
+    public KieBase buildKieBase() {
+        Properties properties = new Properties();
+        properties.setProperty( ParallelRulesBuildThresholdOption.PROPERTY_NAME, parallel ? "10" : "-1" );
+        properties.setProperty( ParallelBuildPoolSizeOption.PROPERTY_NAME, String.valueOf( poolSize ) );
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder( KnowledgeBuilderFactory.newKnowledgeBuilderConfiguration( properties ) );
+
+        CompositeKnowledgeBuilder batch = kbuilder.batch();
+        for (int i = 0; i < drls.length; i++) {
+            batch.add( ResourceFactory.newByteArrayResource( drls[i].getBytes() ).setSourcePath( "rules" + i + ".drl" ), ResourceType.DRL );
+        }
+        batch.build();
+        if ( kbuilder.hasErrors() ) {
+            throw new IllegalStateException( kbuilder.getErrors().toString() );
+        }
+
+        InternalKnowledgeBase kieBase = KnowledgeBaseFactory.newKnowledgeBase();
+        kieBase.addPackages( kbuilder.getKnowledgePackages() );
+        return kieBase;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.benchmarks.domain.Customer;
+import org.drools.benchmarks.domain.Order;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.conf.KieBaseOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.internal.utils.KieHelper;
+
+public final class BenchmarkUtil {
+
+    private BenchmarkUtil() { }
+
+    public static String imports( Class<?>... classes ) {
+        StringBuilder sb = new StringBuilder();
+        for (Class<?> clazz : classes) {
+            sb.append( "import " ).append( clazz.getCanonicalName() ).append( ";\n" );
+        }
+        return sb.toString();
+    }
+
+    public static KieBase buildKieBase( String drl, KieBaseOption... options ) {
+        return new KieHelper().addContent( drl, ResourceType.DRL ).build( options );
+    }
+
+    public static KieSession newPseudoClockSession( KieBase kieBase ) {
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setOption( ClockTypeOption.get( "pseudo" ) );
+        return kieBase.newKieSession( conf, null );
+    }
+
+    public static List<Customer> createCustomers( int nr, int categories ) {
+        List<Customer> customers = new ArrayList<>( nr );
+        for (int i = 0; i < nr; i++) {
+            customers.add( new Customer( i, "customer" + i, "category" + ( i % categories ) ) );
+        }
+        return customers;
+    }
+
+    /**
+     * Creates the given number of orders evenly distributed among the given number of customers
+     */
+    public static List<Order> createOrders( int nr, int customersNr ) {
+        List<Order> orders = new ArrayList<>( nr );
+        for (int i = 0; i < nr; i++) {
+            orders.add( new Order( i, i % customersNr, i % 1000 ) );
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.domain;
+
+public class Product {
+
+    private final int id;
+    private String category;
+    private String color;
+    private int size;
+    private String brand;
+
+    public Product( int id, String category, String color, int size, String brand ) {
+        this.id = id;
+        this.category = category;
+        this.color = color;
+        this.size = size;
+        this.brand = brand;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory( String category ) {
+        this.category = category;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor( String color ) {
+        this.color = color;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize( int size ) {
+        this.size = size;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand( String brand ) {
+        this.brand = brand;
+    }
+
+    @Override
+    public String toString() {
+        return "Product[" + id + ", " + category + ", " + color + ", " + size + ", " + brand + "]";
+    }
+}
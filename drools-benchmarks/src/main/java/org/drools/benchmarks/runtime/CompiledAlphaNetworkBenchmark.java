@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.runtime;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Customer;
+import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
+import org.drools.compiler.reteoo.compiled.ObjectTypeNodeCompiler;
+import org.drools.core.InitialFact;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.io.ResourceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the insertion of facts in a network with thousands of literal alpha constraints, with and without
+ * the compiled alpha network.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompiledAlphaNetworkBenchmark {
+
+    private static final int CATEGORIES_NR = 100;
+
+    @Param({"false", "true"})
+    private boolean compiled;
+
+    @Param({"10000"})
+    private int rulesNr;
+
+    @Param({"10000"})
+    private int factsNr;
+
+    private InternalKnowledgeBase kieBase;
+    private List<Customer> customers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        KnowledgeBuilderImpl kbuilder = (KnowledgeBuilderImpl) KnowledgeBuilderFactory.newKnowledgeBuilder();
+        kbuilder.add( ResourceFactory.newByteArrayResource( getDrl().getBytes() ), ResourceType.DRL );
+        if ( kbuilder.hasErrors() ) {
+            throw new IllegalStateException( kbuilder.getErrors().toString() );
+        }
+        kieBase = KnowledgeBaseFactory.newKnowledgeBase();
+        kieBase.addPackages( kbuilder.getKnowledgePackages() );
+
+        if ( compiled ) {
+            List<ObjectTypeNode> otns = kieBase.getRete().getEntryPointNodes().values().stream()
+                    .flatMap( ep -> ep.getObjectTypeNodes().values().stream() )
+                    .filter( otn -> !InitialFact.class.isAssignableFrom( otn.getObjectType().getClassType() ) )
+                    .collect( Collectors.toList() );
+            ObjectTypeNodeCompiler.compile( kbuilder, otns ).forEach( ObjectTypeNode::setCompiledNetwork );
+        }
+
+        customers = BenchmarkUtil.createCustomers( factsNr, CATEGORIES_NR );
+    }
+
+    private String getDrl() {
+        StringBuilder sb = new StringBuilder( BenchmarkUtil.imports( Customer.class ) );
+        for (int i = 0; i < rulesNr; i++) {
+            sb.append( "rule R" ).append( i ).append( " when\n" )
+              .append( "  Customer( category == \"category" ).append( i % CATEGORIES_NR )
+              .append( "\", name == \"customer" ).append( i ).append( "\" )\n" )
+              .append( "then end\n" );
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public int insert() {
+        KieSession ksession = kieBase.newKieSession();
+        try {
+            for (Customer customer : customers) {
+                ksession.insert( customer );
+            }
+            return ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
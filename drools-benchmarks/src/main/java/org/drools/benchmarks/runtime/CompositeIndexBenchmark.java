@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Product;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.conf.CompositeKeyDepthOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a join with 4 equality constraints when only the first one is used to index the beta memories
+ * (compositeKeyDepth = 1), when the first three are (compositeKeyDepth = 3) and when all of them are part
+ * of the composite key (compositeKeyDepth = 4), then modifies a key of each fact to move it to another bucket.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompositeIndexBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( Product.class ) +
+            "rule R when\n" +
+            "  $p1 : Product( $category : category, $color : color, $size : size, $brand : brand )\n" +
+            "  $p2 : Product( category == $category, color == $color, size == $size, brand == $brand, this != $p1 )\n" +
+            "then end\n";
+
+    @Param({"1", "3", "4"})
+    private int compositeKeyDepth;
+
+    @Param({"20000"})
+    private int factsNr;
+
+    // the cardinality of each single key: the lower it is, the bigger the buckets of a single column index
+    @Param({"10"})
+    private int keyCardinality;
+
+    private KieBase kieBase;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kieBase = BenchmarkUtil.buildKieBase( DRL, CompositeKeyDepthOption.get( compositeKeyDepth ) );
+        products = new ArrayList<>( factsNr );
+        for (int i = 0; i < factsNr; i++) {
+            int key = i;
+            String category = "category" + ( key % keyCardinality );
+            key /= keyCardinality;
+            String color = "color" + ( key % keyCardinality );
+            key /= keyCardinality;
+            int size = key % keyCardinality;
+            key /= keyCardinality;
+            products.add( new Product( i, category, color, size, "brand" + ( key % keyCardinality ) ) );
+        }
+    }
+
+    @Benchmark
+    public int insertUpdateAndFire() {
+        KieSession ksession = kieBase.newKieSession();
+        try {
+            FactHandle[] handles = new FactHandle[factsNr];
+            for (int i = 0; i < factsNr; i++) {
+                handles[i] = ksession.insert( products.get( i ) );
+            }
+            int fired = ksession.fireAllRules();
+            for (int i = 0; i < factsNr; i++) {
+                Product product = products.get( i );
+                product.setSize( ( product.getSize() + 1 ) % keyCardinality );
+                ksession.update( handles[i], product );
+            }
+            return fired + ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
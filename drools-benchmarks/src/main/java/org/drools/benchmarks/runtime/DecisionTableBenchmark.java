@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.runtime;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.impl.FEELImpl;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.decisiontables.DTDecisionRule;
+import org.kie.dmn.feel.runtime.decisiontables.DTInputClause;
+import org.kie.dmn.feel.runtime.decisiontables.DTOutputClause;
+import org.kie.dmn.feel.runtime.decisiontables.DecisionTableImpl;
+import org.kie.dmn.feel.runtime.decisiontables.DecisionTableIndex;
+import org.kie.dmn.feel.runtime.decisiontables.HitPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of a large UNIQUE decision table, with a string equality column and a numeric range column,
+ * scanning all its rules or looking up the candidate rules in its index.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DecisionTableBenchmark {
+
+    private static final int CATEGORIES = 100;
+    private static final int RANGE_WIDTH = 10;
+
+    @Param({"1000", "20000"})
+    private int rulesNr;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private FEEL feel;
+    private DecisionTableImpl decisionTable;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        feel = FEEL.newInstance();
+        CompilerContext compilerContext = feel.newCompilerContext()
+                .addInputVariableType("category", BuiltInType.STRING)
+                .addInputVariableType("amount", BuiltInType.NUMBER);
+
+        List<DTInputClause> inputs = Arrays.asList(
+                new DTInputClause("category", null, null, feel.compile("category", compilerContext), false),
+                new DTInputClause("amount", null, null, feel.compile("amount", compilerContext), false));
+        List<DTOutputClause> outputs = Collections.singletonList(new DTOutputClause("price", null));
+
+        List<DTDecisionRule> rules = new ArrayList<>();
+        List<List<String>> inputEntries = new ArrayList<>();
+        for (int i = 0; i < rulesNr; i++) {
+            int rangeStart = (i / CATEGORIES) * RANGE_WIDTH;
+            List<String> entries = Arrays.asList("\"c" + (i % CATEGORIES) + "\"",
+                                                 "[" + rangeStart + ".." + (rangeStart + RANGE_WIDTH) + ")");
+            DTDecisionRule rule = new DTDecisionRule(i);
+            for (String entry : entries) {
+                List<UnaryTest> tests = feel.evaluateUnaryTests(entry);
+                rule.getInputEntry().add((c, x) -> tests.stream().anyMatch(t -> {
+                    Boolean result = t.apply(c, x);
+                    return result != null && result;
+                }));
+            }
+            rule.getOutputEntry().add(feel.compile(String.valueOf(i), compilerContext));
+            rules.add(rule);
+            inputEntries.add(entries);
+        }
+
+        decisionTable = new DecisionTableImpl("prices", Arrays.asList("category", "amount"), inputs, outputs, rules, HitPolicy.UNIQUE, feel);
+        if (indexed) {
+            decisionTable.setIndex(DecisionTableIndex.build(inputs.size(), inputEntries));
+        }
+        random = new Random(0);
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        Map<String, Object> inputVariables = new HashMap<>();
+        inputVariables.put("category", "c" + random.nextInt(CATEGORIES));
+        inputVariables.put("amount", new BigDecimal(random.nextInt((rulesNr / CATEGORIES) * RANGE_WIDTH)));
+        return decisionTable.evaluate(((FEELImpl) feel).newEvaluationContext(Collections.emptyList(), inputVariables), null)
+                .getOrElse(null);
+    }
+}
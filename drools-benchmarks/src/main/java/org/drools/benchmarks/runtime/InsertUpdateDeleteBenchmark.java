@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Order;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the insertion, update and deletion of facts matched by alpha constraints
+ * only, exercising the EntryPointNode, the ObjectTypeNodes and the propagation queue.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertUpdateDeleteBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( Order.class ) +
+            "rule Big when\n" +
+            "  Order( amount > 500 )\n" +
+            "then end\n" +
+            "rule Small when\n" +
+            "  Order( amount <= 500 )\n" +
+            "then end\n";
+
+    @Param({"10000"})
+    private int factsNr;
+
+    private KieBase kieBase;
+    private List<Order> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kieBase = BenchmarkUtil.buildKieBase( DRL );
+        orders = BenchmarkUtil.createOrders( factsNr, factsNr );
+    }
+
+    @Benchmark
+    public int insert() {
+        KieSession ksession = kieBase.newKieSession();
+        try {
+            for (Order order : orders) {
+                ksession.insert( order );
+            }
+            return ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Benchmark
+    public int insertUpdateDelete() {
+        KieSession ksession = kieBase.newKieSession();
+        try {
+            List<FactHandle> handles = new ArrayList<>( factsNr );
+            for (Order order : orders) {
+                handles.add( ksession.insert( order ) );
+            }
+            int fired = ksession.fireAllRules();
+            for (int i = 0; i < factsNr; i++) {
+                ksession.update( handles.get( i ), orders.get( i ) );
+            }
+            fired += ksession.fireAllRules();
+            for (FactHandle handle : handles) {
+                ksession.delete( handle );
+            }
+            return fired + ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.runtime;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Customer;
+import org.drools.benchmarks.domain.Order;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the not and exists nodes, inserting and then deleting the facts that
+ * block or unblock the left tuples.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NotExistsBenchmark {
+
+    @Param({"not", "exists"})
+    private String operator;
+
+    @Param({"1000"})
+    private int customersNr;
+
+    @Param({"10"})
+    private int ordersPerCustomer;
+
+    private KieBase kieBase;
+    private List<Customer> customers;
+    private List<Order> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String drl =
+                BenchmarkUtil.imports( Customer.class, Order.class ) +
+                "rule R when\n" +
+                "  $c : Customer( $id : id )\n" +
+                "  " + operator + " Order( customerId == $id )\n" +
+                "then end\n";
+        kieBase = BenchmarkUtil.buildKieBase( drl );
+        customers = BenchmarkUtil.createCustomers( customersNr, 10 );
+        orders = BenchmarkUtil.createOrders( customersNr * ordersPerCustomer, customersNr );
+    }
+
+    @Benchmark
+    public int blockAndUnblock() {
+        KieSession ksession = kieBase.newKieSession();
+        try {
+            for (Customer customer : customers) {
+                ksession.insert( customer );
+            }
+            int fired = ksession.fireAllRules();
+            FactHandle[] handles = new FactHandle[orders.size()];
+            for (int i = 0; i < handles.length; i++) {
+                handles[i] = ksession.insert( orders.get( i ) );
+            }
+            fired += ksession.fireAllRules();
+            for (FactHandle handle : handles) {
+                ksession.delete( handle );
+            }
+            return fired + ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
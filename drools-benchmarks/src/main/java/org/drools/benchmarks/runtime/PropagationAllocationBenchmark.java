@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Customer;
+import org.drools.core.SessionConfiguration;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a stream of insertions, updates and deletions with and without the recycling of the propagation entries.
+ * Run it with "-prof gc" to compare the allocation rate (gc.alloc.rate.norm) of the 2 configurations.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PropagationAllocationBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( Customer.class ) +
+            "rule R when\n" +
+            "  Customer( category == \"category1\" )\n" +
+            "then end\n";
+
+    @Param({"false", "true"})
+    private boolean recycle;
+
+    @Param({"1000"})
+    private int factsNr;
+
+    private KieSession ksession;
+    private List<Customer> customers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        KieBase kieBase = BenchmarkUtil.buildKieBase( DRL );
+        Properties properties = new Properties();
+        properties.setProperty( SessionConfiguration.RECYCLE_PROPAGATION_ENTRIES_PROPERTY, Boolean.toString( recycle ) );
+        ksession = kieBase.newKieSession( SessionConfiguration.newInstance( properties ), null );
+        customers = BenchmarkUtil.createCustomers( factsNr, 10 );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public int insertUpdateDelete() {
+        List<FactHandle> handles = new ArrayList<>( factsNr );
+        for (Customer customer : customers) {
+            handles.add( ksession.insert( customer ) );
+        }
+        int fired = ksession.fireAllRules();
+        for (int i = 0; i < factsNr; i++) {
+            ksession.update( handles.get( i ), customers.get( i ) );
+        }
+        fired += ksession.fireAllRules();
+        for (FactHandle handle : handles) {
+            ksession.delete( handle );
+        }
+        return fired + ksession.fireAllRules();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Customer;
+import org.drools.benchmarks.domain.Order;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the execution of a parametrized query joining 2 patterns on a session whose content doesn't change.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QueryBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( Customer.class, Order.class ) +
+            "query ordersOf( int $id )\n" +
+            "  $c : Customer( id == $id )\n" +
+            "  $o : Order( customerId == $id )\n" +
+            "end\n";
+
+    @Param({"1000"})
+    private int customersNr;
+
+    @Param({"10"})
+    private int ordersPerCustomer;
+
+    private KieSession ksession;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        KieBase kieBase = BenchmarkUtil.buildKieBase( DRL );
+        ksession = kieBase.newKieSession();
+        for (Customer customer : BenchmarkUtil.createCustomers( customersNr, 10 )) {
+            ksession.insert( customer );
+        }
+        for (Order order : BenchmarkUtil.createOrders( customersNr * ordersPerCustomer, customersNr )) {
+            ksession.insert( order );
+        }
+        ksession.fireAllRules();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public int queryAllCustomers() {
+        int results = 0;
+        for (int i = 0; i < customersNr; i++) {
+            results += ksession.getQueryResults( "ordersOf", i ).size();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.benchmarks.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.Order;
+import org.drools.core.marshalling.impl.MarshallingConfigurationImpl;
+import org.drools.core.marshalling.impl.StreamingSnapshotMarshaller;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.marshalling.Marshaller;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the protobuf and the streaming snapshot formats marshalling a session holding a large number
+ * of facts to a file and restoring it. The size of the snapshot is printed at the beginning of each trial.
+ * Run it with "-prof gc" to also compare the memory allocated by the 2 formats.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SessionMarshallingBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( Order.class ) +
+            "rule Big when\n" +
+            "  Order( amount > 500 )\n" +
+            "then end\n";
+
+    @Param({"protobuf", "streaming"})
+    private String format;
+
+    @Param({"100000"})
+    private int factsNr;
+
+    private KieSession ksession;
+    private Marshaller protobufMarshaller;
+    private StreamingSnapshotMarshaller streamingMarshaller;
+    private File snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        KieBase kieBase = BenchmarkUtil.buildKieBase( DRL );
+        ksession = kieBase.newKieSession();
+        for (Order order : BenchmarkUtil.createOrders( factsNr, factsNr )) {
+            ksession.insert( order );
+        }
+
+        protobufMarshaller = KieServices.get().getMarshallers().newMarshaller( kieBase );
+        streamingMarshaller = new StreamingSnapshotMarshaller( kieBase, new MarshallingConfigurationImpl() );
+
+        snapshot = File.createTempFile( "session", ".snapshot" );
+        System.out.println( "\n" + format + " snapshot of " + factsNr + " facts: " + marshall() + " bytes" );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ksession.dispose();
+        snapshot.delete();
+    }
+
+    @Benchmark
+    public long marshall() throws IOException {
+        if ( "streaming".equals( format ) ) {
+            try (FileChannel channel = FileChannel.open( snapshot.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING )) {
+                streamingMarshaller.marshall( channel, ksession );
+            }
+        } else {
+            try (OutputStream out = new BufferedOutputStream( new FileOutputStream( snapshot ) )) {
+                protobufMarshaller.marshall( out, ksession );
+            }
+        }
+        return snapshot.length();
+    }
+
+    @Benchmark
+    public long unmarshall() throws IOException, ClassNotFoundException {
+        KieSession restored;
+        if ( "streaming".equals( format ) ) {
+            try (FileChannel channel = FileChannel.open( snapshot.toPath(), StandardOpenOption.READ )) {
+                restored = streamingMarshaller.unmarshall( channel );
+            }
+        } else {
+            try (InputStream in = new BufferedInputStream( new FileInputStream( snapshot ) )) {
+                restored = protobufMarshaller.unmarshall( in );
+            }
+        }
+        long factCount = restored.getFactCount();
+        restored.dispose();
+        return factCount;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.time.SessionPseudoClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a stream of events accumulated over a sliding window, advancing a pseudo clock so that
+ * the events continuously enter and expire from the window.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlidingWindowBenchmark {
+
+    @Param({"time", "length"})
+    private String windowType;
+
+    @Param({"10000"})
+    private int eventsNr;
+
+    @Param({"10"})
+    private int symbolsNr;
+
+    private KieBase kieBase;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String window = windowType.equals( "time" ) ? "window:time( 10s )" : "window:length( 1000 )";
+        String drl =
+                BenchmarkUtil.imports( StockTick.class ) +
+                "declare StockTick @role( event ) end\n" +
+                "rule Avg when\n" +
+                "  accumulate( StockTick( symbol == \"S0\", $p : price ) over " + window + "; $avg : average( $p ) )\n" +
+                "then end\n";
+        kieBase = BenchmarkUtil.buildKieBase( drl, EventProcessingOption.STREAM );
+    }
+
+    @Benchmark
+    public int insertEvents() {
+        KieSession ksession = BenchmarkUtil.newPseudoClockSession( kieBase );
+        try {
+            SessionPseudoClock clock = ksession.getSessionClock();
+            int fired = 0;
+            for (int i = 0; i < eventsNr; i++) {
+                ksession.insert( new StockTick( "S" + ( i % symbolsNr ), i % 100 ) );
+                clock.advanceTime( 10, TimeUnit.MILLISECONDS );
+                if (i % 100 == 0) {
+                    fired += ksession.fireAllRules();
+                }
+            }
+            return fired + ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
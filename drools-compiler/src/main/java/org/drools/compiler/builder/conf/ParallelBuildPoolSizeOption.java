@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.builder.conf;
+
+import org.kie.internal.builder.conf.SingleValueKnowledgeBuilderOption;
+
+/**
+ * An option to define the number of threads used to parse and compile the rules in parallel.
+ * With the default value 0 the builders share a pool with as many threads as the available processors,
+ * while a positive value makes each build use its own pool of that size, shut down at the end of the build.
+ */
+public class ParallelBuildPoolSizeOption implements SingleValueKnowledgeBuilderOption {
+
+    private static final long serialVersionUID = 510l;
+
+    /**
+     * The property name for the parallel build pool size
+     */
+    public static final String PROPERTY_NAME = "drools.parallelBuildPoolSize";
+
+    /**
+     * The shared pool sized on the available processors
+     */
+    public static final ParallelBuildPoolSizeOption SHARED = new ParallelBuildPoolSizeOption( 0 );
+
+    private final int poolSize;
+
+    private ParallelBuildPoolSizeOption( int poolSize ) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * This is a factory method for this parallel build pool size configuration.
+     * The factory method is a best practice for the case where the
+     * actual object construction is changed in the future.
+     *
+     * @param poolSize the number of threads of the pool, or 0 to use the shared pool
+     *
+     * @return the actual type safe parallel build pool size configuration.
+     */
+    public static ParallelBuildPoolSizeOption get( int poolSize ) {
+        if ( poolSize < 0 ) {
+            throw new IllegalArgumentException( "The parallel build pool size can't be negative: " + poolSize );
+        }
+        return poolSize == 0 ? SHARED : new ParallelBuildPoolSizeOption( poolSize );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return poolSize;
+    }
+
+    @Override
+    public boolean equals( Object obj ) {
+        if ( this == obj ) {
+            return true;
+        }
+        if ( obj == null || getClass() != obj.getClass() ) {
+            return false;
+        }
+        return poolSize == ((ParallelBuildPoolSizeOption) obj).poolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelBuildPoolSizeOption( " + poolSize + " )";
+    }
+}
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import org.drools.compiler.lang.descr.CompositePackageDescr;
 import org.drools.compiler.lang.descr.PackageDescr;
 import org.drools.core.builder.conf.impl.JaxbConfigurationImpl;
+import org.drools.core.io.impl.DescrResource;
 import org.kie.api.io.Resource;
 import org.kie.api.io.ResourceConfiguration;
 import org.kie.api.io.ResourceType;
@@ -45,6 +46,8 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
 
     public ResourceType currentType = null;
 
+    private static final ResourceType[] DRL_RESOURCE_TYPES = { ResourceType.DRL, ResourceType.GDRL, ResourceType.RDRL, ResourceType.TDRL };
+
     public CompositeKnowledgeBuilderImpl(KnowledgeBuilderImpl kBuilder) {
         this.kBuilder = kBuilder;
     }
@@ -174,6 +177,7 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
     }
 
     private Collection<CompositePackageDescr> buildPackageDescr() {
+        parseDrlsInParallel();
         Map<String, CompositePackageDescr> packages = new HashMap<>();
         buildResource(packages, ResourceType.DRL, ResourceToPkgDescrMapper.DRL_TO_PKG_DESCR);
         buildResource(packages, ResourceType.GDRL,ResourceToPkgDescrMapper. DRL_TO_PKG_DESCR);
@@ -190,6 +194,30 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
         return packages.values();
     }
 
+    /**
+     * Parses all the DRL resources in parallel ahead of time. The resulting packages are still registered
+     * one by one in the order of the resources, so the outcome of the build doesn't depend on the parsing order.
+     */
+    private void parseDrlsInParallel() {
+        if (!kBuilder.isParallelBuildEnabled()) {
+            return;
+        }
+        List<ResourceDescr> drlDescrs = new ArrayList<>();
+        for (ResourceType resourceType : DRL_RESOURCE_TYPES) {
+            List<ResourceDescr> resourceDescrs = this.resourcesByType.get(resourceType);
+            if (resourceDescrs != null) {
+                resourceDescrs.stream().filter(rd -> !(rd.resource instanceof DescrResource)).forEach(drlDescrs::add);
+            }
+        }
+        if (drlDescrs.size() < 2) {
+            return;
+        }
+        List<KnowledgeBuilderImpl.ParsedDrl> parsedDrls = kBuilder.parseDrls(drlDescrs.stream().map(rd -> rd.resource).collect(Collectors.toList()));
+        for (int i = 0; i < drlDescrs.size(); i++) {
+            drlDescrs.get(i).parsedDrl = parsedDrls.get(i);
+        }
+    }
+
     private void buildResource(Map<String, CompositePackageDescr> packages, ResourceType resourceType, ResourceToPkgDescrMapper mapper) {
         List<ResourceDescr> resourcesByType = this.resourcesByType.remove(resourceType);
         if (resourcesByType != null) {
@@ -230,6 +258,7 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
         final ResourceChangeSet changes;
         final Map<String, ResourceChange> changeMap;
         final ChangeType globalChangeType;
+        KnowledgeBuilderImpl.ParsedDrl parsedDrl;
 
         private ResourceDescr(ResourceConfiguration configuration, Resource resource, ResourceChangeSet changes) {
             this.configuration = configuration;
@@ -319,7 +348,7 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
     private interface ResourceToPkgDescrMapper {
         PackageDescr map(KnowledgeBuilderImpl kBuilder, ResourceDescr resourceDescr) throws Exception;
 
-        ResourceToPkgDescrMapper DRL_TO_PKG_DESCR = ( kBuilder, resourceDescr ) -> kBuilder.drlToPackageDescr(resourceDescr.resource);
+        ResourceToPkgDescrMapper DRL_TO_PKG_DESCR = ( kBuilder, resourceDescr ) -> kBuilder.drlToPackageDescr(resourceDescr.resource, resourceDescr.parsedDrl);
         ResourceToPkgDescrMapper TEMPLATE_TO_PKG_DESCR = ( kBuilder, resourceDescr ) -> kBuilder.templateToPackageDescr( resourceDescr.resource);
         ResourceToPkgDescrMapper DSLR_TO_PKG_DESCR = ( kBuilder, resourceDescr ) -> kBuilder.dslrToPackageDescr(resourceDescr.resource);
         ResourceToPkgDescrMapper XML_TO_PKG_DESCR = ( kBuilder, resourceDescr ) -> kBuilder.xmlToPackageDescr(resourceDescr.resource);
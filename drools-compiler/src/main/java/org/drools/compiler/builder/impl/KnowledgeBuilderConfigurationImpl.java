@@ -25,6 +25,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 
+import org.drools.compiler.builder.conf.ParallelBuildPoolSizeOption;
 import org.drools.compiler.compiler.Dialect;
 import org.drools.compiler.compiler.DialectCompiletimeRegistry;
 import org.drools.compiler.compiler.DialectConfiguration;
@@ -87,6 +88,7 @@ import org.slf4j.LoggerFactory;
  * drools.dump.dir = <String>
  * drools.classLoaderCacheEnabled = true|false
  * drools.parallelRulesBuildThreshold = <int>
+ * drools.parallelBuildPoolSize = <int>
  *
  * default dialect is java.
  * Available preconfigured Accumulate functions are:
@@ -116,6 +118,8 @@ public class KnowledgeBuilderConfigurationImpl
     
     private ParallelRulesBuildThresholdOption parallelRulesBuildThreshold = ParallelRulesBuildThresholdOption.get(DEFAULT_PARALLEL_RULES_BUILD_THRESHOLD);
 
+    private ParallelBuildPoolSizeOption       parallelBuildPoolSize = ParallelBuildPoolSizeOption.SHARED;
+
     private ClassLoader                       classLoader;
 
     private ChainedProperties                 chainedProperties;
@@ -233,6 +237,9 @@ public class KnowledgeBuilderConfigurationImpl
         setProperty(ParallelRulesBuildThresholdOption.PROPERTY_NAME,
         			this.chainedProperties.getProperty(ParallelRulesBuildThresholdOption.PROPERTY_NAME, 
         												String.valueOf(DEFAULT_PARALLEL_RULES_BUILD_THRESHOLD)));
+
+        setProperty(ParallelBuildPoolSizeOption.PROPERTY_NAME,
+                    this.chainedProperties.getProperty(ParallelBuildPoolSizeOption.PROPERTY_NAME, "0"));
         
         this.dialectConfigurations = new HashMap<String, DialectConfiguration>();
 
@@ -320,6 +327,8 @@ public class KnowledgeBuilderConfigurationImpl
             }
         } else if (name.equals(ParallelRulesBuildThresholdOption.PROPERTY_NAME)) {
         	setParallelRulesBuildThreshold(Integer.valueOf(value));
+        } else if (name.equals(ParallelBuildPoolSizeOption.PROPERTY_NAME)) {
+            setParallelBuildPoolSize(Integer.parseInt(value));
         }  else if (name.equals(ExternaliseCanonicalModelLambdaOption.PROPERTY_NAME)) {
             setExternaliseCanonicalModelLambda(Boolean.valueOf(value));
         } else {
@@ -366,6 +375,8 @@ public class KnowledgeBuilderConfigurationImpl
             return "" + getLanguageLevel();
         } else if (name.equals(ParallelRulesBuildThresholdOption.PROPERTY_NAME)) {
         	return String.valueOf(getParallelRulesBuildThreshold());
+        } else if (name.equals(ParallelBuildPoolSizeOption.PROPERTY_NAME)) {
+            return String.valueOf(getParallelBuildPoolSize());
         } else if (name.equals(ExternaliseCanonicalModelLambdaOption.PROPERTY_NAME)) {
         	return String.valueOf(isExternaliseCanonicalModelLambda());
         }
@@ -699,6 +710,14 @@ public class KnowledgeBuilderConfigurationImpl
     	this.parallelRulesBuildThreshold = ParallelRulesBuildThresholdOption.get(parallelRulesBuildThreshold);
     }
 
+    public int getParallelBuildPoolSize() {
+        return parallelBuildPoolSize.getPoolSize();
+    }
+
+    public void setParallelBuildPoolSize(int parallelBuildPoolSize) {
+        this.parallelBuildPoolSize = ParallelBuildPoolSizeOption.get(parallelBuildPoolSize);
+    }
+
     public String getDefaultPackageName() {
         return defaultPackageName;
     }
@@ -769,6 +788,8 @@ public class KnowledgeBuilderConfigurationImpl
             return (T) languageLevel;
         } else if (ExternaliseCanonicalModelLambdaOption.class.equals(option)) {
             return (T) (externaliseCanonicalModelLambda ? ExternaliseCanonicalModelLambdaOption.ENABLED : ExternaliseCanonicalModelLambdaOption.DISABLED);
+        } else if (ParallelBuildPoolSizeOption.class.equals(option)) {
+            return (T) parallelBuildPoolSize;
         }
         return null;
     }
@@ -830,6 +851,8 @@ public class KnowledgeBuilderConfigurationImpl
             this.languageLevel = ((LanguageLevelOption) option);
         } else if (option instanceof ExternaliseCanonicalModelLambdaOption) {
             this.externaliseCanonicalModelLambda = ((ExternaliseCanonicalModelLambdaOption) option).isCanonicalModelLambdaExternalized();
+        } else if (option instanceof ParallelBuildPoolSizeOption) {
+            this.parallelBuildPoolSize = (ParallelBuildPoolSizeOption) option;
         }
     }
 
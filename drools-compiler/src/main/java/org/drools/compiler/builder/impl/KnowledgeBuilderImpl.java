@@ -42,7 +42,9 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.drools.compiler.builder.DroolsAssemblerContext;
 import org.drools.compiler.builder.impl.errors.MissingImplementationException;
@@ -538,13 +540,21 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder,
 
     PackageDescr drlToPackageDescr(Resource resource) throws DroolsParserException,
             IOException {
+        return drlToPackageDescr(resource, null);
+    }
+
+    PackageDescr drlToPackageDescr(Resource resource, ParsedDrl parsedDrl) throws DroolsParserException,
+            IOException {
         PackageDescr pkg;
         boolean hasErrors = false;
         if (resource instanceof DescrResource) {
             pkg = (PackageDescr) ((DescrResource) resource).getDescr();
         } else {
-            final DrlParser parser = new DrlParser(configuration.getLanguageLevel());
-            pkg = parser.parse(resource);
+            if (parsedDrl == null) {
+                parsedDrl = parseDrl(resource);
+            }
+            final DrlParser parser = parsedDrl.parser;
+            pkg = parsedDrl.getPackageDescr();
             this.results.addAll(parser.getErrors());
             if (pkg == null) {
                 addBuilderResult(new ParserError(resource, "Parser returned a null Package", 0, 0));
@@ -557,6 +567,64 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder,
         return hasErrors ? null : pkg;
     }
 
+    /**
+     * Parses a DRL resource without changing the state of this builder, so it can be invoked concurrently.
+     * The parser errors are added to the results only when the parsed resource is turned into a package.
+     */
+    ParsedDrl parseDrl(Resource resource) {
+        DrlParser parser = new DrlParser(configuration.getLanguageLevel());
+        try {
+            return new ParsedDrl(parser, parser.parse(resource), null);
+        } catch (DroolsParserException | IOException | RuntimeException e) {
+            return new ParsedDrl(parser, null, e);
+        }
+    }
+
+    /**
+     * Parses the given DRL resources in parallel, returning the parsing results in the same order of the resources,
+     * so they can be merged into this builder deterministically
+     */
+    List<ParsedDrl> parseDrls(List<Resource> resources) {
+        try {
+            return invokeInBuildPool(ForkJoinTask.adapt(() ->
+                    resources.stream().parallel()
+                            .map(this::parseDrl)
+                            .collect(Collectors.toList())
+            ));
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("DRL parsing failed or interrupted", e);
+        }
+    }
+
+    boolean isParallelBuildEnabled() {
+        return parallelRulesBuildThreshold != -1;
+    }
+
+    static class ParsedDrl {
+        private final DrlParser parser;
+        private final PackageDescr packageDescr;
+        private final Exception failure;
+
+        private ParsedDrl(DrlParser parser, PackageDescr packageDescr, Exception failure) {
+            this.parser = parser;
+            this.packageDescr = packageDescr;
+            this.failure = failure;
+        }
+
+        private PackageDescr getPackageDescr() throws DroolsParserException, IOException {
+            if (failure instanceof DroolsParserException) {
+                throw (DroolsParserException) failure;
+            }
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+            return packageDescr;
+        }
+    }
+
     /**
      * Load a rule package from XML source.
      *
@@ -1111,12 +1179,29 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder,
         private static ForkJoinPool COMPILER_POOL = new ForkJoinPool(); // avoid common pool
     }
 
+    /**
+     * Runs the given task in the shared compiler pool or, when a parallel build pool size is configured,
+     * in a pool of that size owned by this task and shut down as soon as it completes
+     */
+    private <T> T invokeInBuildPool(ForkJoinTask<T> task) throws InterruptedException, ExecutionException {
+        int poolSize = configuration.getParallelBuildPoolSize();
+        if (poolSize <= 0) {
+            return ForkJoinPoolHolder.COMPILER_POOL.submit(task).get();
+        }
+        ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+            return pool.submit(task).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private void compileRulesLevel(PackageDescr packageDescr, PackageRegistry pkgRegistry, List<RuleDescr> rules) {
         boolean parallelRulesBuild = this.kBase == null && parallelRulesBuildThreshold != -1 && rules.size() > parallelRulesBuildThreshold;
         if (parallelRulesBuild) {
             Map<String, RuleBuildContext> ruleCxts = new ConcurrentHashMap<>();
             try {
-                ForkJoinPoolHolder.COMPILER_POOL.submit(() ->
+                invokeInBuildPool(ForkJoinTask.adapt(() ->
                 rules.stream().parallel()
                         .filter(ruleDescr -> filterAccepts(ResourceChange.Type.RULE, ruleDescr.getNamespace(), ruleDescr.getName()))
                         .forEach(ruleDescr -> {
@@ -1130,7 +1215,7 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder,
                                 }
                             }
                         })
-                ).get();
+                ));
             } catch (InterruptedException | ExecutionException e) {
                 throw new RuntimeException("Rules compilation failed or interrupted", e);
             }
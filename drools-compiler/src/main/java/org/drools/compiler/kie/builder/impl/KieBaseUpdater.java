@@ -17,6 +17,7 @@
 package org.drools.compiler.kie.builder.impl;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
 import org.drools.compiler.compiler.PackageBuilderErrors;
@@ -30,7 +31,7 @@ import org.drools.core.definitions.InternalKnowledgePackage;
 import org.drools.core.definitions.impl.KnowledgePackageImpl;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.reteoo.EntryPointNode;
-import org.drools.core.reteoo.compiled.CompiledNetwork;
+import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.core.rule.DialectRuntimeData;
 import org.drools.core.rule.MVELDialectRuntimeData;
 import org.kie.api.builder.model.KieBaseModel;
@@ -98,17 +99,13 @@ public class KieBaseUpdater implements Runnable {
         final Boolean isAlphaNetworkEnabled = Boolean.valueOf(configurationProperty);
 
         if (isAlphaNetworkEnabled) {
-            ctx.kBase.getRete().getEntryPointNodes().values().stream()
+            // only the networks of the ObjectTypeNodes affected by the update are compiled again
+            List<ObjectTypeNode> outdatedOtns = ctx.kBase.getRete().getEntryPointNodes().values().stream()
                     .flatMap(ep -> ep.getObjectTypeNodes().values().stream())
                     .filter(f -> !InitialFact.class.isAssignableFrom(f.getObjectType().getClassType()))
-                    .forEach(otn -> {
-                        final CompiledNetwork oldCompiledNetwork = otn.getCompiledNetwork();
-                        if (oldCompiledNetwork != null) {
-                            clearInstancesOfModifiedClass(oldCompiledNetwork.getClass());
-                        }
-                        final CompiledNetwork compile = ObjectTypeNodeCompiler.compile(((KnowledgeBuilderImpl) kbuilder), otn);
-                        otn.setCompiledNetwork(compile);
-                    });
+                    .filter(otn -> otn.getCompiledNetwork() == null || otn.getCompiledNetwork().isOutdated())
+                    .collect(Collectors.toList());
+            ObjectTypeNodeCompiler.compile(((KnowledgeBuilderImpl) kbuilder), outdatedOtns).forEach(ObjectTypeNode::setCompiledNetwork);
         }
     }
 
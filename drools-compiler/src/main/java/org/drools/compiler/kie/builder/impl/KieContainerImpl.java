@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.management.ObjectName;
 import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
@@ -46,6 +47,7 @@ import org.drools.core.impl.StatefulSessionPool;
 import org.drools.core.impl.StatelessKnowledgeSessionImpl;
 import org.drools.core.management.DroolsManagementAgent;
 import org.drools.core.management.DroolsManagementAgent.CBSKey;
+import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.reflective.classloader.ProjectClassLoader;
 import org.kie.api.KieBase;
 import org.kie.api.KieBaseConfiguration;
@@ -423,10 +425,11 @@ public class KieContainerImpl
         final Boolean isAlphaNetworkEnabled = Boolean.valueOf(configurationProperty);
         if (isAlphaNetworkEnabled) {
             KnowledgeBuilder kbuilder = kModule.getKnowledgeBuilderForKieBase(kBaseModel.getName());
-            kBase.getRete().getEntryPointNodes().values().stream()
+            List<ObjectTypeNode> otns = kBase.getRete().getEntryPointNodes().values().stream()
                     .flatMap(ep -> ep.getObjectTypeNodes().values().stream())
                     .filter(f -> !InitialFact.class.isAssignableFrom(f.getObjectType().getClassType()))
-                    .forEach(otn -> otn.setCompiledNetwork(ObjectTypeNodeCompiler.compile(((KnowledgeBuilderImpl) kbuilder), otn)));
+                    .collect(Collectors.toList());
+            ObjectTypeNodeCompiler.compile(((KnowledgeBuilderImpl) kbuilder), otns).forEach(ObjectTypeNode::setCompiledNetwork);
         }
     }
 
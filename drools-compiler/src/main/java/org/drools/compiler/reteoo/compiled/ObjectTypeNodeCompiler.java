@@ -17,8 +17,13 @@ package org.drools.compiler.reteoo.compiled;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
@@ -89,10 +94,16 @@ public class ObjectTypeNodeCompiler {
     public static class SourceGenerated {
         public final String source;
         public final IndexableConstraint indexableConstraint;
+        public final List<IndexableConstraint> indexableConstraints;
 
         public SourceGenerated(String source, IndexableConstraint indexableConstraint) {
+            this(source, indexableConstraint, indexableConstraint != null ? Collections.singletonList(indexableConstraint) : Collections.emptyList());
+        }
+
+        public SourceGenerated(String source, IndexableConstraint indexableConstraint, List<IndexableConstraint> indexableConstraints) {
             this.source = source;
             this.indexableConstraint = indexableConstraint;
+            this.indexableConstraints = indexableConstraints;
         }
     }
 
@@ -115,10 +126,10 @@ public class ObjectTypeNodeCompiler {
         parser.accept(setNode);
 
         // create assert method
-        AssertHandler assertHandler = new AssertHandler(builder, className, hashedAlphaDeclarations.size() > 0);
+        AssertHandler assertHandler = new AssertHandler(builder, className, declarations.isFactVariableRequired());
         parser.accept(assertHandler);
 
-        ModifyHandler modifyHandler = new ModifyHandler(builder, className, hashedAlphaDeclarations.size() > 0);
+        ModifyHandler modifyHandler = new ModifyHandler(builder, className, declarations.isFactVariableRequired());
         parser.accept(modifyHandler);
 
         DelegateMethodsHandler delegateMethodsHandler = new DelegateMethodsHandler(builder);
@@ -127,7 +138,7 @@ public class ObjectTypeNodeCompiler {
         // end of class
         builder.append("}").append(NEWLINE);
 
-        return new SourceGenerated(builder.toString(), parser.getIndexableConstraint());
+        return new SourceGenerated(builder.toString(), parser.getIndexableConstraint(), new ArrayList<>(parser.getIndexableConstraints()));
     }
 
     /**
@@ -137,27 +148,28 @@ public class ObjectTypeNodeCompiler {
         builder.append("package ").append(PACKAGE_NAME).append(";").append(NEWLINE);
         builder.append("public class ").append(generatedClassSimpleName).append(" extends ").
                 append(CompiledNetwork.class.getName()).append("{ ").append(NEWLINE);
-
-        builder.append("org.drools.core.spi.InternalReadAccessor readAccessor;\n");
     }
 
     /**
      * Creates the constructor for the generated class. If the hashedAlphaDeclarations is empty, it will just
      * output a empty default constructor; if it is not, the constructor will contain code to fill the hash
-     * alpha maps with the values and node ids.
+     * alpha maps with the values and node ids. The read accessors of the hashed fields are passed to the constructor
+     * in the same order of the declarations.
      *
      * @param hashedAlphaDeclarations declarations used for creating statements to populate the hashed alpha
      *                                maps for the generate class
      */
     private void createConstructor(Collection<HashedAlphasDeclaration> hashedAlphaDeclarations) {
-        builder.append("public ").append(generatedClassSimpleName).append("(org.drools.core.spi.InternalReadAccessor readAccessor) {").append(NEWLINE);
+        builder.append("public ").append(generatedClassSimpleName).append("(org.drools.core.spi.InternalReadAccessor[] readAccessors) {").append(NEWLINE);
 
-
-        builder.append("this.readAccessor = readAccessor;\n");
+        int readAccessorIndex = 0;
         // for each hashed alpha, we need to fill in the map member variable with the hashed values to node Ids
         for (HashedAlphasDeclaration declaration : hashedAlphaDeclarations) {
             String mapVariableName = declaration.getVariableName();
 
+            builder.append("this.").append(declaration.getReadAccessorVariableName())
+                    .append(" = readAccessors[").append(readAccessorIndex++).append("];").append(NEWLINE);
+
             for (Object hashedValue : declaration.getHashedValues()) {
                 Object value = hashedValue;
 
@@ -235,45 +247,70 @@ public class ObjectTypeNodeCompiler {
         if (objectTypeNode == null) {
             throw new IllegalArgumentException("ObjectTypeNode cannot be null!");
         }
+        return compile(kBuilder, Collections.singletonList(objectTypeNode)).get(objectTypeNode);
+    }
+
+    /**
+     * Creates the {@link CompiledNetwork}s for all the specified {@link ObjectTypeNode}s, generating their sources
+     * and compiling them together in a single invocation of the Java compiler.
+     *
+     * @param kBuilder        builder used to compile and load classes
+     * @param objectTypeNodes OTNs we are generating a compiled network for
+     * @return the CompiledNetwork of each OTN
+     */
+    public static Map<ObjectTypeNode, CompiledNetwork> compile(KnowledgeBuilderImpl kBuilder, Collection<ObjectTypeNode> objectTypeNodes) {
         if (kBuilder == null) {
             throw new IllegalArgumentException("PackageBuilder cannot be null!");
         }
-        ObjectTypeNodeCompiler compiler = new ObjectTypeNodeCompiler(objectTypeNode);
-
-        String packageName = compiler.getPackageName();
+        Map<ObjectTypeNode, CompiledNetwork> networks = new HashMap<>();
+        if (objectTypeNodes.isEmpty()) {
+            return networks;
+        }
 
-        PackageRegistry pkgReg = kBuilder.getPackageRegistry(packageName);
+        PackageRegistry pkgReg = kBuilder.getPackageRegistry(PACKAGE_NAME);
         if (pkgReg == null) {
-            kBuilder.addPackage(new PackageDescr(packageName));
-            pkgReg = kBuilder.getPackageRegistry(packageName);
+            kBuilder.addPackage(new PackageDescr(PACKAGE_NAME));
         }
 
-        SourceGenerated source = compiler.generateSource();
-
-        logger.debug("Generated alpha node compiled network source:\n" + source.source);
-
         MemoryFileSystem mfs = new MemoryFileSystem();
-        mfs.write(compiler.getSourceName(), source.source.getBytes(IoUtils.UTF8_CHARSET));
+        List<ObjectTypeNodeCompiler> compilers = new ArrayList<>();
+        List<SourceGenerated> sources = new ArrayList<>();
+        String[] sourceNames = new String[objectTypeNodes.size()];
+        for (ObjectTypeNode objectTypeNode : objectTypeNodes) {
+            ObjectTypeNodeCompiler compiler = new ObjectTypeNodeCompiler(objectTypeNode);
+            SourceGenerated source = compiler.generateSource();
+
+            logger.debug("Generated alpha node compiled network source:\n" + source.source);
+
+            mfs.write(compiler.getSourceName(), source.source.getBytes(IoUtils.UTF8_CHARSET));
+            sourceNames[compilers.size()] = compiler.getSourceName();
+            compilers.add(compiler);
+            sources.add(source);
+        }
 
         MemoryFileSystem trg = new MemoryFileSystem();
         ProjectClassLoader rootClassLoader = (ProjectClassLoader) kBuilder.getRootClassLoader();
-        CompilationResult compiled = JAVA_COMPILER.compile(new String[]{compiler.getSourceName()}, mfs, trg, rootClassLoader);
+        CompilationResult compiled = JAVA_COMPILER.compile(sourceNames, mfs, trg, rootClassLoader);
 
         if (compiled.getErrors().length > 0) {
             throw new RuntimeException("This is a bug. Please contact the development team:\n" + Arrays.toString(compiled.getErrors()));
         }
 
-        rootClassLoader.defineClass(compiler.getName(), trg.getBytes(compiler.getBinaryName()));
-
-        CompiledNetwork network;
-        try {
-            final Class<?> aClass = Class.forName(compiler.getName(), true, rootClassLoader);
-            final IndexableConstraint indexableConstraint = source.indexableConstraint;
-            network = (CompiledNetwork) aClass.getConstructor(InternalReadAccessor.class).newInstance(indexableConstraint != null ? indexableConstraint.getFieldExtractor(): null);
-        } catch (Exception e) {
-            throw new RuntimeException("This is a bug. Please contact the development team", e);
+        for (int i = 0; i < compilers.size(); i++) {
+            ObjectTypeNodeCompiler compiler = compilers.get(i);
+            rootClassLoader.defineClass(compiler.getName(), trg.getBytes(compiler.getBinaryName()));
+
+            try {
+                final Class<?> aClass = Class.forName(compiler.getName(), true, rootClassLoader);
+                final InternalReadAccessor[] readAccessors = sources.get(i).indexableConstraints.stream()
+                        .map(IndexableConstraint::getFieldExtractor)
+                        .toArray(InternalReadAccessor[]::new);
+                networks.put(compiler.objectTypeNode, (CompiledNetwork) aClass.getConstructor(InternalReadAccessor[].class).newInstance(new Object[]{readAccessors}));
+            } catch (Exception e) {
+                throw new RuntimeException("This is a bug. Please contact the development team", e);
+            }
         }
 
-        return network;
+        return networks;
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.drools.compiler.builder.impl;
 
+import org.drools.compiler.builder.conf.ParallelBuildPoolSizeOption;
 import org.junit.Test;
 import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
 
@@ -45,4 +46,26 @@ public class KnowledgeBuilderConfigurationImplTest {
         }
     }
 
+    @Test
+    public void testParallelBuildPoolSizeConfiguration() {
+        try {
+            System.getProperties().put(ParallelBuildPoolSizeOption.PROPERTY_NAME, "4");
+            KnowledgeBuilderConfigurationImpl kbConfigImpl = new KnowledgeBuilderConfigurationImpl();
+            assertThat(kbConfigImpl.getParallelBuildPoolSize(), is(4));
+        } finally {
+            System.getProperties().remove(ParallelBuildPoolSizeOption.PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    public void testParallelBuildPoolSizeOption() {
+        KnowledgeBuilderConfigurationImpl kbConfigImpl = new KnowledgeBuilderConfigurationImpl();
+        assertThat(kbConfigImpl.getOption(ParallelBuildPoolSizeOption.class), is(ParallelBuildPoolSizeOption.SHARED));
+
+        kbConfigImpl.setOption(ParallelBuildPoolSizeOption.get(2));
+        assertThat(kbConfigImpl.getParallelBuildPoolSize(), is(2));
+        assertThat(kbConfigImpl.getOption(ParallelBuildPoolSizeOption.class), is(ParallelBuildPoolSizeOption.get(2)));
+        assertThat(kbConfigImpl.getProperty(ParallelBuildPoolSizeOption.PROPERTY_NAME), is("2"));
+    }
+
 }
@@ -1,5 +1,6 @@
 package org.drools.compiler.builder.impl;
 
+import org.drools.compiler.builder.conf.ParallelBuildPoolSizeOption;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.junit.Rule;
@@ -8,7 +9,17 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.kie.api.definition.KiePackage;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.builder.CompositeKnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderError;
+import org.kie.internal.io.ResourceFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
 public class KnowledgeBuilderImplTest {
@@ -27,6 +38,73 @@ public class KnowledgeBuilderImplTest {
         assertThat(KnowledgeBuilderImpl.createDumpDrlFile(dumpDir, "aa.AA01-_", ".drl"), fileEndsWith(File.separator + "aa.AA01-_.drl"));
     }
 
+    @Test
+    public void testParallelParsingOfManyDrls() {
+        KnowledgeBuilderImpl kBuilder = new KnowledgeBuilderImpl();
+        CompositeKnowledgeBuilder batch = kBuilder.batch();
+        for (int i = 0; i < 20; i++) {
+            String drl = "package org.drools.test" + i + "\n" +
+                         "rule R" + i + " when\n" +
+                         "  String( length > " + i + " )\n" +
+                         "then end\n";
+            batch.add(ResourceFactory.newByteArrayResource(drl.getBytes()).setSourcePath("r" + i + ".drl"), ResourceType.DRL);
+        }
+        batch.build();
+
+        assertFalse(kBuilder.getErrors().toString(), kBuilder.hasErrors());
+        assertEquals(20, kBuilder.getKnowledgePackages().size());
+    }
+
+    @Test
+    public void testParallelParsingReportsErrorsInResourcesOrder() {
+        KnowledgeBuilderImpl kBuilder = new KnowledgeBuilderImpl();
+        CompositeKnowledgeBuilder batch = kBuilder.batch();
+        List<String> expectedPaths = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String drl = "package org.drools.test" + i + "\n" +
+                         "rule R" + i + " when\n" +
+                         "  String( length > )\n" +
+                         "then end\n";
+            expectedPaths.add("r" + i + ".drl");
+            batch.add(ResourceFactory.newByteArrayResource(drl.getBytes()).setSourcePath("r" + i + ".drl"), ResourceType.DRL);
+        }
+        batch.build();
+
+        List<String> errorPaths = new ArrayList<>();
+        for (KnowledgeBuilderError error : kBuilder.getErrors()) {
+            String path = error.getResource().getSourcePath();
+            if (!errorPaths.contains(path)) {
+                errorPaths.add(path);
+            }
+        }
+        assertEquals(expectedPaths, errorPaths);
+    }
+
+    @Test
+    public void testParallelBuildWithSizedPool() {
+        KnowledgeBuilderConfigurationImpl configuration = new KnowledgeBuilderConfigurationImpl();
+        configuration.setOption(ParallelBuildPoolSizeOption.get(2));
+        KnowledgeBuilderImpl kBuilder = new KnowledgeBuilderImpl(configuration);
+        CompositeKnowledgeBuilder batch = kBuilder.batch();
+        for (int i = 0; i < 5; i++) {
+            // more rules than the parallel build threshold, so they are also compiled in parallel
+            StringBuilder drl = new StringBuilder("package org.drools.test" + i + "\n");
+            for (int j = 0; j < 20; j++) {
+                drl.append("rule R").append(j).append(" when\n")
+                   .append("  String( length > ").append(j).append(" )\n")
+                   .append("then end\n");
+            }
+            batch.add(ResourceFactory.newByteArrayResource(drl.toString().getBytes()).setSourcePath("r" + i + ".drl"), ResourceType.DRL);
+        }
+        batch.build();
+
+        assertFalse(kBuilder.getErrors().toString(), kBuilder.hasErrors());
+        assertEquals(5, kBuilder.getKnowledgePackages().size());
+        for (KiePackage kiePackage : kBuilder.getKnowledgePackages()) {
+            assertEquals(20, kiePackage.getRules().size());
+        }
+    }
+
     private static FileEndsWithMatcher fileEndsWith(String endsWithString) {
         return new FileEndsWithMatcher(endsWithString);
     }
@@ -15,21 +15,123 @@
 
 package org.drools.compiler.command;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import org.drools.compiler.Person;
+import org.drools.compiler.StockTick;
+import org.drools.core.SessionConfiguration;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
+import org.drools.core.phreak.RecyclingPropagationList;
 import org.drools.core.phreak.SynchronizedPropagationList;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class PropagationListTest {
 
+    @Test
+    public void testRecyclePropagationEntries() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R when\n" +
+                "  $p : Person( age > 30 )\n" +
+                "then\n" +
+                "  list.add( $p.getName() );\n" +
+                "end\n";
+
+        final Properties properties = new Properties();
+        properties.setProperty( SessionConfiguration.RECYCLE_PROPAGATION_ENTRIES_PROPERTY, "true" );
+        final KieSession ksession = new KieHelper().addContent( drl, ResourceType.DRL ).build()
+                .newKieSession( SessionConfiguration.newInstance( properties ), null );
+        try {
+            assertTrue( ( (InternalWorkingMemory) ksession ).getPropagationList() instanceof RecyclingPropagationList );
+
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal( "list", list );
+
+            // more iterations than the entries in the pools, so that the recycled entries are reused many times
+            final List<FactHandle> handles = new ArrayList<>();
+            final List<Person> persons = new ArrayList<>();
+            for (int i = 0; i < 1800; i++) {
+                final Person person = new Person( "p" + i, i % 60 );
+                persons.add( person );
+                handles.add( ksession.insert( person ) );
+            }
+            assertEquals( 1800 * 29 / 60, ksession.fireAllRules() );
+
+            list.clear();
+            for (int i = 0; i < 1800; i++) {
+                persons.get( i ).setAge( 40 );
+                ksession.update( handles.get( i ), persons.get( i ) );
+            }
+            assertEquals( 1800, ksession.fireAllRules() );
+
+            for (final FactHandle handle : handles) {
+                ksession.delete( handle );
+            }
+            ksession.fireAllRules();
+            assertEquals( 0, ksession.getFactCount() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testConsecutiveExpirationsAreBatched() {
+        final String drl =
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "declare StockTick @role( event ) @expires( 10s ) end\n" +
+                "rule R when\n" +
+                "  StockTick( company == \"ACME\" )\n" +
+                "then\n" +
+                "end\n";
+
+        final Properties properties = new Properties();
+        properties.setProperty( "drools.clockType", "pseudo" );
+        final KieSession ksession = new KieHelper().addContent( drl, ResourceType.DRL ).build()
+                .newKieSession( SessionConfiguration.newInstance( properties ), null );
+        try {
+            final SessionPseudoClock clock = ksession.getSessionClock();
+            for (int i = 0; i < 1000; i++) {
+                ksession.insert( new StockTick( i, "ACME", 10 ) );
+            }
+            assertEquals( 1000, ksession.fireAllRules() );
+
+            // all the events expire at the same time and their expirations are queued as a single entry
+            clock.advanceTime( 11, TimeUnit.SECONDS );
+            final Iterator<? extends PropagationEntry> entries = ( (InternalWorkingMemory) ksession ).getActionsIterator();
+            final PropagationEntry entry = entries.next();
+            assertTrue( entry instanceof PropagationEntry.ExpireBatch );
+            assertEquals( 1000, ( (PropagationEntry.ExpireBatch) entry ).getExpirations().size() );
+            assertFalse( entries.hasNext() );
+
+            ksession.fireAllRules();
+            assertEquals( 0, ksession.getFactCount() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
     @Test @Ignore
     public void test() {
         final int OBJECT_NR = 1000000;
@@ -20,11 +20,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.drools.compiler.Cheese;
 import org.drools.compiler.CommonTestMethodBase;
 import org.drools.compiler.Person;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.common.InternalAgenda;
+import org.drools.core.common.InternalWorkingMemory;
 import org.junit.Test;
 import org.kie.api.KieBase;
 import org.kie.api.KieServices;
@@ -39,6 +44,7 @@ import org.kie.internal.utils.KieHelper;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class FireUntilHaltTest extends CommonTestMethodBase {
 
@@ -87,6 +93,54 @@ public class FireUntilHaltTest extends CommonTestMethodBase {
         kSession.dispose();
     }
 
+    @Test(timeout = 20000)
+    public void testSharedFireUntilHalt() throws InterruptedException {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.concurrent.CountDownLatch latch;" +
+                "rule R when\n" +
+                "    Person( happy, age >= 18 )\n" +
+                "then\n" +
+                "    latch.countDown();" +
+                "end";
+
+        final KieBase kbase = new KieHelper().addContent(drl, ResourceType.DRL).build();
+        final Properties properties = new Properties();
+        properties.setProperty(SessionConfiguration.SHARED_FIRE_UNTIL_HALT_PROPERTY, "true");
+
+        final int sessionsNr = 500;
+        final CountDownLatch latch = new CountDownLatch(sessionsNr);
+        final List<KieSession> sessions = new ArrayList<>();
+        for (int i = 0; i < sessionsNr; i++) {
+            final KieSession kSession = kbase.newKieSession(SessionConfiguration.newInstance(properties), null);
+            kSession.setGlobal("latch", latch);
+            // doesn't block the current thread: the session is parked as soon as it comes to rest
+            kSession.fireUntilHalt();
+            assertTrue(((InternalWorkingMemory) kSession).getAgenda().isFiring());
+            sessions.add(kSession);
+        }
+
+        for (KieSession kSession : sessions) {
+            kSession.insert(new Person("me", 17, true));
+            kSession.insert(new Person("you", 18, true));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        for (KieSession kSession : sessions) {
+            kSession.halt();
+        }
+        for (KieSession kSession : sessions) {
+            final InternalAgenda agenda = ((InternalWorkingMemory) kSession).getAgenda();
+            while (agenda.isFiring()) {
+                Thread.sleep(10L);
+            }
+            // once halted the session fires synchronously again
+            kSession.insert(new Person("him", 30, true));
+            assertEquals(1, kSession.fireAllRules());
+            kSession.dispose();
+        }
+    }
+
     @Test
     public void testFireAllWhenFiringUntilHalt() throws InterruptedException {
         final KieBase kbase = getKnowledgeBase();
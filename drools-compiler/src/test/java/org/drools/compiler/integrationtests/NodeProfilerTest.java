@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.drools.compiler.Cheese;
+import org.drools.compiler.Person;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.NodeProfile;
+import org.drools.core.phreak.NodeProfiler;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NodeProfilerTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "import " + Cheese.class.getCanonicalName() + ";\n" +
+            "rule R when\n" +
+            "  $p : Person( age > 30, $likes : likes )\n" +
+            "  Cheese( type == $likes )\n" +
+            "then end\n";
+
+    @Test
+    public void testProfilingDisabledByDefault() {
+        KieSession ksession = new KieHelper().addContent( DRL, ResourceType.DRL ).build().newKieSession();
+        try {
+            assertNull( ( (InternalWorkingMemory) ksession ).getNodeProfiler() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testNodeProfiling() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        Properties properties = new Properties();
+        properties.setProperty( SessionConfiguration.NODE_PROFILING_PROPERTY, "true" );
+        KieSession ksession = kbase.newKieSession( SessionConfiguration.newInstance( properties ), null );
+        try {
+            for (int i = 0; i < 10; i++) {
+                Person person = new Person( "p" + i, 25 + i );
+                person.setLikes( "cheddar" );
+                ksession.insert( person );
+            }
+            ksession.insert( new Cheese( "cheddar", 10 ) );
+            ksession.insert( new Cheese( "stilton", 10 ) );
+            assertEquals( 4, ksession.fireAllRules() );
+
+            NodeProfiler profiler = ( (InternalWorkingMemory) ksession ).getNodeProfiler();
+            assertNotNull( profiler );
+            List<NodeProfile> profiles = profiler.getSnapshot();
+
+            NodeProfile alpha = findByType( profiles, "AlphaNode" );
+            assertEquals( 10, alpha.getTuplesIn() );
+            assertEquals( 4, alpha.getTuplesOut() );
+
+            NodeProfile join = findByType( profiles, "JoinNode" );
+            assertTrue( join.getInvocations() > 0 );
+            assertEquals( 4, join.getTuplesOut() );
+            // the 4 persons older than 30 in the left memory and the 2 cheeses in the right one
+            assertEquals( 6, join.getMemorySize() );
+
+            for (int i = 1; i < profiles.size(); i++) {
+                assertTrue( profiles.get( i - 1 ).getTimeNanos() >= profiles.get( i ).getTimeNanos() );
+            }
+
+            profiler.reset();
+            assertTrue( profiler.getSnapshot().isEmpty() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private static NodeProfile findByType( List<NodeProfile> profiles, String nodeType ) {
+        return profiles.stream().filter( p -> p.getNodeType().equals( nodeType ) ).findFirst()
+                .orElseThrow( () -> new AssertionError( "No profile for " + nodeType ) );
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.drools.compiler.util.debug.DebugList;
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.PartitionPropagationCounters;
+import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectSink;
+import org.drools.core.reteoo.ObjectSinkPropagator;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.junit.After;
+import org.junit.Test;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.conf.MultithreadEvaluationOption;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class PartitionRebalancingTest {
+
+    private static final int SLOTS = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
+
+    @After
+    public void tearDown() {
+        System.clearProperty( RuleBaseConfiguration.PARTITION_REBALANCING_PROPERTY );
+    }
+
+    @Test(timeout = 40000L)
+    public void testPropagationsNotCountedByDefault() {
+        InternalKnowledgeBase kbase = getKieBase( 2 * SLOTS );
+        CompositePartitionAwareObjectSinkAdapter integerAdapter = getAdapter( kbase, Integer.class );
+        assertFalse( integerAdapter.isCountingPropagations() );
+        assertFalse( getAdapter( kbase, String.class ).isCountingPropagations() );
+
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new DebugList<Integer>() );
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( 0 );
+        }
+        ksession.insert( "0" );
+        assertEquals( 10, ksession.fireAllRules() );
+
+        for (ObjectSink sink : integerAdapter.getSinks()) {
+            assertEquals( 0, kbase.getPartitionPropagationCounters().getPropagationsCount( sink.getPartitionId() ) );
+        }
+        ksession.dispose();
+    }
+
+    @Test(timeout = 40000L)
+    public void testRebalance() throws Exception {
+        assumeTrue( SLOTS > 1 );
+        System.setProperty( RuleBaseConfiguration.PARTITION_REBALANCING_PROPERTY, "true" );
+
+        int rulesNr = 2 * SLOTS;
+        InternalKnowledgeBase kbase = getKieBase( rulesNr );
+        CompositePartitionAwareObjectSinkAdapter integerAdapter = getAdapter( kbase, Integer.class );
+        CompositePartitionAwareObjectSinkAdapter stringAdapter = getAdapter( kbase, String.class );
+        assertTrue( integerAdapter.isCountingPropagations() );
+        assertTrue( integerAdapter.isHashed() );
+        assertFalse( stringAdapter.isHashed() );
+
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new DebugList<Integer>() );
+        for (int i = 0; i < 200; i++) {
+            ksession.insert( 0 );
+        }
+        ksession.insert( "0" );
+        assertEquals( 200, ksession.fireAllRules() );
+
+        // the hashed inserts count only the partition of the matching alpha, the other ones
+        // count once each partition of the slots receiving the fact
+        PartitionPropagationCounters counters = kbase.getPartitionPropagationCounters();
+        RuleBasePartitionId hotPartition = getHotPartition( integerAdapter, counters );
+        for (RuleBasePartitionId partition : getPartitions( stringAdapter )) {
+            assertEquals( partition.equals( hotPartition ) ? 201 : 1, counters.getPropagationsCount( partition ) );
+        }
+
+        // before the rebalancing the hot partition shares its slot with another one
+        int hotSlot = hotPartition.getParallelEvaluationSlot();
+        assertTrue( getPartitions( stringAdapter.getPartitionedPropagators()[hotSlot] ).size() > 1 );
+
+        // the partitions of a KieBase with live sessions can't be moved
+        assertFalse( kbase.rebalancePartitions().get() );
+        ksession.dispose();
+
+        // disposing the sessions doesn't rebalance the partitions by itself
+        assertEquals( hotSlot, hotPartition.getParallelEvaluationSlot() );
+        assertEquals( 201, counters.getPropagationsCount( hotPartition ) );
+
+        assertTrue( kbase.rebalancePartitions().get() );
+
+        hotSlot = hotPartition.getParallelEvaluationSlot();
+        for (CompositePartitionAwareObjectSinkAdapter adapter : new CompositePartitionAwareObjectSinkAdapter[] { integerAdapter, stringAdapter }) {
+            ObjectSinkPropagator[] propagators = adapter.getPartitionedPropagators();
+            for (int i = 0; i < propagators.length; i++) {
+                for (ObjectSink sink : propagators[i].getSinks()) {
+                    assertEquals( i, sink.getPartitionId().getParallelEvaluationSlot() );
+                    assertEquals( 0, counters.getPropagationsCount( sink.getPartitionId() ) );
+                    if ( i == hotSlot ) {
+                        assertEquals( hotPartition, sink.getPartitionId() );
+                    } else {
+                        assertNotEquals( hotPartition, sink.getPartitionId() );
+                    }
+                }
+            }
+        }
+
+        // the sessions created after the rebalancing evaluate all the rules on the new layout
+        KieSession ksession2 = kbase.newKieSession();
+        List<Integer> list = new DebugList<Integer>();
+        ksession2.setGlobal( "list", list );
+        for (int i = 0; i < rulesNr; i++) {
+            ksession2.insert( i );
+            ksession2.insert( "" + i );
+        }
+        assertEquals( rulesNr, ksession2.fireAllRules() );
+        assertEquals( rulesNr, new HashSet<Integer>( list ).size() );
+        ksession2.dispose();
+    }
+
+    @Test(timeout = 40000L)
+    public void testCountersArePerKieBase() throws Exception {
+        System.setProperty( RuleBaseConfiguration.PARTITION_REBALANCING_PROPERTY, "true" );
+
+        InternalKnowledgeBase kbase1 = getKieBase( 2 * SLOTS );
+        InternalKnowledgeBase kbase2 = getKieBase( 2 * SLOTS );
+        for (InternalKnowledgeBase kbase : new InternalKnowledgeBase[] { kbase1, kbase2 }) {
+            KieSession ksession = kbase.newKieSession();
+            ksession.setGlobal( "list", new DebugList<Integer>() );
+            ksession.insert( 0 );
+            ksession.insert( "0" );
+            assertEquals( 1, ksession.fireAllRules() );
+            ksession.dispose();
+        }
+
+        RuleBasePartitionId hot1 = getHotPartition( getAdapter( kbase1, Integer.class ), kbase1.getPartitionPropagationCounters() );
+        RuleBasePartitionId hot2 = getHotPartition( getAdapter( kbase2, Integer.class ), kbase2.getPartitionPropagationCounters() );
+        assertEquals( 2, kbase1.getPartitionPropagationCounters().getPropagationsCount( hot1 ) );
+        assertEquals( 2, kbase2.getPartitionPropagationCounters().getPropagationsCount( hot2 ) );
+        assertEquals( 0, kbase1.getPartitionPropagationCounters().getPropagationsCount( hot2 ) );
+
+        // rebalancing a KieBase resets only its own counters
+        kbase1.rebalancePartitions().get();
+        assertEquals( 0, kbase1.getPartitionPropagationCounters().getPropagationsCount( hot1 ) );
+        assertEquals( 2, kbase2.getPartitionPropagationCounters().getPropagationsCount( hot2 ) );
+    }
+
+    private RuleBasePartitionId getHotPartition( CompositePartitionAwareObjectSinkAdapter adapter, PartitionPropagationCounters counters ) {
+        RuleBasePartitionId hot = null;
+        for (RuleBasePartitionId partition : getPartitions( adapter )) {
+            if ( hot == null || counters.getPropagationsCount( partition ) > counters.getPropagationsCount( hot ) ) {
+                hot = partition;
+            }
+        }
+        return hot;
+    }
+
+    private Set<RuleBasePartitionId> getPartitions( ObjectSinkPropagator propagator ) {
+        Set<RuleBasePartitionId> partitions = new HashSet<>();
+        for (ObjectSink sink : propagator.getSinks()) {
+            partitions.add( sink.getPartitionId() );
+        }
+        return partitions;
+    }
+
+    private CompositePartitionAwareObjectSinkAdapter getAdapter( InternalKnowledgeBase kbase, Class<?> type ) {
+        List<ObjectTypeNode> otns = new ArrayList<>();
+        for (EntryPointNode entryPointNode : kbase.getRete().getEntryPointNodes().values()) {
+            for (ObjectTypeNode otn : entryPointNode.getObjectTypeNodes().values()) {
+                if ( otn.getObjectType().equals( new ClassObjectType( type ) ) ) {
+                    otns.add( otn );
+                }
+            }
+        }
+        assertEquals( 1, otns.size() );
+        return (CompositePartitionAwareObjectSinkAdapter) otns.get( 0 ).getObjectSinkPropagator();
+    }
+
+    private InternalKnowledgeBase getKieBase( int rulesNr ) {
+        StringBuilder sb = new StringBuilder( 400 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < rulesNr; i++) {
+            sb.append( "rule R" + i + " when\n" +
+                       "    $i : Integer( intValue == " + i + " )" +
+                       "    String( toString == $i.toString )\n" +
+                       "then\n" +
+                       "    list.add($i);\n" +
+                       "end\n" );
+        }
+        return (InternalKnowledgeBase) new KieHelper().addContent( sb.toString(), ResourceType.DRL )
+                                                      .build( MultithreadEvaluationOption.YES );
+    }
+}
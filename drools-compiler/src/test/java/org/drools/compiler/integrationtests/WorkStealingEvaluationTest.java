@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.drools.compiler.util.debug.DebugList;
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.common.CompositeDefaultAgenda;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.WorkStealingPartitionEvaluator;
+import org.drools.core.common.WorkStealingPartitionEvaluator.PartitionMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.conf.MaxThreadsOption;
+import org.kie.internal.conf.MultithreadEvaluationOption;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class WorkStealingEvaluationTest {
+
+    @Before
+    public void setUp() {
+        System.setProperty( RuleBaseConfiguration.WORK_STEALING_EVALUATION_PROPERTY, "true" );
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty( RuleBaseConfiguration.WORK_STEALING_EVALUATION_PROPERTY );
+    }
+
+    @Test(timeout = 40000L)
+    public void testFireAllRules() {
+        KieSession ksession = getKieSession( 20, "insert( $i + 20 );\ninsert( \"\" + ($i + 20) );\n", "" );
+        WorkStealingPartitionEvaluator evaluator = getEvaluator( ksession );
+        assertTrue( evaluator.getWorkersNr() <= 2 );
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < 20; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        int fired = ksession.fireAllRules();
+
+        assertEquals( 20, fired );
+        assertEquals( 20, list.size() );
+        assertEquals( 20, new HashSet<Integer>( list ).size() );
+        assertEquals( fired, firedInPartitions( evaluator ) );
+    }
+
+    @Test(timeout = 40000L)
+    public void testRepeatedRounds() {
+        KieSession ksession = getKieSession( 50, "", "" );
+        WorkStealingPartitionEvaluator evaluator = getEvaluator( ksession );
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                ksession.insert( i );
+                ksession.insert( "" + i );
+            }
+
+            assertEquals( 50, ksession.fireAllRules() );
+            assertEquals( 50, list.size() );
+            assertEquals( 50, new HashSet<Integer>( list ).size() );
+
+            list.clear();
+            new ArrayList<>( ksession.getFactHandles() ).forEach( ksession::delete );
+            assertEquals( 0, ksession.fireAllRules() );
+        }
+        assertEquals( 20 * 50, firedInPartitions( evaluator ) );
+    }
+
+    @Test(timeout = 40000L)
+    public void testFireLimit() {
+        KieSession ksession = getKieSession( 10, "", "" );
+        WorkStealingPartitionEvaluator evaluator = getEvaluator( ksession );
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        assertEquals( 3, ksession.fireAllRules( 3 ) );
+        assertEquals( 3, list.size() );
+
+        assertEquals( 4, ksession.fireAllRules( 4 ) );
+        assertEquals( 7, list.size() );
+
+        assertEquals( 3, ksession.fireAllRules() );
+        assertEquals( 10, list.size() );
+        assertEquals( 10, new HashSet<Integer>( list ).size() );
+        assertEquals( 10, firedInPartitions( evaluator ) );
+    }
+
+    @Test(timeout = 40000L)
+    public void testSalienceDisablesParallelism() {
+        KieSession ksession = getKieSessionWithSalience();
+
+        // as for the other parallel agendas, salience disables the multithread evaluation and then the work stealing
+        assertFalse( ( (InternalWorkingMemory) ksession ).getAgenda().isParallelAgenda() );
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        assertEquals( 10, ksession.fireAllRules() );
+        assertEquals( Arrays.asList( 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 ), list );
+    }
+
+    private KieSession getKieSessionWithSalience() {
+        StringBuilder sb = new StringBuilder( 400 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < 10; i++) {
+            sb.append( getRule( i, "", "salience " + i ) );
+        }
+        KieBase kbase = new KieHelper().addContent( sb.toString(), ResourceType.DRL )
+                                       .build( MultithreadEvaluationOption.YES, MaxThreadsOption.get( 2 ) );
+        return kbase.newKieSession();
+    }
+
+    private KieSession getKieSession( int rulesNr, String rhs, String attributes ) {
+        StringBuilder sb = new StringBuilder( 400 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < rulesNr; i++) {
+            sb.append( getRule( i, rhs, attributes ) );
+        }
+        KieBase kbase = new KieHelper().addContent( sb.toString(), ResourceType.DRL )
+                                       .build( MultithreadEvaluationOption.YES, MaxThreadsOption.get( 2 ) );
+        KieSession ksession = kbase.newKieSession();
+        assertTrue( ( (InternalWorkingMemory) ksession ).getAgenda().isParallelAgenda() );
+        return ksession;
+    }
+
+    private WorkStealingPartitionEvaluator getEvaluator( KieSession ksession ) {
+        WorkStealingPartitionEvaluator evaluator = ( (CompositeDefaultAgenda) ( (InternalWorkingMemory) ksession ).getAgenda() ).getWorkStealingEvaluator();
+        assertNotNull( evaluator );
+        return evaluator;
+    }
+
+    private long firedInPartitions( WorkStealingPartitionEvaluator evaluator ) {
+        long fired = 0;
+        for (PartitionMetrics metrics : evaluator.getPartitionMetrics()) {
+            fired += metrics.getFiredRules();
+        }
+        return fired;
+    }
+
+    private String getRule( int i, String rhs, String attributes ) {
+        return  "rule R" + i + " " + attributes + "when\n" +
+                "    $i : Integer( intValue == " + i + " )" +
+                "    String( toString == $i.toString )\n" +
+                "then\n" +
+                "    list.add($i);\n" +
+                rhs +
+                "end\n";
+    }
+}
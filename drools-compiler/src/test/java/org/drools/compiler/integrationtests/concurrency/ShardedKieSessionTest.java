@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.integrationtests.concurrency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.sharding.PartitionKey;
+import org.drools.core.sharding.ShardedKieSession;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardedKieSessionTest {
+
+    private static final String DRL =
+            "import " + Transaction.class.getCanonicalName() + ";\n" +
+            "import " + Threshold.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "query bigTransactions( String $account )\n" +
+            "  $t : Transaction( accountId == $account, $amount : amount )\n" +
+            "  Threshold( $amount > limit )\n" +
+            "end\n" +
+            "rule Suspicious when\n" +
+            "  $t1 : Transaction( $account : accountId )\n" +
+            "  $t2 : Transaction( accountId == $account, this != $t1, amount > $t1.amount )\n" +
+            "  Threshold( $t2.amount - $t1.amount > limit )\n" +
+            "then\n" +
+            "  list.add( $account );\n" +
+            "end\n";
+
+    @Test(timeout = 20000)
+    public void testFactsOfSameKeyAreJoined() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ShardedKieSession session = new ShardedKieSession( kbase, 4 );
+        try {
+            List<String> list = Collections.synchronizedList( new ArrayList<>() );
+            session.setGlobal( "list", list );
+            session.broadcast( new Threshold( 100 ) );
+
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String account = "account" + i;
+                transactions.add( new Transaction( account, 10 ) );
+                // only the odd accounts have a suspicious transaction
+                transactions.add( new Transaction( account, i % 2 == 0 ? 50 : 500 ) );
+            }
+            session.insertAll( transactions );
+
+            assertEquals( 10, session.fireAllRules() );
+            assertEquals( 10, list.size() );
+            assertTrue( list.contains( "account1" ) );
+            // the threshold is inserted in each shard
+            assertEquals( 40 + 4, session.getFactCount() );
+
+            List<Map<String, Object>> rows = session.getQueryResults( "bigTransactions", "account3" );
+            assertEquals( 1, rows.size() );
+            assertEquals( 500, rows.get( 0 ).get( "$amount" ) );
+
+            Transaction big = transactions.get( 3 );
+            big.setAmount( 20 );
+            session.update( big );
+            assertEquals( 0, session.fireAllRules() );
+            assertEquals( 0, session.getQueryResults( "bigTransactions", "account1" ).size() );
+
+            session.delete( transactions.get( 2 ) );
+            assertEquals( 39 + 4, session.getFactCount() );
+        } finally {
+            session.dispose();
+        }
+    }
+
+    @Test
+    public void testRoutingByPartitionKey() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ShardedKieSession session = new ShardedKieSession( kbase, 3 );
+        try {
+            assertEquals( session.getShardIndex( new Transaction( "a", 1 ) ), session.getShardIndex( new Transaction( "a", 2 ) ) );
+            assertEquals( -1, session.getShardIndex( new Threshold( 1 ) ) );
+        } finally {
+            session.dispose();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testAsyncFailureIsReported() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        ShardedKieSession session = new ShardedKieSession( kbase, 2 );
+        try {
+            session.setGlobal( "notExisting", "value" );
+            try {
+                session.fireAllRules();
+                fail( "the failure of setting the global should be reported" );
+            } catch (RuntimeException e) {
+                // expected
+            }
+            assertEquals( 0, session.fireAllRules() );
+        } finally {
+            session.dispose();
+        }
+    }
+
+    public static class Transaction {
+
+        @PartitionKey
+        private final String accountId;
+        private int amount;
+
+        public Transaction( String accountId, int amount ) {
+            this.accountId = accountId;
+            this.amount = amount;
+        }
+
+        public String getAccountId() {
+            return accountId;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount( int amount ) {
+            this.amount = amount;
+        }
+    }
+
+    public static class Threshold {
+
+        private final int limit;
+
+        public Threshold( int limit ) {
+            this.limit = limit;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests.marshalling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.compiler.Person;
+import org.drools.core.marshalling.impl.InternalMarshaller;
+import org.drools.core.marshalling.impl.SessionCheckpointer;
+import org.drools.core.marshalling.impl.SessionCheckpointer.Checkpoint;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.internal.marshalling.MarshallerFactory;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SessionCheckpointerTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "rule Adults when\n" +
+            "  $p : Person( age >= 18 )\n" +
+            "then\n" +
+            "  list.add( $p.getName() );\n" +
+            "end\n";
+
+    @Test
+    public void testRestoreFromDelta() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new ArrayList<>() );
+
+        List<FactHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            handles.add( ksession.insert( new Person( "person" + i, i ) ) );
+        }
+        assertEquals( 82, ksession.fireAllRules() );
+
+        InternalMarshaller marshaller = newMarshaller( kbase );
+        SessionCheckpointer checkpointer = new SessionCheckpointer( ksession, marshaller );
+        Checkpoint snapshot = checkpointer.checkpoint();
+        assertTrue( snapshot.isFull() );
+
+        ksession.insert( new Person( "new1", 30 ) );
+        ksession.insert( new Person( "new2", 5 ) );
+        Person child = (Person) ksession.getObject( handles.get( 10 ) );
+        child.setAge( 40 );
+        ksession.update( handles.get( 10 ), child );
+        ksession.delete( handles.get( 50 ) );
+
+        Checkpoint delta = checkpointer.checkpoint();
+        assertFalse( delta.isFull() );
+        assertTrue( delta.getData().length < snapshot.getData().length );
+        ksession.dispose();
+
+        KieSession restored = SessionCheckpointer.restore( marshaller, kbase, snapshot.getData(), delta.getData(), null, null );
+        List<String> list = new ArrayList<>();
+        restored.setGlobal( "list", list );
+
+        assertEquals( 101, restored.getFactCount() );
+        // only the activations pending when the delta was taken are fired
+        assertEquals( 2, restored.fireAllRules() );
+        assertTrue( list.contains( "new1" ) );
+        assertTrue( list.contains( "person10" ) );
+
+        int ages = 0;
+        for (Object o : restored.getObjects()) {
+            ages += ( (Person) o ).getAge();
+        }
+        assertEquals( 4950 - 10 + 40 - 50 + 30 + 5, ages );
+        restored.dispose();
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new ArrayList<>() );
+
+        for (int i = 0; i < 20; i++) {
+            ksession.insert( new Person( "person" + i, i ) );
+        }
+
+        SessionCheckpointer checkpointer = new SessionCheckpointer( ksession, newMarshaller( kbase ) );
+        assertTrue( checkpointer.checkpoint().isFull() );
+
+        ksession.insert( new Person( "new", 30 ) );
+        assertFalse( checkpointer.checkpoint().isFull() );
+
+        // the changes involve more than 1/4 of the facts, so they are compacted in a new full snapshot
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( new Person( "more" + i, i ) );
+        }
+        assertTrue( checkpointer.checkpoint().isFull() );
+        assertFalse( checkpointer.checkpoint().isFull() );
+
+        ksession.dispose();
+    }
+
+    @Test
+    public void testExpiredEventsAreNotRestored() throws Exception {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "declare Person @role( event ) @expires( 10s ) end\n" +
+                "rule Adults when\n" +
+                "  $p : Person( age >= 18 )\n" +
+                "then\n" +
+                "end\n";
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setOption( ClockTypeOption.get( "pseudo" ) );
+        KieSession ksession = kbase.newKieSession( conf, null );
+
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( new Person( "person" + i, 20 + i ) );
+        }
+        for (int i = 0; i < 5; i++) {
+            ksession.insert( "fact" + i );
+        }
+        ksession.fireAllRules();
+
+        InternalMarshaller marshaller = newMarshaller( kbase );
+        SessionCheckpointer checkpointer = new SessionCheckpointer( ksession, marshaller );
+        Checkpoint snapshot = checkpointer.checkpoint();
+        assertTrue( snapshot.isFull() );
+
+        // the events expire without any deletion being notified to the checkpointer
+        ( (SessionPseudoClock) ksession.getSessionClock() ).advanceTime( 20, TimeUnit.SECONDS );
+        ksession.fireAllRules();
+        assertEquals( 5, ksession.getFactCount() );
+
+        ksession.insert( new Person( "late", 40 ) );
+        ksession.fireAllRules();
+
+        Checkpoint delta = checkpointer.checkpoint();
+        assertFalse( delta.isFull() );
+        ksession.dispose();
+
+        KieSession restored = SessionCheckpointer.restore( marshaller, kbase, snapshot.getData(), delta.getData(), conf, null );
+        assertEquals( 6, restored.getFactCount() );
+        List<String> persons = new ArrayList<>();
+        for (Object o : restored.getObjects()) {
+            if ( o instanceof Person ) {
+                persons.add( ( (Person) o ).getName() );
+            }
+        }
+        assertEquals( 1, persons.size() );
+        assertEquals( "late", persons.get( 0 ) );
+        restored.dispose();
+    }
+
+    private InternalMarshaller newMarshaller( KieBase kbase ) {
+        return (InternalMarshaller) MarshallerFactory.newMarshaller( kbase,
+                new ObjectMarshallingStrategy[] { MarshallerFactory.newSerializeMarshallingStrategy() } );
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.integrationtests.marshalling;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.compiler.Person;
+import org.drools.compiler.StockTick;
+import org.drools.core.marshalling.impl.MarshallingConfigurationImpl;
+import org.drools.core.marshalling.impl.StreamingSnapshotMarshaller;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.internal.marshalling.MarshallerFactory;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+
+public class StreamingSnapshotMarshallerTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "import " + StockTick.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "declare StockTick\n" +
+            "  @role( event )\n" +
+            "  @expires( 10s )\n" +
+            "end\n" +
+            "rule Adults when\n" +
+            "  $p : Person( age >= 18 )\n" +
+            "then\n" +
+            "  list.add( $p.getName() );\n" +
+            "end\n" +
+            "rule Ticks when\n" +
+            "  $t : StockTick( company == \"RHT\" ) from entry-point \"ticks\"\n" +
+            "then\n" +
+            "  list.add( $t.getSeq() );\n" +
+            "end\n";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        checkRoundTrip( false );
+    }
+
+    @Test
+    public void testMemoryMappedRoundTrip() throws Exception {
+        checkRoundTrip( true );
+    }
+
+    private void checkRoundTrip( boolean memoryMapped ) throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+        KieSession ksession = kbase.newKieSession( getPseudoClockConfiguration(), null );
+
+        for (int i = 0; i < 100; i++) {
+            ksession.insert( new Person( "person" + i, i ) );
+        }
+        ksession.getEntryPoint( "ticks" ).insert( new StockTick( 1, "RHT", 10.0 ) );
+        ksession.getEntryPoint( "ticks" ).insert( new StockTick( 2, "IBM", 20.0 ) );
+        ksession.getEntryPoint( "ticks" ).insert( new StockTick( 3, "RHT", 30.0 ) );
+
+        StreamingSnapshotMarshaller marshaller = new StreamingSnapshotMarshaller( kbase,
+                new MarshallingConfigurationImpl( new ObjectMarshallingStrategy[] { MarshallerFactory.newSerializeMarshallingStrategy() }, true, true ),
+                memoryMapped );
+
+        File snapshot = File.createTempFile( "session", ".snapshot" );
+        snapshot.deleteOnExit();
+        try (FileChannel channel = FileChannel.open( snapshot.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING )) {
+            marshaller.marshall( channel, ksession );
+        }
+        ksession.dispose();
+
+        KieSession restored;
+        try (FileChannel channel = FileChannel.open( snapshot.toPath(), StandardOpenOption.READ )) {
+            restored = marshaller.unmarshall( channel, getPseudoClockConfiguration(), null );
+        }
+
+        List<Object> list = new ArrayList<>();
+        restored.setGlobal( "list", list );
+
+        assertEquals( 100, restored.getFactCount() );
+        assertEquals( 3, restored.getEntryPoint( "ticks" ).getFactCount() );
+        assertEquals( 82 + 2, restored.fireAllRules() );
+        assertEquals( 82 + 2, list.size() );
+
+        // the expiration timers of the events have been restored as well
+        ( (SessionPseudoClock) restored.getSessionClock() ).advanceTime( 11, TimeUnit.SECONDS );
+        restored.fireAllRules();
+        assertEquals( 0, restored.getEntryPoint( "ticks" ).getFactCount() );
+        assertEquals( 100, restored.getFactCount() );
+
+        restored.dispose();
+    }
+
+    private KieSessionConfiguration getPseudoClockConfiguration() {
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setOption( ClockTypeOption.get( "pseudo" ) );
+        return conf;
+    }
+}
@@ -94,7 +94,7 @@ import static org.drools.core.util.MemoryUtil.hasPermGen;
  * drools.shareBetaNodes = &lt;true|false&gt;
  * drools.alphaNodeHashingThreshold = &lt;1...n&gt;
  * drools.sessionPool = &lt;1...n&gt;
- * drools.compositeKeyDepth = &lt;1..3&gt;
+ * drools.compositeKeyDepth = &lt;1..8&gt;
  * drools.indexLeftBetaMemory = &lt;true/false&gt;
  * drools.indexRightBetaMemory = &lt;true/false&gt;
  * drools.equalityBehavior = &lt;identity|equality&gt;
@@ -121,6 +121,16 @@ public class RuleBaseConfiguration
 
     public static final String DEFAULT_SIGN_ON_SERIALIZATION = "false";
 
+    public static final String WORK_STEALING_EVALUATION_PROPERTY = "drools.workStealingEvaluation";
+
+    public static final String PARTITION_REBALANCING_PROPERTY = "drools.partitionRebalancing";
+
+    public static final String OFF_HEAP_OBJECT_STORE_PROPERTY = "drools.offHeapObjectStore";
+
+    public static final String JOIN_COMPARISON_INDEX_PROPERTY = "drools.joinComparisonIndex";
+
+    public static final int MAX_COMPOSITE_KEY_DEPTH = 8;
+
     protected static final transient Logger logger = LoggerFactory.getLogger(RuleBaseConfiguration.class);
 
     private ChainedProperties chainedProperties;
@@ -158,6 +168,20 @@ public class RuleBaseConfiguration
     private boolean multithread;
     private int     maxThreads;
 
+    // if "true", the agendas of the different partitions are fired by at most
+    // maxThreads workers that steal pending partitions from each other
+    private boolean workStealingEvaluation;
+
+    // if "true", the propagations flowing into each partition are counted and the partitions
+    // are moved among the evaluation slots when the last session of the kbase is disposed
+    private boolean partitionRebalancing;
+
+    // if "true", the sessions index their fact handles with tables allocated outside of the java heap
+    private boolean offHeapObjectStore;
+
+    // if "true", the join nodes with a comparison (<, <=, >, >=) constraint keep their memories in a range index
+    private boolean joinComparisonIndex;
+
     // this property activates MBean monitoring and management
     private boolean mbeansEnabled;
 
@@ -205,6 +229,10 @@ public class RuleBaseConfiguration
         out.writeBoolean(advancedProcessRuleIntegration);
         out.writeBoolean(multithread);
         out.writeInt(maxThreads);
+        out.writeBoolean(workStealingEvaluation);
+        out.writeBoolean(partitionRebalancing);
+        out.writeBoolean(offHeapObjectStore);
+        out.writeBoolean(joinComparisonIndex);
         out.writeObject(eventProcessingMode);
         out.writeBoolean(classLoaderCacheEnabled);
         out.writeBoolean(phreakEnabled);
@@ -237,6 +265,10 @@ public class RuleBaseConfiguration
         advancedProcessRuleIntegration = in.readBoolean();
         multithread = in.readBoolean();
         maxThreads = in.readInt();
+        workStealingEvaluation = in.readBoolean();
+        partitionRebalancing = in.readBoolean();
+        offHeapObjectStore = in.readBoolean();
+        joinComparisonIndex = in.readBoolean();
         eventProcessingMode = (EventProcessingOption) in.readObject();
         classLoaderCacheEnabled = in.readBoolean();
         phreakEnabled = in.readBoolean();
@@ -330,6 +362,14 @@ public class RuleBaseConfiguration
             setMultithreadEvaluation( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
             setMaxThreads( StringUtils.isEmpty( value ) ? 3 : Integer.parseInt(value));
+        } else if ( name.equals( WORK_STEALING_EVALUATION_PROPERTY ) ) {
+            setWorkStealingEvaluation( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( PARTITION_REBALANCING_PROPERTY ) ) {
+            setPartitionRebalancing( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( OFF_HEAP_OBJECT_STORE_PROPERTY ) ) {
+            setOffHeapObjectStore( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( JOIN_COMPARISON_INDEX_PROPERTY ) ) {
+            setJoinComparisonIndex( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( EventProcessingOption.PROPERTY_NAME ) ) {
             setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( StringUtils.isEmpty( value ) ? "cloud" : value));
         } else if ( name.equals( MBeansOption.PROPERTY_NAME ) ) {
@@ -385,6 +425,14 @@ public class RuleBaseConfiguration
             return Boolean.toString( isMultithreadEvaluation() );
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
             return Integer.toString( getMaxThreads());
+        } else if ( name.equals( WORK_STEALING_EVALUATION_PROPERTY ) ) {
+            return Boolean.toString( isWorkStealingEvaluation() );
+        } else if ( name.equals( PARTITION_REBALANCING_PROPERTY ) ) {
+            return Boolean.toString( isPartitionRebalancing() );
+        } else if ( name.equals( OFF_HEAP_OBJECT_STORE_PROPERTY ) ) {
+            return Boolean.toString( isOffHeapObjectStore() );
+        } else if ( name.equals( JOIN_COMPARISON_INDEX_PROPERTY ) ) {
+            return Boolean.toString( isJoinComparisonIndex() );
         } else if ( name.equals( EventProcessingOption.PROPERTY_NAME ) ) {
             return getEventProcessingMode().getMode();
         } else if ( name.equals( MBeansOption.PROPERTY_NAME ) ) {
@@ -472,6 +520,18 @@ public class RuleBaseConfiguration
         setMaxThreads( Integer.parseInt( this.chainedProperties.getProperty( MaxThreadsOption.PROPERTY_NAME,
                                                                              "3" ) ) );
 
+        setWorkStealingEvaluation( Boolean.valueOf( this.chainedProperties.getProperty( WORK_STEALING_EVALUATION_PROPERTY,
+                                                                                        "false" ) ).booleanValue() );
+
+        setPartitionRebalancing( Boolean.valueOf( this.chainedProperties.getProperty( PARTITION_REBALANCING_PROPERTY,
+                                                                                      "false" ) ).booleanValue() );
+
+        setOffHeapObjectStore( Boolean.valueOf( this.chainedProperties.getProperty( OFF_HEAP_OBJECT_STORE_PROPERTY,
+                                                                                    "false" ) ).booleanValue() );
+
+        setJoinComparisonIndex( Boolean.valueOf( this.chainedProperties.getProperty( JOIN_COMPARISON_INDEX_PROPERTY,
+                                                                                     "false" ) ).booleanValue() );
+
         setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( this.chainedProperties.getProperty( EventProcessingOption.PROPERTY_NAME,
                                                                                                                         "cloud" ) ) );
 
@@ -623,8 +683,8 @@ public class RuleBaseConfiguration
 
     public void setCompositeKeyDepth(final int compositeKeyDepth) {
         if ( !this.immutable ) {
-            if ( compositeKeyDepth > 3 ) {
-                throw new UnsupportedOperationException( "compositeKeyDepth cannot be greater than 3" );
+            if ( compositeKeyDepth > MAX_COMPOSITE_KEY_DEPTH ) {
+                throw new UnsupportedOperationException( "compositeKeyDepth cannot be greater than " + MAX_COMPOSITE_KEY_DEPTH );
             }
             this.compositeKeyDepth = compositeKeyDepth;
         } else {
@@ -741,6 +801,77 @@ public class RuleBaseConfiguration
         return this.maxThreads;
     }
 
+    /**
+     * Defines if, when multi-thread evaluation is enabled, the agendas of the
+     * different partitions should be fired by at most maxThreads workers that
+     * steal the pending partitions from each other ("true"), instead of using
+     * one task per partition ("false"). Each partition agenda is still fired by
+     * a single thread at a time, and a fire limit is never exceeded.
+     * fireUntilHalt is not affected by this option.
+     *
+     * @param workStealingEvaluation true to enable work stealing. Default is false.
+     */
+    public void setWorkStealingEvaluation(boolean workStealingEvaluation) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.workStealingEvaluation = workStealingEvaluation;
+    }
+
+    public boolean isWorkStealingEvaluation() {
+        return this.workStealingEvaluation;
+    }
+
+    /**
+     * Defines if, when multi-thread evaluation is enabled, the propagations flowing
+     * into each partition should be counted ("true") so that the partitions can be
+     * moved among the evaluation slots according to their load. The rebalancing is
+     * requested with InternalKnowledgeBase.rebalancePartitions() when the kbase has no live sessions.
+     *
+     * @param partitionRebalancing true to enable the rebalancing. Default is false.
+     */
+    public void setPartitionRebalancing(boolean partitionRebalancing) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.partitionRebalancing = partitionRebalancing;
+    }
+
+    public boolean isPartitionRebalancing() {
+        return this.partitionRebalancing;
+    }
+
+    /**
+     * Defines if the object stores of the sessions should keep the tables used
+     * to look up the fact handles outside of the java heap ("true"), reducing
+     * the number of objects the garbage collector has to trace in sessions
+     * holding millions of facts.
+     *
+     * @param offHeapObjectStore true to use the off-heap store. Default is false.
+     */
+    public void setOffHeapObjectStore(boolean offHeapObjectStore) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.offHeapObjectStore = offHeapObjectStore;
+    }
+
+    public boolean isOffHeapObjectStore() {
+        return this.offHeapObjectStore;
+    }
+
+    /**
+     * Defines if the join nodes having a comparison (&lt;, &lt;=, &gt;, &gt;=) constraint
+     * should keep their left and right memories in a range index ("true"), so that only the
+     * tuples in the matching range are visited. The index pays off when the constraint is
+     * selective, while it only adds the cost of keeping the tree balanced when most of
+     * the tuples match, which is why it has to be explicitly enabled.
+     *
+     * @param joinComparisonIndex true to index the comparisons of the join nodes. Default is false.
+     */
+    public void setJoinComparisonIndex(boolean joinComparisonIndex) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.joinComparisonIndex = joinComparisonIndex;
+    }
+
+    public boolean isJoinComparisonIndex() {
+        return this.joinComparisonIndex;
+    }
+
     public boolean isClassLoaderCacheEnabled() {
         return this.classLoaderCacheEnabled;
     }
@@ -45,6 +45,10 @@ import org.kie.internal.runtime.conf.ForceEagerActivationOption;
 
 public abstract class SessionConfiguration implements KieSessionConfiguration, Externalizable {
 
+    public static final String RECYCLE_PROPAGATION_ENTRIES_PROPERTY = "drools.recyclePropagationEntries";
+    public static final String NODE_PROFILING_PROPERTY = "drools.nodeProfiling";
+    public static final String SHARED_FIRE_UNTIL_HALT_PROPERTY = "drools.sharedFireUntilHalt";
+
     public static SessionConfiguration newInstance() {
         return new SessionConfigurationImpl();
     }
@@ -67,6 +71,15 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
         }
     }
 
+    public abstract void setRecyclePropagationEntries(boolean recyclePropagationEntries);
+    public abstract boolean isRecyclePropagationEntries();
+
+    public abstract void setNodeProfiling(boolean nodeProfiling);
+    public abstract boolean isNodeProfiling();
+
+    public abstract void setSharedFireUntilHalt(boolean sharedFireUntilHalt);
+    public abstract boolean isSharedFireUntilHalt();
+
     public abstract SessionConfiguration addDefaultProperties(Properties properties);
 
     public abstract void setTimedRuleExecutionFilter(TimedRuleExecutionFilter timedRuleExecutionFilter);
@@ -170,6 +183,12 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( property ) );
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             setBeliefSystemType(StringUtils.isEmpty(value) ? BeliefSystemType.SIMPLE : BeliefSystemType.resolveBeliefSystemType(value));
+        } else if ( name.equals( RECYCLE_PROPAGATION_ENTRIES_PROPERTY ) ) {
+            setRecyclePropagationEntries(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( NODE_PROFILING_PROPERTY ) ) {
+            setNodeProfiling(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( SHARED_FIRE_UNTIL_HALT_PROPERTY ) ) {
+            setSharedFireUntilHalt(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
         }
     }
 
@@ -189,6 +208,12 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             return getQueryListenerOption().getAsString();
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             return getBeliefSystemType().getId();
+        } else if ( name.equals( RECYCLE_PROPAGATION_ENTRIES_PROPERTY ) ) {
+            return Boolean.toString(isRecyclePropagationEntries());
+        } else if ( name.equals( NODE_PROFILING_PROPERTY ) ) {
+            return Boolean.toString(isNodeProfiling());
+        } else if ( name.equals( SHARED_FIRE_UNTIL_HALT_PROPERTY ) ) {
+            return Boolean.toString(isSharedFireUntilHalt());
         }
         return null;
     }
@@ -61,6 +61,9 @@ import org.kie.internal.utils.ChainedProperties;
  * 
  * drools.keepReference = <true|false>
  * drools.clockType = <pseudo|realtime|heartbeat|implicit>
+ * drools.recyclePropagationEntries = <true|false>
+ * drools.nodeProfiling = <true|false>
+ * drools.sharedFireUntilHalt = <true|false>
  */
 public class SessionConfigurationImpl extends SessionConfiguration {
 
@@ -72,6 +75,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
     private boolean                        keepReference;
 
+    private boolean                        recyclePropagationEntries;
+
+    private boolean                        nodeProfiling;
+
+    private boolean                        sharedFireUntilHalt;
+
     private ForceEagerActivationFilter     forceEagerActivationFilter;
     private TimedRuleExecutionFilter       timedRuleExecutionFilter;
 
@@ -96,6 +105,9 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         out.writeObject(clockType);
         out.writeObject( queryListener );
         out.writeObject( timerJobFactoryType );
+        out.writeBoolean( recyclePropagationEntries );
+        out.writeBoolean( nodeProfiling );
+        out.writeBoolean( sharedFireUntilHalt );
     }
 
     @SuppressWarnings("unchecked")
@@ -116,6 +128,9 @@ public class SessionConfigurationImpl extends SessionConfiguration {
                 throw e;
             }
         }
+        recyclePropagationEntries = in.readBoolean();
+        nodeProfiling = in.readBoolean();
+        sharedFireUntilHalt = in.readBoolean();
     }
 
     /**
@@ -157,6 +172,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
         setKeepReference(Boolean.valueOf(this.chainedProperties.getProperty(KeepReferenceOption.PROPERTY_NAME, "true")));
 
+        setRecyclePropagationEntries(Boolean.valueOf(this.chainedProperties.getProperty(RECYCLE_PROPAGATION_ENTRIES_PROPERTY, "false")));
+
+        setNodeProfiling(Boolean.valueOf(this.chainedProperties.getProperty(NODE_PROFILING_PROPERTY, "false")));
+
+        setSharedFireUntilHalt(Boolean.valueOf(this.chainedProperties.getProperty(SHARED_FIRE_UNTIL_HALT_PROPERTY, "false")));
+
         setForceEagerActivationFilter(ForceEagerActivationOption.resolve(this.chainedProperties.getProperty(ForceEagerActivationOption.PROPERTY_NAME,
                                                                                                             "false")).getFilter());
 
@@ -219,6 +240,33 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         return this.keepReference;
     }
 
+    public void setRecyclePropagationEntries(boolean recyclePropagationEntries) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.recyclePropagationEntries = recyclePropagationEntries;
+    }
+
+    public boolean isRecyclePropagationEntries() {
+        return this.recyclePropagationEntries;
+    }
+
+    public void setNodeProfiling(boolean nodeProfiling) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.nodeProfiling = nodeProfiling;
+    }
+
+    public boolean isNodeProfiling() {
+        return this.nodeProfiling;
+    }
+
+    public void setSharedFireUntilHalt(boolean sharedFireUntilHalt) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.sharedFireUntilHalt = sharedFireUntilHalt;
+    }
+
+    public boolean isSharedFireUntilHalt() {
+        return this.sharedFireUntilHalt;
+    }
+
     public void setForceEagerActivationFilter(ForceEagerActivationFilter forceEagerActivationFilter) {
         checkCanChange(); // throws an exception if a change isn't possible;
         this.forceEagerActivationFilter = forceEagerActivationFilter;
@@ -16,6 +16,9 @@
 
 package org.drools.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.ObjectStore;
@@ -54,6 +57,23 @@ public interface WorkingMemoryEntryPoint extends EntryPoint {
     FactHandle insert(Object object,
                       boolean dynamic);
 
+    /**
+     * Insert all the given facts, in the order of the given collection. Implementations may
+     * share the per-insert bookkeeping among all the facts of the collection.
+     *
+     * @param objects
+     *            The fact objects.
+     *
+     * @return The fact-handles associated with the objects, in the same order of the given collection.
+     */
+    default List<FactHandle> insertAll(Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>( objects.size() );
+        for ( Object object : objects ) {
+            handles.add( insert( object ) );
+        }
+        return handles;
+    }
+
     WorkingMemoryEntryPoint getWorkingMemoryEntryPoint(String name);
     
     /**
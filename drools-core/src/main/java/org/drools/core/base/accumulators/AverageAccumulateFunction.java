@@ -36,18 +36,18 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
 
     public static class AverageData implements Externalizable {
         public int    count = 0;
-        public double total = 0;
+        public CompensatedSum total = new CompensatedSum();
         
         public AverageData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             count   = in.readInt();
-            total   = in.readDouble();
+            total.readExternal(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeInt(count);
-            out.writeDouble(total);
+            total.writeExternal(out);
         }
 
     }
@@ -64,7 +64,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
      */
     public void init(AverageData data) {
         data.count = 0;
-        data.total = 0;
+        data.total.reset();
     }
 
     /* (non-Javadoc)
@@ -74,7 +74,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
                            Object value) {
         if (value != null) {
             data.count++;
-            data.total += ( (Number) value ).doubleValue();
+            data.total.add( ( (Number) value ).doubleValue() );
         }
     }
 
@@ -85,7 +85,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
                         Object value) {
         if (value != null) {
             data.count--;
-            data.total -= ( (Number) value ).doubleValue();
+            data.total.subtract( ( (Number) value ).doubleValue() );
         }
     }
 
@@ -93,7 +93,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
      * @see org.kie.base.accumulators.AccumulateFunction#getResult(java.lang.Object)
      */
     public Object getResult(AverageData data) {
-        return data.count == 0 ? null : data.total / data.count;
+        return data.count == 0 ? null : data.total.getValue() / data.count;
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.base.accumulators;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * A sum of doubles using the Kahan-Babuska (Neumaier) compensated summation: the low order bits lost when a
+ * value is added to the running total are collected in a separate compensation term. Reversible accumulations
+ * continuously add and subtract values, so without it the rounding errors pile up and, for instance, the sum
+ * of a window can drift away from 0 even after all its values have been removed.
+ */
+public class CompensatedSum implements Externalizable {
+
+    private double sum;
+    private double compensation;
+
+    public CompensatedSum() { }
+
+    public void add(double value) {
+        double total = sum + value;
+        if ( Math.abs( sum ) >= Math.abs( value ) ) {
+            compensation += ( sum - total ) + value;
+        } else {
+            compensation += ( value - total ) + sum;
+        }
+        sum = total;
+    }
+
+    public void subtract(double value) {
+        add( -value );
+    }
+
+    public double getValue() {
+        double value = sum + compensation;
+        // the compensation becomes NaN when the sum overflows, in this case the plain sum is the right result
+        return Double.isNaN( value ) && Double.isInfinite( sum ) ? sum : value;
+    }
+
+    public void reset() {
+        sum = 0;
+        compensation = 0;
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        sum = in.readDouble();
+        compensation = in.readDouble();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeDouble( sum );
+        out.writeDouble( compensation );
+    }
+
+    @Override
+    public String toString() {
+        return Double.toString( getValue() );
+    }
+}
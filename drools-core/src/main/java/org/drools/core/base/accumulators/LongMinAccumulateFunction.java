@@ -35,16 +35,16 @@ public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMi
     }
 
     protected static class MaxData implements Externalizable {
-        public Long min = null;
+        public SortedMultiset<Long> values = new SortedMultiset<>();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Long) in.readObject();
+            values = SortedMultiset.readValues( in.readObject(), values );
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            out.writeObject(values);
         }
 
         @Override
@@ -58,27 +58,29 @@ public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMi
     }
 
     public void init(MaxData data) {
-        data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Long number = (Long)value;
-            data.min = data.min == null || data.min > number ? number : data.min;
+            data.values.add( (Long) value );
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove( (Long) value );
+        }
     }
 
     public Object getResult(MaxData data) {
-        return data.min;
+        return data.values.first();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
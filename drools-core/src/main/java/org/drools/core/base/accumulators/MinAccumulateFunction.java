@@ -35,16 +35,16 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
     }
 
     protected static class MinData implements Externalizable {
-        public Comparable min = null;
+        public SortedMultiset<Comparable> values = new SortedMultiset<>();
         
         public MinData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Comparable) in.readObject();
+            values = SortedMultiset.readValues( in.readObject(), values );
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            out.writeObject(values);
         }
 
         @Override
@@ -58,28 +58,29 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
     }
 
     public void init(MinData data) {
-        data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MinData data,
                            Object value) {
         if (value != null) {
-            data.min = data.min == null || data.min.compareTo( value ) > 0 ?
-                       (Comparable) value :
-                       data.min;
+            data.values.add( (Comparable) value );
         }
     }
 
     public void reverse(MinData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove( (Comparable) value );
+        }
     }
 
     public Object getResult(MinData data) {
-        return data.min;
+        return data.values.first();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
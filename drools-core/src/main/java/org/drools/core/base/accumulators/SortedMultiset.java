@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.base.accumulators;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A sorted bag of values keeping the number of occurrences of each of them. It is used by the min and max
+ * accumulate functions to support the reverse: when an occurrence of the current min or max is removed the
+ * next one is found in O(log n) instead of recalculating the whole accumulation.
+ */
+public class SortedMultiset<T> implements Serializable {
+
+    private static final long serialVersionUID = 510l;
+
+    private final TreeMap<T, Counter> counters;
+
+    public SortedMultiset() {
+        this.counters = new TreeMap<>();
+    }
+
+    public SortedMultiset(Comparator<? super T> comparator) {
+        this.counters = new TreeMap<>( comparator );
+    }
+
+    /**
+     * Creates a SortedMultiset of numbers of possibly different types. Numbers of the same type are compared
+     * natively, while numbers of different types are compared by their exact BigDecimal value, so they never
+     * collapse into the same element because of a rounding.
+     */
+    public static <N extends Number> SortedMultiset<N> numbers() {
+        return new SortedMultiset<>( NumberComparator.INSTANCE );
+    }
+
+    /**
+     * Returns the values of a min or max accumulation from the object read by its readExternal(). Before keeping
+     * all the accumulated values those accumulations serialized only their current result, which is then restored
+     * as the only value of the given multiset.
+     */
+    public static <T> SortedMultiset<T> readValues(Object read, SortedMultiset<T> values) {
+        if ( read instanceof SortedMultiset ) {
+            return (SortedMultiset<T>) read;
+        }
+        values.clear();
+        if ( read != null ) {
+            values.add( (T) read );
+        }
+        return values;
+    }
+
+    public void add(T value) {
+        Counter counter = counters.get( value );
+        if ( counter == null ) {
+            counters.put( value, new Counter() );
+        } else {
+            counter.count++;
+        }
+    }
+
+    public boolean remove(T value) {
+        Counter counter = counters.get( value );
+        if ( counter == null ) {
+            return false;
+        }
+        if ( --counter.count == 0 ) {
+            counters.remove( value );
+        }
+        return true;
+    }
+
+    public T first() {
+        Map.Entry<T, Counter> entry = counters.firstEntry();
+        return entry != null ? entry.getKey() : null;
+    }
+
+    public T last() {
+        Map.Entry<T, Counter> entry = counters.lastEntry();
+        return entry != null ? entry.getKey() : null;
+    }
+
+    public int count(T value) {
+        Counter counter = counters.get( value );
+        return counter != null ? counter.count : 0;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+
+    @Override
+    public String toString() {
+        return counters.toString();
+    }
+
+    private static class Counter implements Serializable {
+        private static final long serialVersionUID = 510l;
+
+        private int count = 1;
+
+        @Override
+        public String toString() {
+            return Integer.toString( count );
+        }
+    }
+
+    private static class NumberComparator implements Comparator<Number>, Serializable {
+        private static final long serialVersionUID = 510l;
+
+        private static final NumberComparator INSTANCE = new NumberComparator();
+
+        @Override
+        public int compare( Number n1, Number n2 ) {
+            if ( n1.getClass() == n2.getClass() && n1 instanceof Comparable ) {
+                return ( (Comparable) n1 ).compareTo( n2 );
+            }
+            BigDecimal d1 = toBigDecimal( n1 );
+            BigDecimal d2 = toBigDecimal( n2 );
+            int result = d1 != null && d2 != null ?
+                         d1.compareTo( d2 ) :
+                         // NaN and infinities have no BigDecimal value
+                         Double.compare( n1.doubleValue(), n2.doubleValue() );
+            // equal numbers of different types are kept apart, so each instance can be found and removed
+            return result != 0 ? result : n1.getClass().getName().compareTo( n2.getClass().getName() );
+        }
+
+        private static BigDecimal toBigDecimal( Number n ) {
+            if ( n instanceof BigDecimal ) {
+                return (BigDecimal) n;
+            }
+            if ( n instanceof BigInteger ) {
+                return new BigDecimal( (BigInteger) n );
+            }
+            if ( n instanceof Double || n instanceof Float ) {
+                return toBigDecimal( n.doubleValue() );
+            }
+            if ( n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte ) {
+                return BigDecimal.valueOf( n.longValue() );
+            }
+            try {
+                return new BigDecimal( n.toString() );
+            } catch (NumberFormatException e) {
+                return toBigDecimal( n.doubleValue() );
+            }
+        }
+
+        private static BigDecimal toBigDecimal( double d ) {
+            return Double.isNaN( d ) || Double.isInfinite( d ) ? null : new BigDecimal( d );
+        }
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
+    }
+}
@@ -31,16 +31,16 @@ public class SumAccumulateFunction extends AbstractAccumulateFunction<SumAccumul
     public void writeExternal(ObjectOutput out) throws IOException { }
 
     protected static class SumData implements Externalizable {
-        public double total = 0;
+        public CompensatedSum total = new CompensatedSum();
 
         public SumData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            total   = in.readDouble();
+            total.readExternal(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeDouble(total);
+            total.writeExternal(out);
         }
 
         @Override
@@ -54,21 +54,21 @@ public class SumAccumulateFunction extends AbstractAccumulateFunction<SumAccumul
     }
 
     public void init(SumData data) {
-        data.total = 0;
+        data.total.reset();
     }
 
     public void accumulate(SumData data,
                            Object value) {
-        data.total += ((Number) value).doubleValue();
+        data.total.add( ((Number) value).doubleValue() );
     }
 
     public void reverse(SumData data,
                         Object value) {
-        data.total -= ((Number) value).doubleValue();
+        data.total.subtract( ((Number) value).doubleValue() );
     }
 
     public Object getResult(SumData data) {
-        return data.total;
+        return data.total.getValue();
     }
 
     public boolean supportsReverse() {
@@ -32,6 +32,7 @@ import org.drools.core.factmodel.traits.CoreWrapper;
 import org.drools.core.util.HashTableIterator;
 import org.drools.core.util.JavaIteratorAdapter;
 import org.drools.core.util.ObjectHashMap;
+import org.drools.core.util.OffHeapFactHandleMap;
 import org.kie.api.runtime.ClassObjectFilter;
 import org.kie.api.runtime.ObjectFilter;
 
@@ -46,16 +47,23 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
     private boolean isEqualityBehaviour;
 
+    private boolean isOffHeap;
+
     private int size;
 
     public ClassAwareObjectStore() { }
 
     public ClassAwareObjectStore(RuleBaseConfiguration conf, Lock lock) {
-        this(conf.getAssertBehaviour(), lock);
+        this(conf.getAssertBehaviour(), conf.isOffHeapObjectStore(), lock);
     }
 
     public ClassAwareObjectStore( RuleBaseConfiguration.AssertBehaviour assertBehaviour, Lock lock ) {
+        this(assertBehaviour, false, lock);
+    }
+
+    public ClassAwareObjectStore( RuleBaseConfiguration.AssertBehaviour assertBehaviour, boolean isOffHeap, Lock lock ) {
         this.lock = lock;
+        this.isOffHeap = isOffHeap;
         this.isEqualityBehaviour = RuleBaseConfiguration.AssertBehaviour.EQUALITY.equals(assertBehaviour);
         if (isEqualityBehaviour) {
             this.equalityMap = new ObjectHashMap();
@@ -70,6 +78,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         out.writeObject(equalityMap);
         out.writeInt(size);
         out.writeBoolean(isEqualityBehaviour);
+        out.writeBoolean(isOffHeap);
         out.writeObject(lock);
     }
 
@@ -80,6 +89,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         equalityMap = (ObjectHashMap) in.readObject();
         size = in.readInt();
         isEqualityBehaviour = in.readBoolean();
+        isOffHeap = in.readBoolean();
         lock = (Lock)in.readObject();
     }
 
@@ -127,8 +137,8 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             }
 
             return handle.isNegated() ?
-                   (InternalFactHandle) ((ConcreteClassStore) store).getNegMap().get(handle) :
-                   (InternalFactHandle) ((ConcreteClassStore) store).getIdentityMap().get(handle);
+                   ((ConcreteClassStore) store).getNegatedHandle(handle) :
+                   ((ConcreteClassStore) store).getIdentityHandle(handle);
         }
 
         if (isEqualityBehaviour) {
@@ -136,9 +146,9 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         for (ConcreteClassStore stores : concreteStores) {
-            Object reconnectedHandle = stores.getAssertMap().get(handle);
+            InternalFactHandle reconnectedHandle = stores.getAssertedHandle(handle);
             if (reconnectedHandle != null) {
-                return (InternalFactHandle) reconnectedHandle;
+                return reconnectedHandle;
             }
         }
 
@@ -153,12 +163,12 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         return isEqualityBehaviour ?
                (InternalFactHandle) equalityMap.get(object) :
-               (InternalFactHandle) getOrCreateConcreteClassStore(object).getAssertMap().get(object);
+               getOrCreateConcreteClassStore(object).getAssertedHandle(object);
     }
 
     @Override
     public InternalFactHandle getHandleForObjectIdentity(Object object) {
-        return (InternalFactHandle) getOrCreateConcreteClassStore(object).getIdentityMap().get(object);
+        return getOrCreateConcreteClassStore(object).getIdentityHandle(object);
     }
 
     @Override
@@ -285,7 +295,9 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     }
 
     private SingleClassStore createClassStoreAndAddConcreteSubStores(Class<?> clazz) {
-        SingleClassStore newStore = isEqualityBehaviour ? new ConcreteEqualityClassStore(clazz, equalityMap) : new ConcreteIdentityClassStore(clazz);
+        SingleClassStore newStore = isOffHeap ? new ConcreteOffHeapClassStore(clazz, equalityMap) :
+                                    isEqualityBehaviour ? new ConcreteEqualityClassStore(clazz, equalityMap) :
+                                    new ConcreteIdentityClassStore(clazz);
         for (SingleClassStore classStore : storesMap.values()) {
             if (classStore.isConcrete() && clazz.isAssignableFrom(classStore.getStoredClass())) {
                 newStore.addConcreteStore(((ConcreteClassStore) classStore));
@@ -355,9 +367,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         boolean addHandle(InternalFactHandle handle, Object object);
         InternalFactHandle removeHandle(InternalFactHandle handle);
 
-        ObjectHashMap getAssertMap();
-        ObjectHashMap getIdentityMap();
-        ObjectHashMap getNegMap();
+        InternalFactHandle getAssertedHandle(Object key);
+        InternalFactHandle getIdentityHandle(Object key);
+        InternalFactHandle getNegatedHandle(Object key);
+
+        Iterator<InternalFactHandle> handlesIterator(boolean assrt);
     }
 
     private static class ConcreteIdentityClassStore extends AbstractClassStore implements ConcreteClassStore {
@@ -391,20 +405,31 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         @Override
-        public ObjectHashMap getAssertMap() {
-            return identityMap;
+        public InternalFactHandle getAssertedHandle(Object key) {
+            return (InternalFactHandle) getAssertMap().get(key);
         }
 
         @Override
-        public ObjectHashMap getNegMap() {
-            return negMap;
+        public InternalFactHandle getIdentityHandle(Object key) {
+            return (InternalFactHandle) identityMap.get(key);
         }
 
         @Override
-        public ObjectHashMap getIdentityMap() {
+        public InternalFactHandle getNegatedHandle(Object key) {
+            return (InternalFactHandle) negMap.get(key);
+        }
+
+        protected ObjectHashMap getAssertMap() {
             return identityMap;
         }
 
+        @Override
+        public Iterator<InternalFactHandle> handlesIterator(boolean assrt) {
+            HashTableIterator iterator = new HashTableIterator( assrt ? identityMap : negMap );
+            iterator.reset();
+            return new JavaIteratorAdapter<InternalFactHandle>( iterator, JavaIteratorAdapter.FACT_HANDLE );
+        }
+
         @Override
         public void writeExternal(ObjectOutput out) throws IOException {
             super.writeExternal(out);
@@ -459,7 +484,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         @Override
-        public ObjectHashMap getAssertMap() {
+        protected ObjectHashMap getAssertMap() {
             return equalityMap;
         }
 
@@ -476,6 +501,121 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
     }
 
+    /**
+     * A store keeping the identity and negated handles of a class in OffHeapFactHandleMaps. With an equality assert
+     * behaviour the shared equality map, that needs the user defined equals and hashCode, remains on the heap.
+     */
+    private static class ConcreteOffHeapClassStore extends AbstractClassStore implements ConcreteClassStore {
+
+        private OffHeapFactHandleMap identityMap;
+
+        private OffHeapFactHandleMap negMap;
+
+        private ObjectHashMap equalityMap;
+
+        public ConcreteOffHeapClassStore() { }
+
+        public ConcreteOffHeapClassStore(Class<?> storedClass, ObjectHashMap equalityMap) {
+            super(storedClass);
+            this.equalityMap = equalityMap;
+        }
+
+        @Override
+        public boolean addHandle(InternalFactHandle handle, Object object) {
+            if ( handle.isNegated() ) {
+                negMap.put(handle);
+                return false;
+            }
+            boolean isNew = identityMap.put(handle);
+            if ( equalityMap != null ) {
+                equalityMap.put(handle, handle, false);
+            }
+            return isNew;
+        }
+
+        @Override
+        public InternalFactHandle removeHandle(InternalFactHandle handle) {
+            if ( handle.isNegated() ) {
+                negMap.remove(handle);
+                return null;
+            }
+            InternalFactHandle removedHandle = identityMap.remove(handle);
+            if ( equalityMap != null ) {
+                equalityMap.remove(handle);
+            }
+            return removedHandle;
+        }
+
+        @Override
+        public InternalFactHandle getAssertedHandle(Object key) {
+            return equalityMap != null ? (InternalFactHandle) equalityMap.get(key) : identityMap.get(key);
+        }
+
+        @Override
+        public InternalFactHandle getIdentityHandle(Object key) {
+            return identityMap.get(key);
+        }
+
+        @Override
+        public InternalFactHandle getNegatedHandle(Object key) {
+            return negMap.get(key);
+        }
+
+        @Override
+        public Iterator<InternalFactHandle> handlesIterator(boolean assrt) {
+            return assrt ? identityMap.iterator() : negMap.iterator();
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            super.writeExternal(out);
+            out.writeObject(equalityMap);
+            out.writeBoolean(isConcrete());
+            if (isConcrete()) {
+                writeHandles(out, identityMap);
+                writeHandles(out, negMap);
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            super.readExternal(in);
+            equalityMap = (ObjectHashMap)in.readObject();
+            if (in.readBoolean()) {
+                identityMap = readHandles(in);
+                negMap = readHandles(in);
+            }
+        }
+
+        private static void writeHandles(ObjectOutput out, OffHeapFactHandleMap map) throws IOException {
+            out.writeInt(map.size());
+            for (InternalFactHandle handle : map) {
+                out.writeObject(handle);
+            }
+        }
+
+        private static OffHeapFactHandleMap readHandles(ObjectInput in) throws IOException, ClassNotFoundException {
+            int size = in.readInt();
+            OffHeapFactHandleMap map = new OffHeapFactHandleMap(size);
+            for (int i = 0; i < size; i++) {
+                map.put((InternalFactHandle) in.readObject());
+            }
+            return map;
+        }
+
+        @Override
+        public boolean isConcrete() {
+            return identityMap != null;
+        }
+
+        @Override
+        public ConcreteClassStore makeConcrete() {
+            identityMap = new OffHeapFactHandleMap();
+            negMap = new OffHeapFactHandleMap();
+            return this;
+        }
+    }
+
     private static abstract class AbstractCompositeIterator<T> implements Iterator<T> {
         protected final Iterator<ConcreteClassStore> stores;
         protected final boolean assrt;
@@ -553,11 +693,18 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         protected void fetchNextIterator() {
-            HashTableIterator iterator = assrt ?
-                                         new HashTableIterator( stores.next().getIdentityMap() ) :
-                                         new HashTableIterator( stores.next().getNegMap() );
-            iterator.reset();
-            currentIterator = new JavaIteratorAdapter<Object>( iterator, JavaIteratorAdapter.OBJECT );
+            final Iterator<InternalFactHandle> handles = stores.next().handlesIterator(assrt);
+            currentIterator = new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return handles.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return handles.next().getObject();
+                }
+            };
         }
 
         @Override
@@ -577,11 +724,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         protected void fetchNextIterator() {
-            HashTableIterator iterator = assrt ?
-                                         new HashTableIterator( stores.next().getIdentityMap() ) :
-                                         new HashTableIterator( stores.next().getNegMap() );
-            iterator.reset();
-            currentIterator = new JavaIteratorAdapter<InternalFactHandle>( iterator, JavaIteratorAdapter.FACT_HANDLE );
+            currentIterator = stores.next().handlesIterator(assrt);
         }
 
         @Override
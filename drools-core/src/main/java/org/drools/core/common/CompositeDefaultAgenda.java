@@ -27,6 +27,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.phreak.ExecutableEntry;
 import org.drools.core.phreak.PropagationEntry;
@@ -64,6 +65,8 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
 
     private PropagationList propagationList;
 
+    private WorkStealingPartitionEvaluator workStealingEvaluator;
+
     public CompositeDefaultAgenda() { }
 
     public CompositeDefaultAgenda(InternalKnowledgeBase kBase) {
@@ -108,6 +111,17 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         Stream.of( agendas ).forEach( a -> a.setWorkingMemory( workingMemory ) );
         // this composite agenda and the first partitioned one share the same propagation list
         this.propagationList = agendas[0].getPropagationList();
+        RuleBaseConfiguration conf = workingMemory.getKnowledgeBase().getConfiguration();
+        this.workStealingEvaluator = conf.isWorkStealingEvaluation() ?
+                                     new WorkStealingPartitionEvaluator( agendas, conf.getMaxThreads() ) :
+                                     null;
+    }
+
+    /**
+     * @return the evaluator firing the partitioned agendas, or null if work stealing evaluation is not enabled
+     */
+    public WorkStealingPartitionEvaluator getWorkStealingEvaluator() {
+        return workStealingEvaluator;
     }
 
     @Override
@@ -144,6 +158,9 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
     }
 
     private int parallelFire( AgendaFilter agendaFilter, int fireLimit ) {
+        if ( workStealingEvaluator != null ) {
+            return workStealingEvaluator.fireAllRules( agendaFilter, fireLimit );
+        }
         CompletableFuture<Integer>[] results = new CompletableFuture[agendas.length-1];
         for (int i = 0; i < results.length; i++) {
             final int j = i;
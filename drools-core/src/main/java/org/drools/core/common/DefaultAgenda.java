@@ -28,6 +28,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.drools.core.concurrent.RuleEvaluator;
 import org.drools.core.concurrent.SequentialRuleEvaluator;
@@ -36,6 +38,7 @@ import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.phreak.ExecutableEntry;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
+import org.drools.core.phreak.RecyclingPropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.core.phreak.RuleExecutor;
 import org.drools.core.phreak.SynchronizedBypassPropagationList;
@@ -65,6 +68,7 @@ import org.kie.api.event.rule.MatchCancelledCause;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.rule.AgendaFilter;
 import org.kie.api.runtime.rule.Match;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -135,6 +139,14 @@ public class DefaultAgenda
 
     private ExecutionStateMachine executionStateMachine;
 
+    /**
+     * When true, fireUntilHalt doesn't keep a thread waiting while the session is at rest, but parks the session
+     * and resumes it on the shared executor when a new propagation is added
+     */
+    private boolean sharedFireUntilHalt;
+
+    private volatile AgendaFilter fireUntilHaltFilter;
+
     // ------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------
@@ -256,12 +268,24 @@ public class DefaultAgenda
 
         this.ruleEvaluator = new SequentialRuleEvaluator( this );
         this.propagationList = createPropagationList();
+
+        // the partitioned agendas are driven by the CompositeDefaultAgenda, so they never park
+        this.sharedFireUntilHalt = workingMemory.getSessionConfiguration().isSharedFireUntilHalt() && !workingMemory.getKnowledgeBase().getConfiguration().isMultithreadEvaluation();
+        if ( sharedFireUntilHalt ) {
+            ( (SynchronizedPropagationList) propagationList ).setWakeUpListener( this::wakeUpFireUntilHalt );
+        }
     }
 
     private PropagationList createPropagationList() {
-        return workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ?
-               new SynchronizedBypassPropagationList( workingMemory ) :
-               new SynchronizedPropagationList( workingMemory );
+        if ( workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ) {
+            return new SynchronizedBypassPropagationList( workingMemory );
+        }
+        // the entries of the partitioned agendas are shared among different threads, so they are never recycled
+        if ( workingMemory.getSessionConfiguration().isRecyclePropagationEntries() &&
+             !workingMemory.getKnowledgeBase().getConfiguration().isMultithreadEvaluation() ) {
+            return new RecyclingPropagationList( workingMemory );
+        }
+        return new SynchronizedPropagationList( workingMemory );
     }
 
     @Override
@@ -1018,13 +1042,56 @@ public class DefaultAgenda
             log.trace("Starting Fire Until Halt");
         }
         if (executionStateMachine.toFireUntilHalt()) {
-            internalFireUntilHalt( agendaFilter, true );
+            if ( sharedFireUntilHalt ) {
+                fireUntilHaltFilter = agendaFilter;
+                fireUntilParked();
+            } else {
+                internalFireUntilHalt( agendaFilter, true );
+            }
         }
         if ( log.isTraceEnabled() ) {
             log.trace("Ending Fire Until Halt");
         }
     }
 
+    /**
+     * Fires the rules until the engine comes to rest and then parks it, leaving the state of the engine as firing
+     * until halt, without keeping the current thread waiting. Used when the session is configured to fire until
+     * halt on the shared executor.
+     */
+    private void fireUntilParked() {
+        try {
+            do {
+                fireLoop( fireUntilHaltFilter, -1, RestHandler.FIRE_UNTIL_PARKED, false );
+            } while ( !executionStateMachine.park( workingMemory, propagationList ) );
+        } catch (RuntimeException | Error e) {
+            executionStateMachine.immediateHalt( propagationList );
+            throw e;
+        }
+    }
+
+    /**
+     * Called when a propagation is added to the empty propagation list: if the engine is parked, it is resumed
+     * on the shared executor
+     */
+    private void wakeUpFireUntilHalt() {
+        if ( executionStateMachine.wakeUp() ) {
+            SharedFireUntilHaltExecutor.EXECUTOR.execute( () -> {
+                if ( executionStateMachine.unpark() ) {
+                    try {
+                        fireUntilParked();
+                    } catch (RuntimeException | Error e) {
+                        log.error( "Unexpected error while firing until halt", e );
+                    }
+                }
+            } );
+        }
+    }
+
+    private static class SharedFireUntilHaltExecutor {
+        private static final Executor EXECUTOR = ExecutorProviderFactory.getExecutorProvider().getExecutor();
+    }
+
     void internalFireUntilHalt( AgendaFilter agendaFilter, boolean isInternalFire ) {
         fireLoop( agendaFilter, -1, RestHandler.FIRE_UNTIL_HALT, isInternalFire );
     }
@@ -1134,6 +1201,7 @@ public class DefaultAgenda
     interface RestHandler {
         RestHandler FIRE_ALL_RULES = new FireAllRulesRestHandler();
         RestHandler FIRE_UNTIL_HALT = new FireUntilHaltRestHandler();
+        RestHandler FIRE_UNTIL_PARKED = new FireUntilParkedRestHandler();
 
         PropagationEntry handleRest(DefaultAgenda agenda, boolean isInternalFire);
 
@@ -1150,6 +1218,14 @@ public class DefaultAgenda
             }
         }
 
+        class FireUntilParkedRestHandler implements RestHandler {
+            @Override
+            public PropagationEntry handleRest(DefaultAgenda agenda, boolean isInternalFire) {
+                // the loop exits on rest, the engine is parked by the caller
+                return agenda.propagationList.takeAll();
+            }
+        }
+
         class FireUntilHaltRestHandler implements RestHandler {
             @Override
             public PropagationEntry handleRest(DefaultAgenda agenda, boolean isInternalFire) {
@@ -1328,6 +1404,9 @@ public class DefaultAgenda
         private volatile ExecutionState currentState = ExecutionState.INACTIVE;
         private volatile boolean wasFiringUntilHalt = false;
 
+        // true while a fire until halt on the shared executor is at rest without any thread running it
+        private final AtomicBoolean parked = new AtomicBoolean( false );
+
         public enum ExecutionState {         // fireAllRule | fireUntilHalt | executeTask <-- required action
             INACTIVE( false, true ),         // fire        | fire          | exec
             FIRING_ALL_RULES( true, true ),  // do nothing  | wait + fire   | enqueue
@@ -1365,6 +1444,7 @@ public class DefaultAgenda
         public void reset() {
             currentState = ExecutionState.INACTIVE;
             wasFiringUntilHalt = false;
+            parked.set( false );
         }
 
         public boolean toFireAllRules() {
@@ -1415,6 +1495,7 @@ public class DefaultAgenda
 
         private void waitAndEnterExecutionState( ExecutionState newState ) {
             waitInactive();
+            parked.set( false );
             setCurrentState( newState );
         }
 
@@ -1475,6 +1556,51 @@ public class DefaultAgenda
                 wasFiringUntilHalt = true;
                 setCurrentState( ExecutionState.HALTING );
                 waitInactive();
+            } else if ( currentState == ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT && parked.compareAndSet( true, false ) ) {
+                // a parked engine has no thread to pause, it just has to be resumed on activation
+                wasFiringUntilHalt = true;
+            }
+        }
+
+        /**
+         * Parks an engine firing until halt that came to rest. Returns false if propagations have been added
+         * in the meanwhile, so that the caller has to keep firing, or true if the engine has been parked or
+         * halted.
+         */
+        public boolean park(InternalWorkingMemory workingMemory, PropagationList propagationList) {
+            synchronized (stateMachineLock) {
+                if (currentState != ExecutionState.FIRING_UNTIL_HALT) {
+                    // halted or disposed while firing
+                    immediateHalt( propagationList );
+                    return true;
+                }
+                setCurrentState( ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT );
+                stateMachineLock.notifyAll();
+            }
+            workingMemory.onSuspend();
+            parked.set( true );
+            // a propagation added before setting the parked flag didn't wake up the engine, so it has to be resumed here
+            if ( propagationList.isEmpty() || !parked.compareAndSet( true, false ) ) {
+                return true;
+            }
+            workingMemory.onResume();
+            return !unpark();
+        }
+
+        /**
+         * Returns true only for the first caller after the engine has been parked, that is in charge of resuming it
+         */
+        public boolean wakeUp() {
+            return parked.compareAndSet( true, false );
+        }
+
+        public boolean unpark() {
+            synchronized (stateMachineLock) {
+                if (currentState != ExecutionState.INACTIVE_ON_FIRING_UNTIL_HALT) {
+                    return false;
+                }
+                setCurrentState( ExecutionState.FIRING_UNTIL_HALT );
+                return true;
             }
         }
 
@@ -48,6 +48,8 @@ public class DefaultBetaConstraints
 
     private transient boolean           disableIndexing;
 
+    private transient boolean           joinComparisonIndex;
+
     private BetaNodeFieldConstraint[]   constraints;
 
     private IndexPrecedenceOption       indexPrecedenceOption;
@@ -73,6 +75,7 @@ public class DefaultBetaConstraints
         this.constraints = constraints;
         this.disableIndexing = disableIndexing;
         this.indexPrecedenceOption = conf.getIndexPrecedenceOption();
+        this.joinComparisonIndex = conf.isJoinComparisonIndex();
     }
 
     public DefaultBetaConstraints cloneIfInUse() {
@@ -84,6 +87,7 @@ public class DefaultBetaConstraints
             DefaultBetaConstraints clone = new DefaultBetaConstraints();
             clone.constraints = clonedConstraints;
             clone.disableIndexing = disableIndexing;
+            clone.joinComparisonIndex = joinComparisonIndex;
             clone.indexPrecedenceOption = indexPrecedenceOption;
             clone.indexed = indexed;
             return clone;
@@ -97,8 +101,9 @@ public class DefaultBetaConstraints
         if ( disableIndexing || (!config.isIndexLeftBetaMemory() && !config.isIndexRightBetaMemory()) ) {
             indexed = 0;
         } else {
+            joinComparisonIndex = config.isJoinComparisonIndex();
             int depth = config.getCompositeKeyDepth();
-            if ( !compositeAllowed( constraints, betaNodeType ) ) {
+            if ( !compositeAllowed( constraints, betaNodeType, joinComparisonIndex ) ) {
                 // UnificationRestrictions cannot be allowed in composite indexes
                 // We also ensure that if there is a mixture that standard restriction is first
                 depth = 1;
@@ -109,7 +114,7 @@ public class DefaultBetaConstraints
 
     public void initIndexes(int depth, short betaNodeType) {
         indexed = 0;
-        boolean[] indexable = isIndexableForNode(indexPrecedenceOption, betaNodeType, depth, constraints);
+        boolean[] indexable = isIndexableForNode(indexPrecedenceOption, betaNodeType, depth, constraints, joinComparisonIndex);
         for (boolean i : indexable) {
             if (i) {
                 indexed++;
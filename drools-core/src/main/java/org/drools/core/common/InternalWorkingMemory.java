@@ -27,6 +27,7 @@ import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.base.DefaultKnowledgeHelper;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.event.RuleRuntimeEventSupport;
+import org.drools.core.phreak.NodeProfiler;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.reteoo.EntryPointNode;
@@ -207,6 +208,13 @@ public interface InternalWorkingMemory
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns the profiler collecting the per node statistics of this session, or null if the profiling is disabled
+     */
+    default NodeProfiler getNodeProfiler() {
+        return null;
+    }
+
     default void onSuspend() { }
     default void onResume() { }
 
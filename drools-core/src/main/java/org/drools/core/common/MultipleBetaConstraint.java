@@ -37,6 +37,7 @@ public abstract class MultipleBetaConstraint implements BetaConstraints {
     protected boolean[]                 indexed;
     protected IndexPrecedenceOption     indexPrecedenceOption;
     protected transient boolean         disableIndexing;
+    protected transient boolean         joinComparisonIndex;
 
     private transient Boolean           leftUpdateOptimizationAllowed;
 
@@ -46,6 +47,7 @@ public abstract class MultipleBetaConstraint implements BetaConstraints {
                                    RuleBaseConfiguration conf,
                                    boolean disableIndexing) {
         this(constraints, conf.getIndexPrecedenceOption(), disableIndexing);
+        this.joinComparisonIndex = conf.isJoinComparisonIndex();
     }
 
     protected MultipleBetaConstraint( BetaNodeFieldConstraint[] constraints,
@@ -74,8 +76,9 @@ public abstract class MultipleBetaConstraint implements BetaConstraints {
         if ( disableIndexing || (!config.isIndexLeftBetaMemory() && !config.isIndexRightBetaMemory()) ) {
             indexed = new boolean[constraints.length];
         } else {
+            joinComparisonIndex = config.isJoinComparisonIndex();
             int depth = config.getCompositeKeyDepth();
-            if ( !compositeAllowed( constraints, betaNodeType ) ) {
+            if ( !compositeAllowed( constraints, betaNodeType, joinComparisonIndex ) ) {
                 // UnificationRestrictions cannot be allowed in composite indexes
                 // We also ensure that if there is a mixture that standard restriction is first
                 depth = 1;
@@ -85,7 +88,7 @@ public abstract class MultipleBetaConstraint implements BetaConstraints {
     }
 
     public final void initIndexes(int depth, short betaNodeType) {
-        indexed = isIndexableForNode(indexPrecedenceOption, betaNodeType, depth, constraints);
+        indexed = isIndexableForNode(indexPrecedenceOption, betaNodeType, depth, constraints, joinComparisonIndex);
     }
 
     public final boolean isIndexed() {
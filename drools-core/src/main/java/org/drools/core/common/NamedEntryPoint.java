@@ -20,9 +20,11 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -264,6 +266,64 @@ public class NamedEntryPoint
 
     }
 
+    /**
+     * Inserts all the given objects acquiring the entry point lock and executing the pending kbase actions only once,
+     * instead of once per fact. The facts are propagated one at a time in the order of the given collection, so the
+     * resulting activations are the same as the ones of inserting them one by one.
+     * The objects whose type requires TMS or property change support are inserted through the plain insert.
+     */
+    @Override
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>( objects.size() );
+        if ( this.wm.isSequential() ) {
+            for ( Object object : objects ) {
+                handles.add( insert( object ) );
+            }
+            return handles;
+        }
+
+        try {
+            this.wm.startOperation();
+
+            try {
+                this.lock.lock();
+                this.kBase.executeQueuedActions();
+
+                for ( Object object : objects ) {
+                    if ( object == null ) {
+                        // you cannot assert a null object
+                        handles.add( null );
+                        continue;
+                    }
+
+                    ObjectTypeConf typeConf = getObjectTypeConfigurationRegistry().getObjectTypeConf( this.entryPoint, object );
+                    if ( typeConf.isTMSEnabled() || typeConf.isDynamic() ) {
+                        handles.add( insert( object ) );
+                        continue;
+                    }
+
+                    // check if the object already exists in the WM, also as a duplicate in the same batch
+                    InternalFactHandle handle = this.objectStore.getHandleForObject( object );
+                    if ( handle == null ) {
+                        handle = createHandle( object, typeConf );
+                        PropagationContext pctx = this.pctxFactory.createPropagationContext( this.wm.getNextPropagationIdCounter(),
+                                                                                             PropagationContext.Type.INSERTION,
+                                                                                             null, null, handle, entryPoint );
+                        this.objectStore.addHandle( handle, object );
+                        this.entryPointNode.assertObject( handle, pctx, typeConf, this.wm );
+                        this.wm.getRuleRuntimeEventSupport().fireObjectInserted( pctx, handle, object, this.wm );
+                    }
+                    handles.add( handle );
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            return handles;
+        } finally {
+            this.wm.endOperation();
+        }
+    }
+
     public void insert(InternalFactHandle handle,
                        Object object,
                        RuleImpl rule,
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The number of propagations flowing into each partition of a KieBase, used to rebalance the partitions
+ * among the parallel evaluation slots. The counters are owned by the KieBase, since the main partition
+ * is a singleton shared by all the KieBases.
+ */
+public class PartitionPropagationCounters {
+
+    private final Map<RuleBasePartitionId, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void recordPropagation( RuleBasePartitionId partitionId ) {
+        LongAdder counter = counters.get( partitionId );
+        if ( counter == null ) {
+            counter = counters.computeIfAbsent( partitionId, p -> new LongAdder() );
+        }
+        counter.increment();
+    }
+
+    public long getPropagationsCount( RuleBasePartitionId partitionId ) {
+        LongAdder counter = counters.get( partitionId );
+        return counter == null ? 0L : counter.sum();
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+}
@@ -33,6 +33,8 @@ import org.drools.core.reteoo.ObjectTypeNode.ObjectTypeNodeMemory;
 import org.drools.core.reteoo.RightTuple;
 import org.drools.core.reteoo.RuleTerminalNode;
 import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.rule.GroupByAccumulate.Group;
+import org.drools.core.rule.GroupByAccumulate.GroupByContext;
 import org.drools.core.spi.Tuple;
 import org.drools.core.util.FastIterator;
 import org.drools.core.util.Iterator;
@@ -138,7 +140,14 @@ public class PhreakActivationIterator
                         Tuple lt = BetaNode.getFirstTuple( bm.getLeftTupleMemory(), it );
                         for (; lt != null; lt = (LeftTuple) it.next(lt)) {
                             AccumulateContext accctx = (AccumulateContext) lt.getContextObject();
-                            collectFromPeers(accctx.getResultLeftTuple(), agendaItems, nodeSet, wm);
+                            if (accctx.context instanceof GroupByContext) {
+                                // a groupBy propagates one result tuple for each group
+                                for (Group group : ((GroupByContext) accctx.context).getGroups()) {
+                                    collectFromPeers(group.getResultLeftTuple(), agendaItems, nodeSet, wm);
+                                }
+                            } else {
+                                collectFromPeers(accctx.getResultLeftTuple(), agendaItems, nodeSet, wm);
+                            }
                         }
                     } else if ( NodeTypeEnums.ExistsNode == node.getType() ) {
                         bm = (BetaMemory) wm.getNodeMemory((MemoryFactory) node);
@@ -217,7 +226,13 @@ public class PhreakActivationIterator
                 AccumulateContext accctx = (AccumulateContext) peer.getContextObject();
                 if (accctx != null) {
                     // the accumulate context can be null if the lefttuple hasn't been evaluated yet
-                    collectFromLeftInput(accctx.getResultLeftTuple(), agendaItems, nodeSet, wm);
+                    if (accctx.context instanceof GroupByContext) {
+                        for (Group group : ((GroupByContext) accctx.context).getGroups()) {
+                            collectFromLeftInput(group.getResultLeftTuple(), agendaItems, nodeSet, wm);
+                        }
+                    } else {
+                        collectFromLeftInput(accctx.getResultLeftTuple(), agendaItems, nodeSet, wm);
+                    }
                 }
             } else if ( peer.getFirstChild() != null ) {
                 for (LeftTuple childLt = peer.getFirstChild(); childLt != null; childLt = childLt.getHandleNext()) {
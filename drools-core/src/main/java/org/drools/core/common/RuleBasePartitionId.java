@@ -36,8 +36,11 @@ public final class RuleBasePartitionId implements Serializable {
 
     private final int id;
 
+    private volatile int parallelEvaluationSlot;
+
     private RuleBasePartitionId( int id ) {
         this.id = id;
+        this.parallelEvaluationSlot = id % PARALLEL_PARTITIONS_NUMBER;
     }
 
     public int getId() {
@@ -45,7 +48,11 @@ public final class RuleBasePartitionId implements Serializable {
     }
 
     public int getParallelEvaluationSlot() {
-        return id % PARALLEL_PARTITIONS_NUMBER;
+        return parallelEvaluationSlot;
+    }
+
+    void setParallelEvaluationSlot( int parallelEvaluationSlot ) {
+        this.parallelEvaluationSlot = parallelEvaluationSlot;
     }
 
     @Override
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectSink;
+import org.drools.core.reteoo.ObjectSinkPropagator;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the partitions of a multithreaded KieBase among the parallel evaluation slots according to the
+ * propagations counted on each of them, so that a partition receiving most of the inserts doesn't share
+ * its slot with other busy partitions.
+ *
+ * The whole subnetwork of a partition follows its evaluation slot, so only the ObjectTypeNodes' sinks are
+ * moved, through the same changeSinkPartition hook used when partitions are merged at build time.
+ * Since the tuples of the existing facts are stored by slot, the rebalancing is performed only when the
+ * KieBase has no live sessions: the sessions created after it will use the new layout. Migrating the
+ * partitions of live sessions is not supported.
+ *
+ * The propagations are counted in the PartitionPropagationCounters of the KieBase, only when the partition
+ * rebalancing is enabled in the RuleBaseConfiguration. The rebalancing is never triggered automatically:
+ * it has to be requested through {@link #rebalance()}, typically after the sessions of a representative
+ * workload have been disposed.
+ */
+public class RuleBasePartitionRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger( RuleBasePartitionRebalancer.class );
+
+    public static final double DEFAULT_IMBALANCE_THRESHOLD = 1.25;
+
+    private final InternalKnowledgeBase kBase;
+
+    private final double imbalanceThreshold;
+
+    public RuleBasePartitionRebalancer( InternalKnowledgeBase kBase ) {
+        this( kBase, DEFAULT_IMBALANCE_THRESHOLD );
+    }
+
+    /**
+     * @param imbalanceThreshold the minimum ratio between the load of the busiest slot and
+     *                           the average slot load required to trigger a rebalancing
+     */
+    public RuleBasePartitionRebalancer( InternalKnowledgeBase kBase, double imbalanceThreshold ) {
+        this.kBase = kBase;
+        this.imbalanceThreshold = imbalanceThreshold;
+    }
+
+    /**
+     * Enqueues the rebalancing as a KieBase modification.
+     * The returned future is completed with true if at least one partition has been moved.
+     */
+    public Future<Boolean> rebalance() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        kBase.enqueueModification( () -> result.complete( internalRebalance() ) );
+        return result;
+    }
+
+    boolean internalRebalance() {
+        if ( !kBase.getConfiguration().isMultithreadEvaluation() || !kBase.getConfiguration().isPartitionRebalancing() ) {
+            return false;
+        }
+        if ( !kBase.getWorkingMemories().isEmpty() ) {
+            log.debug( "Cannot rebalance the partitions of a KieBase with live sessions" );
+            return false;
+        }
+
+        Map<RuleBasePartitionId, List<SinkLocation>> sinksByPartition = collectSinks();
+        Map<RuleBasePartitionId, Integer> assignment = computeAssignment( sinksByPartition.keySet(), kBase.getPartitionPropagationCounters() );
+
+        int threshold = kBase.getConfiguration().getAlphaNodeHashingThreshold();
+        boolean moved = false;
+        for (Map.Entry<RuleBasePartitionId, Integer> entry : assignment.entrySet()) {
+            RuleBasePartitionId partition = entry.getKey();
+            int oldSlot = partition.getParallelEvaluationSlot();
+            int newSlot = entry.getValue();
+            if (oldSlot != newSlot) {
+                for (SinkLocation location : sinksByPartition.get( partition )) {
+                    location.adapter.changeSinkSlot( location.sink, oldSlot, newSlot, threshold );
+                }
+                partition.setParallelEvaluationSlot( newSlot );
+                moved = true;
+                if ( log.isDebugEnabled() ) {
+                    log.debug( "Moved " + partition + " from slot " + oldSlot + " to slot " + newSlot );
+                }
+            }
+        }
+
+        kBase.getPartitionPropagationCounters().reset();
+        return moved;
+    }
+
+    /**
+     * Computes a new slot for each partition with the longest-processing-time-first heuristic:
+     * the partitions are sorted by decreasing load and each of them is assigned to the least loaded slot.
+     * The main partition is never moved. If the current assignment is already balanced enough it is returned unchanged.
+     */
+    Map<RuleBasePartitionId, Integer> computeAssignment( Iterable<RuleBasePartitionId> partitions, PartitionPropagationCounters counters ) {
+        int slotsNr = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
+        long[] currentLoads = new long[slotsNr];
+        long[] newLoads = new long[slotsNr];
+        long totalLoad = 0;
+
+        List<RuleBasePartitionId> movable = new ArrayList<>();
+        Map<RuleBasePartitionId, Integer> assignment = new LinkedHashMap<>();
+        for (RuleBasePartitionId partition : partitions) {
+            long load = counters.getPropagationsCount( partition );
+            currentLoads[partition.getParallelEvaluationSlot()] += load;
+            totalLoad += load;
+            if (partition.equals( RuleBasePartitionId.MAIN_PARTITION )) {
+                newLoads[partition.getParallelEvaluationSlot()] += load;
+                assignment.put( partition, partition.getParallelEvaluationSlot() );
+            } else {
+                movable.add( partition );
+            }
+        }
+
+        if (totalLoad == 0 || max( currentLoads ) < imbalanceThreshold * totalLoad / slotsNr) {
+            for (RuleBasePartitionId partition : movable) {
+                assignment.put( partition, partition.getParallelEvaluationSlot() );
+            }
+            return assignment;
+        }
+
+        // sort by decreasing load, keeping the partition id order for the same load to make the result deterministic
+        movable.sort( (p1, p2) -> counters.getPropagationsCount( p1 ) != counters.getPropagationsCount( p2 ) ?
+                                  Long.compare( counters.getPropagationsCount( p2 ), counters.getPropagationsCount( p1 ) ) :
+                                  Integer.compare( p1.getId(), p2.getId() ) );
+        for (RuleBasePartitionId partition : movable) {
+            int slot = minIndex( newLoads );
+            newLoads[slot] += counters.getPropagationsCount( partition );
+            assignment.put( partition, slot );
+        }
+        return assignment;
+    }
+
+    private Map<RuleBasePartitionId, List<SinkLocation>> collectSinks() {
+        Map<RuleBasePartitionId, List<SinkLocation>> sinksByPartition = new HashMap<>();
+        for (EntryPointNode entryPointNode : kBase.getRete().getEntryPointNodes().values()) {
+            for (ObjectTypeNode otn : entryPointNode.getObjectTypeNodes().values()) {
+                ObjectSinkPropagator propagator = otn.getObjectSinkPropagator();
+                if (propagator instanceof CompositePartitionAwareObjectSinkAdapter) {
+                    CompositePartitionAwareObjectSinkAdapter adapter = (CompositePartitionAwareObjectSinkAdapter) propagator;
+                    for (ObjectSink sink : adapter.getSinks()) {
+                        sinksByPartition.computeIfAbsent( sink.getPartitionId(), p -> new ArrayList<>() )
+                                        .add( new SinkLocation( adapter, sink ) );
+                    }
+                }
+            }
+        }
+        return sinksByPartition;
+    }
+
+    private static long max( long[] values ) {
+        long max = values[0];
+        for (int i = 1; i < values.length; i++) {
+            max = Math.max( max, values[i] );
+        }
+        return max;
+    }
+
+    private static int minIndex( long[] values ) {
+        int index = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] < values[index]) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private static class SinkLocation {
+        private final CompositePartitionAwareObjectSinkAdapter adapter;
+        private final ObjectSink sink;
+
+        private SinkLocation( CompositePartitionAwareObjectSinkAdapter adapter, ObjectSink sink ) {
+            this.adapter = adapter;
+            this.sink = sink;
+        }
+    }
+}
@@ -44,6 +44,8 @@ public class SingleBetaConstraints
 
     private transient boolean disableIndex;
 
+    private transient boolean joinComparisonIndex;
+
     public SingleBetaConstraints() {
 
     }
@@ -67,6 +69,7 @@ public class SingleBetaConstraints
                                  final boolean disableIndex) {
         this.constraint = constraint;
         this.disableIndex = disableIndex;
+        this.joinComparisonIndex = conf != null && conf.isJoinComparisonIndex();
     }
 
     public void init(BuildContext context, short betaNodeType) {
@@ -75,12 +78,13 @@ public class SingleBetaConstraints
         if ((disableIndex) || (!config.isIndexLeftBetaMemory() && !config.isIndexRightBetaMemory())) {
             this.indexed = false;
         } else {
+            joinComparisonIndex = config.isJoinComparisonIndex();
             initIndexes(config.getCompositeKeyDepth(), betaNodeType);
         }
     }
 
     public void initIndexes(int depth, short betaNodeType) {
-        indexed = depth >= 1 && IndexUtil.isIndexableForNode(betaNodeType, constraint);
+        indexed = depth >= 1 && IndexUtil.isIndexableForNode(betaNodeType, constraint, joinComparisonIndex);
     }
 
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
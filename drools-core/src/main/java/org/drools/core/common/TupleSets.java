@@ -25,6 +25,12 @@ public interface TupleSets<T extends Tuple> {
 
     int getInsertSize();
 
+    /**
+     * Returns the total number of staged tuples. Differently from getInsertSize() this requires to
+     * iterate the staged deletes and updates, so it is meant to be used only for diagnostics.
+     */
+    int size();
+
     void resetAll();
 
     /**
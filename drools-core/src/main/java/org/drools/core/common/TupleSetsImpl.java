@@ -304,6 +304,19 @@ public class TupleSetsImpl<T extends Tuple> implements TupleSets<T> {
         return insertFirst == null && deleteFirst == null && updateFirst == null && normalizedDeleteFirst == null;
     }
 
+    @Override
+    public int size() {
+        return insertSize + countTuples( deleteFirst ) + countTuples( updateFirst ) + countTuples( normalizedDeleteFirst );
+    }
+
+    private int countTuples( T tuple ) {
+        int count = 0;
+        for ( ; tuple != null; tuple = getNextTuple( tuple ) ) {
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public String toStringSizes() {
         return "TupleSets[hasInsert=" + (insertFirst != null) + ", hasDelete=" + (deleteFirst != null) + ", hasUpdate=" + (updateFirst != null) + "]";
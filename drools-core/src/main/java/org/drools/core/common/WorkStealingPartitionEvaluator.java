@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.common;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.api.runtime.rule.AgendaFilter;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
+
+/**
+ * Fires the partitioned agendas of a CompositeDefaultAgenda using a bounded number of workers instead of one task
+ * per partition. Each partition agenda owns all the state touched while firing its rules, so it is the unit of work:
+ * in a given round it is fired by exactly one thread, and the rules of a partition keep their usual ordering.
+ * The partitions are assigned to the workers round robin, and a worker that runs out of partitions steals the pending
+ * ones from the tail of the other workers' deques, so a worker stuck on a hot partition doesn't delay the others.
+ * <p/>
+ * When a fire limit is set the partitions are fired one after the other on the calling thread, each of them with the
+ * budget left by the previous ones, so the limit is never exceeded.
+ */
+public class WorkStealingPartitionEvaluator {
+
+    private static final Executor EXECUTOR = ExecutorProviderFactory.getExecutorProvider().getExecutor();
+
+    private final DefaultAgenda[] agendas;
+    private final int workersNr;
+
+    private final PartitionMetrics[] metrics;
+
+    public WorkStealingPartitionEvaluator( DefaultAgenda[] agendas, int maxWorkers ) {
+        this.agendas = agendas;
+        this.workersNr = Math.max( 1, Math.min( maxWorkers, agendas.length ) );
+        this.metrics = new PartitionMetrics[agendas.length];
+        for (int i = 0; i < agendas.length; i++) {
+            metrics[i] = new PartitionMetrics( i );
+        }
+    }
+
+    public int getWorkersNr() {
+        return workersNr;
+    }
+
+    public int fireAllRules( AgendaFilter agendaFilter, int fireLimit ) {
+        if ( fireLimit > 0 ) {
+            return fireSequentially( agendaFilter, fireLimit );
+        }
+
+        EvaluationRound round = new EvaluationRound( agendaFilter );
+        for (int i = 1; i < workersNr; i++) {
+            final int worker = i;
+            EXECUTOR.execute( () -> round.work( worker ) );
+        }
+
+        // the calling thread is the first worker, so the round progresses even when the executor is saturated
+        round.work( 0 );
+        return round.awaitCompletion();
+    }
+
+    private int fireSequentially( AgendaFilter agendaFilter, int fireLimit ) {
+        int fireCount = 0;
+        for (int i = 0; i < agendas.length && fireCount < fireLimit; i++) {
+            fireCount += fire( i, agendaFilter, fireLimit - fireCount, false );
+        }
+        return fireCount;
+    }
+
+    private int fire( int partition, AgendaFilter agendaFilter, int fireLimit, boolean stolen ) {
+        long start = System.nanoTime();
+        int fired = agendas[partition].internalFireAllRules( agendaFilter, fireLimit, false );
+        metrics[partition].record( fired, System.nanoTime() - start, stolen );
+        return fired;
+    }
+
+    public PartitionMetrics[] getPartitionMetrics() {
+        return metrics;
+    }
+
+    public PartitionMetrics getPartitionMetrics( int partition ) {
+        return metrics[partition];
+    }
+
+    public void resetPartitionMetrics() {
+        for (PartitionMetrics partitionMetrics : metrics) {
+            partitionMetrics.reset();
+        }
+    }
+
+    private class EvaluationRound {
+        private final AgendaFilter agendaFilter;
+
+        private final ConcurrentLinkedDeque<Integer>[] deques = new ConcurrentLinkedDeque[workersNr];
+        private final CountDownLatch pendingPartitions = new CountDownLatch( agendas.length );
+
+        private final AtomicInteger firedRules = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private EvaluationRound( AgendaFilter agendaFilter ) {
+            this.agendaFilter = agendaFilter;
+            for (int i = 0; i < workersNr; i++) {
+                deques[i] = new ConcurrentLinkedDeque<>();
+            }
+            for (int i = 0; i < agendas.length; i++) {
+                deques[i % workersNr].addLast( i );
+            }
+        }
+
+        private void work( int worker ) {
+            Integer partition;
+            while ( (partition = nextPartition( worker )) != null ) {
+                try {
+                    firedRules.addAndGet( fire( partition, agendaFilter, -1, partition % workersNr != worker ) );
+                } catch (Throwable t) {
+                    error.compareAndSet( null, t );
+                } finally {
+                    pendingPartitions.countDown();
+                }
+            }
+        }
+
+        private Integer nextPartition( int worker ) {
+            Integer partition = deques[worker].pollFirst();
+            for (int i = 1; partition == null && i < workersNr; i++) {
+                partition = deques[(worker + i) % workersNr].pollLast();
+            }
+            return partition;
+        }
+
+        private int awaitCompletion() {
+            try {
+                pendingPartitions.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException( e );
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                throw t instanceof RuntimeException ? (RuntimeException) t : new RuntimeException( t );
+            }
+            return firedRules.get();
+        }
+    }
+
+    public static class PartitionMetrics {
+        private final int partition;
+
+        private final LongAdder firedRules = new LongAdder();
+        private final LongAdder evaluationNanos = new LongAdder();
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder stolenEvaluations = new LongAdder();
+
+        private PartitionMetrics( int partition ) {
+            this.partition = partition;
+        }
+
+        private void record( int fired, long nanos, boolean stolen ) {
+            evaluations.increment();
+            firedRules.add( fired );
+            evaluationNanos.add( nanos );
+            if (stolen) {
+                stolenEvaluations.increment();
+            }
+        }
+
+        private void reset() {
+            evaluations.reset();
+            firedRules.reset();
+            evaluationNanos.reset();
+            stolenEvaluations.reset();
+        }
+
+        public int getPartition() {
+            return partition;
+        }
+
+        /**
+         * The number of times the agenda of this partition has been fired
+         */
+        public long getEvaluations() {
+            return evaluations.sum();
+        }
+
+        public long getFiredRules() {
+            return firedRules.sum();
+        }
+
+        public long getEvaluationNanos() {
+            return evaluationNanos.sum();
+        }
+
+        /**
+         * The number of times the agenda of this partition has been fired by a worker other than the one it is assigned to
+         */
+        public long getStolenEvaluations() {
+            return stolenEvaluations.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "PartitionMetrics(partition " + partition + ": evaluations=" + getEvaluations() + ", fired=" + getFiredRules() +
+                   ", nanos=" + getEvaluationNanos() + ", stolen=" + getStolenEvaluations() + ")";
+        }
+    }
+}
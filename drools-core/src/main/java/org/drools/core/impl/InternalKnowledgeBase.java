@@ -27,6 +27,7 @@ import org.drools.core.SessionConfiguration;
 import org.drools.core.base.ClassFieldAccessorCache;
 import org.drools.core.common.InternalAgenda;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.PartitionPropagationCounters;
 import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.definitions.InternalKnowledgePackage;
 import org.drools.core.definitions.rule.impl.RuleImpl;
@@ -58,6 +59,15 @@ public interface InternalKnowledgeBase extends KieBase {
 
     RuleBasePartitionId createNewPartitionId();
 
+    PartitionPropagationCounters getPartitionPropagationCounters();
+
+    /**
+     * Moves the partitions among the parallel evaluation slots according to the propagations counted so far.
+     * It has effect only when the partition rebalancing is enabled and the KieBase has no live sessions.
+     * The returned future is completed with true if at least one partition has been moved.
+     */
+    Future<Boolean> rebalancePartitions();
+
     RuleBaseConfiguration getConfiguration();
 
     void readLock();
@@ -51,7 +51,9 @@ import org.drools.core.common.DroolsObjectInputStream;
 import org.drools.core.common.DroolsObjectOutputStream;
 import org.drools.core.common.InternalAgenda;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.PartitionPropagationCounters;
 import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.common.RuleBasePartitionRebalancer;
 import org.drools.core.definitions.InternalKnowledgePackage;
 import org.drools.core.definitions.impl.KnowledgePackageImpl;
 import org.drools.core.definitions.rule.impl.RuleImpl;
@@ -179,6 +181,8 @@ public class KnowledgeBaseImpl
 
     private transient InternalKieContainer kieContainer;
 
+    private final transient PartitionPropagationCounters partitionPropagationCounters = new PartitionPropagationCounters();
+
     private ReleaseId resolvedReleaseId;
     private String containerId;
     private AtomicBoolean mbeanRegistered = new AtomicBoolean(false);
@@ -1676,6 +1680,14 @@ public class KnowledgeBaseImpl
         return RuleBasePartitionId.createPartition();
     }
 
+    public PartitionPropagationCounters getPartitionPropagationCounters() {
+        return partitionPropagationCounters;
+    }
+
+    public Future<Boolean> rebalancePartitions() {
+        return new RuleBasePartitionRebalancer( this ).rebalance();
+    }
+
     public FactType getFactType(String packageName, String typeName) {
         String name = packageName + "." + typeName;
         readLock();
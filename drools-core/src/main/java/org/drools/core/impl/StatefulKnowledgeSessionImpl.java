@@ -79,10 +79,12 @@ import org.drools.core.event.RuleRuntimeEventSupport;
 import org.drools.core.factmodel.traits.Thing;
 import org.drools.core.factmodel.traits.TraitableBean;
 import org.drools.core.management.DroolsManagementAgent;
+import org.drools.core.management.NodeProfilerMonitor;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.MarshallerWriteContext;
 import org.drools.core.marshalling.impl.PersisterHelper;
 import org.drools.core.marshalling.impl.ProtobufMessages;
+import org.drools.core.phreak.NodeProfiler;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -229,6 +231,8 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
     protected SessionConfiguration config;
 
+    private NodeProfiler nodeProfiler;
+
     private Map<String, Channel> channels;
 
     private Environment environment;
@@ -347,6 +351,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
     private void init( SessionConfiguration config, Environment environment, long propagationContext ) {
         this.config = config;
         this.environment = environment;
+        this.nodeProfiler = config.isNodeProfiling() ? new NodeProfiler() : null;
 
         this.propagationIdCounter = new AtomicLong( propagationContext);
 
@@ -378,6 +383,10 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         if (((InternalKnowledgeBase) kBase).getConfiguration() != null && ((InternalKnowledgeBase) kBase).getConfiguration().isMBeansEnabled() && mbeanRegistered.compareAndSet(false, true)) {
             this.mbeanRegisteredCBSKey = new DroolsManagementAgent.CBSKey( containerId, kbaseName, ksessionName );
             DroolsManagementAgent.getInstance().registerKnowledgeSessionUnderName( mbeanRegisteredCBSKey, this );
+            if (nodeProfiler != null) {
+                NodeProfilerMonitor monitor = new NodeProfilerMonitor( nodeProfiler, containerId, kbaseName, ksessionName, getIdentifier() );
+                DroolsManagementAgent.getInstance().registerMBean( this, monitor, monitor.getName() );
+            }
         }
     }
 
@@ -544,6 +553,9 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
         if (this.mbeanRegistered.get()) {
             DroolsManagementAgent.getInstance().unregisterKnowledgeSessionUnderName(mbeanRegisteredCBSKey, this);
+            if (nodeProfiler != null) {
+                DroolsManagementAgent.getInstance().unregisterMBeansFromOwner(this);
+            }
         }
     }
 
@@ -1513,6 +1525,12 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
                                              terminalNode);
     }
 
+    @Override
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        checkAlive();
+        return this.defaultEntryPoint.insertAll( objects );
+    }
+
     public void retract(FactHandle handle) {
         delete(handle);
     }
@@ -1811,6 +1829,11 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
             }
         }
 
+        @Override
+        public boolean isExpiration() {
+            return true;
+        }
+
         @Override
         public boolean isPartitionSplittable() {
             return true;
@@ -2112,6 +2135,11 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return agenda.getPropagationList();
     }
 
+    @Override
+    public NodeProfiler getNodeProfiler() {
+        return nodeProfiler;
+    }
+
     @Override
     public String toString() {
         return "KieSession[" + id + "]";
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import java.util.List;
+
+import org.drools.core.phreak.NodeProfile;
+
+/**
+ * The MXBean exposing the per node statistics of a session having the node profiling enabled
+ */
+public interface NodeProfilerMXBean {
+
+    /**
+     * Returns the statistics of all the nodes evaluated so far, sorted from the one where the most time has been spent
+     */
+    List<NodeProfile> getNodeProfiles();
+
+    List<NodeProfile> getTopNodesByTime( int limit );
+
+    int getProfiledNodesCount();
+
+    long getTotalTimeNanos();
+
+    void reset();
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.ObjectName;
+
+import org.drools.core.phreak.NodeProfile;
+import org.drools.core.phreak.NodeProfiler;
+import org.kie.api.builder.model.KieSessionModel;
+
+/**
+ * The monitor MXBean for the NodeProfiler of a session
+ */
+public class NodeProfilerMonitor implements NodeProfilerMXBean {
+
+    private final NodeProfiler profiler;
+    private final ObjectName name;
+
+    public NodeProfilerMonitor( NodeProfiler profiler, String containerId, String kbaseId, String ksessionName, long ksessionId ) {
+        this.profiler = profiler;
+        this.name = DroolsManagementAgent.createObjectName(
+                DroolsManagementAgent.createObjectNameBy( containerId, kbaseId, KieSessionModel.KieSessionType.STATEFUL, ksessionName )
+                + ",ksessionId=" + ksessionId + ",component=NodeProfiler" );
+    }
+
+    public ObjectName getName() {
+        return name;
+    }
+
+    @Override
+    public List<NodeProfile> getNodeProfiles() {
+        return profiler.getSnapshot();
+    }
+
+    @Override
+    public List<NodeProfile> getTopNodesByTime( int limit ) {
+        List<NodeProfile> profiles = profiler.getSnapshot();
+        return profiles.size() > limit ? new ArrayList<>( profiles.subList( 0, limit ) ) : profiles;
+    }
+
+    @Override
+    public int getProfiledNodesCount() {
+        return profiler.getSnapshot().size();
+    }
+
+    @Override
+    public long getTotalTimeNanos() {
+        long total = 0;
+        for ( NodeProfile profile : profiler.getSnapshot() ) {
+            total += profile.getTimeNanos();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        profiler.reset();
+    }
+}
@@ -208,6 +208,19 @@ public class PersisterHelper {
     
     public static void writeToStreamWithHeader( MarshallerWriteContext context,
                                                 Message payload ) throws IOException {
+        ProtobufMessages.Header.Builder _header = createHeader( context );
+
+        byte[] buff = payload.toByteArray();
+        sign( _header, buff );
+        _header.setPayload( ByteString.copyFrom( buff ) );
+
+        context.stream.write( _header.build().toByteArray() );
+    }
+
+    /**
+     * Creates a header with the version, the used strategies and the runtime defined classes, but without any payload
+     */
+    static ProtobufMessages.Header.Builder createHeader( MarshallerWriteContext context ) throws IOException {
         ProtobufMessages.Header.Builder _header = ProtobufMessages.Header.newBuilder();
         _header.setVersion( ProtobufMessages.Version.newBuilder()
                                             .setVersionMajor( Drools.getMajorVersion() )
@@ -219,11 +232,7 @@ public class PersisterHelper {
 
         writeRuntimeDefinedClasses( context, _header );
 
-        byte[] buff = payload.toByteArray();
-        sign( _header, buff );
-        _header.setPayload( ByteString.copyFrom( buff ) );
-
-        context.stream.write( _header.build().toByteArray() );
+        return _header;
     }
 
     public static void writeRuntimeDefinedClasses( MarshallerWriteContext context,
@@ -320,8 +329,8 @@ public class PersisterHelper {
         return preloaded.toByteArray();
     }
 
-	private static void loadStrategiesIndex(MarshallerReaderContext context,
-                                            ProtobufMessages.Header _header) throws IOException, ClassNotFoundException {
+	static void loadStrategiesIndex(MarshallerReaderContext context,
+                                    ProtobufMessages.Header _header) throws IOException, ClassNotFoundException {
         for ( ProtobufMessages.Header.StrategyIndex _entry : _header.getStrategyList() ) {
             ObjectMarshallingStrategy strategyObject = context.resolverStrategyFactory.getStrategyObject( _entry.getName() );
             if ( strategyObject == null ) {
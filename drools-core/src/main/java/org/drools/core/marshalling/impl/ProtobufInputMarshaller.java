@@ -19,6 +19,7 @@ package org.drools.core.marshalling.impl;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -166,9 +167,9 @@ public class ProtobufInputMarshaller {
                                      _session);
     }
 
-    private static InternalAgenda resetSession(StatefulKnowledgeSessionImpl session,
-                                              MarshallerReaderContext context,
-                                              ProtobufMessages.KnowledgeSession _session) {
+    static InternalAgenda resetSession(StatefulKnowledgeSessionImpl session,
+                                       MarshallerReaderContext context,
+                                       ProtobufMessages.KnowledgeSession _session) {
         session.reset( _session.getRuleData().getLastId(),
                        _session.getRuleData().getLastRecency(),
                        1 );
@@ -180,11 +181,11 @@ public class ProtobufInputMarshaller {
         return agenda;
     }
 
-    private static StatefulKnowledgeSessionImpl createAndInitializeSession(MarshallerReaderContext context,
-                                                                    int id,
-                                                                    Environment environment,
-                                                                    SessionConfiguration config,
-                                                                    ProtobufMessages.KnowledgeSession _session) throws IOException {
+    static StatefulKnowledgeSessionImpl createAndInitializeSession(MarshallerReaderContext context,
+                                                               int id,
+                                                               Environment environment,
+                                                               SessionConfiguration config,
+                                                               ProtobufMessages.KnowledgeSession _session) throws IOException {
         FactHandleFactory handleFactory = context.kBase.newFactHandleFactory( _session.getRuleData().getLastId(),
                                                                                  _session.getRuleData().getLastRecency() );
 
@@ -196,9 +197,13 @@ public class ProtobufInputMarshaller {
                                             config, agenda, environment );
     }
 
+    static ExtensionRegistry buildRegistry(MarshallerReaderContext context) {
+        return PersisterHelper.buildRegistry( context, processMarshaller );
+    }
+
     private static ProtobufMessages.KnowledgeSession loadAndParseSession(MarshallerReaderContext context) throws IOException,
                                                                                                          ClassNotFoundException {
-        ExtensionRegistry registry = PersisterHelper.buildRegistry( context, processMarshaller );
+        ExtensionRegistry registry = buildRegistry( context );
 
         ProtobufMessages.Header _header = PersisterHelper.readFromStreamWithHeaderPreloaded( context, registry );
 
@@ -210,6 +215,45 @@ public class ProtobufInputMarshaller {
                                                     InternalAgenda agenda,
                                                     MarshallerReaderContext context) throws IOException,
                                                                                     ClassNotFoundException {
+        return readSession( _session, session, agenda, context, EmbeddedSessionData.INSTANCE );
+    }
+
+    /**
+     * Supplies the fact handles and the timers of a session, that can be either embedded in the
+     * KnowledgeSession message or stored outside of it and read only when they are needed.
+     * The handles are requested once per entry point, in the order of the entry points of the session.
+     */
+    interface SessionDataReader {
+        Iterable<ProtobufMessages.FactHandle> readHandles(ProtobufMessages.EntryPoint _ep) throws IOException;
+
+        Iterable<ProtobufMessages.Timers.Timer> readTimers(ProtobufMessages.KnowledgeSession _session) throws IOException;
+
+        default Object readObject(MarshallerReaderContext context,
+                                  ProtobufMessages.FactHandle _handle) throws IOException, ClassNotFoundException {
+            return ProtobufInputMarshaller.readObject( context, _handle );
+        }
+    }
+
+    private static class EmbeddedSessionData implements SessionDataReader {
+        private static final EmbeddedSessionData INSTANCE = new EmbeddedSessionData();
+
+        @Override
+        public Iterable<ProtobufMessages.FactHandle> readHandles(ProtobufMessages.EntryPoint _ep) {
+            return _ep.getHandleList();
+        }
+
+        @Override
+        public Iterable<ProtobufMessages.Timers.Timer> readTimers(ProtobufMessages.KnowledgeSession _session) {
+            return _session.hasTimers() ? _session.getTimers().getTimerList() : Collections.<ProtobufMessages.Timers.Timer>emptyList();
+        }
+    }
+
+    static StatefulKnowledgeSessionImpl readSession(ProtobufMessages.KnowledgeSession _session,
+                                                    StatefulKnowledgeSessionImpl session,
+                                                    InternalAgenda agenda,
+                                                    MarshallerReaderContext context,
+                                                    SessionDataReader dataReader) throws IOException,
+                                                                                         ClassNotFoundException {
         GlobalResolver globalResolver = (GlobalResolver) context.env.get( EnvironmentName.GLOBALS );
         if ( globalResolver != null ) {
             session.setGlobalResolver( globalResolver );
@@ -238,7 +282,9 @@ public class ProtobufInputMarshaller {
         for ( ProtobufMessages.EntryPoint _ep : _session.getRuleData().getEntryPointList() ) {
             EntryPoint wmep = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(_ep.getEntryPointId());
             readFactHandles( context,
-                             _ep,
+                             _ep.getEntryPointId(),
+                             dataReader.readHandles( _ep ),
+                             dataReader,
                              ((WorkingMemoryEntryPoint) wmep).getObjectStore(),
                              pctxs );
 
@@ -278,11 +324,9 @@ public class ProtobufInputMarshaller {
             }
         }
 
-        if ( _session.hasTimers() ) {
-            for ( ProtobufMessages.Timers.Timer _timer : _session.getTimers().getTimerList() ) {
-                readTimer( context,
-                           _timer );
-            }
+        for ( ProtobufMessages.Timers.Timer _timer : dataReader.readTimers( _session ) ) {
+            readTimer( context,
+                       _timer );
         }
         // need to process any eventual left over timer node timers
         if( ! context.timerNodeSchedulers.isEmpty() ) {
@@ -422,15 +466,26 @@ public class ProtobufInputMarshaller {
                                        ObjectStore objectStore,
                                        List<PropagationContext> pctxs) throws IOException,
                                                                           ClassNotFoundException {
+        readFactHandles( context, _ep.getEntryPointId(), _ep.getHandleList(), EmbeddedSessionData.INSTANCE, objectStore, pctxs );
+    }
+
+    private static void readFactHandles(MarshallerReaderContext context,
+                                        String entryPointId,
+                                        Iterable<ProtobufMessages.FactHandle> _handles,
+                                        SessionDataReader dataReader,
+                                        ObjectStore objectStore,
+                                        List<PropagationContext> pctxs) throws IOException,
+                                                                           ClassNotFoundException {
         InternalWorkingMemory wm = context.wm;
 
-        EntryPoint entryPoint = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(_ep.getEntryPointId());
+        EntryPoint entryPoint = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(entryPointId);
         
         // load the handles
-        for ( ProtobufMessages.FactHandle _handle : _ep.getHandleList() ) {
+        for ( ProtobufMessages.FactHandle _handle : _handles ) {
             InternalFactHandle handle = readFactHandle( context,
                                                         entryPoint,
-                                                        _handle );
+                                                        _handle,
+                                                        dataReader.readObject( context, _handle ) );
 
             context.handles.put( handle.getId(),
                                  handle );
@@ -484,16 +539,26 @@ public class ProtobufInputMarshaller {
                                                     EntryPoint entryPoint,
                                                     FactHandle _handle) throws IOException,
                                                                        ClassNotFoundException {
-        Object object = null;
-        ObjectMarshallingStrategy strategy = null;
+        return readFactHandle( context, entryPoint, _handle, readObject( context, _handle ) );
+    }
+
+    static Object readObject(MarshallerReaderContext context,
+                             FactHandle _handle) throws IOException,
+                                                ClassNotFoundException {
         if ( _handle.hasStrategyIndex() ) {
-            strategy = context.usedStrategies.get( _handle.getStrategyIndex() );
-            object = strategy.unmarshal( context.strategyContexts.get( strategy ),
-                                         context,
-                                         _handle.getObject().toByteArray(),
-                                         (context.kBase == null) ? null : context.kBase.getRootClassLoader() );
+            ObjectMarshallingStrategy strategy = context.usedStrategies.get( _handle.getStrategyIndex() );
+            return strategy.unmarshal( context.strategyContexts.get( strategy ),
+                                       context,
+                                       _handle.getObject().toByteArray(),
+                                       (context.kBase == null) ? null : context.kBase.getRootClassLoader() );
         }
+        return null;
+    }
 
+    private static InternalFactHandle readFactHandle(MarshallerReaderContext context,
+                                                     EntryPoint entryPoint,
+                                                     FactHandle _handle,
+                                                     Object object) {
 
         EntryPointId confEP;
         if ( entryPoint != null ) {
@@ -858,7 +923,8 @@ public class ProtobufInputMarshaller {
             int result = 1;
             result = prime * result + ((pkgName == null) ? 0 : pkgName.hashCode());
             result = prime * result + ((ruleName == null) ? 0 : ruleName.hashCode());
-            result = prime * result + Arrays.hashCode( tuple );
+            // deep, since the tuple objects of an accumulate can be arrays, as the results of a groupBy
+            result = prime * result + Arrays.deepHashCode( tuple );
             return result;
         }
 
@@ -874,7 +940,7 @@ public class ProtobufInputMarshaller {
             if ( ruleName == null ) {
                 if ( other.ruleName != null ) return false;
             } else if ( !ruleName.equals( other.ruleName ) ) return false;
-            if ( !Arrays.equals( tuple, other.tuple ) ) return false;
+            if ( !Arrays.deepEquals( tuple, other.tuple ) ) return false;
             return true;
         }
     }
@@ -125,100 +125,122 @@ public class ProtobufOutputMarshaller {
         StatefulKnowledgeSessionImpl wm = (StatefulKnowledgeSessionImpl) context.wm;
 
         try {
-            wm.getLock().lock();
-            for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
-                if (ep instanceof NamedEntryPoint) {
-                    ((NamedEntryPoint)ep).lock();
-                }
+            lockSession( wm );
+            return serializeSession( context, true );
+        } finally {
+            unlockSession( wm );
+        }
+    }
+
+    static void lockSession(StatefulKnowledgeSessionImpl wm) {
+        wm.getLock().lock();
+        for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
+            if (ep instanceof NamedEntryPoint) {
+                ((NamedEntryPoint)ep).lock();
             }
+        }
+    }
 
-            evaluateRuleActivations( wm );
+    static void unlockSession(StatefulKnowledgeSessionImpl wm) {
+        for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
+            if (ep instanceof NamedEntryPoint) {
+                ((NamedEntryPoint)ep).unlock();
+            }
+        }
+        wm.getLock().unlock();
+    }
 
-            ProtobufMessages.RuleData.Builder _ruleData = ProtobufMessages.RuleData.newBuilder();
+    /**
+     * Serializes the session, that must be already locked by the caller. When embedFactsAndTimers is false
+     * the fact handles and the timers are left out of the returned message, so they can be streamed separately.
+     */
+    static ProtobufMessages.KnowledgeSession serializeSession(MarshallerWriteContext context,
+                                                             boolean embedFactsAndTimers) throws IOException {
+        StatefulKnowledgeSessionImpl wm = (StatefulKnowledgeSessionImpl) context.wm;
 
-            long time = 0;
-            if ( context.wm.getTimerService() instanceof PseudoClockScheduler ) {
-                time = context.clockTime;
-            }
-            _ruleData.setLastId( wm.getFactHandleFactory().getId() );
-            _ruleData.setLastRecency( wm.getFactHandleFactory().getRecency() );
+        evaluateRuleActivations( wm );
 
-            InternalFactHandle handle = context.wm.getInitialFactHandle();
-            if ( handle != null ) {
-                // can be null for RETE, if fireAllRules has not yet been called
-                ProtobufMessages.FactHandle _ifh = ProtobufMessages.FactHandle.newBuilder()
-                        .setType( ProtobufMessages.FactHandle.HandleType.INITIAL_FACT )
-                        .setId( handle.getId() )
-                        .setRecency( handle.getRecency() )
-                        .build();
-                _ruleData.setInitialFact( _ifh );
-            }
+        ProtobufMessages.RuleData.Builder _ruleData = ProtobufMessages.RuleData.newBuilder();
 
-            writeAgenda( context, _ruleData );
+        long time = 0;
+        if ( context.wm.getTimerService() instanceof PseudoClockScheduler ) {
+            time = context.clockTime;
+        }
+        _ruleData.setLastId( wm.getFactHandleFactory().getId() );
+        _ruleData.setLastRecency( wm.getFactHandleFactory().getRecency() );
 
-            writeNodeMemories( context, _ruleData );
+        InternalFactHandle handle = context.wm.getInitialFactHandle();
+        if ( handle != null ) {
+            // can be null for RETE, if fireAllRules has not yet been called
+            ProtobufMessages.FactHandle _ifh = ProtobufMessages.FactHandle.newBuilder()
+                    .setType( ProtobufMessages.FactHandle.HandleType.INITIAL_FACT )
+                    .setId( handle.getId() )
+                    .setRecency( handle.getRecency() )
+                    .build();
+            _ruleData.setInitialFact( _ifh );
+        }
 
-            for ( EntryPoint wmep : wm.getWorkingMemoryEntryPoints().values() ) {
-                org.drools.core.marshalling.impl.ProtobufMessages.EntryPoint.Builder _epb = ProtobufMessages.EntryPoint.newBuilder();
-                _epb.setEntryPointId( wmep.getEntryPointId() );
+        writeAgenda( context, _ruleData );
 
-                writeObjectTypeConfiguration( context,
-                                              ((WorkingMemoryEntryPoint)wmep).getObjectTypeConfigurationRegistry(),
-                                              _epb );
+        writeNodeMemories( context, _ruleData );
 
+        for ( EntryPoint wmep : wm.getWorkingMemoryEntryPoints().values() ) {
+            org.drools.core.marshalling.impl.ProtobufMessages.EntryPoint.Builder _epb = ProtobufMessages.EntryPoint.newBuilder();
+            _epb.setEntryPointId( wmep.getEntryPointId() );
+
+            writeObjectTypeConfiguration( context,
+                                          ((WorkingMemoryEntryPoint)wmep).getObjectTypeConfigurationRegistry(),
+                                          _epb );
+
+            if ( embedFactsAndTimers ) {
                 writeFactHandles( context,
                                   _epb,
                                   ((NamedEntryPoint) wmep).getObjectStore() );
-
-                writeTruthMaintenanceSystem( context,
-                                             wmep,
-                                             _epb );
-
-                _ruleData.addEntryPoint( _epb.build() );
             }
 
-            writeActionQueue( context,
-                              _ruleData );
+            writeTruthMaintenanceSystem( context,
+                                         wmep,
+                                         _epb );
 
-            ProtobufMessages.KnowledgeSession.Builder _session = ProtobufMessages.KnowledgeSession.newBuilder()
-                    .setMultithread( false )
-                    .setTime( time )
-                    .setRuleData( _ruleData.build() );
+            _ruleData.addEntryPoint( _epb.build() );
+        }
 
-            if ( processMarshaller != null ) {
-                Builder _pdata = ProtobufMessages.ProcessData.newBuilder();
-                if ( context.marshalProcessInstances ) {
-                    context.parameterObject = _pdata;
-                    processMarshaller.writeProcessInstances( context );
-                }
+        writeActionQueue( context,
+                          _ruleData );
 
-                if ( context.marshalWorkItems ) {
-                    context.parameterObject = _pdata;
-                    processMarshaller.writeWorkItems( context );
-                }
+        ProtobufMessages.KnowledgeSession.Builder _session = ProtobufMessages.KnowledgeSession.newBuilder()
+                .setMultithread( false )
+                .setTime( time )
+                .setRuleData( _ruleData.build() );
 
-                // this now just assigns the writer, it will not write out any timer information
+        if ( processMarshaller != null ) {
+            Builder _pdata = ProtobufMessages.ProcessData.newBuilder();
+            if ( context.marshalProcessInstances ) {
                 context.parameterObject = _pdata;
-                processMarshaller.writeProcessTimers( context );
+                processMarshaller.writeProcessInstances( context );
+            }
 
-                _session.setProcessData( _pdata.build() );
+            if ( context.marshalWorkItems ) {
+                context.parameterObject = _pdata;
+                processMarshaller.writeWorkItems( context );
             }
 
+            // this now just assigns the writer, it will not write out any timer information
+            context.parameterObject = _pdata;
+            processMarshaller.writeProcessTimers( context );
+
+            _session.setProcessData( _pdata.build() );
+        }
+
+        if ( embedFactsAndTimers ) {
             Timers _timers = writeTimers( context.wm.getTimerService().getTimerJobInstances( context.wm.getIdentifier() ),
                                           context );
             if ( _timers != null ) {
                 _session.setTimers( _timers );
             }
-
-            return _session.build();
-        } finally {
-            for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
-                if (ep instanceof NamedEntryPoint) {
-                    ((NamedEntryPoint)ep).unlock();
-                }
-            }
-            wm.getLock().unlock();
         }
+
+        return _session.build();
     }
 
     private static void writeObjectTypeConfiguration( MarshallerWriteContext context, 
@@ -455,14 +477,24 @@ public class ProtobufOutputMarshaller {
 
         ProtobufMessages.ActionQueue.Builder _queue = ProtobufMessages.ActionQueue.newBuilder();
         while ( i.hasNext() ) {
-            PropagationEntry entry = i.next();
-            if (entry instanceof WorkingMemoryAction) {
-                _queue.addAction(((WorkingMemoryAction) entry).serialize(context));
-            }
+            writeAction( context, _queue, i.next() );
         }
         _session.setActionQueue( _queue.build() );
     }
 
+    private static void writeAction(MarshallerWriteContext context,
+                                    ProtobufMessages.ActionQueue.Builder _queue,
+                                    PropagationEntry entry) throws IOException {
+        if (entry instanceof PropagationEntry.ExpireBatch) {
+            // the batch is only a queuing optimization, its expirations are written as separate actions
+            for (PropagationEntry expiration : ((PropagationEntry.ExpireBatch) entry).getExpirations()) {
+                writeAction( context, _queue, expiration );
+            }
+        } else if (entry instanceof WorkingMemoryAction) {
+            _queue.addAction(((WorkingMemoryAction) entry).serialize(context));
+        }
+    }
+
     public static void writeTruthMaintenanceSystem(MarshallerWriteContext context,
                                                    EntryPoint wmep,
                                                    ProtobufMessages.EntryPoint.Builder _epb) throws IOException {
@@ -582,9 +614,9 @@ public class ProtobufOutputMarshaller {
         }
     }
 
-    private static ProtobufMessages.FactHandle writeFactHandle(MarshallerWriteContext context,
-                                                               ObjectMarshallingStrategyStore objectMarshallingStrategyStore,
-                                                               InternalFactHandle handle) throws IOException {
+    static ProtobufMessages.FactHandle writeFactHandle(MarshallerWriteContext context,
+                                                       ObjectMarshallingStrategyStore objectMarshallingStrategyStore,
+                                                       InternalFactHandle handle) throws IOException {
         ProtobufMessages.FactHandle.Builder _handle = ProtobufMessages.FactHandle.newBuilder();
 
         _handle.setType( getHandleType( handle ) );
@@ -761,30 +793,12 @@ public class ProtobufOutputMarshaller {
         return false;
     }
 
-    private static ProtobufMessages.Timers writeTimers(Collection<TimerJobInstance> timers,
-                                                       MarshallerWriteContext outCtx) {
+    static ProtobufMessages.Timers writeTimers(Collection<TimerJobInstance> timers,
+                                               MarshallerWriteContext outCtx) {
         if ( !timers.isEmpty() ) {
-            List<TimerJobInstance> sortedTimers = new ArrayList<TimerJobInstance>( timers );
-            Collections.sort( sortedTimers,
-                              new Comparator<TimerJobInstance>() {
-                                  public int compare(TimerJobInstance o1,
-                                                     TimerJobInstance o2) {
-                                      return (int) (o1.getJobHandle().getId() - o2.getJobHandle().getId());
-                                  }
-                              } );
-
             ProtobufMessages.Timers.Builder _timers = ProtobufMessages.Timers.newBuilder();
-            for ( TimerJobInstance timer : sortedTimers ) {
-                JobContext jctx = timer.getJobContext();
-                if ( jctx instanceof SelfRemovalJobContext ) {
-                    jctx = ((SelfRemovalJobContext) jctx).getJobContext();
-                }
-                if (jctx instanceof ObjectTypeNode.ExpireJobContext &&
-                    !((ObjectTypeNode.ExpireJobContext) jctx).getExpireAction().getFactHandle().isValid()) {                    
-                    continue;
-                }
-                TimersOutputMarshaller writer = outCtx.writersByClass.get( jctx.getClass() );
-                Timer _timer = writer.serialize( jctx, outCtx );
+            for ( TimerJobInstance timer : sortTimers( timers ) ) {
+                Timer _timer = writeTimer( timer, outCtx );
                 if ( _timer != null ) {
                     _timers.addTimer( _timer );
                 }
@@ -794,6 +808,35 @@ public class ProtobufOutputMarshaller {
         return null;
     }
 
+    static List<TimerJobInstance> sortTimers(Collection<TimerJobInstance> timers) {
+        List<TimerJobInstance> sortedTimers = new ArrayList<TimerJobInstance>( timers );
+        Collections.sort( sortedTimers,
+                          new Comparator<TimerJobInstance>() {
+                              public int compare(TimerJobInstance o1,
+                                                 TimerJobInstance o2) {
+                                  return (int) (o1.getJobHandle().getId() - o2.getJobHandle().getId());
+                              }
+                          } );
+        return sortedTimers;
+    }
+
+    /**
+     * Serializes a single timer, returning null if it doesn't need to be persisted
+     */
+    static Timer writeTimer(TimerJobInstance timer,
+                            MarshallerWriteContext outCtx) {
+        JobContext jctx = timer.getJobContext();
+        if ( jctx instanceof SelfRemovalJobContext ) {
+            jctx = ((SelfRemovalJobContext) jctx).getJobContext();
+        }
+        if (jctx instanceof ObjectTypeNode.ExpireJobContext &&
+            !((ObjectTypeNode.ExpireJobContext) jctx).getExpireAction().getFactHandle().isValid()) {
+            return null;
+        }
+        TimersOutputMarshaller writer = outCtx.writersByClass.get( jctx.getClass() );
+        return writer.serialize( jctx, outCtx );
+    }
+
     public static ProtobufMessages.Trigger writeTrigger(Trigger trigger,
                                                         MarshallerWriteContext outCtx) {
         if ( trigger instanceof CronTrigger ) {
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.marshalling.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.protobuf.ExtensionRegistry;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.impl.KnowledgeBaseImpl;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.marshalling.MarshallingConfiguration;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+
+/**
+ * Takes incremental checkpoints of a session. After a full snapshot it tracks the fact handles inserted, updated
+ * and deleted in the session, so the following checkpoints only serialize those handles together with the agenda,
+ * the timers and the rest of the session state, that are usually small compared with the working memory.
+ *
+ * The deltas are cumulative, each of them containing all the changes since the last full snapshot, so a session
+ * is always restored from its last full snapshot and at most one delta. The changes are compacted into a new
+ * full snapshot when the changed facts are more than 1/compactionRatio of the facts in the session, or when the
+ * deleted ones, whose ids are cheap to store, are more than compactionRatio times them.
+ *
+ * Objects modified without notifying the session through an update aren't tracked, so their new state is
+ * persisted only by the next full snapshot. Events can also leave the session when they expire, without any
+ * deletion event, so the live event handles are kept aside and the expired ones are recorded as deleted at
+ * the following checkpoint.
+ *
+ * When a session is restored from a full snapshot and a delta, the changes contained in the delta are tracked
+ * again, so the following checkpoints can still be deltas against the same full snapshot.
+ */
+public class SessionCheckpointer implements RuleRuntimeEventListener {
+
+    public static final int DEFAULT_COMPACTION_RATIO = 4;
+
+    private static final int DELTA_FORMAT_VERSION = 3;
+
+    private final StatefulKnowledgeSessionImpl session;
+    private final InternalMarshaller           marshaller;
+    private final int                          compactionRatio;
+
+    private final Map<Long, InternalFactHandle> changedHandles = new HashMap<>();
+    private final Set<Long>                     deletedHandles = new HashSet<>();
+    private final Map<Long, InternalFactHandle> eventHandles = new HashMap<>();
+
+    private boolean hasFullSnapshot;
+
+    public SessionCheckpointer(KieSession ksession,
+                               InternalMarshaller marshaller) {
+        this( ksession, marshaller, DEFAULT_COMPACTION_RATIO );
+    }
+
+    public SessionCheckpointer(KieSession ksession,
+                               InternalMarshaller marshaller,
+                               int compactionRatio) {
+        this.session = (StatefulKnowledgeSessionImpl) ksession;
+        this.marshaller = marshaller;
+        this.compactionRatio = compactionRatio;
+        ksession.addEventListener( this );
+        trackLiveHandles( Collections.<Long>emptySet() );
+    }
+
+    public static class Checkpoint {
+        private final boolean full;
+        private final byte[]  data;
+
+        private Checkpoint(boolean full,
+                           byte[] data) {
+            this.full = full;
+            this.data = data;
+        }
+
+        /**
+         * Returns true if this checkpoint is a full snapshot, that replaces both the former snapshot and delta
+         */
+        public boolean isFull() {
+            return full;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    public static Checkpoint fullCheckpoint(byte[] snapshot) {
+        return new Checkpoint( true, snapshot );
+    }
+
+    /**
+     * Returns a delta with the changes since the last full snapshot or, if there isn't any
+     * or there are too many changes, a new full snapshot of the session
+     */
+    public Checkpoint checkpoint() throws IOException {
+        session.flushPropagations();
+        ProtobufOutputMarshaller.lockSession( session );
+        try {
+            synchronized (this) {
+                collectExpiredEvents();
+                if ( needsFullSnapshot() ) {
+                    return new Checkpoint( true, writeSnapshot() );
+                }
+                return new Checkpoint( false, writeDelta() );
+            }
+        } finally {
+            ProtobufOutputMarshaller.unlockSession( session );
+        }
+    }
+
+    /**
+     * Returns a full snapshot of the session, that becomes the base of the following deltas
+     */
+    public byte[] snapshot() throws IOException {
+        session.flushPropagations();
+        ProtobufOutputMarshaller.lockSession( session );
+        try {
+            synchronized (this) {
+                collectExpiredEvents();
+                return writeSnapshot();
+            }
+        } finally {
+            ProtobufOutputMarshaller.unlockSession( session );
+        }
+    }
+
+    /**
+     * Declares that the session has just been restored from a persisted full snapshot and, if not null, the delta
+     * taken after it. The changes contained in the delta are tracked again, so that the following checkpoints can
+     * still be deltas against the same full snapshot.
+     */
+    public synchronized void markRestored(byte[] delta) throws IOException, ClassNotFoundException {
+        changedHandles.clear();
+        deletedHandles.clear();
+        Set<Long> restoredChanges = Collections.emptySet();
+        if ( delta != null ) {
+            MarshallerReaderContext context = newReaderContext( session.getKnowledgeBase(),
+                                                                marshaller.getMarshallingConfiguration(),
+                                                                delta,
+                                                                session.getEnvironment() );
+            deletedHandles.addAll( readDeletedHandles( context ) );
+            restoredChanges = readChangedHandles( readSession( context ) );
+            context.close();
+        }
+        trackLiveHandles( restoredChanges );
+        hasFullSnapshot = true;
+    }
+
+    public void dispose() {
+        session.removeEventListener( this );
+    }
+
+    private boolean needsFullSnapshot() {
+        if ( !hasFullSnapshot ) {
+            return true;
+        }
+        long factsNr = 0;
+        for ( WorkingMemoryEntryPoint ep : session.getWorkingMemoryEntryPoints().values() ) {
+            factsNr += ep.getObjectStore().size();
+        }
+        return (long) changedHandles.size() * compactionRatio > factsNr ||
+               deletedHandles.size() > factsNr * compactionRatio;
+    }
+
+    private void trackLiveHandles(Set<Long> restoredChanges) {
+        eventHandles.clear();
+        for ( WorkingMemoryEntryPoint ep : session.getWorkingMemoryEntryPoints().values() ) {
+            for ( Iterator<InternalFactHandle> it = ep.getObjectStore().iterateFactHandles(); it.hasNext(); ) {
+                InternalFactHandle handle = it.next();
+                if ( restoredChanges.contains( handle.getId() ) ) {
+                    changedHandles.put( handle.getId(), handle );
+                }
+                if ( handle.isEvent() ) {
+                    eventHandles.put( handle.getId(), handle );
+                }
+            }
+        }
+    }
+
+    private void collectExpiredEvents() {
+        for ( Iterator<InternalFactHandle> it = eventHandles.values().iterator(); it.hasNext(); ) {
+            InternalFactHandle handle = it.next();
+            if ( handle.isExpired() &&
+                 session.getEntryPoint( handle.getEntryPointName() ).getObjectStore().getObjectForHandle( handle ) == null ) {
+                it.remove();
+                changedHandles.remove( handle.getId() );
+                deletedHandles.add( handle.getId() );
+            }
+        }
+    }
+
+    private byte[] writeSnapshot() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        marshaller.marshall( baos, session );
+        changedHandles.clear();
+        deletedHandles.clear();
+        hasFullSnapshot = true;
+        return baos.toByteArray();
+    }
+
+    private byte[] writeDelta() throws IOException {
+        MarshallingConfiguration marshallingConfig = marshaller.getMarshallingConfiguration();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MarshallerWriteContext context = new MarshallerWriteContext( baos,
+                                                                     session.getKnowledgeBase(),
+                                                                     session,
+                                                                     RuleBaseNodes.getNodeMap( session.getKnowledgeBase() ),
+                                                                     marshallingConfig.getObjectMarshallingStrategyStore(),
+                                                                     marshallingConfig.isMarshallProcessInstances(),
+                                                                     marshallingConfig.isMarshallWorkItems(),
+                                                                     session.getEnvironment() );
+        context.clockTime = session.getSessionClock().getCurrentTime();
+
+        ProtobufMessages.KnowledgeSession.Builder _session = ProtobufOutputMarshaller.serializeSession( context, false ).toBuilder();
+        ProtobufMessages.Timers _timers = ProtobufOutputMarshaller.writeTimers( session.getTimerService().getTimerJobInstances( session.getIdentifier() ),
+                                                                                context );
+        if ( _timers != null ) {
+            _session.setTimers( _timers );
+        }
+
+        Map<String, List<InternalFactHandle>> handlesByEntryPoint = new HashMap<>();
+        for ( InternalFactHandle handle : changedHandles.values() ) {
+            if ( handle.isValid() ) {
+                handlesByEntryPoint.computeIfAbsent( handle.getEntryPointName(), ep -> new ArrayList<>() ).add( handle );
+            } else {
+                deletedHandles.add( handle.getId() );
+            }
+        }
+        for ( ProtobufMessages.EntryPoint.Builder _ep : _session.getRuleDataBuilder().getEntryPointBuilderList() ) {
+            List<InternalFactHandle> handles = handlesByEntryPoint.get( _ep.getEntryPointId() );
+            if ( handles != null ) {
+                for ( InternalFactHandle handle : ProtobufOutputMarshaller.orderFacts( handles ) ) {
+                    _ep.addHandle( ProtobufOutputMarshaller.writeFactHandle( context, context.objectMarshallingStrategyStore, handle ) );
+                }
+            }
+        }
+
+        context.writeInt( DELTA_FORMAT_VERSION );
+        context.writeInt( deletedHandles.size() );
+        for ( Long id : deletedHandles ) {
+            context.writeLong( id );
+        }
+        PersisterHelper.writeToStreamWithHeader( context, _session.build() );
+        context.close();
+        return baos.toByteArray();
+    }
+
+    @Override
+    public synchronized void objectInserted(ObjectInsertedEvent event) {
+        InternalFactHandle handle = (InternalFactHandle) event.getFactHandle();
+        changedHandles.put( handle.getId(), handle );
+        if ( handle.isEvent() ) {
+            eventHandles.put( handle.getId(), handle );
+        }
+    }
+
+    @Override
+    public synchronized void objectUpdated(ObjectUpdatedEvent event) {
+        InternalFactHandle handle = (InternalFactHandle) event.getFactHandle();
+        changedHandles.put( handle.getId(), handle );
+    }
+
+    @Override
+    public synchronized void objectDeleted(ObjectDeletedEvent event) {
+        long id = ((InternalFactHandle) event.getFactHandle()).getId();
+        changedHandles.remove( id );
+        eventHandles.remove( id );
+        deletedHandles.add( id );
+    }
+
+    /**
+     * Restores a new session from a full snapshot and, if not null, the delta taken after it
+     */
+    public static KieSession restore(InternalMarshaller marshaller,
+                                     KieBase kbase,
+                                     byte[] snapshot,
+                                     byte[] delta,
+                                     KieSessionConfiguration config,
+                                     Environment environment) throws IOException, ClassNotFoundException {
+        if ( delta == null ) {
+            return marshaller.unmarshall( new ByteArrayInputStream( snapshot ), config, environment );
+        }
+
+        if ( config == null ) {
+            config = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        }
+        if ( environment == null ) {
+            environment = KieServices.get().newEnvironment();
+        }
+
+        MarshallingConfiguration marshallingConfig = marshaller.getMarshallingConfiguration();
+        MarshallerReaderContext baseContext = newReaderContext( kbase, marshallingConfig, snapshot, environment );
+        ProtobufMessages.KnowledgeSession _base = readSession( baseContext );
+
+        MarshallerReaderContext context = newReaderContext( kbase, marshallingConfig, delta, environment );
+        Set<Long> deletedHandles = readDeletedHandles( context );
+        ProtobufMessages.KnowledgeSession _session = readSession( context );
+
+        int id = ((KnowledgeBaseImpl) kbase).nextWorkingMemoryCounter();
+        StatefulKnowledgeSessionImpl session = ProtobufInputMarshaller.createAndInitializeSession( context,
+                                                                                                   id,
+                                                                                                   environment,
+                                                                                                   (SessionConfiguration) config,
+                                                                                                   _session );
+        if ( marshaller.getInitializer() != null ) {
+            marshaller.getInitializer().init( session );
+        }
+
+        ProtobufInputMarshaller.readSession( _session,
+                                             session,
+                                             session.getAgenda(),
+                                             context,
+                                             new DeltaSessionData( baseContext, _base, _session, deletedHandles ) );
+        baseContext.close();
+        context.close();
+
+        if ( ((SessionConfiguration) config).isKeepReference() ) {
+            ((KnowledgeBaseImpl) kbase).addStatefulSession( session );
+        }
+        return session;
+    }
+
+    /**
+     * Restores an existing session from a full snapshot and, if not null, the delta taken after it
+     */
+    public static void restore(InternalMarshaller marshaller,
+                               byte[] snapshot,
+                               byte[] delta,
+                               KieSession ksession) throws IOException, ClassNotFoundException {
+        if ( delta == null ) {
+            marshaller.unmarshall( new ByteArrayInputStream( snapshot ), ksession );
+            return;
+        }
+
+        StatefulKnowledgeSessionImpl session = (StatefulKnowledgeSessionImpl) ksession;
+        MarshallingConfiguration marshallingConfig = marshaller.getMarshallingConfiguration();
+        MarshallerReaderContext baseContext = newReaderContext( session.getKnowledgeBase(), marshallingConfig, snapshot, ksession.getEnvironment() );
+        ProtobufMessages.KnowledgeSession _base = readSession( baseContext );
+
+        MarshallerReaderContext context = newReaderContext( session.getKnowledgeBase(), marshallingConfig, delta, ksession.getEnvironment() );
+        Set<Long> deletedHandles = readDeletedHandles( context );
+        ProtobufMessages.KnowledgeSession _session = readSession( context );
+
+        ProtobufInputMarshaller.readSession( _session,
+                                             session,
+                                             ProtobufInputMarshaller.resetSession( session, context, _session ),
+                                             context,
+                                             new DeltaSessionData( baseContext, _base, _session, deletedHandles ) );
+        baseContext.close();
+        context.close();
+    }
+
+    private static MarshallerReaderContext newReaderContext(KieBase kbase,
+                                                            MarshallingConfiguration marshallingConfig,
+                                                            byte[] data,
+                                                            Environment environment) throws IOException {
+        return new MarshallerReaderContext( new ByteArrayInputStream( data ),
+                                            (InternalKnowledgeBase) kbase,
+                                            RuleBaseNodes.getNodeMap( (InternalKnowledgeBase) kbase ),
+                                            marshallingConfig.getObjectMarshallingStrategyStore(),
+                                            ProtobufMarshaller.TIMER_READERS,
+                                            marshallingConfig.isMarshallProcessInstances(),
+                                            marshallingConfig.isMarshallWorkItems(),
+                                            environment );
+    }
+
+    private static Set<Long> readDeletedHandles(MarshallerReaderContext context) throws IOException {
+        int version = context.readInt();
+        if ( version != DELTA_FORMAT_VERSION ) {
+            throw new IllegalArgumentException( "Unsupported session delta version " + version );
+        }
+        int deletedNr = context.readInt();
+        Set<Long> deletedHandles = new HashSet<>( deletedNr * 2 );
+        for ( int i = 0; i < deletedNr; i++ ) {
+            deletedHandles.add( context.readLong() );
+        }
+        return deletedHandles;
+    }
+
+    private static Set<Long> readChangedHandles(ProtobufMessages.KnowledgeSession _delta) {
+        Set<Long> changedHandles = new HashSet<>();
+        for ( ProtobufMessages.EntryPoint _ep : _delta.getRuleData().getEntryPointList() ) {
+            for ( ProtobufMessages.FactHandle _handle : _ep.getHandleList() ) {
+                changedHandles.add( _handle.getId() );
+            }
+        }
+        return changedHandles;
+    }
+
+    private static ProtobufMessages.KnowledgeSession readSession(MarshallerReaderContext context) throws IOException, ClassNotFoundException {
+        ExtensionRegistry registry = ProtobufInputMarshaller.buildRegistry( context );
+        ProtobufMessages.Header _header = PersisterHelper.readFromStreamWithHeaderPreloaded( context, registry );
+        return ProtobufMessages.KnowledgeSession.parseFrom( _header.getPayload(), registry );
+    }
+
+    /**
+     * Supplies the fact handles of the full snapshot neither deleted nor changed afterwards, merged with the ones
+     * changed in the delta. The objects of each handle are unmarshalled with the strategies of the checkpoint
+     * containing it, while the rest of the session state is entirely read from the delta.
+     */
+    private static class DeltaSessionData implements ProtobufInputMarshaller.SessionDataReader {
+
+        private final MarshallerReaderContext                          baseContext;
+        private final Map<String, List<ProtobufMessages.FactHandle>> baseHandles = new HashMap<>();
+        private final Set<Long>                                        deletedHandles;
+        private final Set<Long>                                        changedHandles;
+
+        private DeltaSessionData(MarshallerReaderContext baseContext,
+                                 ProtobufMessages.KnowledgeSession _base,
+                                 ProtobufMessages.KnowledgeSession _delta,
+                                 Set<Long> deletedHandles) {
+            this.baseContext = baseContext;
+            this.deletedHandles = deletedHandles;
+            this.changedHandles = readChangedHandles( _delta );
+            for ( ProtobufMessages.EntryPoint _ep : _base.getRuleData().getEntryPointList() ) {
+                baseHandles.put( _ep.getEntryPointId(), _ep.getHandleList() );
+            }
+        }
+
+        @Override
+        public Iterable<ProtobufMessages.FactHandle> readHandles(ProtobufMessages.EntryPoint _ep) {
+            List<ProtobufMessages.FactHandle> handles = new ArrayList<>( _ep.getHandleList() );
+            for ( ProtobufMessages.FactHandle _handle : baseHandles.getOrDefault( _ep.getEntryPointId(), Collections.emptyList() ) ) {
+                if ( !deletedHandles.contains( _handle.getId() ) && !changedHandles.contains( _handle.getId() ) ) {
+                    handles.add( _handle );
+                }
+            }
+            // the facts are reinserted in the same order used by a full snapshot
+            handles.sort( Comparator.comparingLong( ProtobufMessages.FactHandle::getId ) );
+            return handles;
+        }
+
+        @Override
+        public Iterable<ProtobufMessages.Timers.Timer> readTimers(ProtobufMessages.KnowledgeSession _session) {
+            return _session.hasTimers() ? _session.getTimers().getTimerList() : Collections.<ProtobufMessages.Timers.Timer>emptyList();
+        }
+
+        @Override
+        public Object readObject(MarshallerReaderContext context,
+                                 ProtobufMessages.FactHandle _handle) throws IOException, ClassNotFoundException {
+            return ProtobufInputMarshaller.readObject( changedHandles.contains( _handle.getId() ) ? context : baseContext, _handle );
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.marshalling.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamConstants;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.Parser;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.NamedEntryPoint;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.impl.KnowledgeBaseImpl;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.time.impl.TimerJobInstance;
+import org.drools.core.util.KeyStoreHelper;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.marshalling.MarshallingConfiguration;
+import org.kie.api.marshalling.ObjectMarshallingStrategyStore;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.internal.runtime.StatefulKnowledgeSession;
+
+/**
+ * A marshaller writing a session snapshot on a channel as a sequence of small protobuf messages instead of
+ * building, as the ProtobufMarshaller does, a single KnowledgeSession message containing the whole session.
+ * The fact handles and the timers, that are the bulk of a large session, are serialized and written one at a time,
+ * while restoring the session the fact handles of each entry point are parsed and inserted one at a time only
+ * when the restore reaches that entry point. In this way the memory needed to marshall a session doesn't grow
+ * with the size of its working memory.
+ *
+ * The snapshot has the following layout:
+ * <pre>
+ *   int              MAGIC
+ *   int              FORMAT_VERSION
+ *   KnowledgeSession the session without its fact handles and timers (length delimited)
+ *   for each entry point of the session, in the same order:
+ *     (true, FactHandle (length delimited))* false
+ *   (true, Timer (length delimited))* false
+ *   Header           the version, the used strategies and the runtime defined classes
+ *   long             the size of the Header
+ * </pre>
+ * The Header comes last because the strategies contexts are filled while marshalling the facts, so it is read
+ * first from the end of the channel, that for this reason has to be seekable when restoring the session.
+ * Signed sessions aren't supported, since their signature would require the whole payload.
+ */
+public class StreamingSnapshotMarshaller {
+
+    static final int MAGIC = 0x44534e50;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final KieBase                        kbase;
+    private final MarshallingConfiguration       marshallingConfig;
+    private final ObjectMarshallingStrategyStore strategyStore;
+    private final boolean                        memoryMapped;
+
+    public StreamingSnapshotMarshaller(KieBase kbase,
+                                       MarshallingConfiguration marshallingConfig) {
+        this( kbase, marshallingConfig, false );
+    }
+
+    /**
+     * @param memoryMapped if true the snapshots stored in a file small enough to be mapped at once
+     *                     are restored reading them through a memory mapping of the file
+     */
+    public StreamingSnapshotMarshaller(KieBase kbase,
+                                       MarshallingConfiguration marshallingConfig,
+                                       boolean memoryMapped) {
+        this.kbase = kbase;
+        this.marshallingConfig = marshallingConfig;
+        this.strategyStore = marshallingConfig.getObjectMarshallingStrategyStore();
+        this.memoryMapped = memoryMapped;
+    }
+
+    public MarshallingConfiguration getMarshallingConfiguration() {
+        return marshallingConfig;
+    }
+
+    public void marshall(WritableByteChannel channel,
+                         KieSession ksession) throws IOException {
+        marshall( channel, ksession, ksession.getSessionClock().getCurrentTime() );
+    }
+
+    public void marshall(WritableByteChannel channel,
+                         KieSession ksession,
+                         long clockTime) throws IOException {
+        checkNotSigned();
+        StatefulKnowledgeSessionImpl wm = (StatefulKnowledgeSessionImpl) ksession;
+        wm.flushPropagations();
+
+        // the context only holds the marshalling state, the snapshot is directly written on the channel
+        MarshallerWriteContext context = new MarshallerWriteContext( new ByteArrayOutputStream(),
+                                                                     (InternalKnowledgeBase) kbase,
+                                                                     wm,
+                                                                     RuleBaseNodes.getNodeMap( (InternalKnowledgeBase) kbase ),
+                                                                     this.strategyStore,
+                                                                     this.marshallingConfig.isMarshallProcessInstances(),
+                                                                     this.marshallingConfig.isMarshallWorkItems(),
+                                                                     ksession.getEnvironment() );
+        context.clockTime = clockTime;
+
+        DataOutputStream out = new DataOutputStream( new BufferedOutputStream( Channels.newOutputStream( channel ), BUFFER_SIZE ) );
+        out.writeInt( MAGIC );
+        out.writeInt( FORMAT_VERSION );
+
+        ProtobufOutputMarshaller.lockSession( wm );
+        try {
+            ProtobufOutputMarshaller.serializeSession( context, false ).writeDelimitedTo( out );
+
+            // the entry points have to be written in the same order used by serializeSession
+            for ( WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values() ) {
+                for ( InternalFactHandle handle : ProtobufOutputMarshaller.orderFacts( ((NamedEntryPoint) ep).getObjectStore() ) ) {
+                    out.writeBoolean( true );
+                    ProtobufOutputMarshaller.writeFactHandle( context, context.objectMarshallingStrategyStore, handle ).writeDelimitedTo( out );
+                }
+                out.writeBoolean( false );
+            }
+
+            for ( TimerJobInstance timer : ProtobufOutputMarshaller.sortTimers( wm.getTimerService().getTimerJobInstances( wm.getIdentifier() ) ) ) {
+                ProtobufMessages.Timers.Timer _timer = ProtobufOutputMarshaller.writeTimer( timer, context );
+                if ( _timer != null ) {
+                    out.writeBoolean( true );
+                    _timer.writeDelimitedTo( out );
+                }
+            }
+            out.writeBoolean( false );
+        } finally {
+            ProtobufOutputMarshaller.unlockSession( wm );
+        }
+
+        byte[] header = PersisterHelper.createHeader( context ).build().toByteArray();
+        out.write( header );
+        out.writeLong( header.length );
+        out.flush();
+    }
+
+    public StatefulKnowledgeSession unmarshall(SeekableByteChannel channel) throws IOException,
+                                                                               ClassNotFoundException {
+        return unmarshall( channel, null, null );
+    }
+
+    public StatefulKnowledgeSession unmarshall(SeekableByteChannel channel,
+                                               KieSessionConfiguration config,
+                                               Environment environment) throws IOException, ClassNotFoundException {
+        checkNotSigned();
+        if ( config == null ) {
+            config = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        }
+
+        if ( environment == null ) {
+            environment = KieServices.get().newEnvironment();
+        }
+
+        // the context only holds the unmarshalling state, the snapshot is directly read from the channel
+        MarshallerReaderContext context = new MarshallerReaderContext( emptyObjectStream(),
+                                                                       (KnowledgeBaseImpl) kbase,
+                                                                       RuleBaseNodes.getNodeMap( (KnowledgeBaseImpl) kbase ),
+                                                                       this.strategyStore,
+                                                                       ProtobufMarshaller.TIMER_READERS,
+                                                                       this.marshallingConfig.isMarshallProcessInstances(),
+                                                                       this.marshallingConfig.isMarshallWorkItems(),
+                                                                       environment );
+        ExtensionRegistry registry = ProtobufInputMarshaller.buildRegistry( context );
+        PersisterHelper.loadStrategiesIndex( context, readHeader( channel, registry ) );
+
+        channel.position( 0 );
+        DataInputStream in = new DataInputStream( new BufferedInputStream( openInputStream( channel ), BUFFER_SIZE ) );
+        if ( in.readInt() != MAGIC ) {
+            throw new IllegalArgumentException( "The channel doesn't contain a streaming session snapshot" );
+        }
+        int version = in.readInt();
+        if ( version != FORMAT_VERSION ) {
+            throw new IllegalArgumentException( "Unsupported streaming session snapshot version " + version );
+        }
+        ProtobufMessages.KnowledgeSession _session = ProtobufMessages.KnowledgeSession.parseDelimitedFrom( in, registry );
+
+        int id = ((KnowledgeBaseImpl) this.kbase).nextWorkingMemoryCounter();
+        StatefulKnowledgeSessionImpl session = ProtobufInputMarshaller.createAndInitializeSession( context,
+                                                                                                   id,
+                                                                                                   environment,
+                                                                                                   (SessionConfiguration) config,
+                                                                                                   _session );
+        try {
+            ProtobufInputMarshaller.readSession( _session,
+                                                 session,
+                                                 session.getAgenda(),
+                                                 context,
+                                                 new StreamedSessionData( in, registry ) );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        context.close();
+
+        if ( ((SessionConfiguration) config).isKeepReference() ) {
+            ((KnowledgeBaseImpl) this.kbase).addStatefulSession( session );
+        }
+        return session;
+    }
+
+    private static void checkNotSigned() {
+        if ( new KeyStoreHelper().isSigned() ) {
+            throw new UnsupportedOperationException( "Streaming session snapshots can't be signed, use the ProtobufMarshaller when serialized sessions have to be signed" );
+        }
+    }
+
+    private static InputStream emptyObjectStream() {
+        return new ByteArrayInputStream( new byte[] {
+                (byte) (ObjectStreamConstants.STREAM_MAGIC >>> 8), (byte) ObjectStreamConstants.STREAM_MAGIC,
+                (byte) (ObjectStreamConstants.STREAM_VERSION >>> 8), (byte) ObjectStreamConstants.STREAM_VERSION } );
+    }
+
+    private static ProtobufMessages.Header readHeader(SeekableByteChannel channel,
+                                                      ExtensionRegistry registry) throws IOException {
+        long size = channel.size();
+        ByteBuffer headerSize = ByteBuffer.allocate( 8 );
+        readFully( channel.position( size - 8 ), headerSize );
+        int headerLength = (int) headerSize.getLong( 0 );
+
+        ByteBuffer header = ByteBuffer.allocate( headerLength );
+        readFully( channel.position( size - 8 - headerLength ), header );
+        return ProtobufMessages.Header.parseFrom( header.array(), registry );
+    }
+
+    private static void readFully(SeekableByteChannel channel,
+                                  ByteBuffer buffer) throws IOException {
+        while ( buffer.hasRemaining() ) {
+            if ( channel.read( buffer ) < 0 ) {
+                throw new EOFException( "Truncated streaming session snapshot" );
+            }
+        }
+    }
+
+    private InputStream openInputStream(SeekableByteChannel channel) throws IOException {
+        if ( memoryMapped && channel instanceof FileChannel && channel.size() <= Integer.MAX_VALUE ) {
+            return new ByteBufferInputStream( ((FileChannel) channel).map( FileChannel.MapMode.READ_ONLY, 0, channel.size() ) );
+        }
+        return Channels.newInputStream( channel );
+    }
+
+    private static class StreamedSessionData implements ProtobufInputMarshaller.SessionDataReader {
+
+        private final DataInputStream   in;
+        private final ExtensionRegistry registry;
+
+        private StreamedSessionData(DataInputStream in,
+                                    ExtensionRegistry registry) {
+            this.in = in;
+            this.registry = registry;
+        }
+
+        @Override
+        public Iterable<ProtobufMessages.FactHandle> readHandles(ProtobufMessages.EntryPoint _ep) {
+            return () -> new StreamedMessages<>( in, registry, ProtobufMessages.FactHandle.parser() );
+        }
+
+        @Override
+        public Iterable<ProtobufMessages.Timers.Timer> readTimers(ProtobufMessages.KnowledgeSession _session) {
+            return () -> new StreamedMessages<>( in, registry, ProtobufMessages.Timers.Timer.parser() );
+        }
+    }
+
+    /**
+     * Lazily parses the messages of a section of the snapshot while they are iterated. Since it consumes
+     * the stream, a section can be iterated only once and must be entirely consumed before the next one.
+     */
+    private static class StreamedMessages<T> implements Iterator<T> {
+
+        private final DataInputStream   in;
+        private final ExtensionRegistry registry;
+        private final Parser<T>         parser;
+
+        private Boolean hasNext;
+
+        private StreamedMessages(DataInputStream in,
+                                 ExtensionRegistry registry,
+                                 Parser<T> parser) {
+            this.in = in;
+            this.registry = registry;
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if ( hasNext == null ) {
+                try {
+                    hasNext = in.readBoolean();
+                } catch (IOException e) {
+                    throw new UncheckedIOException( e );
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if ( !hasNext() ) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                return parser.parseDelimitedFrom( in, registry );
+            } catch (IOException e) {
+                throw new UncheckedIOException( e );
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if ( !buffer.hasRemaining() ) {
+                return -1;
+            }
+            int read = Math.min( len, buffer.remaining() );
+            buffer.get( bytes, off, read );
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
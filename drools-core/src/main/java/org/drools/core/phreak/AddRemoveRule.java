@@ -65,6 +65,8 @@ import org.drools.core.reteoo.SegmentNodeMemory;
 import org.drools.core.reteoo.TerminalNode;
 import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.reteoo.WindowNode;
+import org.drools.core.rule.GroupByAccumulate.Group;
+import org.drools.core.rule.GroupByAccumulate.GroupByContext;
 import org.drools.core.spi.PropagationContext;
 import org.drools.core.spi.Tuple;
 import org.drools.core.util.FastIterator;
@@ -869,7 +871,16 @@ public class AddRemoveRule {
                     Tuple        lt = BetaNode.getFirstTuple(bm.getLeftTupleMemory(), it);
                     for (; lt != null; lt = (LeftTuple) it.next(lt)) {
                         AccumulateContext accctx = (AccumulateContext) lt.getContextObject();
-                        visitChild(accctx.getResultLeftTuple(), insert, wm, rule);
+                        if (accctx.context instanceof GroupByContext) {
+                            // a groupBy propagates one result tuple for each group
+                            for (Group group : ((GroupByContext) accctx.context).getGroups()) {
+                                if (group.getResultLeftTuple() != null) {
+                                    visitChild(group.getResultLeftTuple(), insert, wm, rule);
+                                }
+                            }
+                        } else {
+                            visitChild(accctx.getResultLeftTuple(), insert, wm, rule);
+                        }
                     }
                 } else if (NodeTypeEnums.ExistsNode == node.getType()) {
                     bm = (BetaMemory) wm.getNodeMemory((MemoryFactory) node);
@@ -1045,9 +1056,15 @@ public class AddRemoveRule {
             }
         } else {
             if (lt.getContextObject() instanceof AccumulateContext) {
-                LeftTuple resultLt = (( AccumulateContext ) lt.getContextObject()).getResultLeftTuple();
-                if (resultLt != null) {
-                    iterateLeftTuple( resultLt, wm );
+                AccumulateContext accctx = ( AccumulateContext ) lt.getContextObject();
+                if (accctx.context instanceof GroupByContext) {
+                    for (Group group : ((GroupByContext) accctx.context).getGroups()) {
+                        if (group.getResultLeftTuple() != null) {
+                            iterateLeftTuple( group.getResultLeftTuple(), wm );
+                        }
+                    }
+                } else if (accctx.getResultLeftTuple() != null) {
+                    iterateLeftTuple( accctx.getResultLeftTuple(), wm );
                 }
             }
             for (LeftTuple child = lt.getFirstChild(); child != null; child = child.getHandleNext()) {
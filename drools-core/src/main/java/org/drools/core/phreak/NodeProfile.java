@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * An immutable snapshot of the statistics collected by a {@link NodeProfiler} for a single node of the network.
+ * The time spent by a node only includes its own evaluation and not the one of the nodes following it.
+ */
+public class NodeProfile {
+
+    private final int nodeId;
+    private final String nodeType;
+    private final String description;
+    private final long invocations;
+    private final long tuplesIn;
+    private final long tuplesOut;
+    private final long timeNanos;
+    private final long memorySize;
+
+    @ConstructorProperties({"nodeId", "nodeType", "description", "invocations", "tuplesIn", "tuplesOut", "timeNanos", "memorySize"})
+    public NodeProfile( int nodeId, String nodeType, String description, long invocations, long tuplesIn, long tuplesOut, long timeNanos, long memorySize ) {
+        this.nodeId = nodeId;
+        this.nodeType = nodeType;
+        this.description = description;
+        this.invocations = invocations;
+        this.tuplesIn = tuplesIn;
+        this.tuplesOut = tuplesOut;
+        this.timeNanos = timeNanos;
+        this.memorySize = memorySize;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public String getNodeType() {
+        return nodeType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * The number of times the node has been evaluated
+     */
+    public long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * The number of tuples (or facts for an alpha node) received by the node
+     */
+    public long getTuplesIn() {
+        return tuplesIn;
+    }
+
+    /**
+     * The number of tuples (or facts for an alpha node) propagated by the node to its children
+     */
+    public long getTuplesOut() {
+        return tuplesOut;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /**
+     * The number of tuples stored in the left and right memories of a beta node at the time of its last evaluation
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    @Override
+    public String toString() {
+        return nodeType + "(" + nodeId + ") invocations=" + invocations + ", tuplesIn=" + tuplesIn +
+               ", tuplesOut=" + tuplesOut + ", timeNanos=" + timeNanos + ", memorySize=" + memorySize;
+    }
+}
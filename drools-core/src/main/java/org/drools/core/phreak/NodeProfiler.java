@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.drools.core.common.NetworkNode;
+
+/**
+ * Collects, for each node of the network evaluated by a session, the number of invocations,
+ * the tuples received and propagated, the time spent and the size of its memory.
+ *
+ * A session creates a NodeProfiler only if the drools.nodeProfiling option is enabled, otherwise
+ * the nodes don't pay any cost for the profiling other than checking that it is disabled.
+ */
+public class NodeProfiler {
+
+    private final Map<Integer, NodeCounters> counters = new ConcurrentHashMap<>();
+
+    public void recordNodeEvaluation( NetworkNode node, int tuplesIn, int tuplesOut, long timeNanos, long memorySize ) {
+        NodeCounters nodeCounters = getCounters( node );
+        nodeCounters.invocations.increment();
+        nodeCounters.tuplesIn.add( tuplesIn );
+        nodeCounters.tuplesOut.add( tuplesOut );
+        nodeCounters.timeNanos.add( timeNanos );
+        nodeCounters.memorySize = memorySize;
+    }
+
+    public void recordAlphaEvaluation( NetworkNode node, boolean allowed, long timeNanos ) {
+        NodeCounters nodeCounters = getCounters( node );
+        nodeCounters.invocations.increment();
+        nodeCounters.tuplesIn.increment();
+        if ( allowed ) {
+            nodeCounters.tuplesOut.increment();
+        }
+        nodeCounters.timeNanos.add( timeNanos );
+    }
+
+    private NodeCounters getCounters( NetworkNode node ) {
+        NodeCounters nodeCounters = counters.get( node.getId() );
+        return nodeCounters != null ? nodeCounters : counters.computeIfAbsent( node.getId(), id -> new NodeCounters( node ) );
+    }
+
+    /**
+     * Returns the statistics of all the nodes evaluated so far, sorted from the one where the most time has been spent
+     */
+    public List<NodeProfile> getSnapshot() {
+        List<NodeProfile> profiles = new ArrayList<>( counters.size() );
+        for ( Map.Entry<Integer, NodeCounters> entry : counters.entrySet() ) {
+            profiles.add( entry.getValue().toProfile( entry.getKey() ) );
+        }
+        profiles.sort( Comparator.comparingLong( NodeProfile::getTimeNanos ).reversed() );
+        return profiles;
+    }
+
+    public NodeProfile getProfile( int nodeId ) {
+        NodeCounters nodeCounters = counters.get( nodeId );
+        return nodeCounters != null ? nodeCounters.toProfile( nodeId ) : null;
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private static class NodeCounters {
+        private final String nodeType;
+        private final String description;
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder tuplesIn = new LongAdder();
+        private final LongAdder tuplesOut = new LongAdder();
+        private final LongAdder timeNanos = new LongAdder();
+        private volatile long memorySize;
+
+        private NodeCounters( NetworkNode node ) {
+            this.nodeType = node.getClass().getSimpleName();
+            this.description = node.toString();
+        }
+
+        private NodeProfile toProfile( int nodeId ) {
+            return new NodeProfile( nodeId, nodeType, description, invocations.sum(), tuplesIn.sum(), tuplesOut.sum(), timeNanos.sum(), memorySize );
+        }
+    }
+}
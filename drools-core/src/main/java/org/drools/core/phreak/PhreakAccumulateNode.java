@@ -30,6 +30,9 @@ import org.drools.core.reteoo.RightTuple;
 import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.rule.Accumulate;
 import org.drools.core.rule.ContextEntry;
+import org.drools.core.rule.GroupByAccumulate;
+import org.drools.core.rule.GroupByAccumulate.Group;
+import org.drools.core.rule.GroupByAccumulate.GroupByContext;
 import org.drools.core.spi.AlphaNodeFieldConstraint;
 import org.drools.core.spi.PropagationContext;
 import org.drools.core.util.AbstractHashTable;
@@ -94,18 +97,18 @@ public class PhreakAccumulateNode {
         // LeftTuple retracts are already on the trgLeftTuples
         for (LeftTuple leftTuple = tempLeftTuples.getInsertFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
-            evaluateResultConstraints(accNode, sink, accumulate, leftTuple, leftTuple.getPropagationContext(),
-                                      wm, am, (AccumulateContext) leftTuple.getContextObject(),
-                                      trgLeftTuples, stagedLeftTuples);
+            evaluateResults( accNode, sink, accumulate, leftTuple, wm, am,
+                             (AccumulateContext) leftTuple.getContextObject(),
+                             trgLeftTuples, stagedLeftTuples );
             leftTuple.clearStaged();
             leftTuple = next;
         }
 
         for (LeftTuple leftTuple = tempLeftTuples.getUpdateFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
-            evaluateResultConstraints( accNode, sink, accumulate, leftTuple, leftTuple.getPropagationContext(),
-                                       wm, am, (AccumulateContext) leftTuple.getContextObject(),
-                                       trgLeftTuples, stagedLeftTuples );
+            evaluateResults( accNode, sink, accumulate, leftTuple, wm, am,
+                             (AccumulateContext) leftTuple.getContextObject(),
+                             trgLeftTuples, stagedLeftTuples );
             leftTuple.clearStaged();
             leftTuple = next;
         }
@@ -254,6 +257,11 @@ public class PhreakAccumulateNode {
             LeftTuple next = leftTuple.getStagedNext();
             final AccumulateContext accctx = (AccumulateContext) leftTuple.getContextObject();
 
+            if (accumulate.isGroupBy()) {
+                // the left tuple is part of all the group results, so all of them have to be propagated again
+                ((GroupByContext) accctx.context).markAllDirty();
+            }
+
             constraints.updateFromTuple(contextEntry,
                                         wm,
                                         leftTuple);
@@ -548,7 +556,15 @@ public class PhreakAccumulateNode {
                                                   accctx,
                                                   false);
 
-                if (accctx.propagated) {
+                if (accumulate.isGroupBy()) {
+                    for (Group group : ((GroupByContext) accctx.context).getGroups()) {
+                        if (group.propagated) {
+                            normalizeStagedTuples( stagedLeftTuples, group.resultLeftTuple );
+
+                            trgLeftTuples.addDelete(group.resultLeftTuple);
+                        }
+                    }
+                } else if (accctx.propagated) {
                     normalizeStagedTuples( stagedLeftTuples, accctx.resultLeftTuple );
 
                     trgLeftTuples.addDelete(accctx.resultLeftTuple);
@@ -598,21 +614,59 @@ public class PhreakAccumulateNode {
         }
     }
 
+    private void evaluateResults(final AccumulateNode accNode,
+                                 final LeftTupleSink sink,
+                                 final Accumulate accumulate,
+                                 final LeftTuple leftTuple,
+                                 final InternalWorkingMemory workingMemory,
+                                 final AccumulateMemory memory,
+                                 final AccumulateContext accctx,
+                                 final TupleSets<LeftTuple> trgLeftTuples,
+                                 final TupleSets<LeftTuple> stagedLeftTuples) {
+        if (!accumulate.isGroupBy()) {
+            // get the actual result
+            Object result = accumulate.getResult(memory.workingMemoryContext,
+                                                 accctx.context,
+                                                 leftTuple,
+                                                 workingMemory);
+            evaluateResultConstraints(accNode, sink, leftTuple, leftTuple.getPropagationContext(),
+                                      workingMemory, memory, accctx, result,
+                                      trgLeftTuples, stagedLeftTuples);
+            return;
+        }
+
+        GroupByAccumulate groupBy = (GroupByAccumulate) accumulate;
+        PropagationContext propagationContext = accctx.getPropagationContext();
+        accctx.setPropagationContext(null);
+
+        // only the groups changed since the last evaluation are propagated
+        for (Group group : ((GroupByContext) accctx.context).takeDirtyGroups()) {
+            Object result = null;
+            if (!group.isEmpty()) {
+                result = groupBy.getGroupResult(memory.workingMemoryContext,
+                                                group,
+                                                leftTuple,
+                                                workingMemory);
+                group.setPropagationContext(propagationContext);
+            } else if (group.propagated) {
+                normalizeStagedTuples( stagedLeftTuples, group.getResultLeftTuple() );
+            }
+            evaluateResultConstraints(accNode, sink, leftTuple, leftTuple.getPropagationContext(),
+                                      workingMemory, memory, group, result,
+                                      trgLeftTuples, stagedLeftTuples);
+        }
+    }
+
     private void evaluateResultConstraints(final AccumulateNode accNode,
                                            final LeftTupleSink sink,
-                                           final Accumulate accumulate,
                                            final LeftTuple leftTuple,
                                            final PropagationContext context,
                                            final InternalWorkingMemory workingMemory,
                                            final AccumulateMemory memory,
                                            final AccumulateContext accctx,
+                                           final Object result,
                                            final TupleSets<LeftTuple> trgLeftTuples,
                                            final TupleSets<LeftTuple> stagedLeftTuples) {
-        // get the actual result
-        Object result = accumulate.getResult(memory.workingMemoryContext,
-                                             accctx.context,
-                                             leftTuple,
-                                             workingMemory);
         if (result == null) {
             if (accctx.propagated) {
                 // retract
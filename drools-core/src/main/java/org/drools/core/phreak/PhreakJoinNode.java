@@ -15,6 +15,9 @@
 
 package org.drools.core.phreak;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import org.drools.core.common.BetaConstraints;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.TupleSets;
@@ -183,6 +186,7 @@ public class PhreakJoinNode {
         TupleMemory rtm = bm.getRightTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        Map<RightTuple, LeftTuple> previousChildren = null;
 
         for (LeftTuple leftTuple = srcLeftTuples.getUpdateFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
@@ -197,6 +201,17 @@ public class PhreakJoinNode {
                                                                 null,
                                                                 it);
 
+            if (rtm.isIndexed() && !it.isFullIterator() && rtm.getIndexType().isComparison()) {
+                // a comparison index spans many buckets, so the children can't be matched by their position
+                if (previousChildren == null) {
+                    previousChildren = new IdentityHashMap<>();
+                }
+                doLeftUpdatesComparisonIndex(leftTuple, rightTuple, previousChildren, stagedLeftTuples, contextEntry, constraints, sink, it, trgLeftTuples);
+                leftTuple.clearStaged();
+                leftTuple = next;
+                continue;
+            }
+
             // first check our index (for indexed nodes only) hasn't changed and we are returning the same bucket
             // if rightTuple is null, we assume there was a bucket change and that bucket is empty
             if (rtm.isIndexed() && !it.isFullIterator()) {
@@ -220,6 +235,51 @@ public class PhreakJoinNode {
         constraints.resetTuple(contextEntry);
     }
 
+    /**
+     * Updates the children of a left tuple matched through a comparison index. The matches are looked up by their
+     * right parent: the ones still matching are updated in place, the new ones inserted and the remaining ones deleted.
+     * The previousChildren map is shared by all the left tuples of the same batch and is left empty on return.
+     */
+    private void doLeftUpdatesComparisonIndex(LeftTuple leftTuple,
+                                              RightTuple rightTuple,
+                                              Map<RightTuple, LeftTuple> previousChildren,
+                                              TupleSets<LeftTuple> stagedLeftTuples,
+                                              ContextEntry[] contextEntry,
+                                              BetaConstraints constraints,
+                                              LeftTupleSink sink,
+                                              FastIterator it,
+                                              TupleSets<LeftTuple> trgLeftTuples) {
+        for (LeftTuple childLeftTuple = leftTuple.getFirstChild(); childLeftTuple != null; childLeftTuple = childLeftTuple.getHandleNext()) {
+            previousChildren.put(childLeftTuple.getRightParent(), childLeftTuple);
+        }
+
+        for (; rightTuple != null; rightTuple = (RightTuple) it.next(rightTuple)) {
+            if (constraints.isAllowedCachedLeft(contextEntry,
+                                                rightTuple.getFactHandle())) {
+                LeftTuple childLeftTuple = previousChildren.remove(rightTuple);
+                if (childLeftTuple == null) {
+                    insertChildLeftTuple(trgLeftTuples,
+                                         leftTuple,
+                                         rightTuple,
+                                         null,
+                                         null,
+                                         sink,
+                                         true);
+                } else {
+                    childLeftTuple.setPropagationContext(rightTuple.getPropagationContext());
+                    updateChildLeftTuple(childLeftTuple, stagedLeftTuples, trgLeftTuples);
+                    childLeftTuple.reAddRight();
+                }
+            }
+        }
+
+        for (LeftTuple childLeftTuple : previousChildren.values()) {
+            childLeftTuple.setPropagationContext(leftTuple.getPropagationContext());
+            RuleNetworkEvaluator.unlinkAndDeleteChildLeftTuple( childLeftTuple, trgLeftTuples, stagedLeftTuples );
+        }
+        previousChildren.clear();
+    }
+
     public LeftTuple doLeftUpdatesProcessChildren(LeftTuple childLeftTuple,
                                                   LeftTuple leftTuple,
                                                   RightTuple rightTuple,
@@ -289,6 +349,7 @@ public class PhreakJoinNode {
         TupleMemory ltm = bm.getLeftTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        Map<LeftTuple, LeftTuple> previousChildren = null;
 
         for (RightTuple rightTuple = srcRightTuples.getUpdateFirst(); rightTuple != null; ) {
             RightTuple next = rightTuple.getStagedNext();
@@ -301,6 +362,17 @@ public class PhreakJoinNode {
                                                   wm,
                                                   rightTuple.getFactHandleForEvaluation() );
 
+                if ( ltm.isIndexed() && !it.isFullIterator() && ltm.getIndexType().isComparison() ) {
+                    // a comparison index spans many buckets, so the children can't be matched by their position
+                    if ( previousChildren == null ) {
+                        previousChildren = new IdentityHashMap<>();
+                    }
+                    doRightUpdatesComparisonIndex( leftTuple, rightTuple, previousChildren, stagedLeftTuples, contextEntry, constraints, sink, it, trgLeftTuples );
+                    rightTuple.clearStaged();
+                    rightTuple = next;
+                    continue;
+                }
+
                 // first check our index (for indexed nodes only) hasn't changed and we are returning the same bucket
                 // We assume a bucket change if leftTuple == null
                 LeftTuple childLeftTuple = rightTuple.getFirstChild();
@@ -326,6 +398,58 @@ public class PhreakJoinNode {
         constraints.resetFactHandle(contextEntry);
     }
 
+    /**
+     * Updates the children of a right tuple matched through a comparison index. The matches are looked up by their
+     * left parent: the ones still matching are updated in place, the new ones inserted and the remaining ones deleted.
+     * The previousChildren map is shared by all the right tuples of the same batch and is left empty on return.
+     */
+    private void doRightUpdatesComparisonIndex(LeftTuple leftTuple,
+                                               RightTuple rightTuple,
+                                               Map<LeftTuple, LeftTuple> previousChildren,
+                                               TupleSets<LeftTuple> stagedLeftTuples,
+                                               ContextEntry[] contextEntry,
+                                               BetaConstraints constraints,
+                                               LeftTupleSink sink,
+                                               FastIterator it,
+                                               TupleSets<LeftTuple> trgLeftTuples) {
+        for (LeftTuple childLeftTuple = rightTuple.getFirstChild(); childLeftTuple != null; childLeftTuple = childLeftTuple.getRightParentNext()) {
+            // the children of the updated left tuples will be processed via left iteration
+            if (childLeftTuple.getLeftParent().getStagedType() != LeftTuple.UPDATE) {
+                previousChildren.put(childLeftTuple.getLeftParent(), childLeftTuple);
+            }
+        }
+
+        for (; leftTuple != null; leftTuple = (LeftTuple) it.next(leftTuple)) {
+            if (leftTuple.getStagedType() == LeftTuple.UPDATE) {
+                // ignore, as it will get processed via left iteration. Children cannot be processed twice
+                continue;
+            }
+            if (constraints.isAllowedCachedRight(contextEntry,
+                                                 leftTuple)) {
+                LeftTuple childLeftTuple = previousChildren.remove(leftTuple);
+                if (childLeftTuple == null) {
+                    insertChildLeftTuple(trgLeftTuples,
+                                         leftTuple,
+                                         rightTuple,
+                                         null,
+                                         null,
+                                         sink,
+                                         true);
+                } else {
+                    childLeftTuple.setPropagationContext(rightTuple.getPropagationContext());
+                    updateChildLeftTuple(childLeftTuple, stagedLeftTuples, trgLeftTuples);
+                    childLeftTuple.reAddLeft();
+                }
+            }
+        }
+
+        for (LeftTuple childLeftTuple : previousChildren.values()) {
+            childLeftTuple.setPropagationContext(rightTuple.getPropagationContext());
+            RuleNetworkEvaluator.unlinkAndDeleteChildLeftTuple( childLeftTuple, trgLeftTuples, stagedLeftTuples );
+        }
+        previousChildren.clear();
+    }
+
     public LeftTuple doRightUpdatesProcessChildren(LeftTuple childLeftTuple,
                                                    LeftTuple leftTuple,
                                                    RightTuple rightTuple,
@@ -15,6 +15,8 @@
 
 package org.drools.core.phreak;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import org.drools.core.WorkingMemoryEntryPoint;
@@ -53,6 +55,8 @@ public interface PropagationEntry {
 
     boolean defersExpiration();
 
+    boolean isExpiration();
+
     abstract class AbstractPropagationEntry implements PropagationEntry {
         private PropagationEntry next;
 
@@ -89,6 +93,11 @@ public interface PropagationEntry {
             return false;
         }
 
+        @Override
+        public boolean isExpiration() {
+            return false;
+        }
+
         @Override
         public PropagationEntry getSplitForPartition(int partitionNr) {
             throw new UnsupportedOperationException();
@@ -135,11 +144,17 @@ public interface PropagationEntry {
     class Insert extends AbstractPropagationEntry {
         private static final transient ObjectTypeNode.ExpireJob job = new ObjectTypeNode.ExpireJob();
 
-        private final InternalFactHandle handle;
-        private final PropagationContext context;
-        private final ObjectTypeConf objectTypeConf;
+        private InternalFactHandle handle;
+        private PropagationContext context;
+        private ObjectTypeConf objectTypeConf;
+
+        Insert() { }
 
         public Insert( InternalFactHandle handle, PropagationContext context, InternalWorkingMemory workingMemory, ObjectTypeConf objectTypeConf) {
+            init( handle, context, workingMemory, objectTypeConf );
+        }
+
+        Insert init( InternalFactHandle handle, PropagationContext context, InternalWorkingMemory workingMemory, ObjectTypeConf objectTypeConf) {
             this.handle = handle;
             this.context = context;
             this.objectTypeConf = objectTypeConf;
@@ -147,6 +162,14 @@ public interface PropagationEntry {
             if ( objectTypeConf.isEvent() ) {
                 scheduleExpiration(workingMemory, handle, context, objectTypeConf, workingMemory.getTimerService().getCurrentTime());
             }
+            return this;
+        }
+
+        void clear() {
+            handle = null;
+            context = null;
+            objectTypeConf = null;
+            setNext( null );
         }
 
         public static void execute( InternalFactHandle handle, PropagationContext context, InternalWorkingMemory wm, ObjectTypeConf objectTypeConf) {
@@ -210,14 +233,28 @@ public interface PropagationEntry {
     }
 
     class Update extends AbstractPropagationEntry {
-        private final InternalFactHandle handle;
-        private final PropagationContext context;
-        private final ObjectTypeConf objectTypeConf;
+        private InternalFactHandle handle;
+        private PropagationContext context;
+        private ObjectTypeConf objectTypeConf;
+
+        Update() { }
 
         public Update(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+            init( handle, context, objectTypeConf );
+        }
+
+        Update init(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
             this.handle = handle;
             this.context = context;
             this.objectTypeConf = objectTypeConf;
+            return this;
+        }
+
+        void clear() {
+            handle = null;
+            context = null;
+            objectTypeConf = null;
+            setNext( null );
         }
 
         public void execute(InternalWorkingMemory wm) {
@@ -275,16 +312,31 @@ public interface PropagationEntry {
     }
 
     class Delete extends AbstractPropagationEntry {
-        private final EntryPointNode epn;
-        private final InternalFactHandle handle;
-        private final PropagationContext context;
-        private final ObjectTypeConf objectTypeConf;
+        private EntryPointNode epn;
+        private InternalFactHandle handle;
+        private PropagationContext context;
+        private ObjectTypeConf objectTypeConf;
+
+        Delete() { }
 
         public Delete(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+            init( epn, handle, context, objectTypeConf );
+        }
+
+        Delete init(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
             this.epn = epn;
             this.handle = handle;
             this.context = context;
             this.objectTypeConf = objectTypeConf;
+            return this;
+        }
+
+        void clear() {
+            epn = null;
+            handle = null;
+            context = null;
+            objectTypeConf = null;
+            setNext( null );
         }
 
         public void execute(InternalWorkingMemory wm) {
@@ -17,9 +17,27 @@ package org.drools.core.phreak;
 
 import java.util.Iterator;
 
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeConf;
+import org.drools.core.spi.PropagationContext;
+
 public interface PropagationList {
     void addEntry(PropagationEntry propagationEntry);
 
+    default PropagationEntry createInsert(InternalFactHandle handle, PropagationContext context, InternalWorkingMemory workingMemory, ObjectTypeConf objectTypeConf) {
+        return new PropagationEntry.Insert( handle, context, workingMemory, objectTypeConf );
+    }
+
+    default PropagationEntry createUpdate(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        return new PropagationEntry.Update( handle, context, objectTypeConf );
+    }
+
+    default PropagationEntry createDelete(EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf) {
+        return new PropagationEntry.Delete( epn, handle, context, objectTypeConf );
+    }
+
     PropagationEntry takeAll();
 
     void flush();
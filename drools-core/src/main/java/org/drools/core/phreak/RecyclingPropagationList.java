@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeConf;
+import org.drools.core.spi.PropagationContext;
+
+/**
+ * A SynchronizedPropagationList recycling the Insert, Update and Delete entries created for the facts
+ * inserted, updated and deleted in the session: once an entry has been executed it is cleared and put
+ * back in a bounded ring buffer from where it will be taken when the next entry of the same kind is needed.
+ * In this way a steady stream of insertions doesn't allocate any new propagation entry.
+ *
+ * The PropagationContexts are not recycled since, differently from the entries, they are referenced
+ * by the tuples and the activations created during the propagation.
+ */
+public class RecyclingPropagationList extends SynchronizedPropagationList {
+
+    public static final int DEFAULT_POOL_SIZE = 1024;
+
+    private final EntryRing<PropagationEntry.Insert> inserts;
+    private final EntryRing<PropagationEntry.Update> updates;
+    private final EntryRing<PropagationEntry.Delete> deletes;
+
+    public RecyclingPropagationList( InternalWorkingMemory workingMemory ) {
+        this( workingMemory, DEFAULT_POOL_SIZE );
+    }
+
+    public RecyclingPropagationList( InternalWorkingMemory workingMemory, int poolSize ) {
+        super( workingMemory );
+        this.inserts = new EntryRing<>( poolSize );
+        this.updates = new EntryRing<>( poolSize );
+        this.deletes = new EntryRing<>( poolSize );
+    }
+
+    @Override
+    public PropagationEntry createInsert( InternalFactHandle handle, PropagationContext context, InternalWorkingMemory workingMemory, ObjectTypeConf objectTypeConf ) {
+        PropagationEntry.Insert entry;
+        synchronized (this) {
+            entry = inserts.poll();
+        }
+        return ( entry != null ? entry : new PropagationEntry.Insert() ).init( handle, context, workingMemory, objectTypeConf );
+    }
+
+    @Override
+    public PropagationEntry createUpdate( InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf ) {
+        PropagationEntry.Update entry;
+        synchronized (this) {
+            entry = updates.poll();
+        }
+        return ( entry != null ? entry : new PropagationEntry.Update() ).init( handle, context, objectTypeConf );
+    }
+
+    @Override
+    public PropagationEntry createDelete( EntryPointNode epn, InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf ) {
+        PropagationEntry.Delete entry;
+        synchronized (this) {
+            entry = deletes.poll();
+        }
+        return ( entry != null ? entry : new PropagationEntry.Delete() ).init( epn, handle, context, objectTypeConf );
+    }
+
+    @Override
+    public void flush() {
+        flush( takeAll() );
+    }
+
+    @Override
+    public void flush( PropagationEntry currentHead ) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; ) {
+            // the chain has already been detached from the list, so its links can be read before the execution
+            PropagationEntry next = entry.getNext();
+            entry.execute( workingMemory );
+            recycle( entry );
+            entry = next;
+        }
+    }
+
+    private void recycle( PropagationEntry entry ) {
+        if ( entry.getClass() == PropagationEntry.Insert.class ) {
+            PropagationEntry.Insert insert = (PropagationEntry.Insert) entry;
+            insert.clear();
+            synchronized (this) {
+                inserts.offer( insert );
+            }
+        } else if ( entry.getClass() == PropagationEntry.Update.class ) {
+            PropagationEntry.Update update = (PropagationEntry.Update) entry;
+            update.clear();
+            synchronized (this) {
+                updates.offer( update );
+            }
+        } else if ( entry.getClass() == PropagationEntry.Delete.class ) {
+            PropagationEntry.Delete delete = (PropagationEntry.Delete) entry;
+            delete.clear();
+            synchronized (this) {
+                deletes.offer( delete );
+            }
+        }
+    }
+
+    private static class EntryRing<T> {
+        private final Object[] ring;
+        private int head;
+        private int size;
+
+        private EntryRing( int capacity ) {
+            this.ring = new Object[capacity];
+        }
+
+        private T poll() {
+            if ( size == 0 ) {
+                return null;
+            }
+            T entry = (T) ring[head];
+            ring[head] = null;
+            head = ( head + 1 ) % ring.length;
+            size--;
+            return entry;
+        }
+
+        private void offer( T entry ) {
+            if ( size < ring.length ) {
+                ring[( head + size ) % ring.length] = entry;
+                size++;
+            }
+        }
+    }
+}
@@ -374,6 +374,30 @@ public class RuleNetworkEvaluator {
                                    SegmentMemory[] smems, int smemIndex, InternalAgenda agenda, LinkedList<StackEntry> stack,
                                    boolean processRian, RuleExecutor executor, TupleSets<LeftTuple> srcTuples, SegmentMemory smem,
                                    TupleSets<LeftTuple> stagedLeftTuples, LeftTupleSinkNode sink ) {
+        NodeProfiler profiler = agenda.getWorkingMemory().getNodeProfiler();
+        if ( profiler == null ) {
+            return doEvalNode( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+        }
+
+        // the source tuples and the staged right tuples are consumed by the node, so they have to be counted before its evaluation
+        BetaMemory bm = NodeTypeEnums.isBetaNode( node ) ? getBetaMemory( node, nodeMem ) : null;
+        int tuplesIn = srcTuples.size() + ( bm != null ? bm.getStagedRightTuples().size() : 0 );
+        long start = System.nanoTime();
+        TupleSets<LeftTuple> trgTuples = doEvalNode( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+        long time = System.nanoTime() - start;
+        long memorySize = bm != null ? bm.getLeftTupleMemory().size() + bm.getRightTupleMemory().size() : 0;
+        profiler.recordNodeEvaluation( node, tuplesIn, trgTuples != null ? trgTuples.size() : 0, time, memorySize );
+        return trgTuples;
+    }
+
+    private static BetaMemory getBetaMemory( NetworkNode node, Memory nodeMem ) {
+        return NodeTypeEnums.AccumulateNode == node.getType() ? ( (AccumulateMemory) nodeMem ).getBetaMemory() : (BetaMemory) nodeMem;
+    }
+
+    private TupleSets<LeftTuple> doEvalNode( PathMemory pmem, NetworkNode node, long bit, Memory nodeMem,
+                                             SegmentMemory[] smems, int smemIndex, InternalAgenda agenda, LinkedList<StackEntry> stack,
+                                             boolean processRian, RuleExecutor executor, TupleSets<LeftTuple> srcTuples, SegmentMemory smem,
+                                             TupleSets<LeftTuple> stagedLeftTuples, LeftTupleSinkNode sink ) {
         TupleSets<LeftTuple> trgTuples = new TupleSetsImpl<LeftTuple>();
         if ( NodeTypeEnums.isBetaNode( node )) {
             boolean exitInnerEval = evalBetaNode(pmem, node, nodeMem, smems, smemIndex, trgTuples, agenda, stack, processRian, executor, srcTuples, stagedLeftTuples, sink);
@@ -30,10 +30,12 @@ public class SynchronizedPropagationList implements PropagationList {
     protected volatile PropagationEntry head;
     protected volatile PropagationEntry tail;
 
-    private volatile boolean disposed = false;
+    protected volatile boolean disposed = false;
 
     private volatile boolean hasEntriesDeferringExpiration = false;
 
+    private volatile Runnable wakeUpListener;
+
     public SynchronizedPropagationList(InternalWorkingMemory workingMemory) {
         this.workingMemory = workingMemory;
     }
@@ -66,6 +68,15 @@ public class SynchronizedPropagationList implements PropagationList {
     }
 
     synchronized void internalAddEntry( PropagationEntry entry ) {
+        if ( entry.isExpiration() ) {
+            // consecutive expirations are collected in a single batch, the tail cannot be executing
+            // since the entries are always detached from the list before being flushed
+            if ( tail instanceof PropagationEntry.ExpireBatch ) {
+                ( (PropagationEntry.ExpireBatch) tail ).add( entry );
+                return;
+            }
+            entry = new PropagationEntry.ExpireBatch( entry );
+        }
         if ( head == null ) {
             head = entry;
             notifyWaitOnRest();
@@ -136,6 +147,18 @@ public class SynchronizedPropagationList implements PropagationList {
     public synchronized void notifyWaitOnRest() {
         notifyAll();
         workingMemory.onResume();
+        Runnable listener = wakeUpListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Sets a listener notified, in place of a waiting thread, when the engine has to be woken up because a
+     * new entry has been added. The listener is invoked while holding the lock of this list, so it must not block.
+     */
+    public void setWakeUpListener(Runnable wakeUpListener) {
+        this.wakeUpListener = wakeUpListener;
     }
 
     @Override
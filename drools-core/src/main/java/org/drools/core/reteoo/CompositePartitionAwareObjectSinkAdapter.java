@@ -20,12 +20,15 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.drools.core.common.BaseNode;
 import org.drools.core.common.CompositeDefaultAgenda;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.PartitionPropagationCounters;
 import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.reteoo.CompositeObjectSinkAdapter.FieldIndex;
@@ -43,10 +46,24 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
 
     private ObjectHashMap hashedSinkMap;
 
+    private boolean countPropagations;
+
+    // the distinct partitions reached through each slot, lazily computed and only used when rebalancing is enabled
+    private final RuleBasePartitionId[][] slotPartitions = new RuleBasePartitionId[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER][];
+
     public CompositePartitionAwareObjectSinkAdapter() {
+        this( false );
+    }
+
+    public CompositePartitionAwareObjectSinkAdapter( boolean countPropagations ) {
+        this.countPropagations = countPropagations;
         Arrays.fill(partitionedPropagators, EmptyObjectSinkAdapter.getInstance());
     }
 
+    public boolean isCountingPropagations() {
+        return countPropagations;
+    }
+
     public boolean isHashed() {
         return hashed;
     }
@@ -56,6 +73,7 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         hashed &= hashSink( sink );
         int partition = sink.getPartitionId().getParallelEvaluationSlot();
         partitionedPropagators[partition] = partitionedPropagators[partition].addObjectSink( sink, alphaNodeHashingThreshold );
+        invalidateSlotPartitions( partition );
         return this;
     }
 
@@ -94,15 +112,24 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
     public ObjectSinkPropagator removeObjectSink( ObjectSink sink ) {
         int partition = sink.getPartitionId().getParallelEvaluationSlot();
         partitionedPropagators[partition] = partitionedPropagators[partition].removeObjectSink( sink );
+        invalidateSlotPartitions( partition );
         return this;
     }
 
     @Override
     public void changeSinkPartition( ObjectSink sink, RuleBasePartitionId oldPartition, RuleBasePartitionId newPartition, int alphaNodeHashingThreshold ) {
-        int oldP = oldPartition.getParallelEvaluationSlot();
-        partitionedPropagators[oldP] = partitionedPropagators[oldP].removeObjectSink( sink );
-        int newP = newPartition.getParallelEvaluationSlot();
-        partitionedPropagators[newP] = partitionedPropagators[newP].addObjectSink( sink, alphaNodeHashingThreshold );
+        changeSinkSlot( sink, oldPartition.getParallelEvaluationSlot(), newPartition.getParallelEvaluationSlot(), alphaNodeHashingThreshold );
+    }
+
+    public void changeSinkSlot( ObjectSink sink, int oldSlot, int newSlot, int alphaNodeHashingThreshold ) {
+        partitionedPropagators[oldSlot] = partitionedPropagators[oldSlot].removeObjectSink( sink );
+        partitionedPropagators[newSlot] = partitionedPropagators[newSlot].addObjectSink( sink, alphaNodeHashingThreshold );
+        invalidateSlotPartitions( oldSlot );
+        invalidateSlotPartitions( newSlot );
+    }
+
+    private void invalidateSlotPartitions( int slot ) {
+        slotPartitions[slot] = null;
     }
 
     @Override
@@ -111,6 +138,9 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         if (hashed) {
             AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new CompositeObjectSinkAdapter.HashKey( fieldIndex, factHandle.getObject() ) );
             if ( sink != null ) {
+                if ( countPropagations ) {
+                    workingMemory.getKnowledgeBase().getPartitionPropagationCounters().recordPropagation( sink.getPartitionId() );
+                }
                 compositeAgenda.getPartitionedAgenda( sink.getPartitionId().getParallelEvaluationSlot() )
                                .addPropagation( new HashedInsert( sink, factHandle, context ) );
             }
@@ -118,12 +148,35 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
             // Enqueues this insertion on the propagation queues of each partitioned agenda
             for ( int i = 0; i < partitionedPropagators.length; i++ ) {
                 if ( !partitionedPropagators[i].isEmpty() ) {
+                    if ( countPropagations ) {
+                        recordPropagation( i, workingMemory.getKnowledgeBase().getPartitionPropagationCounters() );
+                    }
                     compositeAgenda.getPartitionedAgenda( i ).addPropagation( new Insert( partitionedPropagators[i], factHandle, context ) );
                 }
             }
         }
     }
 
+    // counts the fact once for each partition it is propagated to, as done for the hashed insert
+    private void recordPropagation( int slot, PartitionPropagationCounters counters ) {
+        RuleBasePartitionId[] partitions = slotPartitions[slot];
+        if ( partitions == null ) {
+            partitions = collectSlotPartitions( slot );
+            slotPartitions[slot] = partitions;
+        }
+        for ( RuleBasePartitionId partition : partitions ) {
+            counters.recordPropagation( partition );
+        }
+    }
+
+    private RuleBasePartitionId[] collectSlotPartitions( int slot ) {
+        Set<RuleBasePartitionId> partitions = new LinkedHashSet<>();
+        for ( ObjectSink sink : partitionedPropagators[slot].getSinks() ) {
+            partitions.add( sink.getPartitionId() );
+        }
+        return partitions.toArray( new RuleBasePartitionId[partitions.size()] );
+    }
+
     public static class Insert extends PropagationEntry.AbstractPropagationEntry {
 
         private final ObjectSinkPropagator propagator;
@@ -232,6 +285,7 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         out.writeBoolean( hashed );
         out.writeObject( fieldIndex );
         out.writeObject( hashedSinkMap );
+        out.writeBoolean( countPropagations );
         for ( ObjectSinkPropagator partitionedPropagator : partitionedPropagators ) {
             out.writeObject( partitionedPropagator );
         }
@@ -242,6 +296,7 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         hashed = in.readBoolean();
         fieldIndex = (FieldIndex) in.readObject();
         hashedSinkMap = (ObjectHashMap) in.readObject();
+        countPropagations = in.readBoolean();
         for (int i = 0; i < partitionedPropagators.length; i++) {
             partitionedPropagators[i] = (ObjectSinkPropagator) in.readObject();
         }
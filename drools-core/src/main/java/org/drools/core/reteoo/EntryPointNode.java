@@ -235,7 +235,7 @@ public class EntryPointNode extends ObjectSource
             // of the different agendas
             PropagationEntry.Insert.execute( handle, context, workingMemory, objectTypeConf );
         } else {
-            workingMemory.addPropagation( new PropagationEntry.Insert( handle, context, workingMemory, objectTypeConf ) );
+            workingMemory.addPropagation( workingMemory.getPropagationList().createInsert( handle, context, workingMemory, objectTypeConf ) );
         }
     }
 
@@ -248,7 +248,7 @@ public class EntryPointNode extends ObjectSource
             log.trace( "Update {}", handle.toString()  );
         }
 
-        workingMemory.addPropagation(new PropagationEntry.Update(handle, pctx, objectTypeConf));
+        workingMemory.addPropagation(workingMemory.getPropagationList().createUpdate(handle, pctx, objectTypeConf));
     }
 
     public static void propagateModify(InternalFactHandle handle, PropagationContext pctx, ObjectTypeConf objectTypeConf, InternalWorkingMemory wm) {
@@ -347,7 +347,7 @@ public class EntryPointNode extends ObjectSource
             log.trace( "Delete {}", handle.toString()  );
         }
 
-        workingMemory.addPropagation(new PropagationEntry.Delete(this, handle, context, objectTypeConf));
+        workingMemory.addPropagation(workingMemory.getPropagationList().createDelete(this, handle, context, objectTypeConf));
     }
 
     public void propagateRetract(InternalFactHandle handle, PropagationContext context, ObjectTypeConf objectTypeConf, InternalWorkingMemory workingMemory) {
@@ -148,7 +148,7 @@ public class ObjectTypeNode extends ObjectSource
         hashcode = calculateHashCode();
 
         if (objectType != ClassObjectType.InitialFact_ObjectType && context.getKnowledgeBase().getConfiguration().isMultithreadEvaluation()) {
-            this.sink = new CompositePartitionAwareObjectSinkAdapter();
+            this.sink = new CompositePartitionAwareObjectSinkAdapter( context.getKnowledgeBase().getConfiguration().isPartitionRebalancing() );
         }
 
         initMemoryId( context );
@@ -16,6 +16,9 @@
 
 package org.drools.core.reteoo.compiled;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.drools.core.base.ClassFieldReader;
 import org.drools.core.reteoo.AlphaNode;
 import org.drools.core.reteoo.Sink;
@@ -30,6 +33,15 @@ abstract class AbstractCompilerHandler extends NetworkHandlerAdaptor {
     protected static final String NEWLINE = "\n";
 
     private static final String MAP_VARIABLE_NAME_SUFFIX = "ToNodeId";
+    private static final String READ_ACCESSOR_VARIABLE_NAME_PREFIX = "readAccessor";
+
+    /**
+     * The sets of hashed alphas are numbered in the order they are encountered while parsing the network, so that
+     * all the handlers, including the nested sets, refer to the same variables
+     */
+    private int hashedAlphasCounter;
+    private final Deque<Integer> openHashedAlphas = new ArrayDeque<Integer>();
+    private int lastClosedHashedAlphas = -1;
 
     protected Class<?> getVariableType(AlphaNode alphaNode) {
 
@@ -60,8 +72,38 @@ abstract class AbstractCompilerHandler extends NetworkHandlerAdaptor {
         return getVariableName(variableType, sink.getId());
     }
 
-    protected String getVariableName() {
-        return MAP_VARIABLE_NAME_SUFFIX;
+    protected String getHashedAlphasMapName(int hashedAlphasIndex) {
+        return MAP_VARIABLE_NAME_SUFFIX + hashedAlphasIndex;
+    }
+
+    protected String getHashedAlphasReadAccessorName(int hashedAlphasIndex) {
+        return READ_ACCESSOR_VARIABLE_NAME_PREFIX + hashedAlphasIndex;
+    }
+
+    /**
+     * Starts a new set of hashed alphas, possibly nested in the one currently open, and returns its index
+     */
+    protected int openHashedAlphas() {
+        int index = hashedAlphasCounter++;
+        openHashedAlphas.push(index);
+        return index;
+    }
+
+    protected int currentHashedAlphas() {
+        return openHashedAlphas.peek();
+    }
+
+    /**
+     * Ends the current set of hashed alphas. Its index is still returned by {@link #lastClosedHashedAlphas()} while
+     * handling its optional null case, that is parsed right after the end of the set.
+     */
+    protected int closeHashedAlphas() {
+        lastClosedHashedAlphas = openHashedAlphas.pop();
+        return lastClosedHashedAlphas;
+    }
+
+    protected int lastClosedHashedAlphas() {
+        return lastClosedHashedAlphas;
     }
 
     /**
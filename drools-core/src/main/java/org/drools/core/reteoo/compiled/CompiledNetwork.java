@@ -19,10 +19,18 @@ package org.drools.core.reteoo.compiled;
 import org.drools.core.common.NetworkNode;
 import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.reteoo.*;
+import org.drools.core.reteoo.CompositeObjectSinkAdapter.FieldIndex;
+import org.drools.core.reteoo.CompositeObjectSinkAdapter.HashKey;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.InternalReadAccessor;
 
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This is the base type for all generated classes that that represent a "compiled" portion of the RETE network.
@@ -32,6 +40,16 @@ public abstract class CompiledNetwork implements ObjectSink {
 
     protected ObjectTypeNode objectTypeNode;
 
+    /**
+     * The nodes, hashed values and nesting of the network this class has been generated for
+     */
+    private List<Object> networkSignature;
+
+    /**
+     * The sets of hashed alphas that are too large to be compiled, indexed by the number of the set in the network
+     */
+    private DelegatedHashedSinks[] delegatedHashedSinks;
+
     /**
      * Returns the unique id that represents the node in the Rete network
      *
@@ -95,6 +113,43 @@ public abstract class CompiledNetwork implements ObjectSink {
         NodeReferenceSetter setter= new NodeReferenceSetter();
         ObjectTypeNodeParser parser = new ObjectTypeNodeParser(objectTypeNode);
         parser.accept(setter);
+        this.delegatedHashedSinks = setter.delegatedHashedSinks.toArray(new DelegatedHashedSinks[setter.delegatedHashedSinks.size()]);
+
+        this.networkSignature = computeSignature(objectTypeNode);
+    }
+
+    /**
+     * Returns true if the network of the ObjectTypeNode has changed since this class has been generated for it,
+     * so that it has to be compiled again to reflect the added or removed nodes
+     */
+    public boolean isOutdated() {
+        List<Object> currentSignature = computeSignature(objectTypeNode);
+        if (currentSignature.size() != networkSignature.size()) {
+            return true;
+        }
+        for (int i = 0; i < currentSignature.size(); i++) {
+            Object current = currentSignature.get(i);
+            Object compiled = networkSignature.get(i);
+            // the nodes are compared by identity, since the generated class holds references to them
+            if (current instanceof NetworkNode ? current != compiled : !current.equals(compiled)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the alpha of the specified delegated set of hashed alphas matching the value of the fact, or null
+     * if there isn't any. Used by the generated subclasses for the sets that haven't been compiled.
+     */
+    protected final AlphaNode getDelegatedHashedSink(int hashedAlphasIndex, Object fact) {
+        return delegatedHashedSinks[hashedAlphasIndex].getSink(fact);
+    }
+
+    private static List<Object> computeSignature(ObjectTypeNode objectTypeNode) {
+        NetworkSignatureCollector collector = new NetworkSignatureCollector();
+        new ObjectTypeNodeParser(objectTypeNode).accept(collector);
+        return collector.signature;
     }
 
     /**
@@ -105,11 +160,86 @@ public abstract class CompiledNetwork implements ObjectSink {
      */
     protected abstract void setNetworkNodeReference(NetworkNode networkNode);
 
+    /**
+     * Handler implementation collecting the nodes of the network in the order they are parsed, delimited
+     * by markers reflecting their nesting
+     */
+    private static class NetworkSignatureCollector extends NetworkHandlerAdaptor {
+
+        private static final Object END = new Object();
+        private static final Object HASHED = new Object();
+        private static final Object DELEGATED = new Object();
+        private static final Object NULL_CASE = new Object();
+
+        private final List<Object> signature = new ArrayList<Object>();
+
+        public void startNonHashedAlphaNode(AlphaNode alphaNode) {
+            signature.add(alphaNode);
+        }
+
+        public void endNonHashedAlphaNode(AlphaNode alphaNode) {
+            signature.add(END);
+        }
+
+        public void startBetaNode(BetaNode betaNode) {
+            signature.add(betaNode);
+        }
+
+        public void startLeftInputAdapterNode(LeftInputAdapterNode leftInputAdapterNode) {
+            signature.add(leftInputAdapterNode);
+        }
+
+        public void startWindowNode(WindowNode windowNode) {
+            signature.add(windowNode);
+        }
+
+        public void startHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            signature.add(HASHED);
+        }
+
+        public void endHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            signature.add(END);
+        }
+
+        public void startHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
+            signature.add(hashedAlpha);
+            signature.add(hashedValue);
+        }
+
+        public void endHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
+            signature.add(END);
+        }
+
+        public void startDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            signature.add(DELEGATED);
+        }
+
+        public void delegatedHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
+            signature.add(hashedAlpha);
+            signature.add(hashedValue);
+        }
+
+        public void endDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            signature.add(END);
+        }
+
+        public void nullCaseAlphaNodeStart(AlphaNode hashedAlpha) {
+            signature.add(NULL_CASE);
+            signature.add(hashedAlpha);
+        }
+
+        public void nullCaseAlphaNodeEnd(AlphaNode hashedAlpha) {
+            signature.add(END);
+        }
+    }
+
     /**
      * Handler implementation to call {@link CompiledNetwork#setNetworkNodeReference} for each node
-     * encountered in the network.
+     * encountered in the network, and to collect the delegated sets of hashed alphas.
      */
-    private class NodeReferenceSetter extends NetworkHandlerAdaptor {
+    private class NodeReferenceSetter extends AbstractCompilerHandler {
+
+        private final List<DelegatedHashedSinks> delegatedHashedSinks = new ArrayList<DelegatedHashedSinks>();
 
         public void startNonHashedAlphaNode(AlphaNode alphaNode) {
             setNetworkNodeReference(alphaNode);
@@ -123,12 +253,58 @@ public abstract class CompiledNetwork implements ObjectSink {
             setNetworkNodeReference(leftInputAdapterNode);
         }
 
+        public void startHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            // the sets are numbered as in the generated code, even if only the delegated ones are stored
+            openHashedAlphas();
+            delegatedHashedSinks.add(null);
+        }
+
         public void startHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
             setNetworkNodeReference(hashedAlpha);
         }
 
+        public void endHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            closeHashedAlphas();
+        }
+
+        public void startDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            openHashedAlphas();
+            delegatedHashedSinks.add(new DelegatedHashedSinks(hashedFieldReader.getFieldExtractor()));
+        }
+
+        public void delegatedHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
+            delegatedHashedSinks.get(currentHashedAlphas()).addSink(hashedAlpha);
+        }
+
+        public void endDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+            closeHashedAlphas();
+        }
+
         public void startWindowNode(WindowNode windowNode) {
             setNetworkNodeReference(windowNode);
         }
     }
+
+    /**
+     * The alphas of a set of hashed alphas that isn't compiled, looked up using the same hash keys of the
+     * {@link CompositeObjectSinkAdapter} they come from
+     */
+    private static class DelegatedHashedSinks {
+
+        private final FieldIndex fieldIndex;
+        private final Map<HashKey, AlphaNode> sinks = new HashMap<HashKey, AlphaNode>();
+
+        private DelegatedHashedSinks(InternalReadAccessor fieldExtractor) {
+            this.fieldIndex = new FieldIndex(fieldExtractor.getIndex(), fieldExtractor);
+        }
+
+        private void addSink(AlphaNode alphaNode) {
+            IndexableConstraint constraint = (IndexableConstraint) alphaNode.getConstraint();
+            sinks.put(new HashKey(fieldIndex.getIndex(), constraint.getField(), fieldIndex.getFieldExtractor()), alphaNode);
+        }
+
+        private AlphaNode getSink(Object fact) {
+            return sinks.get(new HashKey(fieldIndex, fact));
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.drools.core.reteoo.Sink;
 import org.drools.core.reteoo.WindowNode;
 import org.drools.core.rule.ContextEntry;
 import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.InternalReadAccessor;
 
 import java.util.*;
 
@@ -46,7 +47,9 @@ public class DeclarationsHandler extends AbstractCompilerHandler {
      * @see #startHashedAlphaNodes(org.kie.base.ClassFieldReader)
      * @see #startHashedAlphaNode(org.kie.reteoo.AlphaNode, Object)
      */
-    private HashedAlphasDeclaration currentHashedAlpha;
+    private final Deque<HashedAlphasDeclaration> currentHashedAlphas = new ArrayDeque<HashedAlphasDeclaration>();
+
+    private boolean containsInlinedConstraints;
 
     private final StringBuilder builder;
 
@@ -96,14 +99,34 @@ public class DeclarationsHandler extends AbstractCompilerHandler {
                 + " = new " + createType.getName() + "();";
     }
 
+    private String getReadAccessorVariableDeclaration(String varName) {
+        return PRIVATE_MODIFIER + " " + InternalReadAccessor.class.getName() + " " + varName + ";";
+    }
+
     public Collection<HashedAlphasDeclaration> getHashedAlphaDeclarations() {
         return Collections.unmodifiableCollection(hashedAlphaDeclarations);
     }
 
+    /**
+     * Returns true if the generated methods need a local variable holding the fact, because the network contains
+     * hashed alphas or constraints evaluated inline
+     */
+    public boolean isFactVariableRequired() {
+        return containsInlinedConstraints || !hashedAlphaDeclarations.isEmpty();
+    }
+
     @Override
     public void startNonHashedAlphaNode(AlphaNode alphaNode) {
         builder.append(getVariableDeclaration(alphaNode)).append(NEWLINE);
         builder.append(getContextVariableDeclaration(alphaNode)).append(NEWLINE);
+
+        InlinedAlphaConstraint inlined = InlinedAlphaConstraint.inline(alphaNode, SwitchCompilerHandler.LOCAL_FACT_VAR_NAME, SwitchCompilerHandler.WORKING_MEMORY_PARAM_NAME);
+        if (inlined != null) {
+            containsInlinedConstraints = true;
+            if (inlined.getReadAccessorVariableName() != null) {
+                builder.append(getReadAccessorVariableDeclaration(inlined.getReadAccessorVariableName())).append(NEWLINE);
+            }
+        }
     }
 
     @Override
@@ -123,22 +146,44 @@ public class DeclarationsHandler extends AbstractCompilerHandler {
 
     @Override
     public void startHashedAlphaNodes(IndexableConstraint indexableConstraint) {
-        final String variableName = getVariableName();
+        final int hashedAlphasIndex = openHashedAlphas();
+        final String variableName = getHashedAlphasMapName(hashedAlphasIndex);
+        final String readAccessorVariableName = getHashedAlphasReadAccessorName(hashedAlphasIndex);
 
         // we create a new hashed alpha that will be used to keep track of the hashes values to node ID for each
         // class field reader.
-        currentHashedAlpha = new HashedAlphasDeclaration(variableName,
-                                                         ValueType.STRING_TYPE);
+        HashedAlphasDeclaration hashedAlpha = new HashedAlphasDeclaration(variableName,
+                                                                          readAccessorVariableName,
+                                                                          ValueType.STRING_TYPE);
 
-        // add the new declaration
-        hashedAlphaDeclarations.add(currentHashedAlpha);
+        // add the new declaration, the sets of hashed alphas can be nested in the alphas of another set
+        hashedAlphaDeclarations.add(hashedAlpha);
+        currentHashedAlphas.push(hashedAlpha);
 
         final String alphaMap = getVariableDeclaration(variableName);
         builder.append(alphaMap).append(NEWLINE);
+        builder.append(getReadAccessorVariableDeclaration(readAccessorVariableName)).append(NEWLINE);
     }
 
     @Override
     public void startHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
-        currentHashedAlpha.add(hashedValue, String.valueOf(hashedAlpha.getId()));
+        currentHashedAlphas.peek().add(hashedValue, String.valueOf(hashedAlpha.getId()));
+    }
+
+    @Override
+    public void endHashedAlphaNodes(IndexableConstraint indexableConstraint) {
+        closeHashedAlphas();
+        currentHashedAlphas.pop();
+    }
+
+    @Override
+    public void startDelegatedHashedAlphaNodes(IndexableConstraint indexableConstraint) {
+        // only the read accessor is used for the delegated sets, their map stays empty
+        startHashedAlphaNodes(indexableConstraint);
+    }
+
+    @Override
+    public void endDelegatedHashedAlphaNodes(IndexableConstraint indexableConstraint) {
+        endHashedAlphaNodes(indexableConstraint);
     }
 }
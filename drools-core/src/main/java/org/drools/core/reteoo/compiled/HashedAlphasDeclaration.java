@@ -31,6 +31,7 @@ import java.util.Collections;
  */
 public class HashedAlphasDeclaration {
     private final String variableName;
+    private final String readAccessorVariableName;
     private final ValueType valueType;
 
     /**
@@ -39,8 +40,9 @@ public class HashedAlphasDeclaration {
      */
     private final Map<Object, String> hashedValuesToNodeIds = new HashMap<Object, String>();
 
-    HashedAlphasDeclaration(String variableName,ValueType valueType) {
+    HashedAlphasDeclaration(String variableName, String readAccessorVariableName, ValueType valueType) {
         this.variableName = variableName;
+        this.readAccessorVariableName = readAccessorVariableName;
         this.valueType = valueType;
     }
 
@@ -52,6 +54,13 @@ public class HashedAlphasDeclaration {
         return variableName;
     }
 
+    /**
+     * Returns the name of the member variable holding the read accessor of the hashed field
+     */
+    public String getReadAccessorVariableName() {
+        return readAccessorVariableName;
+    }
+
     void add(Object hashedValue, String nodeId) {
         hashedValuesToNodeIds.put(hashedValue, nodeId);
     }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.reteoo.compiled;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.drools.core.base.ClassFieldReader;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.rule.constraint.MvelConstraint;
+import org.drools.core.spi.AlphaNodeFieldConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.util.index.IndexUtil;
+
+/**
+ * Translates the constraint of a non-hashed {@link AlphaNode} into a Java boolean expression that the generated
+ * network evaluates directly, instead of delegating to {@link AlphaNodeFieldConstraint#isAllowed}.
+ * <p/>
+ * Only the constraints comparing a primitive, boolean or String field with a literal are translated: the field is
+ * read through its public getter when the constraint uses a {@link ClassFieldReader}, or through the read accessor
+ * of the constraint otherwise, as it happens with the lambdas of the executable model. The accessors of MVEL
+ * constraints on nested properties may have a different null handling, so those constraints are still delegated.
+ */
+final class InlinedAlphaConstraint {
+
+    private static final String READ_ACCESSOR_VARIABLE_PREFIX = "alphaReadAccessor";
+
+    private final String expression;
+    private final String readAccessorVariableName;
+
+    private InlinedAlphaConstraint(String expression, String readAccessorVariableName) {
+        this.expression = expression;
+        this.readAccessorVariableName = readAccessorVariableName;
+    }
+
+    /**
+     * Returns the boolean expression equivalent to the constraint
+     */
+    String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Returns the name of the member variable holding the read accessor used by the expression,
+     * or null if the expression reads the field directly from the fact
+     */
+    String getReadAccessorVariableName() {
+        return readAccessorVariableName;
+    }
+
+    /**
+     * Returns the inlined version of the constraint of the given node, or null if it can't be inlined
+     */
+    static InlinedAlphaConstraint inline(AlphaNode alphaNode, String factVariableName, String workingMemoryVariableName) {
+        AlphaNodeFieldConstraint constraint = alphaNode.getConstraint();
+        if (!(constraint instanceof IndexableConstraint) || !(alphaNode.getObjectTypeNode().getObjectType() instanceof ClassObjectType)) {
+            return null;
+        }
+        Class<?> factClass = ((ClassObjectType) alphaNode.getObjectTypeNode().getObjectType()).getClassType();
+        IndexableConstraint indexableConstraint = (IndexableConstraint) constraint;
+        IndexUtil.ConstraintType constraintType = indexableConstraint.getConstraintType();
+        FieldValue field = indexableConstraint.getField();
+        InternalReadAccessor extractor = indexableConstraint.getFieldExtractor();
+        if (!isPublic(factClass) || indexableConstraint.isUnification() || constraintType == null || constraintType.getOperator() == null ||
+                field == null || field.isNull() || extractor == null) {
+            return null;
+        }
+
+        String fieldAccess;
+        Class<?> fieldType;
+        String readAccessorVariableName = null;
+        Method getter = extractor instanceof ClassFieldReader ? getPublicGetter((ClassFieldReader) extractor, factClass) : null;
+        if (getter != null) {
+            fieldType = getter.getReturnType();
+            fieldAccess = factVariableName + "." + getter.getName() + "()";
+        } else if (!(constraint instanceof MvelConstraint)) {
+            fieldType = extractor.getExtractToClass();
+            readAccessorVariableName = READ_ACCESSOR_VARIABLE_PREFIX + alphaNode.getId();
+            fieldAccess = readAccessorVariableName + "." + getAccessorMethod(fieldType) + "(" + workingMemoryVariableName + ", " + factVariableName + ")";
+        } else {
+            return null;
+        }
+
+        String expression = generateComparison(fieldAccess, fieldType, constraintType, field.getValue());
+        return expression != null ? new InlinedAlphaConstraint(expression, readAccessorVariableName) : null;
+    }
+
+    private static String generateComparison(String fieldAccess, Class<?> fieldType, IndexUtil.ConstraintType constraintType, Object value) {
+        String literal = toJavaLiteral(value);
+        if (literal == null) {
+            return null;
+        }
+        if (fieldType == String.class && value instanceof String && constraintType.isEquality()) {
+            // the equality of Strings in a constraint is the null-safe equals
+            return (constraintType == IndexUtil.ConstraintType.NOT_EQUAL ? "!" : "") + literal + ".equals(" + fieldAccess + ")";
+        }
+        if (fieldType == boolean.class && value instanceof Boolean && constraintType.isEquality()) {
+            return fieldAccess + " " + constraintType.getOperator() + " " + literal;
+        }
+        if (isNumericPrimitive(fieldType) && value instanceof Number) {
+            return fieldAccess + " " + constraintType.getOperator() + " " + literal;
+        }
+        return null;
+    }
+
+    private static boolean isNumericPrimitive(Class<?> type) {
+        return type == int.class || type == long.class || type == short.class || type == byte.class || type == double.class || type == float.class;
+    }
+
+    private static String getAccessorMethod(Class<?> fieldType) {
+        if (fieldType.isPrimitive()) {
+            String typeName = fieldType.getName();
+            return "get" + Character.toUpperCase(typeName.charAt(0)) + typeName.substring(1) + "Value";
+        }
+        return "getValue";
+    }
+
+    private static Method getPublicGetter(ClassFieldReader reader, Class<?> factClass) {
+        Method getter;
+        try {
+            getter = reader.getNativeReadMethod();
+        } catch (RuntimeException e) {
+            // the reader isn't wired yet
+            return null;
+        }
+        if (getter == null || getter.getParameterCount() != 0 || !Modifier.isPublic(getter.getModifiers()) || Modifier.isStatic(getter.getModifiers()) ||
+                !isPublic(getter.getDeclaringClass()) || !getter.getDeclaringClass().isAssignableFrom(factClass)) {
+            return null;
+        }
+        return getter;
+    }
+
+    private static boolean isPublic(Class<?> clazz) {
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the Java source representation of the given literal value, or null if it isn't supported
+     */
+    static String toJavaLiteral(Object value) {
+        if (value instanceof String) {
+            StringBuilder sb = new StringBuilder("\"");
+            for (char c : ((String) value).toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < ' ' || c > '~') {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.append('"').toString();
+        }
+        if (value instanceof Integer || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return "((" + (value instanceof Short ? "short" : "byte") + ") " + value + ")";
+        }
+        if (value instanceof Long) {
+            return value + "L";
+        }
+        if (value instanceof Double && !((Double) value).isNaN() && !((Double) value).isInfinite()) {
+            return value + "d";
+        }
+        if (value instanceof Float && !((Float) value).isNaN() && !((Float) value).isInfinite()) {
+            return value + "f";
+        }
+        return null;
+    }
+}
@@ -39,7 +39,7 @@ public class ModifyHandler extends SwitchCompilerHandler {
      * in the {@link org.kie.reteoo.compiled.CompiledNetwork#assertObject} for holding the value returned
      * from the {@link org.kie.common.InternalFactHandle#getFactHandle()}.
      *
-     * This is only needed if there is at least 1 set of hashed alpha nodes in the network
+     * This is only needed if there is at least 1 set of hashed alpha nodes or 1 inlined constraint in the network
      */
     private final boolean alphaNetContainsHashedField;
 
@@ -104,11 +104,7 @@ public class ModifyHandler extends SwitchCompilerHandler {
 
     @Override
     public void startNonHashedAlphaNode(AlphaNode alphaNode) {
-        builder.append("if ( ").append(getVariableName(alphaNode)).
-                append(".isAllowed(").append(FACT_HANDLE_PARAM_NAME).append(",").
-                append(WORKING_MEMORY_PARAM_NAME).
-                append(") ) {").append(NEWLINE);
-
+        generateAlphaCondition(alphaNode);
     }
 
     @Override
@@ -134,10 +130,23 @@ public class ModifyHandler extends SwitchCompilerHandler {
 
     @Override
     public void endHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
-        // close switch statement
-        builder.append("}").append(NEWLINE);
-        // and if statement for ensuring non-null
-        builder.append("}").append(NEWLINE);
+        generateSwitchEnd();
+    }
+
+    @Override
+    public void startDelegatedHashedAlphaNodes(IndexableConstraint indexableConstraint) {
+        String alphaVariableName = generateDelegatedLookup();
+        // as the CompositeObjectSinkAdapter does, go straight to the propagator of the alpha matching the value
+        builder.append(alphaVariableName).append(".getObjectSinkPropagator().propagateModifyObject(").
+                append(FACT_HANDLE_PARAM_NAME).append(",").
+                append(MODIFY_PREVIOUS_TUPLE_PARAM_NAME).append(",").
+                append(PROP_CONTEXT_PARAM_NAME).append(",").
+                append(WORKING_MEMORY_PARAM_NAME).append(");").append(NEWLINE);
+    }
+
+    @Override
+    public void endDelegatedHashedAlphaNodes(IndexableConstraint indexableConstraint) {
+        generateDelegatedLookupEnd();
     }
 
     @Override
@@ -97,6 +97,23 @@ public interface NetworkHandler {
 
     void endHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue);
 
+    /**
+     * Receive notification of a group of hashed {@link org.kie.reteoo.AlphaNode}s that is too large to be compiled
+     * together with the rest of the network, so that the propagation to each of them is delegated to its own
+     * propagator.
+     *
+     * <p>The alpha nodes will be reported via the {@link #delegatedHashedAlphaNode} method, but their decendants
+     * won't be reported at all.</p>
+     *
+     * @param hashedFieldReader field reader that is used to access the hashed attribute
+     * @see #endDelegatedHashedAlphaNodes
+     */
+    void startDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader);
+
+    void delegatedHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue);
+
+    void endDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader);
+
     void endObjectTypeNode(ObjectTypeNode objectTypeNode);
 
     void nullCaseAlphaNodeStart(AlphaNode hashedAlpha);
@@ -88,6 +88,18 @@ public class NetworkHandlerAdaptor implements NetworkHandler {
 
     }
 
+    public void startDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+
+    }
+
+    public void delegatedHashedAlphaNode(AlphaNode hashedAlpha, Object hashedValue) {
+
+    }
+
+    public void endDelegatedHashedAlphaNodes(IndexableConstraint hashedFieldReader) {
+
+    }
+
     public void endObjectTypeNode(ObjectTypeNode objectTypeNode) {
 
     }
@@ -16,6 +16,9 @@
 
 package org.drools.core.reteoo.compiled;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.drools.core.base.ClassFieldReader;
 import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
 import org.drools.core.reteoo.WindowNode;
@@ -51,11 +54,20 @@ import org.drools.core.util.ObjectHashMap;
  */
 public class ObjectTypeNodeParser {
 
+    /**
+     * Maximum number of nodes that are compiled in the generated network. When a set of hashed alphas would exceed
+     * it, the set is reported as delegated, so that the generated methods and constant pool stay within the limits of
+     * the JVM also for networks with thousands of literal constraints.
+     */
+    public static final int MAX_COMPILED_NODES = 500;
+
     /**
      * OTN we are parsing/traversing
      */
     private final ObjectTypeNode objectTypeNode;
     private IndexableConstraint indexableConstraint;
+    private final List<IndexableConstraint> indexableConstraints = new ArrayList<IndexableConstraint>();
+    private int compiledNodes;
 
     /**
      * Creates a new parser for the specified ObjectTypeNode
@@ -80,6 +92,8 @@ public class ObjectTypeNodeParser {
     public void accept(NetworkHandler handler) {
         ObjectSinkPropagator propagator = objectTypeNode.getObjectSinkPropagator();
 
+        indexableConstraints.clear();
+        compiledNodes = 0;
         handler.startObjectTypeNode(objectTypeNode);
         indexableConstraint = traversePropagator(propagator, handler);
         handler.endObjectTypeNode(objectTypeNode);
@@ -125,6 +139,11 @@ public class ObjectTypeNodeParser {
         if (hashedAlphaNodes != null && hashedAlphaNodes.size() > 0) {
             AlphaNode firstAlpha = getFirstAlphaNode(hashedAlphaNodes);
             hashedFieldReader = getClassFieldReaderForHashedAlpha(firstAlpha);
+            indexableConstraints.add(hashedFieldReader);
+
+            if (compiledNodes + countHashedNodes(hashedAlphaNodes) > MAX_COMPILED_NODES) {
+                return traverseDelegatedHashedAlphaNodes(hashedAlphaNodes, hashedFieldReader, handler);
+            }
 
             // start the hashed alphas
             handler.startHashedAlphaNodes(hashedFieldReader);
@@ -137,6 +156,7 @@ public class ObjectTypeNodeParser {
 
                 final Object objectValue = hashKey.getObjectValue();
                 if (objectValue != null) {
+                    compiledNodes++;
                     handler.startHashedAlphaNode(alphaNode, objectValue);
                     // traverse the propagator for each alpha
                     traversePropagator(alphaNode.getObjectSinkPropagator(), handler);
@@ -149,16 +169,71 @@ public class ObjectTypeNodeParser {
             // end of the hashed alphas
             handler.endHashedAlphaNodes(hashedFieldReader);
 
-            if (optionalNullAlphaNodeCase != null) {
-                handler.nullCaseAlphaNodeStart(optionalNullAlphaNodeCase);
-                traversePropagator(optionalNullAlphaNodeCase.getObjectSinkPropagator(), handler);
-                handler.nullCaseAlphaNodeEnd(optionalNullAlphaNodeCase);
+            traverseNullCaseAlphaNode(optionalNullAlphaNodeCase, handler);
+        }
+        return hashedFieldReader;
+    }
+
+    private IndexableConstraint traverseDelegatedHashedAlphaNodes(ObjectHashMap hashedAlphaNodes, IndexableConstraint hashedFieldReader, NetworkHandler handler) {
+        // the switch on the hashed value is replaced by a lookup of the alpha, so its descendants aren't compiled
+        compiledNodes++;
+        handler.startDelegatedHashedAlphaNodes(hashedFieldReader);
+
+        Iterator iter = hashedAlphaNodes.iterator();
+        AlphaNode optionalNullAlphaNodeCase = null;
+        for (ObjectHashMap.ObjectEntry entry = (ObjectHashMap.ObjectEntry) iter.next(); entry != null; entry = (ObjectHashMap.ObjectEntry) iter.next()) {
+            CompositeObjectSinkAdapter.HashKey hashKey = (CompositeObjectSinkAdapter.HashKey) entry.getKey();
+            AlphaNode alphaNode = (AlphaNode) entry.getValue();
+
+            final Object objectValue = hashKey.getObjectValue();
+            if (objectValue != null) {
+                handler.delegatedHashedAlphaNode(alphaNode, objectValue);
+            } else {
+                optionalNullAlphaNodeCase = alphaNode;
             }
         }
+
+        handler.endDelegatedHashedAlphaNodes(hashedFieldReader);
+
+        traverseNullCaseAlphaNode(optionalNullAlphaNodeCase, handler);
         return hashedFieldReader;
     }
 
+    private void traverseNullCaseAlphaNode(AlphaNode optionalNullAlphaNodeCase, NetworkHandler handler) {
+        if (optionalNullAlphaNodeCase != null) {
+            compiledNodes++;
+            handler.nullCaseAlphaNodeStart(optionalNullAlphaNodeCase);
+            traversePropagator(optionalNullAlphaNodeCase.getObjectSinkPropagator(), handler);
+            handler.nullCaseAlphaNodeEnd(optionalNullAlphaNodeCase);
+        }
+    }
+
+    /**
+     * Returns the number of nodes that would be compiled for the specified set of hashed alphas, including
+     * their descendants
+     */
+    private int countHashedNodes(ObjectHashMap hashedAlphaNodes) {
+        int count = 0;
+        Iterator iter = hashedAlphaNodes.iterator();
+        for (ObjectHashMap.ObjectEntry entry = (ObjectHashMap.ObjectEntry) iter.next(); entry != null; entry = (ObjectHashMap.ObjectEntry) iter.next()) {
+            count += 1 + countNodes(((AlphaNode) entry.getValue()).getObjectSinkPropagator());
+        }
+        return count;
+    }
+
+    private int countNodes(ObjectSinkPropagator propagator) {
+        int count = 0;
+        for (ObjectSink sink : propagator.getSinks()) {
+            count++;
+            if (sink.getType() == NodeTypeEnums.AlphaNode) {
+                count += countNodes(((AlphaNode) sink).getObjectSinkPropagator());
+            }
+        }
+        return count;
+    }
+
     private void traverseSink(ObjectSink sink, NetworkHandler handler) {
+        compiledNodes++;
         if (sink.getType() == NodeTypeEnums.AlphaNode) {
             AlphaNode alphaNode = (AlphaNode) sink;
 
@@ -233,4 +308,12 @@ public class ObjectTypeNodeParser {
     public IndexableConstraint getIndexableConstraint() {
         return indexableConstraint;
     }
+
+    /**
+     * Returns the constraints of all the sets of hashed alphas, including the nested ones, in the order
+     * they have been encountered while parsing
+     */
+    public List<IndexableConstraint> getIndexableConstraints() {
+        return indexableConstraints;
+    }
 }
@@ -18,6 +18,7 @@ package org.drools.core.reteoo.compiled;
 
 import org.drools.core.common.NetworkNode;
 import org.drools.core.reteoo.*;
+import org.drools.core.rule.IndexableConstraint;
 
 /**
  * This handler is used to create the member variable assignment statements section of a generated subclass of a
@@ -87,6 +88,13 @@ public class SetNodeReferenceHandler extends AbstractCompilerHandler {
 
         builder.append("case ").append(alphaNode.getId()).append(": ").append(NEWLINE);
         builder.append(getVariableAssignmentStatement(alphaNode, PARAM_NAME)).append(NEWLINE);
+
+        // an inlined constraint may read its field through the accessor of the constraint
+        InlinedAlphaConstraint inlined = InlinedAlphaConstraint.inline(alphaNode, SwitchCompilerHandler.LOCAL_FACT_VAR_NAME, SwitchCompilerHandler.WORKING_MEMORY_PARAM_NAME);
+        if (inlined != null && inlined.getReadAccessorVariableName() != null) {
+            builder.append(inlined.getReadAccessorVariableName()).append(" = ((").append(IndexableConstraint.class.getName())
+                    .append(") ((").append(AlphaNode.class.getName()).append(")").append(PARAM_NAME).append(").getConstraint()).getFieldExtractor();").append(NEWLINE);
+        }
         builder.append("break;").append(NEWLINE);
     }
 
@@ -1,5 +1,7 @@
 package org.drools.core.reteoo.compiled;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.drools.core.common.InternalFactHandle;
@@ -15,7 +17,12 @@ abstract public class SwitchCompilerHandler extends AbstractCompilerHandler {
     protected static final String MODIFY_PREVIOUS_TUPLE_NAME = ModifyPreviousTuples.class.getName();
     protected static final String MODIFY_PREVIOUS_TUPLE_PARAM_NAME = "modifyPreviousTuples";
     protected final StringBuilder builder;
-    private Class fieldType;
+    private final Map<Integer, Class<?>> fieldTypes = new HashMap<Integer, Class<?>>();
+
+    private static final String SWITCH_VAR_NAME = "switchVar";
+    private static final String HASHED_VALUE_VAR_NAME = "hashedValue";
+    private static final String NODE_ID_VAR_NAME = "NodeId";
+    private static final String DELEGATED_ALPHA_VAR_NAME = "delegatedAlpha";
 
     static final String LOCAL_FACT_VAR_NAME = "fact";
     protected static final String FACT_HANDLE_PARAM_TYPE = InternalFactHandle.class.getName();
@@ -36,35 +43,41 @@ abstract public class SwitchCompilerHandler extends AbstractCompilerHandler {
 
     protected void generateSwitch(IndexableConstraint indexableConstraint) {
         final InternalReadAccessor fieldExtractor = indexableConstraint.getFieldExtractor();
-        fieldType = fieldExtractor.getExtractToClass();
+        final int hashedAlphasIndex = openHashedAlphas();
+        final Class<?> fieldType = fieldExtractor.getExtractToClass();
+        fieldTypes.put(hashedAlphasIndex, fieldType);
 
-        if (canInlineValue()) {
-            String switchVar = "switchVar";
+        if (canInlineValue(hashedAlphasIndex)) {
+            String switchVar = SWITCH_VAR_NAME + hashedAlphasIndex;
             builder.append(fieldType.getCanonicalName())
                     .append(" ")
                     .append(switchVar);
             builder.append(" = ")
                     .append("(" + fieldType.getCanonicalName() + ")")
-                    .append("readAccessor.getValue(")
+                    .append(getHashedAlphasReadAccessorName(hashedAlphasIndex)).append(".getValue(")
                     .append(LOCAL_FACT_VAR_NAME)
                     .append(");").append(NEWLINE);
 
             if (fieldType.isPrimitive()) {
                 builder.append("if(true) {").append(NEWLINE);
             } else {
-                builder.append("if(switchVar != null) {").append(NEWLINE);
+                builder.append("if(").append(switchVar).append(" != null) {").append(NEWLINE);
             }
             builder.append("switch(").append(switchVar).append(")").append("{").append(NEWLINE);
         } else {
 
-            String localVariableName = "NodeId";
+            String hashedValueVariableName = HASHED_VALUE_VAR_NAME + hashedAlphasIndex;
+            String localVariableName = NODE_ID_VAR_NAME + hashedAlphasIndex;
+
+            builder.append("Object ").append(hashedValueVariableName)
+                    .append(" = ").append(getHashedAlphasReadAccessorName(hashedAlphasIndex)).append(".getValue(")
+                    .append(LOCAL_FACT_VAR_NAME).append(");").append(NEWLINE);
 
             builder.append("Integer ").append(localVariableName);
             // todo we are casting to Integer because generics aren't supported
-            builder.append(" = (Integer)").append(getVariableName())
+            builder.append(" = (Integer)").append(getHashedAlphasMapName(hashedAlphasIndex))
                     .append(".get(")
-                    .append("readAccessor.getValue(")
-                    .append(LOCAL_FACT_VAR_NAME).append(")")
+                    .append(hashedValueVariableName)
                     .append(");").append(NEWLINE);
 
             // ensure that the value is present in the node map
@@ -75,11 +88,11 @@ abstract public class SwitchCompilerHandler extends AbstractCompilerHandler {
     }
 
     protected void generateSwitchCase(AlphaNode hashedAlpha, Object hashedValue) {
-        if (canInlineValue()) {
+        if (canInlineValue(currentHashedAlphas())) {
 
             final Object quotedHashedValue;
             if (hashedValue instanceof String) {
-                quotedHashedValue = String.format("\"%s\"", hashedValue);
+                quotedHashedValue = InlinedAlphaConstraint.toJavaLiteral(hashedValue);
             } else {
                 quotedHashedValue = hashedValue;
             }
@@ -92,21 +105,76 @@ abstract public class SwitchCompilerHandler extends AbstractCompilerHandler {
         }
     }
 
-    protected boolean canInlineValue() {
-        return Stream.of(String.class, Integer.class, int.class).anyMatch(c -> c.isAssignableFrom(fieldType));
+    protected void generateSwitchEnd() {
+        closeHashedAlphas();
+        // close switch statement
+        builder.append("}").append(NEWLINE);
+        // and if statement for ensuring non-null
+        builder.append("}").append(NEWLINE);
+    }
+
+    /**
+     * Opens the if statement looking up the alpha matching the hashed value of a delegated set of hashed alphas.
+     * The call propagating to the alpha has to be generated by the subclasses, followed by {@link #generateDelegatedLookupEnd()}.
+     *
+     * @return the name of the local variable holding the matching alpha
+     */
+    protected String generateDelegatedLookup() {
+        final int hashedAlphasIndex = openHashedAlphas();
+        final String alphaVariableName = DELEGATED_ALPHA_VAR_NAME + hashedAlphasIndex;
+
+        // the hashed value is still needed for the optional null case
+        builder.append("Object ").append(HASHED_VALUE_VAR_NAME).append(hashedAlphasIndex)
+                .append(" = ").append(getHashedAlphasReadAccessorName(hashedAlphasIndex)).append(".getValue(")
+                .append(LOCAL_FACT_VAR_NAME).append(");").append(NEWLINE);
+
+        builder.append(AlphaNode.class.getName()).append(" ").append(alphaVariableName)
+                .append(" = getDelegatedHashedSink(").append(hashedAlphasIndex).append(", ")
+                .append(LOCAL_FACT_VAR_NAME).append(");").append(NEWLINE);
+
+        builder.append("if(").append(alphaVariableName).append(" != null) {").append(NEWLINE);
+        return alphaVariableName;
+    }
+
+    protected void generateDelegatedLookupEnd() {
+        closeHashedAlphas();
+        builder.append("}").append(NEWLINE);
+    }
+
+    protected boolean canInlineValue(int hashedAlphasIndex) {
+        Class<?> fieldType = fieldTypes.get(hashedAlphasIndex);
+        // the field type is only known for compiled sets, delegated ones are never inlined
+        return fieldType != null && Stream.of(String.class, Integer.class, int.class).anyMatch(c -> c.isAssignableFrom(fieldType));
+    }
+
+    /**
+     * Opens the if statement checking the constraint of a non-hashed alpha, evaluating it inline when possible
+     */
+    protected void generateAlphaCondition(AlphaNode alphaNode) {
+        InlinedAlphaConstraint inlined = InlinedAlphaConstraint.inline(alphaNode, LOCAL_FACT_VAR_NAME, WORKING_MEMORY_PARAM_NAME);
+        if (inlined != null) {
+            builder.append("if ( ").append(inlined.getExpression()).append(" ) {").append(NEWLINE);
+        } else {
+            builder.append("if ( ").append(getVariableName(alphaNode)).
+                    append(".isAllowed(").append(FACT_HANDLE_PARAM_NAME).append(",").
+                    append(WORKING_MEMORY_PARAM_NAME).
+                    append(") ) {").append(NEWLINE);
+        }
     }
 
     @Override
     public void nullCaseAlphaNodeStart(AlphaNode hashedAlpha) {
-        if (canInlineValue()) {
+        int hashedAlphasIndex = lastClosedHashedAlphas();
+        if (canInlineValue(hashedAlphasIndex)) {
             builder.append("else { ");
+        } else {
+            // the null value isn't in the map of the hashed values, so it has to be checked explicitly
+            builder.append("else if (").append(HASHED_VALUE_VAR_NAME).append(hashedAlphasIndex).append(" == null) { ");
         }
     }
 
     @Override
     public void nullCaseAlphaNodeEnd(AlphaNode hashedAlpha) {
-        if (canInlineValue()) {
-            builder.append("}").append(NEWLINE);
-        }
+        builder.append("}").append(NEWLINE);
     }
 }
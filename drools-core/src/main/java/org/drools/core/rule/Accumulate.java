@@ -154,6 +154,13 @@ public abstract class Accumulate extends ConditionalElement
 
     public abstract boolean isMultiFunction();
 
+    /**
+     * Returns true if this accumulate produces a separate result for each group of matched facts
+     */
+    public boolean isGroupBy() {
+        return false;
+    }
+
     public void replaceDeclaration(Declaration declaration,
                                    Declaration resolved) {
         for ( int i = 0; i < this.requiredDeclarations.length; i++ ) {
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.rule;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.WorkingMemory;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.reteoo.AccumulateNode.AccumulateContext;
+import org.drools.core.spi.Accumulator;
+import org.drools.core.spi.Tuple;
+
+/**
+ * An Accumulate partitioning the matched facts by a grouping key and keeping a separate
+ * accumulation state for each group. The accumulate node produces one result per group,
+ * so a single left tuple can propagate many results, each one an Object[] containing the
+ * results of the inner accumulate functions followed by the grouping key.
+ *
+ * The groups are hashed by key, so each match is routed directly to its own accumulation
+ * state and only the groups touched since the last evaluation are propagated again.
+ */
+public abstract class GroupByAccumulate extends Accumulate {
+
+    private Accumulate innerAccumulate;
+
+    public GroupByAccumulate() { }
+
+    public GroupByAccumulate( Accumulate innerAccumulate ) {
+        super( innerAccumulate.getSource(), innerAccumulate.getRequiredDeclarations() );
+        this.innerAccumulate = innerAccumulate;
+    }
+
+    public void readExternal(ObjectInput in) throws IOException,
+                                                    ClassNotFoundException {
+        super.readExternal( in );
+        this.innerAccumulate = (Accumulate) in.readObject();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( innerAccumulate );
+    }
+
+    /**
+     * Returns the grouping key of the given match
+     */
+    public abstract Object getKey( Tuple tuple,
+                                   InternalFactHandle handle,
+                                   WorkingMemory workingMemory );
+
+    public Accumulate getInnerAccumulate() {
+        return innerAccumulate;
+    }
+
+    @Override
+    public boolean isGroupBy() {
+        return true;
+    }
+
+    public boolean isMultiFunction() {
+        return innerAccumulate.isMultiFunction();
+    }
+
+    public Accumulator[] getAccumulators() {
+        return innerAccumulate.getAccumulators();
+    }
+
+    public Object createWorkingMemoryContext() {
+        return innerAccumulate.createWorkingMemoryContext();
+    }
+
+    public GroupByContext createContext() {
+        return new GroupByContext();
+    }
+
+    public void init(final Object workingMemoryContext,
+                     final Object context,
+                     final Tuple leftTuple,
+                     final WorkingMemory workingMemory) {
+        // the groups are kept, so their results can be deleted or updated when they are propagated again
+        GroupByContext groupByContext = (GroupByContext) context;
+        for (Group group : groupByContext.groups.values()) {
+            innerAccumulate.init( workingMemoryContext, group.context, leftTuple, workingMemory );
+            group.count = 0;
+            groupByContext.markDirty( group );
+        }
+        groupByContext.groupsByHandleId.clear();
+    }
+
+    public void accumulate(final Object workingMemoryContext,
+                           final Object context,
+                           final Tuple leftTuple,
+                           final InternalFactHandle handle,
+                           final WorkingMemory workingMemory) {
+        GroupByContext groupByContext = (GroupByContext) context;
+        Object key = getKey( leftTuple, handle, workingMemory );
+        Group group = groupByContext.groups.get( key );
+        if (group == null) {
+            group = new Group( key );
+            group.context = innerAccumulate.createContext();
+            innerAccumulate.init( workingMemoryContext, group.context, leftTuple, workingMemory );
+            groupByContext.groups.put( key, group );
+        }
+        innerAccumulate.accumulate( workingMemoryContext, group.context, leftTuple, handle, workingMemory );
+        group.count++;
+        groupByContext.groupsByHandleId.put( handle.getId(), group );
+        groupByContext.markDirty( group );
+    }
+
+    public void reverse(final Object workingMemoryContext,
+                        final Object context,
+                        final Tuple leftTuple,
+                        final InternalFactHandle handle,
+                        final WorkingMemory workingMemory) {
+        // the key is not recalculated since the fact could have been modified after being accumulated
+        GroupByContext groupByContext = (GroupByContext) context;
+        Group group = groupByContext.groupsByHandleId.remove( handle.getId() );
+        if (group == null) {
+            return;
+        }
+        innerAccumulate.reverse( workingMemoryContext, group.context, leftTuple, handle, workingMemory );
+        group.count--;
+        groupByContext.markDirty( group );
+    }
+
+    /**
+     * Returns the results of all the non empty groups, each one as returned by getGroupResult.
+     * The accumulate node doesn't use it, since it propagates the result of each group separately
+     */
+    public Object getResult(final Object workingMemoryContext,
+                            final Object context,
+                            final Tuple leftTuple,
+                            final WorkingMemory workingMemory) {
+        List<Object[]> results = new ArrayList<>();
+        for (Group group : ((GroupByContext) context).getGroups()) {
+            if (!group.isEmpty()) {
+                results.add( getGroupResult( workingMemoryContext, group, leftTuple, workingMemory ) );
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the result of a single group: the results of the inner accumulate functions followed by the grouping key
+     */
+    public Object[] getGroupResult(final Object workingMemoryContext,
+                                   final Group group,
+                                   final Tuple leftTuple,
+                                   final WorkingMemory workingMemory) {
+        Object result = innerAccumulate.getResult( workingMemoryContext, group.context, leftTuple, workingMemory );
+        if (innerAccumulate.isMultiFunction()) {
+            Object[] results = (Object[]) result;
+            Object[] groupResult = new Object[results.length + 1];
+            System.arraycopy( results, 0, groupResult, 0, results.length );
+            groupResult[results.length] = group.key;
+            return groupResult;
+        }
+        return new Object[] { result, group.key };
+    }
+
+    public boolean supportsReverse() {
+        return innerAccumulate.supportsReverse();
+    }
+
+    protected void replaceAccumulatorDeclaration(Declaration declaration, Declaration resolved) {
+        innerAccumulate.replaceAccumulatorDeclaration( declaration, resolved );
+    }
+
+    protected Accumulate cloneInnerAccumulate() {
+        return innerAccumulate.clone();
+    }
+
+    /**
+     * The accumulation state of a single left tuple: the groups indexed by key and by the id
+     * of the fact handles accumulated in them, plus the groups changed since the last evaluation
+     */
+    public static class GroupByContext implements Serializable {
+
+        private final Map<Object, Group> groups = new LinkedHashMap<>();
+        private final Map<Long, Group> groupsByHandleId = new HashMap<>();
+        private List<Group> dirtyGroups = new ArrayList<>();
+
+        private void markDirty( Group group ) {
+            if (!group.dirty) {
+                group.dirty = true;
+                dirtyGroups.add( group );
+            }
+        }
+
+        public void markAllDirty() {
+            for (Group group : groups.values()) {
+                markDirty( group );
+            }
+        }
+
+        public Iterable<Group> getGroups() {
+            return groups.values();
+        }
+
+        /**
+         * Returns the groups changed since the last invocation, removing the ones that are now empty
+         */
+        public List<Group> takeDirtyGroups() {
+            List<Group> dirty = dirtyGroups;
+            dirtyGroups = new ArrayList<>();
+            for (Group group : dirty) {
+                group.dirty = false;
+                if (group.isEmpty()) {
+                    groups.remove( group.key );
+                }
+            }
+            return dirty;
+        }
+    }
+
+    /**
+     * The accumulation state and the propagated result of a single group
+     */
+    public static class Group extends AccumulateContext {
+
+        private Object key;
+        private int count;
+        private boolean dirty;
+
+        public Group() { }
+
+        private Group( Object key ) {
+            this.key = key;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+    }
+}
@@ -486,6 +486,11 @@ public class SlidingTimeWindow
                                        workingMemory );
         }
 
+        @Override
+        public boolean isExpiration() {
+            return true;
+        }
+
         @Override
         public ProtobufMessages.ActionQueue.Action serialize(MarshallerWriteContext outputCtx) {
             ProtobufMessages.ActionQueue.BehaviorExpire behaviorExpire = ProtobufMessages.ActionQueue.BehaviorExpire.newBuilder()
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.sharding;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reads the value of the field or method annotated with {@link PartitionKey} of a fact. The facts whose class
+ * doesn't declare any partition key have a null key, so they are broadcast to all the shards.
+ */
+public class PartitionKeyExtractor implements Function<Object, Object> {
+
+    public static final PartitionKeyExtractor INSTANCE = new PartitionKeyExtractor();
+
+    private static final Function<Object, Object> NO_KEY = fact -> null;
+
+    private final Map<Class<?>, Function<Object, Object>> readers = new ConcurrentHashMap<>();
+
+    private PartitionKeyExtractor() { }
+
+    @Override
+    public Object apply( Object fact ) {
+        return readers.computeIfAbsent( fact.getClass(), PartitionKeyExtractor::createReader ).apply( fact );
+    }
+
+    private static Function<Object, Object> createReader( Class<?> factClass ) {
+        for (Class<?> c = factClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if ( method.isAnnotationPresent( PartitionKey.class ) ) {
+                    if ( method.getParameterCount() != 0 || method.getReturnType() == void.class ) {
+                        throw new IllegalArgumentException( "The @PartitionKey method " + method + " must be a getter" );
+                    }
+                    makeAccessible( method );
+                    return fact -> invoke( method, fact );
+                }
+            }
+            for (Field field : c.getDeclaredFields()) {
+                if ( field.isAnnotationPresent( PartitionKey.class ) ) {
+                    makeAccessible( field );
+                    return fact -> get( field, fact );
+                }
+            }
+        }
+        return NO_KEY;
+    }
+
+    private static void makeAccessible( AccessibleObject accessible ) {
+        if ( !accessible.isAccessible() ) {
+            accessible.setAccessible( true );
+        }
+    }
+
+    private static Object invoke( Method method, Object fact ) {
+        try {
+            return checkNotNull( method.invoke( fact ), fact );
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException( "Unable to read the partition key of " + fact, e );
+        }
+    }
+
+    private static Object get( Field field, Object fact ) {
+        try {
+            return checkNotNull( field.get( fact ), fact );
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException( "Unable to read the partition key of " + fact, e );
+        }
+    }
+
+    private static Object checkNotNull( Object key, Object fact ) {
+        // a null key would silently turn a partitioned fact into a broadcast one
+        if ( key == null ) {
+            throw new IllegalArgumentException( "The partition key of " + fact + " is null" );
+        }
+        return key;
+    }
+}
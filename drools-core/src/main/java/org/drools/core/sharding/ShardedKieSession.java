@@ -0,0 +1,294 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.runtime.rule.QueryResults;
+import org.kie.api.runtime.rule.QueryResultsRow;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
+
+/**
+ * A facade over a number of independent {@link KieSession}s, the shards, each one confined to its own thread.
+ * <p/>
+ * The facts are routed to a shard by their partition key, by default the value of the member annotated with
+ * {@link PartitionKey}, so that inserting facts of different keys scales with the number of shards. Facts without a
+ * partition key, like reference data, are broadcast to all the shards. The rules are expected to only join facts
+ * with the same key or broadcast facts, since facts of different shards can't see each other.
+ * <p/>
+ * Inserts, updates and deletes are asynchronous: they are queued to the thread of the shard and applied in order.
+ * The methods returning a result, like {@link #fireAllRules()} and {@link #getQueryResults}, are executed on all
+ * the shards after the pending operations, and gather their results. A failure of an asynchronous operation is
+ * reported by the following call returning a result.
+ */
+public class ShardedKieSession {
+
+    private final Shard[] shards;
+    private final Function<Object, Object> partitionKeyFunction;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public ShardedKieSession( KieBase kieBase, int shardsNr ) {
+        this( kieBase::newKieSession, shardsNr, PartitionKeyExtractor.INSTANCE );
+    }
+
+    /**
+     * @param sessionSupplier creates the session of each shard
+     * @param shardsNr the number of shards
+     * @param partitionKeyFunction returns the partition key of a fact, or null if the fact has to be broadcast
+     */
+    public ShardedKieSession( Supplier<KieSession> sessionSupplier, int shardsNr, Function<Object, Object> partitionKeyFunction ) {
+        if ( shardsNr < 1 ) {
+            throw new IllegalArgumentException( "The number of shards must be positive: " + shardsNr );
+        }
+        this.partitionKeyFunction = partitionKeyFunction;
+        this.shards = new Shard[shardsNr];
+        for (int i = 0; i < shardsNr; i++) {
+            shards[i] = new Shard( sessionSupplier.get() );
+        }
+    }
+
+    public int getShardsNr() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the index of the shard the specified fact is routed to, or -1 if the fact is broadcast to all of them
+     */
+    public int getShardIndex( Object fact ) {
+        Object key = partitionKeyFunction.apply( fact );
+        if ( key == null ) {
+            return -1;
+        }
+        int h = key.hashCode();
+        return ( ( h ^ ( h >>> 16 ) ) & 0x7fffffff ) % shards.length;
+    }
+
+    public void insert( Object fact ) {
+        route( fact, session -> session.insert( fact ) );
+    }
+
+    /**
+     * Inserts the specified facts handing them to each shard in a single task
+     */
+    public void insertAll( Collection<?> facts ) {
+        Map<Integer, List<Object>> factsByShard = new HashMap<>();
+        for (Object fact : facts) {
+            factsByShard.computeIfAbsent( getShardIndex( fact ), i -> new ArrayList<>() ).add( fact );
+        }
+        for (Map.Entry<Integer, List<Object>> entry : factsByShard.entrySet()) {
+            List<Object> shardFacts = entry.getValue();
+            Consumer<KieSession> action = session -> shardFacts.forEach( session::insert );
+            if ( entry.getKey() < 0 ) {
+                broadcastAction( action );
+            } else {
+                shards[entry.getKey()].submit( action );
+            }
+        }
+    }
+
+    /**
+     * Notifies the shard of the specified fact that it has been modified. The partition key of the fact must
+     * not have been changed.
+     */
+    public void update( Object fact ) {
+        route( fact, session -> {
+            FactHandle factHandle = session.getFactHandle( fact );
+            if ( factHandle != null ) {
+                session.update( factHandle, fact );
+            }
+        } );
+    }
+
+    public void delete( Object fact ) {
+        route( fact, session -> {
+            FactHandle factHandle = session.getFactHandle( fact );
+            if ( factHandle != null ) {
+                session.delete( factHandle );
+            }
+        } );
+    }
+
+    /**
+     * Inserts the specified fact in all the shards, regardless of its partition key
+     */
+    public void broadcast( Object fact ) {
+        broadcastAction( session -> session.insert( fact ) );
+    }
+
+    public void setGlobal( String identifier, Object value ) {
+        broadcastAction( session -> session.setGlobal( identifier, value ) );
+    }
+
+    /**
+     * Fires the activations of all the shards in parallel
+     *
+     * @return the total number of fired rules
+     */
+    public int fireAllRules() {
+        int fired = 0;
+        for (Integer shardFired : execute( KieSession::fireAllRules )) {
+            fired += shardFired;
+        }
+        return fired;
+    }
+
+    public long getFactCount() {
+        long count = 0;
+        for (Long shardCount : execute( KieSession::getFactCount )) {
+            count += shardCount;
+        }
+        return count;
+    }
+
+    /**
+     * Runs the specified query on all the shards and gathers the rows of their results. Since the rows can't be
+     * read outside the thread of their shard, each one is returned as a map of the identifiers of the query
+     * to their values.
+     */
+    public List<Map<String, Object>> getQueryResults( String query, Object... arguments ) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (List<Map<String, Object>> shardRows : execute( session -> readRows( session.getQueryResults( query, arguments ) ) )) {
+            rows.addAll( shardRows );
+        }
+        return rows;
+    }
+
+    private static List<Map<String, Object>> readRows( QueryResults results ) {
+        String[] identifiers = results.getIdentifiers();
+        List<Map<String, Object>> rows = new ArrayList<>( results.size() );
+        for (QueryResultsRow row : results) {
+            Map<String, Object> values = new HashMap<>();
+            for (String identifier : identifiers) {
+                values.put( identifier, row.get( identifier ) );
+            }
+            rows.add( values );
+        }
+        return rows;
+    }
+
+    /**
+     * Executes the specified function on the session of each shard, in its own thread, and returns the results
+     * in the order of the shards
+     */
+    public <T> List<T> execute( Function<KieSession, T> function ) {
+        checkFailure();
+        List<Future<T>> futures = new ArrayList<>( shards.length );
+        for (Shard shard : shards) {
+            futures.add( shard.executor.submit( () -> function.apply( shard.session ) ) );
+        }
+        List<T> results = new ArrayList<>( shards.length );
+        for (Future<T> future : futures) {
+            results.add( await( future ) );
+        }
+        checkFailure();
+        return results;
+    }
+
+    /**
+     * Disposes the sessions of all the shards and stops their threads
+     */
+    public void dispose() {
+        try {
+            execute( session -> {
+                session.dispose();
+                return null;
+            } );
+        } finally {
+            for (Shard shard : shards) {
+                shard.executor.shutdown();
+            }
+            for (Shard shard : shards) {
+                try {
+                    shard.executor.awaitTermination( 1, TimeUnit.MINUTES );
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void route( Object fact, Consumer<KieSession> action ) {
+        int shardIndex = getShardIndex( fact );
+        if ( shardIndex < 0 ) {
+            broadcastAction( action );
+        } else {
+            shards[shardIndex].submit( action );
+        }
+    }
+
+    private void broadcastAction( Consumer<KieSession> action ) {
+        for (Shard shard : shards) {
+            shard.submit( action );
+        }
+    }
+
+    private void checkFailure() {
+        Throwable t = failure.getAndSet( null );
+        if ( t != null ) {
+            throw new RuntimeException( "Error while executing an operation on a shard", t );
+        }
+    }
+
+    private static <T> T await( Future<T> future ) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( e );
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException( cause );
+        }
+    }
+
+    private class Shard {
+
+        private final KieSession session;
+        private final ExecutorService executor = ExecutorProviderFactory.getExecutorProvider().newSingleThreadExecutor();
+
+        private Shard( KieSession session ) {
+            this.session = session;
+        }
+
+        private void submit( Consumer<KieSession> action ) {
+            executor.execute( () -> {
+                try {
+                    action.accept( session );
+                } catch (Throwable t) {
+                    // keep the first failure, the following operations are still applied
+                    failure.compareAndSet( null, t );
+                }
+            } );
+        }
+    }
+}
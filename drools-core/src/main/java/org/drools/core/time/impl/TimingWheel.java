@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical hashed timing wheel.
+ *
+ * The time is divided in ticks of a fixed duration and each level of the wheel is an array of buckets,
+ * where every bucket of the level L covers wheelSize^L ticks. An entry is placed in the lowest level
+ * covering its expiration, so both scheduling and cancelling an entry are O(1) operations regardless of the
+ * number of pending entries. When the time advances over the boundary of a bucket of an upper level,
+ * the entries of that bucket are cascaded in the lower levels, until they reach the first level and expire.
+ *
+ * Expirations are rounded up to the next tick, so an entry never expires before its expiration time,
+ * but it can expire up to one tick later. This class isn't thread safe.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int mask;
+
+    private final List<Entry<T>[]> levels = new ArrayList<>();
+
+    // the entries scheduled with an expiration already elapsed, they will be returned by the next advance
+    private final Entry<T> overdue = new Entry<>( 0L, null );
+
+    private long currentTick;
+    private int size;
+
+    public TimingWheel( long tickMillis, int wheelSize, long startTime ) {
+        if ( tickMillis <= 0 ) {
+            throw new IllegalArgumentException( "The tick duration must be positive: " + tickMillis );
+        }
+        if ( wheelSize < 2 || Integer.bitCount( wheelSize ) != 1 ) {
+            throw new IllegalArgumentException( "The wheel size must be a power of 2: " + wheelSize );
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = Integer.numberOfTrailingZeros( wheelSize );
+        this.mask = wheelSize - 1;
+        this.currentTick = startTime / tickMillis;
+        overdue.clear();
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public long getCurrentTime() {
+        return currentTick * tickMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the time at which the first pending entry will expire, rounded up to its tick,
+     * or -1 if there are no pending entries.
+     */
+    public long getNextExpirationTime() {
+        if ( size == 0 ) {
+            return -1;
+        }
+        if ( overdue.next != overdue ) {
+            return getCurrentTime();
+        }
+        // the entries of a level always expire before the ones of the upper levels and, inside a level,
+        // the buckets following the current one are in expiration order up to the end of the turn
+        for (int level = 0; level < levels.size(); level++) {
+            Entry<T>[] buckets = levels.get( level );
+            for (int i = (int) ( slot( currentTick, level ) & mask ) + 1; i <= mask; i++) {
+                Entry<T> bucket = buckets[i];
+                if ( bucket.next != bucket ) {
+                    long expirationTick = Long.MAX_VALUE;
+                    for (Entry<T> entry = bucket.next; entry != bucket; entry = entry.next) {
+                        expirationTick = Math.min( expirationTick, entry.expirationTick );
+                    }
+                    return expirationTick * tickMillis;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public Entry<T> schedule( long expirationTime, T payload ) {
+        long expirationTick = expirationTime / tickMillis;
+        if ( expirationTick * tickMillis < expirationTime ) {
+            expirationTick++;
+        }
+        Entry<T> entry = new Entry<>( expirationTick, payload );
+        insert( entry );
+        size++;
+        return entry;
+    }
+
+    public boolean cancel( Entry<T> entry ) {
+        if ( entry == null || !entry.isScheduled() ) {
+            return false;
+        }
+        entry.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the given time and returns the payloads of all the entries expired in the meanwhile,
+     * ordered by expiration.
+     */
+    public List<T> advance( long now ) {
+        List<T> expired = new ArrayList<>();
+        long nowTick = now / tickMillis;
+
+        drain( overdue, expired );
+
+        if ( size == 0 ) {
+            // nothing to cascade, the wheel can jump directly to the new time
+            currentTick = Math.max( currentTick, nowTick );
+            return expired;
+        }
+
+        while ( currentTick < nowTick && size > 0 ) {
+            currentTick++;
+            cascade();
+            drain( getLevel( 0 )[(int) ( currentTick & mask )], expired );
+            // the cascaded entries expiring exactly at this tick
+            drain( overdue, expired );
+        }
+        currentTick = Math.max( currentTick, nowTick );
+        return expired;
+    }
+
+    /**
+     * Removes all the pending entries and moves the wheel to the given time.
+     */
+    public void clear( long startTime ) {
+        for (Entry<T>[] level : levels) {
+            for (Entry<T> bucket : level) {
+                for (Entry<T> entry = bucket.next; entry != bucket; ) {
+                    Entry<T> next = entry.next;
+                    entry.prev = null;
+                    entry.next = null;
+                    entry = next;
+                }
+                bucket.clear();
+            }
+        }
+        overdue.clear();
+        size = 0;
+        currentTick = startTime / tickMillis;
+    }
+
+    private void cascade() {
+        // when crossing the boundary of a bucket of the level L, that bucket now belongs to the current
+        // wheelSize^L ticks and its entries have to be redistributed in the lower levels, highest level first
+        int topLevel = 0;
+        for (int level = 1; level < levels.size(); level++) {
+            if ( slot( currentTick, level ) << ( wheelBits * level ) != currentTick ) {
+                break;
+            }
+            topLevel = level;
+        }
+        for (int level = topLevel; level > 0; level--) {
+            Entry<T> bucket = levels.get( level )[(int) ( slot( currentTick, level ) & mask )];
+            Entry<T> entry = bucket.next;
+            bucket.clear();
+            while ( entry != bucket ) {
+                Entry<T> next = entry.next;
+                insert( entry );
+                entry = next;
+            }
+        }
+    }
+
+    private void insert( Entry<T> entry ) {
+        if ( entry.expirationTick <= currentTick ) {
+            overdue.append( entry );
+            return;
+        }
+        // the lowest level where the expiration and the current time fall in the same turn of the next level
+        int level = 0;
+        while ( slot( entry.expirationTick, level + 1 ) != slot( currentTick, level + 1 ) ) {
+            level++;
+        }
+        getLevel( level )[(int) ( slot( entry.expirationTick, level ) & mask )].append( entry );
+    }
+
+    private long slot( long tick, int level ) {
+        int shift = wheelBits * level;
+        // shifts of a long are taken modulo 64, so they have to be capped explicitly
+        return shift < Long.SIZE ? tick >>> shift : 0L;
+    }
+
+    private Entry<T>[] getLevel( int level ) {
+        while ( levels.size() <= level ) {
+            Entry<T>[] buckets = new Entry[mask + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Entry<>( 0L, null );
+                buckets[i].clear();
+            }
+            levels.add( buckets );
+        }
+        return levels.get( level );
+    }
+
+    private void drain( Entry<T> bucket, List<T> expired ) {
+        for (Entry<T> entry = bucket.next; entry != bucket; ) {
+            Entry<T> next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            expired.add( entry.payload );
+            size--;
+            entry = next;
+        }
+        bucket.clear();
+    }
+
+    /**
+     * An entry scheduled in the wheel, linked in a doubly linked list with the other entries of its bucket.
+     * Every bucket has a sentinel entry, so the entries can be unlinked without knowing in which bucket they are.
+     */
+    public static class Entry<T> {
+        private final long expirationTick;
+        private final T payload;
+
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry( long expirationTick, T payload ) {
+            this.expirationTick = expirationTick;
+            this.payload = payload;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+
+        private void clear() {
+            prev = this;
+            next = this;
+        }
+
+        private void append( Entry<T> entry ) {
+            entry.prev = prev;
+            entry.next = this;
+            prev.next = entry;
+            prev = entry;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
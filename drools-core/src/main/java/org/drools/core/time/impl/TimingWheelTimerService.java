@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.Trigger;
+import org.kie.api.time.SessionClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A realtime Scheduler implementation keeping the jobs in a hierarchical {@link TimingWheel}. The wheel is advanced
+ * by a single wake-up armed at the expiration of its first job, and re-armed when an earlier job is scheduled, so an
+ * idle wheel costs no ticks; the thread running the wake-ups ends when no job is pending. Differently from the {@link JDKTimerService}, whose delay queue costs
+ * O(log n) for each scheduled and cancelled job, this scheduler costs O(1) for both operations, and fires the
+ * jobs expired in the same tick as a single batch. This makes it convenient for sessions with a high number
+ * of timers, typically the expirations of CEP events, at the price of firing the jobs up to one tick late.
+ *
+ * It can be enabled with the session property drools.timerService=org.drools.core.time.impl.TimingWheelTimerService
+ */
+public class TimingWheelTimerService
+        implements
+        TimerService,
+        SessionClock,
+        InternalSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger( TimingWheelTimerService.class );
+
+    public static final long DEFAULT_TICK_MILLIS = 5;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_MILLIS = 60000;
+
+    private final TimingWheel<TimerJobInstance> wheel;
+
+    private final AtomicLong idCounter;
+
+    protected ScheduledThreadPoolExecutor ticker;
+
+    // the pending wake-up and the time it is armed for, both guarded by the wheel
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpTime = Long.MAX_VALUE;
+
+    protected TimerJobFactoryManager jobFactoryManager = DefaultTimerJobFactoryManager.instance;
+
+    public TimingWheelTimerService() {
+        this( DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE );
+    }
+
+    public TimingWheelTimerService( long tickMillis, int wheelSize ) {
+        this.wheel = new TimingWheel<>( tickMillis, wheelSize, System.currentTimeMillis() );
+        this.idCounter = new AtomicLong( 0L );
+        this.ticker = new ScheduledThreadPoolExecutor( 1, r -> {
+            Thread thread = new Thread( r, "drools-timing-wheel" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+        this.ticker.setRemoveOnCancelPolicy( true );
+        this.ticker.setKeepAliveTime( IDLE_THREAD_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS );
+        this.ticker.allowCoreThreadTimeOut( true );
+    }
+
+    public void setTimerJobFactoryManager(TimerJobFactoryManager timerJobFactoryManager) {
+        this.jobFactoryManager = timerJobFactoryManager;
+    }
+
+    public TimerJobFactoryManager getTimerJobFactoryManager() {
+        return this.jobFactoryManager;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    public void reset() {
+        if (idCounter.get() != 0L) {
+            synchronized (wheel) {
+                wheel.clear( System.currentTimeMillis() );
+                cancelWakeUp();
+            }
+            this.idCounter.set( 0L );
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.ticker.shutdownNow();
+        synchronized (wheel) {
+            wheel.clear( System.currentTimeMillis() );
+            cancelWakeUp();
+        }
+    }
+
+    public JobHandle scheduleJob(Job job,
+                                 JobContext ctx,
+                                 Trigger trigger) {
+        Date date = trigger.hasNextFireTime();
+        if (date != null) {
+            TimingWheelJobHandle jobHandle = new TimingWheelJobHandle( idCounter.getAndIncrement() );
+
+            TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance( job,
+                                                                                     ctx,
+                                                                                     trigger,
+                                                                                     jobHandle,
+                                                                                     this );
+            jobHandle.setTimerJobInstance( jobInstance );
+            internalSchedule( jobInstance );
+
+            return jobHandle;
+        } else {
+            return null;
+        }
+    }
+
+    public void internalSchedule(TimerJobInstance timerJobInstance) {
+        Date date = timerJobInstance.getTrigger().hasNextFireTime();
+        TimingWheelJobHandle jobHandle = (TimingWheelJobHandle) timerJobInstance.getJobHandle();
+        synchronized (wheel) {
+            jobHandle.setEntry( wheel.schedule( date.getTime(), timerJobInstance ) );
+            armWakeUp();
+        }
+        jobFactoryManager.addTimerJobInstance( timerJobInstance );
+    }
+
+    public boolean removeJob(JobHandle jobHandle) {
+        jobHandle.setCancel( true );
+        TimingWheelJobHandle wheelJobHandle = (TimingWheelJobHandle) jobHandle;
+        jobFactoryManager.removeTimerJobInstance( wheelJobHandle.getTimerJobInstance() );
+        synchronized (wheel) {
+            return wheel.cancel( wheelJobHandle.getEntry() );
+        }
+    }
+
+    private void tick() {
+        List<TimerJobInstance> expired;
+        synchronized (wheel) {
+            wakeUp = null;
+            wakeUpTime = Long.MAX_VALUE;
+            expired = wheel.advance( System.currentTimeMillis() );
+            armWakeUp();
+        }
+        // the jobs are executed out of the lock, so they can reschedule themselves or schedule other jobs
+        for (TimerJobInstance timerJobInstance : expired) {
+            try {
+                ( (Callable<Void>) timerJobInstance ).call();
+            } catch (Exception e) {
+                // an exception escaping from here would stop the ticker and then all the following jobs
+                logger.error( "Unable to execute timer job " + timerJobInstance.getJobHandle(), e );
+            }
+        }
+    }
+
+    /**
+     * Arms the wake-up at the expiration of the first pending job, unless it is already armed at an earlier time.
+     * The wake-up of a cancelled job is left in place: it will just find nothing to expire and re-arm itself.
+     * It must be called holding the lock on the wheel.
+     */
+    private void armWakeUp() {
+        long nextExpirationTime = wheel.getNextExpirationTime();
+        if ( nextExpirationTime < 0 || nextExpirationTime >= wakeUpTime || ticker.isShutdown() ) {
+            return;
+        }
+        cancelWakeUp();
+        wakeUpTime = nextExpirationTime;
+        long delay = Math.max( 0L, nextExpirationTime - System.currentTimeMillis() );
+        wakeUp = ticker.schedule( this::tick, delay, TimeUnit.MILLISECONDS );
+    }
+
+    private void cancelWakeUp() {
+        if ( wakeUp != null ) {
+            wakeUp.cancel( false );
+            wakeUp = null;
+        }
+        wakeUpTime = Long.MAX_VALUE;
+    }
+
+    public static class TimingWheelJobHandle extends DefaultJobHandle
+            implements
+            JobHandle {
+
+        private static final long serialVersionUID = 510l;
+
+        private transient TimingWheel.Entry<TimerJobInstance> entry;
+
+        public TimingWheelJobHandle(long id) {
+            super( id );
+        }
+
+        public TimingWheel.Entry<TimerJobInstance> getEntry() {
+            return entry;
+        }
+
+        public void setEntry(TimingWheel.Entry<TimerJobInstance> entry) {
+            this.entry = entry;
+        }
+    }
+
+    public long getTimeToNextJob() {
+        long nextExpirationTime;
+        synchronized (wheel) {
+            nextExpirationTime = wheel.getNextExpirationTime();
+        }
+        return nextExpirationTime < 0 ? -1 : Math.max( 0L, nextExpirationTime - System.currentTimeMillis() );
+    }
+
+    /**
+     * Returns the jobs belonging to the session with the given identifier, together with the ones not bound
+     * to any session. It requires a {@link TimerJobFactoryManager} tracking the jobs.
+     */
+    public Collection<TimerJobInstance> getTimerJobInstances(long id) {
+        List<TimerJobInstance> jobs = new ArrayList<>();
+        for (TimerJobInstance timerJobInstance : jobFactoryManager.getTimerJobInstances()) {
+            InternalWorkingMemory wm = timerJobInstance.getJobContext().getWorkingMemory();
+            if (wm == null || wm.getIdentifier() == id) {
+                jobs.add( timerJobInstance );
+            }
+        }
+        return jobs;
+    }
+}
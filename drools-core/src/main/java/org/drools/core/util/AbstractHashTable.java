@@ -22,6 +22,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Objects;
 
+import org.drools.core.base.ValueType;
 import org.drools.core.rule.Declaration;
 import org.drools.core.rule.IndexEvaluator;
 import org.drools.core.spi.InternalReadAccessor;
@@ -515,6 +516,268 @@ public abstract class AbstractHashTable
         }
     }
 
+    /**
+     * Creates the Index for a single equality constraint. When both sides of the constraint are
+     * int, long or String, the returned Index reads the values through the primitive accessors and
+     * stores the key unboxed in the bucket, so lookups don't allocate and don't go through the IndexEvaluator.
+     */
+    public static Index createSingleIndex(final FieldIndex[] indexes,
+                                          final int startResult) {
+        FieldIndex index = indexes[0];
+        ValueType valueType = index.extractor.getValueType();
+        if ( index.declaration != null && index.declaration.getExtractor() != null && valueType == index.declaration.getValueType() ) {
+            if ( valueType == ValueType.PINTEGER_TYPE ) {
+                return new IntSingleIndex( indexes, startResult );
+            }
+            if ( valueType == ValueType.PLONG_TYPE ) {
+                return new LongSingleIndex( indexes, startResult );
+            }
+            if ( valueType == ValueType.STRING_TYPE ) {
+                return new StringSingleIndex( indexes, startResult );
+            }
+        }
+        return new SingleIndex( indexes, startResult );
+    }
+
+    public abstract static class AbstractSpecializedSingleIndex
+        implements
+        Index {
+
+        private static final long    serialVersionUID = 510l;
+
+        protected FieldIndex         index;
+
+        protected int                startResult;
+
+        public AbstractSpecializedSingleIndex() {
+
+        }
+
+        public AbstractSpecializedSingleIndex(final FieldIndex[] indexes,
+                                              final int startResult) {
+            this.startResult = startResult;
+            this.index = indexes[0];
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            index = (FieldIndex) in.readObject();
+            startResult = in.readInt();
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( index );
+            out.writeInt( startResult );
+        }
+
+        @Override
+        public FieldIndex getFieldIndex(int index) {
+            if ( index > 0 ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return this.index;
+        }
+
+        protected int hash(int keyHashCode) {
+            return rehash( PRIME * startResult + keyHashCode );
+        }
+
+        protected Object leftObject(Tuple tuple) {
+            return tuple.getObject( this.index.declaration );
+        }
+    }
+
+    public static class IntSingleIndex extends AbstractSpecializedSingleIndex {
+
+        private static final long    serialVersionUID = 510l;
+
+        public IntSingleIndex() {
+
+        }
+
+        public IntSingleIndex(final FieldIndex[] indexes,
+                              final int startResult) {
+            super( indexes, startResult );
+        }
+
+        int keyOf(Tuple tuple, boolean left) {
+            return left ?
+                   this.index.declaration.getIntValue( null, leftObject( tuple ) ) :
+                   this.index.extractor.getIntValue( null, tuple.getFactHandle().getObject() );
+        }
+
+        @Override
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            return hash( keyOf( tuple, left ) );
+        }
+
+        @Override
+        public boolean areEqual(final Object right,
+                                final Tuple tuple) {
+            return this.index.extractor.getIntValue( null, right ) == keyOf( tuple, true );
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Object object2) {
+            return ( (IntIndexTupleList) list ).indexKey == this.index.extractor.getIntValue( null, object2 );
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Tuple tuple2) {
+            return ( (IntIndexTupleList) list ).indexKey == keyOf( tuple2, true );
+        }
+
+        @Override
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new IntIndexTupleList( this, keyOf( tuple, left ), hashCode );
+        }
+    }
+
+    public static class IntIndexTupleList extends AbstractIndexTupleList {
+        private int indexKey;
+
+        public IntIndexTupleList( IntSingleIndex index, int indexKey, int hashCode ) {
+            super( index, hashCode );
+            this.indexKey = indexKey;
+        }
+
+        @Override
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (IntIndexTupleList) other ).indexKey = indexKey;
+        }
+    }
+
+    public static class LongSingleIndex extends AbstractSpecializedSingleIndex {
+
+        private static final long    serialVersionUID = 510l;
+
+        public LongSingleIndex() {
+
+        }
+
+        public LongSingleIndex(final FieldIndex[] indexes,
+                               final int startResult) {
+            super( indexes, startResult );
+        }
+
+        long keyOf(Tuple tuple, boolean left) {
+            return left ?
+                   this.index.declaration.getLongValue( null, leftObject( tuple ) ) :
+                   this.index.extractor.getLongValue( null, tuple.getFactHandle().getObject() );
+        }
+
+        @Override
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            return hash( Long.hashCode( keyOf( tuple, left ) ) );
+        }
+
+        @Override
+        public boolean areEqual(final Object right,
+                                final Tuple tuple) {
+            return this.index.extractor.getLongValue( null, right ) == keyOf( tuple, true );
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Object object2) {
+            return ( (LongIndexTupleList) list ).indexKey == this.index.extractor.getLongValue( null, object2 );
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Tuple tuple2) {
+            return ( (LongIndexTupleList) list ).indexKey == keyOf( tuple2, true );
+        }
+
+        @Override
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new LongIndexTupleList( this, keyOf( tuple, left ), hashCode );
+        }
+    }
+
+    public static class LongIndexTupleList extends AbstractIndexTupleList {
+        private long indexKey;
+
+        public LongIndexTupleList( LongSingleIndex index, long indexKey, int hashCode ) {
+            super( index, hashCode );
+            this.indexKey = indexKey;
+        }
+
+        @Override
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (LongIndexTupleList) other ).indexKey = indexKey;
+        }
+    }
+
+    public static class StringSingleIndex extends AbstractSpecializedSingleIndex {
+
+        private static final long    serialVersionUID = 510l;
+
+        public StringSingleIndex() {
+
+        }
+
+        public StringSingleIndex(final FieldIndex[] indexes,
+                                 final int startResult) {
+            super( indexes, startResult );
+        }
+
+        String keyOf(Tuple tuple, boolean left) {
+            return (String) ( left ?
+                              this.index.declaration.getValue( null, leftObject( tuple ) ) :
+                              this.index.extractor.getValue( null, tuple.getFactHandle().getObject() ) );
+        }
+
+        @Override
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            return hash( Objects.hashCode( keyOf( tuple, left ) ) );
+        }
+
+        @Override
+        public boolean areEqual(final Object right,
+                                final Tuple tuple) {
+            return Objects.equals( this.index.extractor.getValue( null, right ), keyOf( tuple, true ) );
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Object object2) {
+            return Objects.equals( ( (StringIndexTupleList) list ).indexKey, this.index.extractor.getValue( null, object2 ) );
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Tuple tuple2) {
+            return Objects.equals( ( (StringIndexTupleList) list ).indexKey, keyOf( tuple2, true ) );
+        }
+
+        @Override
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new StringIndexTupleList( this, keyOf( tuple, left ), hashCode );
+        }
+    }
+
+    public static class StringIndexTupleList extends AbstractIndexTupleList {
+        private String indexKey;
+
+        public StringIndexTupleList( StringSingleIndex index, String indexKey, int hashCode ) {
+            super( index, hashCode );
+            this.indexKey = indexKey;
+        }
+
+        @Override
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (StringIndexTupleList) other ).indexKey = indexKey;
+        }
+    }
+
     public static class DoubleCompositeIndex
         implements
         Index {
@@ -792,6 +1055,129 @@ public abstract class AbstractHashTable
         }
     }
 
+    /**
+     * Composite index on an arbitrary number of equality constraints, used when the
+     * composite key is deeper than the one covered by the fixed size indexes.
+     */
+    public static class MultiCompositeIndex
+        implements
+        Index {
+
+        private static final long serialVersionUID = 510l;
+
+        private FieldIndex[]      indexes;
+
+        private int               startResult;
+
+        public MultiCompositeIndex() {
+
+        }
+
+        public MultiCompositeIndex(final FieldIndex[] indexes,
+                                   final int startResult) {
+            this.startResult = startResult;
+            this.indexes = indexes;
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            indexes = (FieldIndex[]) in.readObject();
+            startResult = in.readInt();
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( indexes );
+            out.writeInt( startResult );
+        }
+
+        @Override
+        public FieldIndex getFieldIndex(int index) {
+            if ( index < 0 || index >= indexes.length ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return indexes[index];
+        }
+
+        @Override
+        public int hashCodeOf(Tuple tuple, boolean left) {
+            int hashCode = this.startResult;
+            for ( FieldIndex index : indexes ) {
+                hashCode = PRIME * hashCode + index.hashCodeOf( tuple, left );
+            }
+            return rehash( hashCode );
+        }
+
+        @Override
+        public boolean areEqual(final Object right,
+                                final Tuple tuple) {
+            for ( FieldIndex index : indexes ) {
+                if ( !index.evaluator.evaluate( null,
+                                                index.declaration.getExtractor(),
+                                                tuple.getObject( index.declaration ),
+                                                index.extractor,
+                                                right ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Tuple tuple2) {
+            Object[] indexKeys = ( (MultiIndexTupleList) list ).indexKeys;
+            for ( int i = 0; i < indexes.length; i++ ) {
+                if ( !indexes[i].evaluator.evaluate( null,
+                                                     indexKeys[i],
+                                                     indexes[i].declaration.getExtractor(),
+                                                     tuple2.getObject( indexes[i].declaration ) ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Object object2) {
+            Object[] indexKeys = ( (MultiIndexTupleList) list ).indexKeys;
+            for ( int i = 0; i < indexes.length; i++ ) {
+                if ( !indexes[i].evaluator.evaluate( null,
+                                                     indexKeys[i],
+                                                     indexes[i].extractor,
+                                                     object2 ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new MultiIndexTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class MultiIndexTupleList extends AbstractIndexTupleList {
+        private Object[] indexKeys;
+
+        public MultiIndexTupleList( MultiCompositeIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            indexKeys = new Object[index.indexes.length];
+            for ( int i = 0; i < indexKeys.length; i++ ) {
+                indexKeys[i] = index.indexes[i].indexedValueOf( tuple, left );
+            }
+        }
+
+        @Override
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (MultiIndexTupleList) other ).indexKeys = indexKeys;
+        }
+    }
+
     public void clear() {
         this.table = new Entry[Math.min( this.table.length,
                                          16 )];
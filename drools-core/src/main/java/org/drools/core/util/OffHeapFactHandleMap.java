@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.drools.core.common.IdentityAssertMapComparator;
+import org.drools.core.common.InternalFactHandle;
+
+/**
+ * An identity map of fact handles, having the same semantic of an ObjectHashMap using an IdentityAssertMapComparator,
+ * whose hash table is allocated in a direct ByteBuffer.
+ *
+ * Each slot of the table stores the id and the identity hash code of a fact handle together with its position
+ * in a dense array of handles, that is the only part of this map living on the heap. In this way the map
+ * doesn't create any entry object, so, differently from an ObjectHashMap, its size has no impact on the
+ * number of objects that the garbage collector has to trace.
+ *
+ * The table uses linear probing with backward shift deletion, while the array of handles is kept compact by
+ * moving the last handle in the position of the removed one. This class is not thread safe.
+ */
+public class OffHeapFactHandleMap implements Iterable<InternalFactHandle> {
+
+    private static final int ID_OFFSET = 0;
+    private static final int HASH_OFFSET = 8;
+    private static final int POSITION_OFFSET = 12;
+    private static final int SLOT_SIZE = 16;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final IdentityAssertMapComparator COMPARATOR = new IdentityAssertMapComparator();
+
+    private ByteBuffer table;
+    private int capacity;
+    private int threshold;
+
+    private InternalFactHandle[] handles;
+    private int size;
+
+    public OffHeapFactHandleMap() {
+        this( DEFAULT_CAPACITY );
+    }
+
+    public OffHeapFactHandleMap( int initialCapacity ) {
+        capacity = Integer.highestOneBit( Math.max( initialCapacity, 2 ) - 1 ) << 1;
+        allocateTable();
+        handles = new InternalFactHandle[Math.max( (int) ( capacity * LOAD_FACTOR ), 1 )];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        capacity = DEFAULT_CAPACITY;
+        allocateTable();
+        handles = new InternalFactHandle[(int) ( capacity * LOAD_FACTOR )];
+        size = 0;
+    }
+
+    /**
+     * Returns the handle with the same id of the given handle or, if the key is not a fact handle,
+     * the handle of the given object
+     */
+    public InternalFactHandle get( Object key ) {
+        int slot = findSlot( key );
+        return slot < 0 ? null : handles[getPosition( slot )];
+    }
+
+    /**
+     * Adds the given handle replacing the one with the same id if already present.
+     * Returns true if the handle wasn't in this map.
+     */
+    public boolean put( InternalFactHandle handle ) {
+        int slot = findSlot( handle );
+        if ( slot >= 0 ) {
+            handles[getPosition( slot )] = handle;
+            return false;
+        }
+
+        if ( size >= threshold ) {
+            resize();
+        }
+        if ( size == handles.length ) {
+            handles = Arrays.copyOf( handles, handles.length * 2 );
+        }
+        handles[size] = handle;
+        insertSlot( handle, size );
+        size++;
+        return true;
+    }
+
+    public InternalFactHandle remove( InternalFactHandle handle ) {
+        int slot = findSlot( handle );
+        if ( slot < 0 ) {
+            return null;
+        }
+
+        int position = getPosition( slot );
+        InternalFactHandle removed = handles[position];
+        deleteSlot( slot );
+
+        int last = --size;
+        if ( position != last ) {
+            // keep the handles array compact moving the last one in the free position
+            InternalFactHandle moved = handles[last];
+            handles[position] = moved;
+            table.putInt( findSlot( moved ) * SLOT_SIZE + POSITION_OFFSET, position + 1 );
+        }
+        handles[last] = null;
+        return removed;
+    }
+
+    /**
+     * Iterates the handles from the last added one, so it is possible to remove
+     * the current handle during the iteration without skipping any other one.
+     */
+    @Override
+    public Iterator<InternalFactHandle> iterator() {
+        return new Iterator<InternalFactHandle>() {
+            private int next = size - 1;
+
+            @Override
+            public boolean hasNext() {
+                if ( next >= size ) {
+                    next = size - 1;
+                }
+                return next >= 0;
+            }
+
+            @Override
+            public InternalFactHandle next() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+                return handles[next--];
+            }
+        };
+    }
+
+    private int findSlot( Object key ) {
+        boolean isHandle = key instanceof InternalFactHandle;
+        long id = isHandle ? ( (InternalFactHandle) key ).getId() : 0L;
+        int hash = isHandle ? ( (InternalFactHandle) key ).getIdentityHashCode() : System.identityHashCode( key );
+
+        int mask = capacity - 1;
+        for ( int slot = indexOf( hash ); ; slot = ( slot + 1 ) & mask ) {
+            int position = getPosition( slot );
+            if ( position < 0 ) {
+                return -1;
+            }
+            if ( table.getInt( slot * SLOT_SIZE + HASH_OFFSET ) == hash ) {
+                if ( isHandle ? table.getLong( slot * SLOT_SIZE + ID_OFFSET ) == id : COMPARATOR.areEqual( key, handles[position] ) ) {
+                    return slot;
+                }
+            }
+        }
+    }
+
+    private void insertSlot( InternalFactHandle handle, int position ) {
+        int hash = handle.getIdentityHashCode();
+        int mask = capacity - 1;
+        int slot = indexOf( hash );
+        while ( getPosition( slot ) >= 0 ) {
+            slot = ( slot + 1 ) & mask;
+        }
+        int offset = slot * SLOT_SIZE;
+        table.putLong( offset + ID_OFFSET, handle.getId() );
+        table.putInt( offset + HASH_OFFSET, hash );
+        table.putInt( offset + POSITION_OFFSET, position + 1 );
+    }
+
+    private void deleteSlot( int slot ) {
+        int mask = capacity - 1;
+        int free = slot;
+        for ( int current = ( free + 1 ) & mask; getPosition( current ) >= 0; current = ( current + 1 ) & mask ) {
+            int ideal = indexOf( table.getInt( current * SLOT_SIZE + HASH_OFFSET ) );
+            // the entry in current can be shifted back in the free slot only if its ideal slot isn't cyclically in (free, current]
+            boolean canShift = free <= current ? ( ideal <= free || ideal > current ) : ( ideal <= free && ideal > current );
+            if ( canShift ) {
+                copySlot( current, free );
+                free = current;
+            }
+        }
+        table.putInt( free * SLOT_SIZE + POSITION_OFFSET, 0 );
+    }
+
+    private void copySlot( int from, int to ) {
+        int fromOffset = from * SLOT_SIZE;
+        int toOffset = to * SLOT_SIZE;
+        table.putLong( toOffset + ID_OFFSET, table.getLong( fromOffset + ID_OFFSET ) );
+        table.putInt( toOffset + HASH_OFFSET, table.getInt( fromOffset + HASH_OFFSET ) );
+        table.putInt( toOffset + POSITION_OFFSET, table.getInt( fromOffset + POSITION_OFFSET ) );
+    }
+
+    private void resize() {
+        capacity *= 2;
+        allocateTable();
+        for ( int i = 0; i < size; i++ ) {
+            insertSlot( handles[i], i );
+        }
+    }
+
+    private void allocateTable() {
+        // a newly allocated direct buffer is zeroed, so all its slots are empty
+        table = ByteBuffer.allocateDirect( capacity * SLOT_SIZE ).order( ByteOrder.nativeOrder() );
+        threshold = (int) ( capacity * LOAD_FACTOR );
+    }
+
+    private int getPosition( int slot ) {
+        return table.getInt( slot * SLOT_SIZE + POSITION_OFFSET ) - 1;
+    }
+
+    private int indexOf( int hash ) {
+        return AbstractHashTable.rehash( hash ) & ( capacity - 1 );
+    }
+}
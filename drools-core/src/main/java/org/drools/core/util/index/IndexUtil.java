@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.base.ValueType;
 import org.drools.core.reteoo.BetaMemory;
 import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.NodeTypeEnums;
@@ -40,12 +41,16 @@ public class IndexUtil {
     private static final boolean USE_RANGE_INDEX = USE_COMPARISON_INDEX && false;
 
     public static boolean compositeAllowed(BetaNodeFieldConstraint[] constraints, short betaNodeType) {
+        return compositeAllowed(constraints, betaNodeType, false);
+    }
+
+    public static boolean compositeAllowed(BetaNodeFieldConstraint[] constraints, short betaNodeType, boolean joinComparisonIndex) {
         // 1) If there is 1 or more unification restrictions it cannot be composite
         // 2) Ensures any non unification restrictions are first
         int firstUnification = -1;
         int firstNonUnification = -1;
         for ( int i = 0, length = constraints.length; i < length; i++ ) {
-            if ( isIndexable(constraints[i], betaNodeType) ) {
+            if ( isIndexable(constraints[i], betaNodeType, joinComparisonIndex) ) {
                 final boolean isUnification = ((IndexableConstraint) constraints[i]).isUnification();
                 if ( isUnification && firstUnification == -1 ) {
                     firstUnification = i;
@@ -67,44 +72,86 @@ public class IndexUtil {
     }
 
     public static boolean isIndexable(BetaNodeFieldConstraint constraint, short nodeType) {
-        return constraint instanceof IndexableConstraint && ((IndexableConstraint)constraint).isIndexable(nodeType);
+        return isIndexable(constraint, nodeType, false);
+    }
+
+    public static boolean isIndexable(BetaNodeFieldConstraint constraint, short nodeType, boolean joinComparisonIndex) {
+        return constraint instanceof IndexableConstraint &&
+               ( ((IndexableConstraint)constraint).isIndexable(nodeType) ||
+                 ( joinComparisonIndex && canHaveJoinComparisonIndex( (IndexableConstraint) constraint, nodeType ) ) );
     }
 
     private static boolean canHaveRangeIndex(short nodeType) {
         return USE_COMPARISON_INDEX && ( nodeType == NodeTypeEnums.NotNode || nodeType == NodeTypeEnums.ExistsNode );
     }
 
+    /**
+     * A comparison constraint of a join node is indexed with a TupleIndexRBTree only when both its sides have the
+     * same Comparable value type (numbers, chars, dates and strings), so the keys of the 2 memories can be safely
+     * compared one against the other. Null keys are kept apart by the tree and never match any comparison.
+     * This index is used only when enabled with RuleBaseConfiguration.setJoinComparisonIndex().
+     */
+    private static boolean canHaveJoinComparisonIndex(IndexableConstraint constraint, short nodeType) {
+        if ( !USE_COMPARISON_INDEX || nodeType != NodeTypeEnums.JoinNode ||
+             !constraint.getConstraintType().isComparison() || constraint.isUnification() ) {
+            return false;
+        }
+        FieldIndex fieldIndex = constraint.getFieldIndex();
+        if ( fieldIndex.getDeclaration() == null || fieldIndex.getExtractor() == null ) {
+            return false;
+        }
+        ValueType valueType = fieldIndex.getExtractor().getValueType();
+        return valueType == fieldIndex.getDeclaration().getValueType() && isComparableValueType( valueType );
+    }
+
+    private static boolean isComparableValueType(ValueType valueType) {
+        return ( valueType.isNumber() && valueType != ValueType.NUMBER_TYPE ) ||
+               valueType == ValueType.STRING_TYPE ||
+               valueType == ValueType.DATE_TYPE ||
+               valueType == ValueType.LOCAL_DATE_TYPE ||
+               valueType == ValueType.LOCAL_TIME_TYPE;
+    }
+
     public static boolean isIndexableForNode(short nodeType, BetaNodeFieldConstraint constraint) {
+        return isIndexableForNode(nodeType, constraint, false);
+    }
+
+    public static boolean isIndexableForNode(short nodeType, BetaNodeFieldConstraint constraint, boolean joinComparisonIndex) {
         if ( !(constraint instanceof IndexableConstraint) ) {
             return false;
         }
 
         ConstraintType constraintType = ((IndexableConstraint)constraint).getConstraintType();
-        return constraintType.isIndexableForNode(nodeType);
+        return constraintType.isIndexableForNode(nodeType) ||
+               ( joinComparisonIndex && canHaveJoinComparisonIndex( (IndexableConstraint) constraint, nodeType ) );
     }
 
     public static boolean[] isIndexableForNode(IndexPrecedenceOption indexPrecedenceOption, short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints) {
+        return isIndexableForNode(indexPrecedenceOption, nodeType, keyDepth, constraints, false);
+    }
+
+    public static boolean[] isIndexableForNode(IndexPrecedenceOption indexPrecedenceOption, short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
         if (keyDepth < 1) {
             return new boolean[constraints.length];
         }
 
         return indexPrecedenceOption == IndexPrecedenceOption.EQUALITY_PRIORITY ?
-                findIndexableWithEqualityPriority(nodeType, keyDepth, constraints) :
-                findIndexableWithPatternOrder(nodeType, keyDepth, constraints);
+                findIndexableWithEqualityPriority(nodeType, keyDepth, constraints, joinComparisonIndex) :
+                findIndexableWithPatternOrder(nodeType, keyDepth, constraints, joinComparisonIndex);
     }
 
-    private static boolean[] findIndexableWithEqualityPriority(short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints) {
+    private static boolean[] findIndexableWithEqualityPriority(short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
         boolean[] indexable = new boolean[constraints.length];
         if (hasEqualIndexable(keyDepth, indexable, constraints)) {
             return indexable;
         }
 
-        if (!canHaveRangeIndex(nodeType)) {
+        if (!canHaveRangeIndex(nodeType) && !(joinComparisonIndex && nodeType == NodeTypeEnums.JoinNode)) {
             return indexable;
         }
 
         for (int i = 0; i < constraints.length; i++) {
-            if (isIndexable(constraints[i], nodeType)) {
+            if (isIndexable(constraints[i], nodeType, joinComparisonIndex)) {
                 sortRangeIndexable(constraints, indexable, i);
                 break;
             }
@@ -113,10 +160,10 @@ public class IndexUtil {
         return indexable;
     }
 
-    private static boolean[] findIndexableWithPatternOrder(short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints) {
+    private static boolean[] findIndexableWithPatternOrder(short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
         boolean[] indexable = new boolean[constraints.length];
         for (int i = 0; i < constraints.length; i++) {
-            if (isIndexable(constraints[i], nodeType)) {
+            if (isIndexable(constraints[i], nodeType, joinComparisonIndex)) {
                 if (isEqualIndexable(constraints[i])) {
                     sortEqualIndexable(keyDepth, indexable, constraints, i);
                 } else {
@@ -316,7 +363,7 @@ public class IndexUtil {
             return Collections.emptyList();
         }
 
-        Factory.IndexSpec indexSpec = new Factory.IndexSpec(config.getIndexPrecedenceOption(), keyDepth, betaNode.getType(), betaNode.getConstraints());
+        Factory.IndexSpec indexSpec = new Factory.IndexSpec(config.getIndexPrecedenceOption(), keyDepth, betaNode.getType(), betaNode.getConstraints(), config.isJoinComparisonIndex());
         List<String> indexedProps = new ArrayList<String>();
         for (FieldIndex fieldIndex : indexSpec.indexes) {
             indexedProps.add( getter2property(fieldIndex.getExtractor().getNativeReadMethodName()) );
@@ -335,7 +382,7 @@ public class IndexUtil {
                                        nodeType );
             }
 
-            IndexSpec indexSpec = new IndexSpec(config.getIndexPrecedenceOption(), keyDepth, nodeType, constraints);
+            IndexSpec indexSpec = new IndexSpec(config.getIndexPrecedenceOption(), keyDepth, nodeType, constraints, config.isJoinComparisonIndex());
             return new BetaMemory( createLeftMemory(config, indexSpec),
                                    createRightMemory(config, indexSpec),
                                    createContext(constraints),
@@ -404,14 +451,14 @@ public class IndexUtil {
             private ConstraintType ascendingConstraintType = null;
             private ConstraintType descendingConstraintType = null;
 
-            private IndexSpec(IndexPrecedenceOption indexPrecedenceOption, int keyDepth, short nodeType, BetaNodeFieldConstraint[] constraints) {
-                init(indexPrecedenceOption, keyDepth, nodeType, constraints);
+            private IndexSpec(IndexPrecedenceOption indexPrecedenceOption, int keyDepth, short nodeType, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
+                init(indexPrecedenceOption, keyDepth, nodeType, constraints, joinComparisonIndex);
             }
 
-            private void init(IndexPrecedenceOption indexPrecedenceOption, int keyDepth, short nodeType, BetaNodeFieldConstraint[] constraints) {
+            private void init(IndexPrecedenceOption indexPrecedenceOption, int keyDepth, short nodeType, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
                 int firstIndexableConstraint = indexPrecedenceOption == IndexPrecedenceOption.EQUALITY_PRIORITY ?
-                        determineTypeWithEqualityPriority(nodeType, constraints) :
-                        determineTypeWithPatternOrder(nodeType, constraints);
+                        determineTypeWithEqualityPriority(nodeType, constraints, joinComparisonIndex) :
+                        determineTypeWithPatternOrder(nodeType, constraints, joinComparisonIndex);
 
                 if (constraintType == ConstraintType.EQUAL) {
                     List<FieldIndex> indexList = new ArrayList<FieldIndex>();
@@ -454,7 +501,7 @@ public class IndexUtil {
                 }
             }
 
-            private int determineTypeWithEqualityPriority(short nodeType, BetaNodeFieldConstraint[] constraints) {
+            private int determineTypeWithEqualityPriority(short nodeType, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
                 int indexedConstraintPos = 0;
                 for (int i = 0; i < constraints.length; i++) {
                     if (constraints[i] instanceof IndexableConstraint) {
@@ -463,7 +510,7 @@ public class IndexUtil {
                         if (type == ConstraintType.EQUAL) {
                             constraintType = type;
                             return i;
-                        } else if (constraintType == ConstraintType.UNKNOWN && type.isIndexableForNode(nodeType)) {
+                        } else if (constraintType == ConstraintType.UNKNOWN && isIndexableForNode(nodeType, constraints[i], joinComparisonIndex)) {
                             constraintType = type;
                             indexedConstraintPos = i;
                         }
@@ -472,11 +519,10 @@ public class IndexUtil {
                 return indexedConstraintPos;
             }
 
-            private int determineTypeWithPatternOrder(short nodeType, BetaNodeFieldConstraint[] constraints) {
+            private int determineTypeWithPatternOrder(short nodeType, BetaNodeFieldConstraint[] constraints, boolean joinComparisonIndex) {
                 for (int i = 0; i < constraints.length; i++) {
-                    ConstraintType type = ConstraintType.getType(constraints[i]);
-                    if ( type.isIndexableForNode(nodeType) ) {
-                        constraintType = type;
+                    if ( isIndexableForNode(nodeType, constraints[i], joinComparisonIndex) ) {
+                        constraintType = ConstraintType.getType(constraints[i]);
                         return i;
                     }
                 }
@@ -111,25 +111,29 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
 
         TupleList list = null;
         while ( (list = (TupleList) it.next( list )) != null ) {
-            Tuple entry = list.getFirst();
-            while (entry != null) {
-                result.add(entry);
-                entry = (Tuple) entry.getNext();
-            }
+            addAll( result, list );
+        }
+        if ( tree.nullNode != null ) {
+            addAll( result, tree.nullNode );
         }
 
         return result.toArray(new Tuple[result.size()]);
     }
 
+    private static void addAll( List<Tuple> result, TupleList list ) {
+        for ( Tuple entry = list.getFirst(); entry != null; entry = (Tuple) entry.getNext() ) {
+            result.add(entry);
+        }
+    }
+
     public Tuple getFirst(Tuple rightTuple) {
         Comparable key = getRightIndexedValue( rightTuple );
         return (Tuple)getNext(key, true);
     }
 
     public Iterator<Tuple> iterator() {
-        TupleList list = tree.first();
-        Tuple firstTuple = list != null ? list.getFirst() : null;
-        return new FastIterator.IteratorAdapter(fastIterator(), firstTuple);
+        FastIterator it = fullFastIterator();
+        return new FastIterator.IteratorAdapter(it, it.next(null));
     }
 
     public boolean contains(Tuple leftTuple) {
@@ -142,7 +146,7 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
     }
 
     public FastIterator fullFastIterator() {
-        return new TupleFastIterator();
+        return new FullTupleFastIterator();
     }
 
     public FastIterator fullFastIterator(Tuple leftTuple) {
@@ -167,6 +171,10 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
     }
 
     private Tuple getNext(Comparable key, boolean first) {
+        if (key == null) {
+            // a null value never satisfies a comparison
+            return null;
+        }
         return left ? getNextLeft( key, first ) : getNextRight( key, first );
     }
 
@@ -232,6 +240,38 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
         }
     }
 
+    /**
+     * Iterates all the tuples in the tree in ascending key order, regardless of the constraint direction,
+     * followed by the ones having a null key.
+     */
+    public class FullTupleFastIterator implements FastIterator {
+        public Entry next(Entry object) {
+            if (object == null) {
+                Node<Comparable<Comparable>> firstNode = tree.first();
+                return firstNode != null ? firstNode.getFirst() : getFirstWithNullKey();
+            }
+            Tuple tuple = (Tuple) object;
+            Tuple next = (Tuple) tuple.getNext();
+            if (next != null) {
+                return next;
+            }
+            Comparable key = ((Node<Comparable<Comparable>>) tuple.getMemory()).key;
+            if (key == null) {
+                return null;
+            }
+            Node<Comparable<Comparable>> nextNode = tree.findNearestNode(key, false, Boundary.LOWER);
+            return nextNode != null ? nextNode.getFirst() : getFirstWithNullKey();
+        }
+
+        private Tuple getFirstWithNullKey() {
+            return tree.nullNode != null ? tree.nullNode.getFirst() : null;
+        }
+
+        public boolean isFullIterator() {
+            return true;
+        }
+    }
+
     public void clear() {
         tree = new TupleRBTree<Comparable<Comparable>>();
     }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.base.accumulators;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.kie.api.runtime.rule.AccumulateFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReversibleAccumulateFunctionTest {
+
+    @Test
+    public void testMaxReverse() {
+        checkMinMax( new MaxAccumulateFunction(), "b", "a", "c", "c" );
+        checkMinMax( new IntegerMaxAccumulateFunction(), 2, 1, 3, 3 );
+        checkMinMax( new LongMaxAccumulateFunction(), 2L, 1L, 3L, 3L );
+        checkMinMax( new NumericMaxAccumulateFunction(), 2, 1.5, 3L, 3L );
+    }
+
+    @Test
+    public void testMinReverse() {
+        checkMinMax( new MinAccumulateFunction(), "b", "c", "a", "a" );
+        checkMinMax( new IntegerMinAccumulateFunction(), 2, 3, 1, 1 );
+        checkMinMax( new LongMinAccumulateFunction(), 2L, 3L, 1L, 1L );
+        checkMinMax( new NumericMinAccumulateFunction(), 2, 3.5, 1L, 1L );
+    }
+
+    /**
+     * Accumulates the values in order, with the extreme one accumulated twice, then reverses them checking
+     * that the result moves back to the previous min/max only when all the occurrences of the extreme are gone
+     */
+    private <C extends Serializable> void checkMinMax( AccumulateFunction<C> function, Object middle, Object other, Object extreme, Object extremeDuplicate ) {
+        assertTrue( function.supportsReverse() );
+        C context = function.createContext();
+        function.init( context );
+        assertNull( function.getResult( context ) );
+
+        function.accumulate( context, middle );
+        function.accumulate( context, other );
+        function.accumulate( context, extreme );
+        function.accumulate( context, extremeDuplicate );
+        function.accumulate( context, null );
+        assertEquals( extreme, function.getResult( context ) );
+
+        function.reverse( context, extreme );
+        assertEquals( extreme, function.getResult( context ) );
+        function.reverse( context, extremeDuplicate );
+        assertEquals( middle, function.getResult( context ) );
+        function.reverse( context, null );
+        function.reverse( context, middle );
+        assertEquals( other, function.getResult( context ) );
+        function.reverse( context, other );
+        assertNull( function.getResult( context ) );
+    }
+
+    @Test
+    public void testNumericMinMaxPrecision() {
+        NumericMaxAccumulateFunction max = new NumericMaxAccumulateFunction();
+        NumericMaxAccumulateFunction.MaxData maxContext = max.createContext();
+        max.init( maxContext );
+        // all these values have the same double value
+        max.accumulate( maxContext, Long.MAX_VALUE - 1 );
+        max.accumulate( maxContext, Long.MAX_VALUE );
+        assertEquals( Long.MAX_VALUE, max.getResult( maxContext ) );
+        BigDecimal bigger = new BigDecimal( Long.MAX_VALUE ).add( new BigDecimal( "0.5" ) );
+        max.accumulate( maxContext, bigger );
+        assertEquals( bigger, max.getResult( maxContext ) );
+        max.reverse( maxContext, bigger );
+        max.reverse( maxContext, Long.MAX_VALUE );
+        assertEquals( Long.MAX_VALUE - 1, max.getResult( maxContext ) );
+
+        // equal numbers of different types are different instances
+        NumericMinAccumulateFunction min = new NumericMinAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData minContext = min.createContext();
+        min.init( minContext );
+        min.accumulate( minContext, 1L );
+        min.accumulate( minContext, 1 );
+        min.accumulate( minContext, 2.0 );
+        min.reverse( minContext, 1L );
+        assertEquals( 1, min.getResult( minContext ) );
+        min.reverse( minContext, 1 );
+        assertEquals( 2.0, min.getResult( minContext ) );
+    }
+
+    @Test
+    public void testDeserializeOldMinMax() throws Exception {
+        // before being reversible the min and max data serialized only their current result
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( 7 );
+            out.writeObject( 2.5 );
+        }
+
+        IntegerMaxAccumulateFunction function = new IntegerMaxAccumulateFunction();
+        IntegerMaxAccumulateFunction.MaxData context = function.createContext();
+        NumericMinAccumulateFunction numeric = new NumericMinAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData numericContext = numeric.createContext();
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            context.readExternal( in );
+            numericContext.readExternal( in );
+        }
+
+        assertEquals( 7, function.getResult( context ) );
+        function.accumulate( context, 9 );
+        assertEquals( 9, function.getResult( context ) );
+        function.reverse( context, 9 );
+        assertEquals( 7, function.getResult( context ) );
+
+        assertEquals( 2.5, numeric.getResult( numericContext ) );
+        numeric.accumulate( numericContext, 2L );
+        assertEquals( 2L, numeric.getResult( numericContext ) );
+    }
+
+    @Test
+    public void testSerializeMinMax() throws Exception {
+        IntegerMaxAccumulateFunction function = new IntegerMaxAccumulateFunction();
+        IntegerMaxAccumulateFunction.MaxData context = function.createContext();
+        function.init( context );
+        function.accumulate( context, 5 );
+        function.accumulate( context, 7 );
+        function.accumulate( context, 7 );
+
+        context = serializeAndDeserialize( context );
+        assertEquals( 7, function.getResult( context ) );
+        function.reverse( context, 7 );
+        function.reverse( context, 7 );
+        assertEquals( 5, function.getResult( context ) );
+
+        NumericMinAccumulateFunction numeric = new NumericMinAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData numericContext = numeric.createContext();
+        numeric.init( numericContext );
+        numeric.accumulate( numericContext, 3 );
+        numeric.accumulate( numericContext, 2.5 );
+
+        numericContext = serializeAndDeserialize( numericContext );
+        numeric.accumulate( numericContext, 2L );
+        assertEquals( 2L, numeric.getResult( numericContext ) );
+    }
+
+    @Test
+    public void testCompensatedSumReverse() {
+        SumAccumulateFunction sum = new SumAccumulateFunction();
+        SumAccumulateFunction.SumData sumData = sum.createContext();
+        sum.init( sumData );
+
+        AverageAccumulateFunction average = new AverageAccumulateFunction();
+        AverageAccumulateFunction.AverageData averageData = average.createContext();
+        average.init( averageData );
+
+        // a plain double sum loses the small values added to the big one and can't get back to the right total
+        double[] values = { 1e16, 1.0, -1e16, 0.1, 0.2 };
+        for (double value : values) {
+            sum.accumulate( sumData, value );
+            average.accumulate( averageData, value );
+        }
+        assertEquals( 1.3, (Double) sum.getResult( sumData ), 1e-15 );
+        assertEquals( 1.3 / 5, (Double) average.getResult( averageData ), 1e-15 );
+
+        for (int i = 0; i < 1000; i++) {
+            sum.accumulate( sumData, 0.1 );
+            sum.reverse( sumData, 0.1 );
+        }
+        sum.reverse( sumData, 0.1 );
+        sum.reverse( sumData, 0.2 );
+        sum.reverse( sumData, 1e16 );
+        sum.reverse( sumData, -1e16 );
+        assertEquals( 1.0, (Double) sum.getResult( sumData ), 0.0 );
+
+        sum.reverse( sumData, 1.0 );
+        assertEquals( 0.0, (Double) sum.getResult( sumData ), 0.0 );
+    }
+
+    @Test
+    public void testCompensatedSumOverflow() {
+        CompensatedSum sum = new CompensatedSum();
+        sum.add( Double.MAX_VALUE );
+        sum.add( Double.MAX_VALUE );
+        assertEquals( Double.POSITIVE_INFINITY, sum.getValue(), 0.0 );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T serializeAndDeserialize( T object ) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( object );
+        }
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            return (T) in.readObject();
+        }
+    }
+}
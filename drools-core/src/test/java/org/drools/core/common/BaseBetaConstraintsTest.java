@@ -34,6 +34,7 @@ import org.drools.core.util.AbstractHashTable.FieldIndex;
 import org.drools.core.util.AbstractHashTable.Index;
 import org.drools.core.util.LinkedList;
 import org.drools.core.util.LinkedListEntry;
+import org.drools.core.util.index.IndexUtil;
 import org.drools.core.util.index.IndexUtil.ConstraintType;
 import org.drools.core.util.index.TupleIndexHashTable;
 import org.drools.core.util.index.TupleList;
@@ -73,7 +74,13 @@ public abstract class BaseBetaConstraintsTest {
     protected void checkBetaConstraints(BetaNodeFieldConstraint[] constraints,
                                         Class cls,
                                         short betaNodeType) {
-        RuleBaseConfiguration config = new RuleBaseConfiguration();
+        checkBetaConstraints(constraints, cls, betaNodeType, new RuleBaseConfiguration());
+    }
+
+    protected void checkBetaConstraints(BetaNodeFieldConstraint[] constraints,
+                                        Class cls,
+                                        short betaNodeType,
+                                        RuleBaseConfiguration config) {
         int depth = config.getCompositeKeyDepth();
 
         BetaConstraints betaConstraints;
@@ -94,7 +101,7 @@ public abstract class BaseBetaConstraintsTest {
 
         // get indexed positions
         for ( int i = 0; i < constraints.length && list.size() < depth; i++ ) {
-            if ( ((IndexableConstraint)constraints[i]).isIndexable(betaNodeType) ) {
+            if ( IndexUtil.isIndexable(constraints[i], betaNodeType, config.isJoinComparisonIndex()) ) {
                 list.add( i );
             }
         }
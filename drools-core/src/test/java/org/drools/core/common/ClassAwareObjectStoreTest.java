@@ -179,13 +179,21 @@ public class ClassAwareObjectStoreTest {
 
     @Parameterized.Parameters
     public static Collection<Object[]> ruleBaseConfigurations() {
-        List<Object[]> configurations = new ArrayList<Object[]>(2);
+        List<Object[]> configurations = new ArrayList<Object[]>(4);
         configurations.add(new Object[]{new RuleBaseConfiguration() {{
             setAssertBehaviour(AssertBehaviour.EQUALITY);
         }}});
         configurations.add(new Object[]{new RuleBaseConfiguration() {{
             setAssertBehaviour(AssertBehaviour.IDENTITY);
         }}});
+        configurations.add(new Object[]{new RuleBaseConfiguration() {{
+            setAssertBehaviour(AssertBehaviour.EQUALITY);
+            setOffHeapObjectStore(true);
+        }}});
+        configurations.add(new Object[]{new RuleBaseConfiguration() {{
+            setAssertBehaviour(AssertBehaviour.IDENTITY);
+            setOffHeapObjectStore(true);
+        }}});
         return configurations;
     }
 
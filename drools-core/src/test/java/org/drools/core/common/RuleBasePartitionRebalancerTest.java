@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RuleBasePartitionRebalancerTest {
+
+    private static final int SLOTS = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
+
+    private final PartitionPropagationCounters counters = new PartitionPropagationCounters();
+
+    @Test
+    public void testHotPartitionGetsItsOwnSlot() {
+        List<RuleBasePartitionId> partitions = createPartitions( SLOTS * 2 );
+        // the first partition is much hotter than all the others together
+        record( partitions.get( 0 ), 1000 );
+        for (int i = 1; i < partitions.size(); i++) {
+            record( partitions.get( i ), 10 );
+        }
+
+        long before = maxSlotLoad( partitions, null );
+        Map<RuleBasePartitionId, Integer> assignment = new RuleBasePartitionRebalancer( null ).computeAssignment( partitions, counters );
+        long after = maxSlotLoad( partitions, assignment );
+
+        assertEquals( partitions.size(), assignment.size() );
+        assertTrue( after <= before );
+        if (SLOTS > 1) {
+            // the hot partition is left alone in its slot
+            assertEquals( 1000, after );
+        }
+    }
+
+    @Test
+    public void testBalancedPartitionsAreNotMoved() {
+        List<RuleBasePartitionId> partitions = createPartitions( SLOTS );
+        for (RuleBasePartitionId partition : partitions) {
+            record( partition, 100 );
+        }
+
+        Map<RuleBasePartitionId, Integer> assignment = new RuleBasePartitionRebalancer( null ).computeAssignment( partitions, counters );
+        for (RuleBasePartitionId partition : partitions) {
+            assertEquals( partition.getParallelEvaluationSlot(), (int) assignment.get( partition ) );
+        }
+    }
+
+    private List<RuleBasePartitionId> createPartitions( int nr ) {
+        List<RuleBasePartitionId> partitions = new ArrayList<>();
+        for (int i = 0; i < nr; i++) {
+            partitions.add( RuleBasePartitionId.createPartition() );
+        }
+        return partitions;
+    }
+
+    private void record( RuleBasePartitionId partition, int propagations ) {
+        for (int i = 0; i < propagations; i++) {
+            counters.recordPropagation( partition );
+        }
+    }
+
+    private long maxSlotLoad( List<RuleBasePartitionId> partitions, Map<RuleBasePartitionId, Integer> assignment ) {
+        long[] loads = new long[SLOTS];
+        for (RuleBasePartitionId partition : partitions) {
+            int slot = assignment == null ? partition.getParallelEvaluationSlot() : assignment.get( partition );
+            loads[slot] += counters.getPropagationsCount( partition );
+        }
+        long max = 0;
+        for (long load : loads) {
+            max = Math.max( max, load );
+        }
+        return max;
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.drools.core.common;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.base.evaluators.Operator;
 import org.drools.core.test.model.Cheese;
 
@@ -47,9 +48,18 @@ public class SingleBetaConstraintsTest extends BaseBetaConstraintsTest {
     }
 
     @Test
-    public void testNotIndexedForComparison() {
+    public void testNotIndexedForComparisonOnJoin() {
         BetaNodeFieldConstraint  constraint0 = getConstraint( "cheeseType0", Operator.LESS, "type", Cheese.class );
         BetaNodeFieldConstraint [] constraints = new BetaNodeFieldConstraint [] { constraint0 };
         checkBetaConstraints( constraints, SingleBetaConstraints.class, NodeTypeEnums.JoinNode );
     }
+
+    @Test
+    public void testIndexedForComparisonOnJoin() {
+        RuleBaseConfiguration config = new RuleBaseConfiguration();
+        config.setJoinComparisonIndex( true );
+        BetaNodeFieldConstraint  constraint0 = getConstraint( "cheeseType0", Operator.LESS, "type", Cheese.class );
+        BetaNodeFieldConstraint [] constraints = new BetaNodeFieldConstraint [] { constraint0 };
+        checkBetaConstraints( constraints, SingleBetaConstraints.class, NodeTypeEnums.JoinNode, config );
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testExpireInFirstLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>( 10, 8, 0 );
+        wheel.schedule( 30, "a" );
+        wheel.schedule( 25, "b" );
+        wheel.schedule( 70, "c" );
+        assertEquals( 3, wheel.size() );
+
+        assertTrue( wheel.advance( 29 ).isEmpty() );
+        // 25 is rounded up to the next tick, so it expires together with 30
+        assertEquals( Arrays.asList( "a", "b" ), wheel.advance( 30 ) );
+        assertEquals( Collections.singletonList( "c" ), wheel.advance( 100 ) );
+        assertTrue( wheel.isEmpty() );
+    }
+
+    @Test
+    public void testCascadeFromUpperLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>( 1, 4, 0 );
+        List<Long> expirations = Arrays.asList( 5L, 17L, 64L, 65L, 300L, 1000L );
+        for (Long expiration : expirations) {
+            wheel.schedule( expiration, expiration );
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 1000; now++) {
+            for (Long expiration : wheel.advance( now )) {
+                assertEquals( now, expiration.longValue() );
+                expired.add( expiration );
+            }
+        }
+        assertEquals( expirations, expired );
+    }
+
+    @Test
+    public void testAdvanceInOneStep() {
+        TimingWheel<Integer> wheel = new TimingWheel<>( 1, 8, 100 );
+        Random random = new Random( 0 );
+        List<Integer> expirations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int expiration = 100 + random.nextInt( 100_000 );
+            expirations.add( expiration );
+            wheel.schedule( expiration, expiration );
+        }
+
+        List<Integer> expired = wheel.advance( 100_100 );
+        Collections.sort( expirations );
+        assertEquals( expirations, expired );
+        assertEquals( 100_100, wheel.getCurrentTime() );
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>( 1, 16, 0 );
+        TimingWheel.Entry<String> a = wheel.schedule( 10, "a" );
+        TimingWheel.Entry<String> b = wheel.schedule( 10, "b" );
+        TimingWheel.Entry<String> c = wheel.schedule( 1000, "c" );
+
+        assertTrue( wheel.cancel( b ) );
+        assertFalse( wheel.cancel( b ) );
+        assertTrue( wheel.cancel( c ) );
+        assertEquals( 1, wheel.size() );
+
+        assertEquals( Collections.singletonList( "a" ), wheel.advance( 2000 ) );
+        assertFalse( a.isScheduled() );
+        assertFalse( wheel.cancel( a ) );
+    }
+
+    @Test
+    public void testNextExpirationTime() {
+        TimingWheel<String> wheel = new TimingWheel<>( 10, 4, 0 );
+        assertEquals( -1, wheel.getNextExpirationTime() );
+
+        TimingWheel.Entry<String> a = wheel.schedule( 25, "a" );
+        wheel.schedule( 1000, "b" );
+        assertEquals( 30, wheel.getNextExpirationTime() );
+
+        assertTrue( wheel.cancel( a ) );
+        assertEquals( 1000, wheel.getNextExpirationTime() );
+
+        // the entry cascades from the upper levels while the wheel advances
+        assertTrue( wheel.advance( 990 ).isEmpty() );
+        assertEquals( 1000, wheel.getNextExpirationTime() );
+        assertEquals( Collections.singletonList( "b" ), wheel.advance( 1000 ) );
+        assertEquals( -1, wheel.getNextExpirationTime() );
+
+        wheel.schedule( 500, "late" );
+        assertEquals( 1000, wheel.getNextExpirationTime() );
+    }
+
+    @Test
+    public void testScheduleInThePast() {
+        TimingWheel<String> wheel = new TimingWheel<>( 10, 8, 1000 );
+        wheel.schedule( 500, "late" );
+        assertEquals( Collections.singletonList( "late" ), wheel.advance( 1000 ) );
+    }
+}
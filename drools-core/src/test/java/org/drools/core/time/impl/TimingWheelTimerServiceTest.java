@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.time.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Properties;
+
+import org.drools.core.SessionConfiguration;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.TimerServiceFactory;
+import org.drools.core.time.impl.JDKTimerServiceTest.DelayedTrigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJob;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJobContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTimerServiceTest {
+
+    @Test
+    public void testTimingWheelTimerService() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty( "drools.timerService", TimingWheelTimerService.class.getName() );
+        TimerService timeService = TimerServiceFactory.getTimerService( SessionConfiguration.newInstance( properties ) );
+        assertTrue( timeService instanceof TimingWheelTimerService );
+
+        HelloWorldJobContext single = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), single, new DelayedTrigger( 100 ) );
+
+        HelloWorldJobContext repeated = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), repeated, new DelayedTrigger( new long[] { 100, 100, 100 } ) );
+
+        HelloWorldJobContext removed = new HelloWorldJobContext( "hello world", timeService );
+        removed.setJobHandle( timeService.scheduleJob( new HelloWorldJob(), removed, new DelayedTrigger( 2000 ) ) );
+        assertTrue( timeService.removeJob( removed.getJobHandle() ) );
+
+        Thread.sleep( 1000 );
+        timeService.shutdown();
+        assertEquals( 1, single.getList().size() );
+        assertEquals( 3, repeated.getList().size() );
+        assertEquals( 0, removed.getList().size() );
+    }
+
+    @Test
+    public void testRepeatedExecutionJobWithRemove() throws Exception {
+        TimingWheelTimerService timeService = new TimingWheelTimerService();
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        // the job removes itself from within its execution after having run 5 times
+        timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( new long[] { 100, 100, 100, 100, 100, 100, 100, 100 } ) );
+        Thread.sleep( 1000 );
+        timeService.shutdown();
+        assertEquals( 5, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRemoveJob() throws Exception {
+        TimingWheelTimerService timeService = new TimingWheelTimerService();
+        HelloWorldJobContext kept = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), kept, new DelayedTrigger( 100 ) );
+        HelloWorldJobContext removed = new HelloWorldJobContext( "hello world", timeService );
+        JobHandle jobHandle = timeService.scheduleJob( new HelloWorldJob(), removed, new DelayedTrigger( 100 ) );
+
+        assertTrue( timeService.removeJob( jobHandle ) );
+        assertTrue( jobHandle.isCancel() );
+        assertFalse( timeService.removeJob( jobHandle ) );
+
+        Thread.sleep( 500 );
+        timeService.shutdown();
+        assertEquals( 1, kept.getList().size() );
+        assertEquals( 0, removed.getList().size() );
+        // a job already executed can't be removed anymore
+        assertFalse( timeService.removeJob( kept.getJobHandle() ) );
+    }
+
+    @Test
+    public void testTimeToNextJob() {
+        TimingWheelTimerService timeService = new TimingWheelTimerService();
+        try {
+            assertEquals( -1, timeService.getTimeToNextJob() );
+
+            HelloWorldJobContext later = new HelloWorldJobContext( "hello world", timeService );
+            JobHandle laterHandle = timeService.scheduleJob( new HelloWorldJob(), later, new DelayedTrigger( 60000 ) );
+            long timeToNextJob = timeService.getTimeToNextJob();
+            assertTrue( timeToNextJob > 50000 && timeToNextJob <= 60000 + TimingWheelTimerService.DEFAULT_TICK_MILLIS );
+
+            HelloWorldJobContext sooner = new HelloWorldJobContext( "hello world", timeService );
+            JobHandle soonerHandle = timeService.scheduleJob( new HelloWorldJob(), sooner, new DelayedTrigger( 30000 ) );
+            timeToNextJob = timeService.getTimeToNextJob();
+            assertTrue( timeToNextJob > 20000 && timeToNextJob <= 30000 + TimingWheelTimerService.DEFAULT_TICK_MILLIS );
+
+            assertTrue( timeService.removeJob( soonerHandle ) );
+            assertTrue( timeService.getTimeToNextJob() > 50000 );
+
+            assertTrue( timeService.removeJob( laterHandle ) );
+            assertEquals( -1, timeService.getTimeToNextJob() );
+        } finally {
+            timeService.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleWakeUp() throws Exception {
+        TimingWheelTimerService timeService = new TimingWheelTimerService();
+        try {
+            // an idle wheel doesn't tick and doesn't keep any thread alive
+            assertTrue( timeService.ticker.getQueue().isEmpty() );
+            assertEquals( 0, timeService.ticker.getPoolSize() );
+
+            HelloWorldJobContext later = new HelloWorldJobContext( "hello world", timeService );
+            timeService.scheduleJob( new HelloWorldJob(), later, new DelayedTrigger( 60000 ) );
+            assertEquals( 1, timeService.ticker.getQueue().size() );
+
+            // a sooner job re-arms the single wake-up
+            HelloWorldJobContext sooner = new HelloWorldJobContext( "hello world", timeService );
+            timeService.scheduleJob( new HelloWorldJob(), sooner, new DelayedTrigger( 100 ) );
+            assertEquals( 1, timeService.ticker.getQueue().size() );
+
+            Thread.sleep( 500 );
+            assertEquals( 1, sooner.getList().size() );
+            assertEquals( 0, later.getList().size() );
+            // once the sooner job is executed the wake-up is armed for the later one
+            assertEquals( 1, timeService.ticker.getQueue().size() );
+        } finally {
+            timeService.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimerJobInstancesOfSession() {
+        TimingWheelTimerService timeService = new TimingWheelTimerService();
+        timeService.setTimerJobFactoryManager( new TrackableTimeJobFactoryManager() );
+        try {
+            SessionJobContext session1 = new SessionJobContext( 1L, timeService );
+            JobHandle jobHandle = timeService.scheduleJob( new HelloWorldJob(), session1, new DelayedTrigger( 60000 ) );
+            SessionJobContext session2 = new SessionJobContext( 2L, timeService );
+            timeService.scheduleJob( new HelloWorldJob(), session2, new DelayedTrigger( 60000 ) );
+
+            Collection<TimerJobInstance> jobs = timeService.getTimerJobInstances( 1L );
+            assertEquals( 1, jobs.size() );
+            assertSame( session1, jobs.iterator().next().getJobContext() );
+            assertEquals( 1, timeService.getTimerJobInstances( 2L ).size() );
+            assertTrue( timeService.getTimerJobInstances( 3L ).isEmpty() );
+
+            assertTrue( timeService.removeJob( jobHandle ) );
+            assertTrue( timeService.getTimerJobInstances( 1L ).isEmpty() );
+        } finally {
+            timeService.shutdown();
+        }
+    }
+
+    public static class SessionJobContext extends HelloWorldJobContext {
+        private final long sessionId;
+
+        public SessionJobContext(long sessionId, TimerService timeService) {
+            super( "hello world", timeService );
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public InternalWorkingMemory getWorkingMemory() {
+            return (InternalWorkingMemory) Proxy.newProxyInstance( InternalWorkingMemory.class.getClassLoader(),
+                                                                   new Class[]{InternalWorkingMemory.class},
+                                                                   ( proxy, method, args ) -> method.getName().equals( "getIdentifier" ) ? sessionId : null );
+        }
+    }
+}
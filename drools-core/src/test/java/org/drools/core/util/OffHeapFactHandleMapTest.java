@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.common.InternalFactHandle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapFactHandleMapTest {
+
+    @Test
+    public void testPutGetRemoveWithResize() {
+        OffHeapFactHandleMap map = new OffHeapFactHandleMap();
+        List<InternalFactHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            InternalFactHandle handle = new DefaultFactHandle( i, "fact" + i );
+            handles.add( handle );
+            assertTrue( map.put( handle ) );
+        }
+        assertEquals( 1000, map.size() );
+
+        for (InternalFactHandle handle : handles) {
+            assertSame( handle, map.get( handle ) );
+            assertSame( handle, map.get( handle.getObject() ) );
+        }
+        // a different object, even if equal, isn't found
+        assertNull( map.get( new String( "fact1" ) ) );
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertSame( handles.get( i ), map.remove( handles.get( i ) ) );
+        }
+        assertEquals( 500, map.size() );
+        for (int i = 0; i < 1000; i++) {
+            InternalFactHandle handle = handles.get( i );
+            if (i % 2 == 0) {
+                assertNull( map.get( handle ) );
+                assertNull( map.remove( handle ) );
+            } else {
+                assertSame( handle, map.get( handle.getObject() ) );
+            }
+        }
+    }
+
+    @Test
+    public void testPutExistingHandle() {
+        OffHeapFactHandleMap map = new OffHeapFactHandleMap();
+        Object fact = new Object();
+        InternalFactHandle handle = new DefaultFactHandle( 1, fact );
+        assertTrue( map.put( handle ) );
+        assertFalse( map.put( handle ) );
+        assertEquals( 1, map.size() );
+    }
+
+    @Test
+    public void testRemoveWhileIterating() {
+        OffHeapFactHandleMap map = new OffHeapFactHandleMap();
+        Set<InternalFactHandle> handles = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            InternalFactHandle handle = new DefaultFactHandle( i, new Object() );
+            handles.add( handle );
+            map.put( handle );
+        }
+
+        for (Iterator<InternalFactHandle> it = map.iterator(); it.hasNext(); ) {
+            InternalFactHandle handle = it.next();
+            assertTrue( handles.remove( handle ) );
+            map.remove( handle );
+        }
+        assertTrue( handles.isEmpty() );
+        assertTrue( map.isEmpty() );
+    }
+}
@@ -615,4 +615,105 @@ public class RightTupleIndexHashTableTest {
         assertNull( map.getFirst( new LeftTupleImpl( stiltonHandle, null, true ) ) );
     }
 
+
+    @Test
+    public void testPrimitiveIntIndex() throws Exception {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "price" );
+
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final Declaration declaration = new Declaration( "priceOfCheese",
+                                                         extractor,
+                                                         pattern );
+
+        final FieldIndex fieldIndex = new FieldIndex( extractor,
+                                                      declaration,
+                                                      MvelConstraint.INDEX_EVALUATOR );
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( new FieldIndex[]{fieldIndex}, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.IntSingleIndex );
+
+        final RightTuple stiltonTuple = newRightTuple( 1, new Cheese( "stilton", 35 ) );
+        map.add( stiltonTuple );
+        final RightTuple cheddarTuple = newRightTuple( 2, new Cheese( "cheddar", 35 ) );
+        map.add( cheddarTuple );
+        map.add( newRightTuple( 3, new Cheese( "brie", 20 ) ) );
+
+        assertEquals( 3,
+                      map.size() );
+        assertEquals( 2,
+                      tablePopulationSize( map ) );
+
+        final Tuple tuple = map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4, new Cheese( "gorgonzola", 35 ) ),
+                                                             null,
+                                                             true ) );
+        assertSame( stiltonTuple, tuple );
+        assertSame( cheddarTuple, tuple.getNext() );
+        assertNull( tuple.getNext().getNext() );
+
+        assertNull( map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 5, new Cheese( "gouda", 40 ) ),
+                                                     null,
+                                                     true ) ) );
+
+        map.remove( stiltonTuple );
+        map.remove( cheddarTuple );
+        assertEquals( 1,
+                      map.size() );
+        assertEquals( 1,
+                      tablePopulationSize( map ) );
+    }
+
+    @Test
+    public void testStringIndexIsSpecialized() {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "type" );
+
+        final Declaration declaration = new Declaration( "typeOfCheese",
+                                                         extractor,
+                                                         new Pattern( 0, new ClassObjectType( Cheese.class ) ) );
+
+        final FieldIndex fieldIndex = new FieldIndex( extractor,
+                                                      declaration,
+                                                      MvelConstraint.INDEX_EVALUATOR );
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( new FieldIndex[]{fieldIndex}, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.StringSingleIndex );
+    }
+
+
+    @Test
+    public void testMultiCompositeIndex() throws Exception {
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final String[] fields = new String[] { "type", "price", "charType", "type" };
+        final FieldIndex[] fieldIndexes = new FieldIndex[fields.length];
+        for ( int i = 0; i < fields.length; i++ ) {
+            final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                    fields[i] );
+            fieldIndexes[i] = new FieldIndex( extractor,
+                                              new Declaration( fields[i] + i + "OfCheese", extractor, pattern ),
+                                              MvelConstraint.INDEX_EVALUATOR );
+        }
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( fieldIndexes, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.MultiCompositeIndex );
+
+        final RightTuple stiltonTuple = newRightTuple( 1, new Cheese( "stilton", 35 ) );
+        map.add( stiltonTuple );
+        map.add( newRightTuple( 2, new Cheese( "stilton", 20 ) ) );
+        map.add( newRightTuple( 3, new Cheese( "cheddar", 35 ) ) );
+
+        assertEquals( 3,
+                      map.size() );
+
+        final Tuple tuple = map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4, new Cheese( "stilton", 35 ) ),
+                                                             null,
+                                                             true ) );
+        assertSame( stiltonTuple, tuple );
+        assertNull( tuple.getNext() );
+    }
+
 }
@@ -98,6 +98,7 @@ import org.drools.model.view.Expr8ViewItemImpl;
 import org.drools.model.view.Expr9ViewItemImpl;
 import org.drools.model.view.ExprViewItem;
 import org.drools.model.view.FixedValueItem;
+import org.drools.model.view.GroupByExprViewItem;
 import org.drools.model.view.ViewItem;
 import org.drools.model.view.ViewItemBuilder;
 
@@ -487,6 +488,14 @@ public class DSL {
         return new AccumulateExprViewItem(viewItem, functions);
     }
 
+    public static <T, K> ExprViewItem<T> groupBy(ViewItem<T> viewItem, Variable<T> var, Variable<K> varKey, Function1<T, K> groupingFunction,
+                                                 AccumulateFunction firstFunction, AccumulateFunction... otherFunctions) {
+        AccumulateFunction[] functions = new AccumulateFunction[otherFunctions.length+1];
+        functions[0] = firstFunction;
+        System.arraycopy( otherFunctions, 0, functions, 1, otherFunctions.length );
+        return new GroupByExprViewItem<>(viewItem, var, varKey, groupingFunction, functions);
+    }
+
     // Legay case - source is defined in the generated Invoker class
     public static AccumulateFunction accFunction( Class<?> accFunctionClass) {
         return accFunction( accFunctionClass, null );
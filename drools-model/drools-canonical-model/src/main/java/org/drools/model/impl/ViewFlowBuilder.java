@@ -66,6 +66,7 @@ import org.drools.model.patterns.AccumulatePatternImpl;
 import org.drools.model.patterns.CompositePatterns;
 import org.drools.model.patterns.EvalImpl;
 import org.drools.model.patterns.ExistentialPatternImpl;
+import org.drools.model.patterns.GroupByPatternImpl;
 import org.drools.model.patterns.PatternImpl;
 import org.drools.model.patterns.QueryCallPattern;
 import org.drools.model.view.AbstractExprViewItem;
@@ -88,6 +89,7 @@ import org.drools.model.view.Expr9ViewItemImpl;
 import org.drools.model.view.ExprNViewItem;
 import org.drools.model.view.ExprViewItem;
 import org.drools.model.view.FixedValueItem;
+import org.drools.model.view.GroupByExprViewItem;
 import org.drools.model.view.InputViewItem;
 import org.drools.model.view.InputViewItemImpl;
 import org.drools.model.view.QueryCallViewItem;
@@ -425,6 +427,12 @@ public class ViewFlowBuilder implements ViewBuilder {
                 newCondition = viewItem2Condition(acc.getExpr(), condition, ctx);
             }
 
+            if ( acc instanceof GroupByExprViewItem ) {
+                GroupByExprViewItem groupBy = (GroupByExprViewItem) acc;
+                ctx.usedVars.add( groupBy.getVarKey() );
+                return new GroupByPatternImpl(newCondition, groupBy.getVar(), groupBy.getVarKey(), groupBy.getGroupingFunction(), acc.getAccumulateFunctions());
+            }
+
             return new AccumulatePatternImpl(newCondition, acc.getAccumulateFunctions());
         }
 
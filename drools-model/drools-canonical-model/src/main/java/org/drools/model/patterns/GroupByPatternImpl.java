@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.model.patterns;
+
+import org.drools.model.Condition;
+import org.drools.model.GroupByPattern;
+import org.drools.model.Variable;
+import org.drools.model.functions.Function1;
+import org.drools.model.functions.accumulate.AccumulateFunction;
+import org.drools.model.impl.ModelComponent;
+
+public class GroupByPatternImpl<T, K> extends AccumulatePatternImpl<T> implements GroupByPattern<T, K> {
+
+    private final Variable<T> varT;
+    private final Variable<K> varKey;
+    private final Function1<T, K> groupingFunction;
+
+    public GroupByPatternImpl( Condition condition, Variable<T> varT, Variable<K> varKey, Function1<T, K> groupingFunction, AccumulateFunction... accumulateFunctions ) {
+        super( condition, accumulateFunctions );
+        this.varT = varT;
+        this.varKey = varKey;
+        this.groupingFunction = groupingFunction;
+    }
+
+    @Override
+    public Variable<T> getVarT() {
+        return varT;
+    }
+
+    @Override
+    public Variable<K> getVarKey() {
+        return varKey;
+    }
+
+    @Override
+    public Function1<T, K> getGroupingFunction() {
+        return groupingFunction;
+    }
+
+    @Override
+    public boolean isEqualTo( ModelComponent o ) {
+        if ( this == o ) return true;
+        if ( !(o instanceof GroupByPatternImpl) ) return false;
+
+        GroupByPatternImpl<?, ?> that = ( GroupByPatternImpl<?, ?> ) o;
+
+        if ( !super.isEqualTo( that ) ) return false;
+        if ( !ModelComponent.areEqualInModel( varT, that.varT ) ) return false;
+        if ( !ModelComponent.areEqualInModel( varKey, that.varKey ) ) return false;
+        return groupingFunction.equals( that.groupingFunction );
+    }
+
+    @Override
+    public String toString() {
+        return "GroupByPatternImpl (" +
+                "key: " + varKey + ", " +
+                super.toString() + ")";
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.model.view;
+
+import org.drools.model.Variable;
+import org.drools.model.functions.Function1;
+import org.drools.model.functions.accumulate.AccumulateFunction;
+
+public class GroupByExprViewItem<T, K> extends AccumulateExprViewItem<T> {
+
+    private final Variable<T> var;
+    private final Variable<K> varKey;
+    private final Function1<T, K> groupingFunction;
+
+    public GroupByExprViewItem( ViewItem<T> expr, Variable<T> var, Variable<K> varKey, Function1<T, K> groupingFunction, AccumulateFunction... accumulateFunctions ) {
+        super( expr, accumulateFunctions );
+        this.var = var;
+        this.varKey = varKey;
+        this.groupingFunction = groupingFunction;
+    }
+
+    public Variable<T> getVar() {
+        return var;
+    }
+
+    public Variable<K> getVarKey() {
+        return varKey;
+    }
+
+    public Function1<T, K> getGroupingFunction() {
+        return groupingFunction;
+    }
+}
@@ -51,6 +51,7 @@ import org.drools.core.rule.Declaration;
 import org.drools.core.rule.EntryPointId;
 import org.drools.core.rule.EvalCondition;
 import org.drools.core.rule.Forall;
+import org.drools.core.rule.GroupByAccumulate;
 import org.drools.core.rule.GroupElement;
 import org.drools.core.rule.MultiAccumulate;
 import org.drools.core.rule.NamedConsequence;
@@ -87,6 +88,7 @@ import org.drools.model.From1;
 import org.drools.model.From2;
 import org.drools.model.From3;
 import org.drools.model.Global;
+import org.drools.model.GroupByPattern;
 import org.drools.model.Index;
 import org.drools.model.Model;
 import org.drools.model.Prototype;
@@ -128,6 +130,7 @@ import org.drools.modelcompiler.constraints.LambdaAccumulator;
 import org.drools.modelcompiler.constraints.LambdaConstraint;
 import org.drools.modelcompiler.constraints.LambdaDataProvider;
 import org.drools.modelcompiler.constraints.LambdaEvalExpression;
+import org.drools.modelcompiler.constraints.LambdaGroupByAccumulate;
 import org.drools.modelcompiler.constraints.LambdaReadAccessor;
 import org.drools.modelcompiler.constraints.TemporalConstraintEvaluator;
 import org.drools.modelcompiler.constraints.UnificationConstraint;
@@ -435,7 +438,7 @@ public class KiePackagesBuilder {
             case ACCUMULATE: {
                 AccumulatePattern accumulatePattern = (AccumulatePattern) condition;
                 Pattern pattern = null;
-                if (accumulatePattern.getAccumulateFunctions().length == 1) {
+                if (accumulatePattern.getAccumulateFunctions().length == 1 && !(accumulatePattern instanceof GroupByPattern)) {
                     pattern = ctx.getPattern( accumulatePattern.getAccumulateFunctions()[0].getResult() );
                 }
                 boolean existingPattern = pattern != null;
@@ -686,7 +689,9 @@ public class KiePackagesBuilder {
         BindingEvaluator bindingEvaluator = createBindingEvaluator(ctx, binding);
         Accumulate accumulate;
 
-        if (accFunctions.length == 1) {
+        if (accPattern instanceof GroupByPattern) {
+            accumulate = buildGroupBy(ctx, (GroupByPattern<?, ?>) accPattern, source, pattern, usedVariableName, bindingEvaluator);
+        } else if (accFunctions.length == 1) {
             final AccumulateFunction accFunction = accFunctions[0];
             final Accumulator accumulator = createAccumulator(usedVariableName, bindingEvaluator, accFunction);
             final Variable boundVar = accPattern.getBoundVariables()[0];
@@ -738,6 +743,35 @@ public class KiePackagesBuilder {
         return accumulate;
     }
 
+    private Accumulate buildGroupBy(RuleContext ctx, GroupByPattern<?, ?> groupByPattern,
+                                    RuleConditionElement source, Pattern pattern,
+                                    List<String> usedVariableName, BindingEvaluator bindingEvaluator) {
+        // the result of each group is an array containing the results of the accumulate functions followed by the key
+        AccumulateFunction[] accFunctions = groupByPattern.getAccumulateFunctions();
+        InternalReadAccessor reader = new SelfReferenceClassFieldReader( Object[].class );
+        Accumulator[] accumulators = new Accumulator[accFunctions.length];
+        for (int i = 0; i < accFunctions.length; i++) {
+            accumulators[i] = createAccumulator(usedVariableName, bindingEvaluator, accFunctions[i]);
+
+            Variable boundVar = groupByPattern.getBoundVariables()[i];
+            pattern.addDeclaration( new Declaration( boundVar.getName(),
+                                    new ArrayElementReader( reader, i, boundVar.getType() ),
+                                    pattern,
+                                    true ) );
+        }
+
+        Variable<?> varKey = groupByPattern.getVarKey();
+        pattern.addDeclaration( new Declaration( varKey.getName(),
+                                new ArrayElementReader( reader, accFunctions.length, varKey.getType() ),
+                                pattern,
+                                true ) );
+
+        Accumulate innerAccumulate = new MultiAccumulate( source, new Declaration[0], accumulators );
+        Accumulate accumulate = new LambdaGroupByAccumulate( innerAccumulate, ctx.getDeclaration( groupByPattern.getVarT() ), groupByPattern.getGroupingFunction() );
+        ctx.addAccumulateSource( varKey, accumulate );
+        return accumulate;
+    }
+
     private Declaration[] getRequiredDeclarationsForAccumulate( RuleContext ctx, Binding binding, AccumulateFunction accFunction ) {
         if (binding != null || accFunction.getSource() == null) {
             if (accFunction.getExternalVars() != null) {
@@ -832,7 +866,7 @@ public class KiePackagesBuilder {
                 if (accSource != null) {
                     for (RuleConditionElement element : group.getChildren()) {
                         if (element instanceof Pattern && (( Pattern ) element).getSource() == accSource) {
-                            if (accSource instanceof MultiAccumulate ) {
+                            if (accSource instanceof MultiAccumulate || accSource instanceof GroupByAccumulate) {
                                 (( Pattern ) element).getConstraints().forEach( pattern::addConstraint );
                                 (( Pattern ) element).getDeclarations().values().forEach( d -> {
                                     pattern.addDeclaration(d);
@@ -954,7 +988,7 @@ public class KiePackagesBuilder {
             declarations[i] = ctx.getDeclaration( vars[i] );
             if ( isEqual && declarations[i].getPattern().getObjectType().equals( ClassObjectType.DroolsQuery_ObjectType ) ) {
                 unificationDeclaration = declarations[i];
-            } else if ( pattern.getSource() instanceof MultiAccumulate ) {
+            } else if ( pattern.getSource() instanceof MultiAccumulate || pattern.getSource() instanceof GroupByAccumulate ) {
                 Declaration accDeclaration = pattern.getDeclarations().get( declarations[i].getBindingName() );
                 if (accDeclaration != null) {
                     declarations[i].setReadAccessor( accDeclaration.getExtractor() );
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.modelcompiler.constraints;
+
+import org.drools.core.WorkingMemory;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.reteoo.SubnetworkTuple;
+import org.drools.core.rule.Accumulate;
+import org.drools.core.rule.Declaration;
+import org.drools.core.rule.GroupByAccumulate;
+import org.drools.core.spi.Tuple;
+import org.drools.model.functions.Function1;
+
+public class LambdaGroupByAccumulate extends GroupByAccumulate {
+
+    private Declaration groupingDeclaration;
+    private Function1 groupingFunction;
+
+    public LambdaGroupByAccumulate() { }
+
+    public LambdaGroupByAccumulate( Accumulate innerAccumulate, Declaration groupingDeclaration, Function1 groupingFunction ) {
+        super( innerAccumulate );
+        this.groupingDeclaration = groupingDeclaration;
+        this.groupingFunction = groupingFunction;
+    }
+
+    @Override
+    public Object getKey( Tuple tuple, InternalFactHandle handle, WorkingMemory workingMemory ) {
+        Object object = handle.getObject();
+        if (object instanceof SubnetworkTuple) {
+            object = (( SubnetworkTuple ) object).getObject( groupingDeclaration );
+        }
+        return groupingFunction.apply( object );
+    }
+
+    @Override
+    public Accumulate clone() {
+        LambdaGroupByAccumulate clone = new LambdaGroupByAccumulate( cloneInnerAccumulate(), groupingDeclaration, groupingFunction );
+        registerClone( clone );
+        return clone;
+    }
+
+    @Override
+    public void replaceDeclaration( Declaration declaration, Declaration resolved ) {
+        if ( groupingDeclaration.equals( declaration ) ) {
+            groupingDeclaration = resolved;
+        }
+        super.replaceDeclaration( declaration, resolved );
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.drools.modelcompiler;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,6 +28,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.assertj.core.api.Assertions;
 import org.drools.core.ClockType;
+import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.rule.QueryImpl;
 import org.drools.model.BitMask;
 import org.drools.model.DSL;
@@ -53,6 +56,7 @@ import org.junit.Test;
 import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.marshalling.Marshaller;
 import org.kie.api.runtime.ClassObjectFilter;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
@@ -71,6 +75,7 @@ import static org.drools.model.PatternDSL.betaIndexedBy;
 import static org.drools.model.PatternDSL.declarationOf;
 import static org.drools.model.PatternDSL.execute;
 import static org.drools.model.PatternDSL.globalOf;
+import static org.drools.model.PatternDSL.groupBy;
 import static org.drools.model.PatternDSL.not;
 import static org.drools.model.PatternDSL.on;
 import static org.drools.model.PatternDSL.or;
@@ -281,6 +286,128 @@ public class PatternDSLTest {
         assertEquals("total = 77; average = 38.5", result.getValue());
     }
 
+    @Test
+    public void testGroupBy() {
+        List<String> results = new ArrayList<>();
+        Variable<Person> person = declarationOf(  Person.class );
+        Variable<String> initial = declarationOf(  String.class );
+        Variable<Integer> age = declarationOf(  Integer.class );
+        Variable<Integer> resultSum = declarationOf(  Integer.class );
+        Variable<Long> resultCount = declarationOf(  Long.class );
+
+        Rule rule = rule("groupBy")
+                .build(
+                        groupBy( pattern( person ).bind(age, Person::getAge),
+                                person, initial, p -> p.getName().substring( 0, 1 ),
+                                accFunction(org.drools.core.base.accumulators.IntegerSumAccumulateFunction::new, age).as(resultSum),
+                                accFunction(org.drools.core.base.accumulators.CountAccumulateFunction::new).as(resultCount)),
+                        on(initial, resultSum, resultCount)
+                                .execute((i, sum, count) -> results.add( i + ": total = " + sum + "; count = " + count ))
+                );
+
+        Model model = new ModelImpl().addRule( rule );
+        KieBase kieBase = KieBaseBuilder.createKieBaseFromModel( model );
+
+        KieSession ksession = kieBase.newKieSession();
+
+        Person mario = new Person("Mario", 40);
+        ksession.insert(new Person("Mark", 37));
+        ksession.insert(new Person("Edson", 35));
+        ksession.insert(mario);
+        FactHandle edFH = ksession.insert(new Person("Edoardo", 33));
+
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactlyInAnyOrder("M: total = 77; count = 2", "E: total = 68; count = 2");
+
+        // only the group of the modified fact is propagated again
+        results.clear();
+        mario.setAge(41);
+        ksession.update(ksession.getFactHandle(mario), mario);
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactly("M: total = 78; count = 2");
+
+        results.clear();
+        ksession.delete(edFH);
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactly("E: total = 35; count = 1");
+
+        // a fact changing its key moves from a group to another
+        results.clear();
+        mario.setName("Eric");
+        ksession.update(ksession.getFactHandle(mario), mario);
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactlyInAnyOrder("M: total = 37; count = 1", "E: total = 76; count = 2");
+    }
+
+    @Test
+    public void testGroupByAddRemoveRule() {
+        List<String> results = new ArrayList<>();
+        Rule rule1 = groupByInitial( "groupBy1", results );
+        KieBase kieBase = KieBaseBuilder.createKieBaseFromModel( new ModelImpl().addRule( rule1 ) );
+
+        KieSession ksession = kieBase.newKieSession();
+        ksession.insert( "Mark" );
+        ksession.insert( "Mario" );
+        ksession.insert( "Edson" );
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactlyInAnyOrder("groupBy1 M: 2", "groupBy1 E: 1");
+
+        // the rule added at runtime fires for the groups already evaluated in the session
+        results.clear();
+        KiePackagesBuilder builder = new KiePackagesBuilder( KieServices.get().newKieBaseConfiguration() );
+        builder.addModel( new ModelImpl().addRule( groupByInitial( "groupBy2", results ) ) );
+        ((InternalKnowledgeBase) kieBase).addPackages( builder.build().getKiePackages() );
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactlyInAnyOrder("groupBy2 M: 2", "groupBy2 E: 1");
+
+        // the removed rule doesn't fire for the groups it shared with the remaining one
+        results.clear();
+        kieBase.removeRule( rule1.getPackage(), rule1.getName() );
+        ksession.insert( "Edoardo" );
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactly("groupBy2 E: 2");
+    }
+
+    @Test
+    public void testGroupByMarshalling() throws Exception {
+        List<String> results = new ArrayList<>();
+        KieBase kieBase = KieBaseBuilder.createKieBaseFromModel( new ModelImpl().addRule( groupByInitial( "groupBy", results ) ) );
+
+        KieSession ksession = kieBase.newKieSession();
+        ksession.insert( "Mark" );
+        ksession.insert( "Mario" );
+        ksession.insert( "Edson" );
+        ksession.fireAllRules();
+        Assertions.assertThat(results).containsExactlyInAnyOrder("groupBy M: 2", "groupBy E: 1");
+
+        Marshaller marshaller = KieServices.get().getMarshallers().newMarshaller( kieBase );
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        marshaller.marshall( baos, ksession );
+        KieSession restored = marshaller.unmarshall( new ByteArrayInputStream( baos.toByteArray() ) );
+
+        // the group results already fired are not fired again
+        results.clear();
+        assertEquals( 0, restored.fireAllRules() );
+
+        restored.insert( "Edoardo" );
+        restored.fireAllRules();
+        Assertions.assertThat(results).containsExactly("groupBy E: 2");
+    }
+
+    private Rule groupByInitial( String ruleName, List<String> results ) {
+        Variable<String> name = declarationOf( String.class );
+        Variable<String> initial = declarationOf( String.class );
+        Variable<Long> resultCount = declarationOf( Long.class );
+
+        return rule( ruleName )
+                .build(
+                        groupBy( pattern( name ), name, initial, n -> n.substring( 0, 1 ),
+                                accFunction(org.drools.core.base.accumulators.CountAccumulateFunction::new).as(resultCount)),
+                        on(initial, resultCount)
+                                .execute((i, count) -> results.add( ruleName + " " + i + ": " + count ))
+                );
+    }
+
     @Test
     public void testAccumulateConstant() {
         Result result = new Result();
@@ -1,7 +1,10 @@
 package org.drools.modelcompiler.alphaNetworkCompiler;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.drools.core.reteoo.compiled.ObjectTypeNodeParser;
 import org.drools.modelcompiler.BaseModelTest;
 import org.drools.modelcompiler.domain.ChildFactWithEnum1;
 import org.drools.modelcompiler.domain.EnumFact1;
@@ -9,7 +12,9 @@ import org.drools.modelcompiler.domain.Person;
 import org.drools.modelcompiler.domain.Result;
 import org.junit.Test;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
 
 public class ObjectTypeNodeCompilerTest extends BaseModelTest {
@@ -264,4 +269,86 @@ public class ObjectTypeNodeCompilerTest extends BaseModelTest {
             ksession.dispose();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNestedHashedAlphas() {
+        final String str =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R1 when Person( age == 20, name == \"Luca\" ) then list.add(\"R1\"); end\n" +
+                "rule R2 when Person( age == 20, name == \"Mario\" ) then list.add(\"R2\"); end\n" +
+                "rule R3 when Person( age == 20, name == \"Matteo\" ) then list.add(\"R3\"); end\n" +
+                "rule R4 when Person( age == 30 ) then list.add(\"R4\"); end\n" +
+                "rule R5 when Person( age == 40 ) then list.add(\"R5\"); end\n";
+
+        KieSession ksession = getKieSession(str);
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+
+        ksession.insert(new Person("Mario", 20));
+        ksession.insert(new Person("Mario", 30));
+        ksession.insert(new Person("Luca", 40));
+        ksession.insert(new Person("Edson", 20));
+
+        assertEquals(3, ksession.fireAllRules());
+        assertTrue(list.containsAll(asList("R2", "R4", "R5")));
+    }
+
+    @Test
+    public void testInlinedConstraints() {
+        final String str =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule Adult when Person( $name : name, age >= 18 ) then list.add($name); end\n" +
+                "rule NotLuca when Person( $name : name, name != \"Luca\" ) then list.add(\"!\" + $name); end\n" +
+                "rule Young when Person( $name : name, !(age > 18) ) then list.add(\"young \" + $name); end\n";
+
+        KieSession ksession = getKieSession(str);
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+
+        Person luca = new Person("Luca", 16);
+        FactHandle fh = ksession.insert(luca);
+        ksession.insert(new Person("Mario", 45));
+
+        assertEquals(3, ksession.fireAllRules());
+        assertTrue(list.containsAll(asList("Mario", "!Mario", "young Luca")));
+
+        list.clear();
+        luca.setAge(18);
+        ksession.update(fh, luca);
+
+        assertEquals(2, ksession.fireAllRules());
+        assertTrue(list.containsAll(asList("Luca", "young Luca")));
+    }
+
+    @Test
+    public void testLargeHashedAlphasAreDelegated() {
+        int rulesNr = ObjectTypeNodeParser.MAX_COMPILED_NODES + 100;
+        StringBuilder str = new StringBuilder();
+        str.append("import " + Person.class.getCanonicalName() + ";\n");
+        str.append("global java.util.List list;\n");
+        for (int i = 0; i < rulesNr; i++) {
+            str.append("rule R" + i + " when Person( $name : name, age == " + i + " ) then list.add($name); end\n");
+        }
+
+        KieSession ksession = getKieSession(str.toString());
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+
+        Person luca = new Person("Luca", 7);
+        FactHandle fh = ksession.insert(luca);
+        ksession.insert(new Person("Mario", rulesNr - 1));
+        ksession.insert(new Person("Edson", rulesNr));
+
+        assertEquals(2, ksession.fireAllRules());
+        assertTrue(list.containsAll(asList("Luca", "Mario")));
+
+        list.clear();
+        luca.setAge(3);
+        ksession.update(fh, luca);
+
+        assertEquals(1, ksession.fireAllRules());
+        assertEquals(asList("Luca"), list);
+    }
+}
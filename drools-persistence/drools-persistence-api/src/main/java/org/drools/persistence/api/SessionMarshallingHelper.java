@@ -17,6 +17,8 @@ package org.drools.persistence.api;
 
 import org.drools.core.marshalling.impl.InternalMarshaller;
 import org.drools.core.marshalling.impl.KieSessionInitializer;
+import org.drools.core.marshalling.impl.SessionCheckpointer;
+import org.drools.core.marshalling.impl.SessionCheckpointer.Checkpoint;
 import org.kie.api.KieBase;
 import org.kie.api.marshalling.Marshaller;
 import org.kie.api.marshalling.ObjectMarshallingStrategy;
@@ -26,17 +28,24 @@ import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.internal.marshalling.MarshallerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 public class SessionMarshallingHelper {
 
+    /**
+     * Environment entry enabling the incremental checkpoints of the session, that after a full snapshot
+     * only persist the facts changed since then, see {@link SessionCheckpointer}. The deltas are stored
+     * by the JPA persistence in their own entity, that has to be added to the persistence unit.
+     */
+    public static final String DELTA_CHECKPOINTS = "drools.persistence.deltaCheckpoints";
+
     private KieBase kbase;
     private KieSessionConfiguration       conf;
     private KieSession      			  ksession;
     private InternalMarshaller            marshaller;
     private Environment                   env;
+    private SessionCheckpointer           checkpointer;
 
     /**
      * Exist Info, so load session from here
@@ -70,9 +79,26 @@ public class SessionMarshallingHelper {
         this.marshaller = strategies != null ?
                           (InternalMarshaller) MarshallerFactory.newMarshaller( kbase, strategies ) :
                           (InternalMarshaller) MarshallerFactory.newMarshaller( kbase ) ;
+        if ( isDeltaCheckpointsEnabled() ) {
+            this.checkpointer = new SessionCheckpointer( ksession, marshaller );
+        }
+    }
+
+    public boolean isDeltaCheckpointsEnabled() {
+        Object enabled = env.get( DELTA_CHECKPOINTS );
+        return enabled != null && Boolean.parseBoolean( enabled.toString() );
     }
 
     public byte[] getSnapshot() {
+        if ( checkpointer != null ) {
+            try {
+                return checkpointer.snapshot();
+            } catch ( IOException e ) {
+                throw new RuntimeException( "Unable to get session snapshot",
+                                            e );
+            }
+        }
+
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
             marshaller.marshall( baos,
@@ -85,20 +111,53 @@ public class SessionMarshallingHelper {
         return baos.toByteArray();
     }
 
+    /**
+     * Returns either a full snapshot of the session or, when the delta checkpoints are enabled,
+     * the changes since the last full snapshot
+     */
+    public Checkpoint getCheckpoint() {
+        if ( checkpointer == null ) {
+            return SessionCheckpointer.fullCheckpoint( getSnapshot() );
+        }
+        try {
+            return checkpointer.checkpoint();
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to get session checkpoint",
+                                        e );
+        }
+    }
+
     public KieSession loadSnapshot( byte[] bytes,
                                     KieSession ksession,
                                     KieSessionInitializer initializer ) {
+        return loadSnapshot( bytes, null, ksession, initializer );
+    }
+
+    public KieSession loadSnapshot( byte[] bytes,
+                                    byte[] delta,
+                                    KieSession ksession,
+                                    KieSessionInitializer initializer ) {
         this.ksession = ksession;
-        ByteArrayInputStream bais = new ByteArrayInputStream( bytes );
         try {
             this.marshaller.setInitializer( initializer );
             if ( this.ksession != null ) {
-                this.marshaller.unmarshall( bais,
-                                            this.ksession );
+                SessionCheckpointer.restore( this.marshaller,
+                                             bytes,
+                                             delta,
+                                             this.ksession );
             } else {
-                this.ksession = this.marshaller.unmarshall( bais,
-                                                            this.conf,
-                                                            this.env );
+                this.ksession = SessionCheckpointer.restore( this.marshaller,
+                                                             this.kbase,
+                                                             bytes,
+                                                             delta,
+                                                             this.conf,
+                                                             this.env );
+            }
+            if ( isDeltaCheckpointsEnabled() ) {
+                if ( this.checkpointer == null ) {
+                    this.checkpointer = new SessionCheckpointer( this.ksession, this.marshaller );
+                }
+                this.checkpointer.markRestored( delta );
             }
         } catch ( Exception e ) {
             throw new RuntimeException( "Unable to load session snapshot",
@@ -47,7 +47,9 @@ import org.drools.persistence.api.TransactionAware;
 import org.drools.persistence.api.TransactionManager;
 import org.drools.persistence.api.TransactionManagerFactory;
 import org.drools.persistence.api.TransactionManagerHelper;
+import org.drools.persistence.info.SessionDeltaInfo;
 import org.drools.persistence.info.SessionInfo;
+import org.drools.persistence.jpa.JpaPersistenceContext;
 import org.drools.persistence.jpa.JpaPersistenceContextManager;
 import org.drools.persistence.jpa.processinstance.JPAWorkItemManager;
 import org.kie.api.KieBase;
@@ -113,6 +115,7 @@ public class PersistableRunner implements SingleSessionCommandService {
 
             persistenceContext.joinTransaction();
             this.sessionInfo = (SessionInfo) persistenceContext.persist( this.sessionInfo );
+            attachSessionDelta( persistenceContext );
             registerUpdateSync();
             txm.commit( transactionOwner );
         } catch ( RuntimeException re ) {
@@ -247,9 +250,10 @@ public class PersistableRunner implements SingleSessionCommandService {
         }
 
         this.sessionInfo.setJPASessionMashallingHelper(this.marshallingHelper);
+        attachSessionDelta( persistenceContext );
 
         // if this.ksession is null, it'll create a new one, else it'll use the existing one
-        this.ksession = this.marshallingHelper.loadSnapshot( this.sessionInfo.getData(), this.ksession, new JpaSessionInitializer(this) );
+        this.ksession = this.marshallingHelper.loadSnapshot( this.sessionInfo.getData(), this.sessionInfo.getDeltaData(), this.ksession, new JpaSessionInitializer(this) );
 
         // update the session id to be the same as the session info id
         InternalKnowledgeRuntime kruntime = ((InternalKnowledgeRuntime) ksession);
@@ -266,6 +270,22 @@ public class PersistableRunner implements SingleSessionCommandService {
         initKieSessionMBeans(this.ksession);
     }
 
+    /**
+     * Stores the incremental checkpoints of the session in a separate entity, so that the SessionInfo table is
+     * unchanged unless they are enabled
+     */
+    private void attachSessionDelta(PersistenceContext persistenceContext) {
+        if ( !this.marshallingHelper.isDeltaCheckpointsEnabled() || !(persistenceContext instanceof JpaPersistenceContext) ) {
+            return;
+        }
+        JpaPersistenceContext jpaContext = (JpaPersistenceContext) persistenceContext;
+        SessionDeltaInfo deltaInfo = jpaContext.findSessionDelta( this.sessionInfo.getId() );
+        if ( deltaInfo == null ) {
+            deltaInfo = jpaContext.persist( new SessionDeltaInfo( this.sessionInfo.getId() ) );
+        }
+        this.sessionInfo.setDeltaInfo( deltaInfo );
+    }
+
     public class JpaSessionInitializer implements KieSessionInitializer {
 
         private final PersistableRunner runner;
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.persistence.info;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+
+/**
+ * The changes of a session since the full snapshot kept by its {@link SessionInfo}, stored only when
+ * the drools.persistence.deltaCheckpoints environment entry is enabled. It shares the id of the session,
+ * whose optimistic lock also guards it, and has to be added to the persistence unit to use that feature.
+ */
+@Entity
+public class SessionDeltaInfo {
+
+    @Id
+    private Long               sessionId;
+
+    @Lob
+    @Column(length=2147483647)
+    private byte[]             rulesDeltaByteArray;
+
+    protected SessionDeltaInfo() {
+    }
+
+    public SessionDeltaInfo(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getSessionId() {
+        return this.sessionId;
+    }
+
+    public void setData( byte[] data) {
+        this.rulesDeltaByteArray = data;
+    }
+
+    /**
+     * Returns the changes since the snapshot of the session, or null if that snapshot is up to date
+     */
+    public byte[] getData() {
+        return this.rulesDeltaByteArray;
+    }
+
+}
@@ -27,6 +27,7 @@ import javax.persistence.SequenceGenerator;
 import javax.persistence.Transient;
 import javax.persistence.Version;
 
+import org.drools.core.marshalling.impl.SessionCheckpointer.Checkpoint;
 import org.drools.persistence.api.PersistentSession;
 import org.drools.persistence.api.SessionMarshallingHelper;
 import org.drools.persistence.api.Transformable;
@@ -52,6 +53,9 @@ public class SessionInfo implements PersistentSession {
 
     @Transient
     SessionMarshallingHelper helper;
+
+    @Transient
+    SessionDeltaInfo         deltaInfo;
     
     public SessionInfo() {
         this.startDate = new Date();
@@ -81,6 +85,22 @@ public class SessionInfo implements PersistentSession {
         return this.rulesByteArray;
     }
     
+    public void setDeltaInfo(SessionDeltaInfo deltaInfo) {
+        this.deltaInfo = deltaInfo;
+    }
+
+    public SessionDeltaInfo getDeltaInfo() {
+        return this.deltaInfo;
+    }
+
+    /**
+     * Returns the changes since the snapshot returned by {@link #getData()}, or null if that snapshot is up to date
+     * or the session doesn't store them
+     */
+    public byte[] getDeltaData() {
+        return this.deltaInfo != null ? this.deltaInfo.getData() : null;
+    }
+    
     public Date getStartDate() {
         return this.startDate;
     }
@@ -95,7 +115,17 @@ public class SessionInfo implements PersistentSession {
 
     @Override
     public void transform() {
-        this.rulesByteArray  = this.helper.getSnapshot();
+        if ( this.deltaInfo == null ) {
+            this.rulesByteArray = this.helper.getSnapshot();
+            return;
+        }
+        Checkpoint checkpoint = this.helper.getCheckpoint();
+        if ( checkpoint.isFull() ) {
+            this.rulesByteArray = checkpoint.getData();
+            this.deltaInfo.setData( null );
+        } else {
+            this.deltaInfo.setData( checkpoint.getData() );
+        }
     }
 
     public void setId(Long ksessionId) {
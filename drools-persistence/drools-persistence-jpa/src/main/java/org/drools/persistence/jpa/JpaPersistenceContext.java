@@ -25,6 +25,7 @@ import org.drools.persistence.api.PersistentSession;
 import org.drools.persistence.api.PersistentWorkItem;
 import org.drools.persistence.api.TransactionManager;
 import org.drools.persistence.api.TransactionManagerHelper;
+import org.drools.persistence.info.SessionDeltaInfo;
 import org.drools.persistence.info.SessionInfo;
 import org.drools.persistence.info.WorkItemInfo;
 import org.kie.api.runtime.process.WorkItem;
@@ -83,7 +84,24 @@ public class JpaPersistenceContext implements PersistenceContext {
         return sessionInfo;
     }
 
+    /**
+     * Returns the changes stored for the given session since its last full snapshot, if any. The {@link SessionDeltaInfo}
+     * entity has to belong to the persistence unit.
+     */
+    public SessionDeltaInfo findSessionDelta(Long sessionId) {
+        return this.em.find( SessionDeltaInfo.class, sessionId );
+    }
+
+    public SessionDeltaInfo persist(SessionDeltaInfo deltaInfo) {
+        this.em.persist( deltaInfo );
+        return deltaInfo;
+    }
+
     public void remove(PersistentSession session) {
+        SessionDeltaInfo deltaInfo = session instanceof SessionInfo ? ((SessionInfo) session).getDeltaInfo() : null;
+        if ( deltaInfo != null ) {
+            em.remove( em.contains( deltaInfo ) ? deltaInfo : em.getReference( SessionDeltaInfo.class, deltaInfo.getSessionId() ) );
+        }
         if (!em.contains(session)) {
             SessionInfo s = em.getReference(SessionInfo.class, session.getId());
             em.remove( s );
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.persistence.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.persistence.api.SessionMarshallingHelper;
+import org.drools.persistence.info.SessionDeltaInfo;
+import org.drools.persistence.info.SessionInfo;
+import org.drools.persistence.util.DroolsPersistenceUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.persistence.jpa.JPAKnowledgeService;
+import org.kie.internal.runtime.StatefulKnowledgeSession;
+
+import static org.drools.persistence.util.DroolsPersistenceUtil.DROOLS_PERSISTENCE_UNIT_NAME;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.kie.api.runtime.EnvironmentName.ENTITY_MANAGER_FACTORY;
+
+public class DeltaCheckpointsPersistenceTest {
+
+    private static final int FACTS_NR = 200;
+
+    private static final String RULE =
+              "package org.kie.test\n"
+            + "global java.util.List list\n"
+            + "rule rule1\n"
+            + "when\n"
+            + "  $i : Integer(intValue < 0)\n"
+            + "then\n"
+            + "  list.add( $i );\n"
+            + "end\n";
+
+    private Map<String, Object> context;
+    private EntityManagerFactory emf;
+
+    @Before
+    public void setup() {
+        context = DroolsPersistenceUtil.setupWithPoolingDataSource(DROOLS_PERSISTENCE_UNIT_NAME);
+        emf = (EntityManagerFactory) context.get(ENTITY_MANAGER_FACTORY);
+    }
+
+    @After
+    public void cleanUp() {
+        DroolsPersistenceUtil.cleanUp(context);
+    }
+
+    private Environment createEnvironment() {
+        Environment env = DroolsPersistenceUtil.createEnvironment(context);
+        env.set(SessionMarshallingHelper.DELTA_CHECKPOINTS, true);
+        return env;
+    }
+
+    private KieBase initializeKnowledgeBase() {
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        kbuilder.add( ResourceFactory.newByteArrayResource(RULE.getBytes()), ResourceType.DRL);
+        if (kbuilder.hasErrors()) {
+            fail(kbuilder.getErrors().toString());
+        }
+
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addPackages(kbuilder.getKnowledgePackages());
+        return kbase;
+    }
+
+    @Test
+    public void testDeltasStaySmallAcrossReloads() {
+        KieBase kbase = initializeKnowledgeBase();
+        StatefulKnowledgeSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession( kbase, null, createEnvironment() );
+        long sessionId = ksession.getIdentifier();
+
+        List<Integer> facts = new ArrayList<Integer>();
+        for (int i = 0; i < FACTS_NR; i++) {
+            facts.add(i);
+        }
+        ksession.execute( KieServices.get().getCommands().newInsertElements( facts ) );
+        ksession.dispose();
+
+        byte[] snapshot = findSession( sessionId ).getData();
+        assertNotNull( snapshot );
+        assertNull( findSessionDelta( sessionId ).getData() );
+
+        for (int i = 1; i <= 5; i++) {
+            // every command reloads the session from the snapshot and the delta committed by the former one
+            ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( sessionId, kbase, null, createEnvironment() );
+            assertEquals( FACTS_NR + i - 1, ksession.getFactCount() );
+
+            ksession.insert( -i );
+            ksession.delete( findFactHandle( ksession, i ) );
+
+            List<Integer> list = new ArrayList<Integer>();
+            ksession.setGlobal( "list", list );
+            ksession.fireAllRules();
+            assertEquals( 1, list.size() );
+            assertEquals( -i, (int) list.get( 0 ) );
+            ksession.dispose();
+
+            // the full snapshot is not rewritten and the delta only grows with the changed facts
+            assertArrayEquals( snapshot, findSession( sessionId ).getData() );
+            byte[] delta = findSessionDelta( sessionId ).getData();
+            assertNotNull( delta );
+            assertTrue( "Delta of " + delta.length + " bytes against a snapshot of " + snapshot.length,
+                        delta.length < snapshot.length / 4 );
+        }
+
+        ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( sessionId, kbase, null, createEnvironment() );
+        assertEquals( FACTS_NR, ksession.getFactCount() );
+        for (int i = 1; i <= 5; i++) {
+            assertNull( findFactHandle( ksession, i ) );
+            assertNotNull( findFactHandle( ksession, -i ) );
+        }
+        ksession.dispose();
+    }
+
+    private FactHandle findFactHandle(StatefulKnowledgeSession ksession, int value) {
+        for (FactHandle fh : ksession.getFactHandles()) {
+            if ( ksession.getObject( fh ).equals( value ) ) {
+                return fh;
+            }
+        }
+        return null;
+    }
+
+    private SessionInfo findSession(long sessionId) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.find( SessionInfo.class, sessionId );
+        } finally {
+            em.close();
+        }
+    }
+
+    private SessionDeltaInfo findSessionDelta(long sessionId) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.find( SessionDeltaInfo.class, sessionId );
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -16,10 +16,13 @@
 
 package org.drools.compiler.integrationtests;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.drools.testcoverage.common.model.Cheese;
+import org.drools.testcoverage.common.model.Person;
 import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
 import org.drools.testcoverage.common.util.KieBaseUtil;
 import org.drools.testcoverage.common.util.KieSessionTestConfiguration;
@@ -31,8 +34,10 @@ import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.command.KieCommands;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(Parameterized.class)
 public class CommandsTest {
@@ -70,4 +75,96 @@ public class CommandsTest {
             kSession.dispose();
         }
     }
+
+    @Test
+    public void testInsertElementsCommand() {
+        final String drl =
+            "package org.drools.compiler.integrationtests \n" +
+            "import " + Cheese.class.getCanonicalName() + " \n" +
+            "import " + Person.class.getCanonicalName() + " \n" +
+            "rule R \n" +
+            "when \n" +
+            "    $c : Cheese( $type : type ) \n" +
+            "    $p : Person( likes == $type ) \n" +
+            "then \n" +
+            "end \n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("insert-elements-test", kieBaseTestConfiguration, drl);
+        final KieSession kSession = kbase.newKieSession();
+        try {
+            // facts of different types are interleaved and one of them is repeated
+            final List<Object> facts = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                facts.add(new Cheese("type" + i));
+                facts.add(new Person("person" + i, "type" + (i % 5)));
+            }
+            facts.add(facts.get(0));
+
+            final KieCommands kieCommands = KieServices.get().getCommands();
+            final List<FactHandle> handles = new ArrayList<>(kSession.execute(kieCommands.newInsertElements(facts)));
+            assertEquals(facts.size(), handles.size());
+            for (int i = 0; i < facts.size(); i++) {
+                assertSame(facts.get(i), kSession.getObject(handles.get(i)));
+            }
+            assertSame(handles.get(0), handles.get(facts.size() - 1));
+            assertEquals(20, kSession.getFactCount());
+            assertEquals(10, kSession.fireAllRules());
+        } finally {
+            kSession.dispose();
+        }
+    }
+
+    @Test
+    public void testInsertElementsCommandKeepsActivationOrder() {
+        final String drl =
+            "package org.drools.compiler.integrationtests \n" +
+            "import " + Cheese.class.getCanonicalName() + " \n" +
+            "import " + Person.class.getCanonicalName() + " \n" +
+            "global java.util.List list \n" +
+            "rule C \n" +
+            "when \n" +
+            "    Cheese( $type : type ) \n" +
+            "then \n" +
+            "    list.add( $type ); \n" +
+            "end \n" +
+            "rule P \n" +
+            "when \n" +
+            "    Person( $name : name ) \n" +
+            "then \n" +
+            "    list.add( $name ); \n" +
+            "end \n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("insert-elements-test", kieBaseTestConfiguration, drl);
+
+        // facts of different types are interleaved, so a propagation grouped by type would change the firing order
+        final List<Object> facts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            facts.add(new Cheese("type" + i));
+            facts.add(new Person("person" + i));
+        }
+
+        final List<String> expected = new ArrayList<>();
+        final KieSession singleInsertsSession = kbase.newKieSession();
+        try {
+            singleInsertsSession.setGlobal("list", expected);
+            for (final Object fact : facts) {
+                singleInsertsSession.insert(fact);
+            }
+            assertEquals(10, singleInsertsSession.fireAllRules());
+        } finally {
+            singleInsertsSession.dispose();
+        }
+
+        final List<String> fired = new ArrayList<>();
+        final KieSession kSession = kbase.newKieSession();
+        try {
+            kSession.setGlobal("list", fired);
+            final KieCommands kieCommands = KieServices.get().getCommands();
+            kSession.execute(kieCommands.newInsertElements(facts));
+            assertEquals(10, kSession.fireAllRules());
+            assertEquals(expected, fired);
+        } finally {
+            kSession.dispose();
+        }
+    }
 }
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.base.ClassObjectType;
 import org.drools.core.base.DroolsQuery;
 import org.drools.core.common.DoubleNonIndexSkipBetaConstraints;
@@ -37,30 +38,40 @@ import org.drools.core.reteoo.CompositeObjectSinkAdapter;
 import org.drools.core.reteoo.JoinNode;
 import org.drools.core.reteoo.LeftInputAdapterNode;
 import org.drools.core.reteoo.NotNode;
+import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSinkNodeList;
 import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.core.reteoo.ReteDumper;
 import org.drools.core.reteoo.RightTuple;
+import org.drools.core.util.AbstractHashTable;
 import org.drools.core.util.FastIterator;
 import org.drools.core.util.index.TupleIndexHashTable;
+import org.drools.core.util.index.TupleIndexRBTree;
 import org.drools.core.util.index.TupleList;
 import org.drools.testcoverage.common.model.Cheese;
 import org.drools.testcoverage.common.model.Person;
 import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
 import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.KieSessionTestConfiguration;
 import org.drools.testcoverage.common.util.KieUtil;
 import org.drools.testcoverage.common.util.TestParametersUtil;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
 import org.kie.api.definition.rule.Rule;
 import org.kie.api.definition.type.FactType;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.runtime.rule.Match;
 import org.kie.api.runtime.rule.Row;
 import org.kie.api.runtime.rule.Variable;
 import org.kie.api.runtime.rule.ViewChangedEventListener;
+import org.kie.internal.conf.CompositeKeyDepthOption;
 
 import static org.drools.core.util.DroolsTestUtil.rulestoMap;
 import static org.junit.Assert.assertEquals;
@@ -768,6 +779,244 @@ public class IndexingTest {
         }
     }
 
+    @Test(timeout = 10000)
+    public void testJoinComparisonIndex() {
+        checkJoinComparisonIndex(true);
+    }
+
+    @Test(timeout = 10000)
+    public void testJoinComparisonIndexDisabled() {
+        // without the option the join scans the whole opposite memory, firing the same matches
+        checkJoinComparisonIndex(false);
+    }
+
+    private void checkJoinComparisonIndex(final boolean joinComparisonIndex) {
+        final String drl = "import " + Cheese.class.getCanonicalName() + ";\n" +
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R1 when\n" +
+                "   Person( $age : age )\n" +
+                "   Cheese( price > $age )\n" +
+                "then\n" +
+                "end\n";
+
+        final KieBase kbase = getKieBaseWithJoinComparisonIndex(joinComparisonIndex, drl);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final ObjectTypeNode node = KieUtil.getObjectTypeNode(kbase, Person.class);
+            final LeftInputAdapterNode liaNode = (LeftInputAdapterNode) node.getObjectSinkPropagator().getSinks()[0];
+            final JoinNode j = (JoinNode) liaNode.getSinkPropagator().getSinks()[0];
+            assertEquals(joinComparisonIndex, ((SingleBetaConstraints) j.getRawConstraints()).isIndexed());
+            final BetaMemory bm = (BetaMemory) ((InternalWorkingMemory) ksession).getNodeMemory(j);
+            if (joinComparisonIndex) {
+                assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexRBTree);
+                assertTrue(bm.getRightTupleMemory() instanceof TupleIndexRBTree);
+            } else {
+                assertTrue(bm.getLeftTupleMemory() instanceof TupleList);
+                assertTrue(bm.getRightTupleMemory() instanceof TupleList);
+            }
+
+            final Person person = new Person("A", 10);
+            final FactHandle personFH = ksession.insert(person);
+            final Cheese cheese = new Cheese("C1", 5);
+            final FactHandle cheeseFH = ksession.insert(cheese);
+            ksession.insert(new Cheese("C2", 15));
+            ksession.insert(new Cheese("C3", 20));
+            assertEquals(2, ksession.fireAllRules());
+
+            // moving the left tuple to another node of the tree leaves a single match
+            person.setAge(17);
+            ksession.update(personFH, person);
+            assertEquals(1, ksession.fireAllRules());
+
+            // moving the right tuple to another node of the tree creates a new match
+            cheese.setPrice(30);
+            ksession.update(cheeseFH, cheese);
+            assertEquals(1, ksession.fireAllRules());
+
+            ksession.delete(personFH);
+            ksession.insert(new Person("B", 25));
+            assertEquals(1, ksession.fireAllRules());
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private KieBase getKieBaseWithJoinComparisonIndex(final boolean joinComparisonIndex, final String drl) {
+        final Map<String, String> kieModuleConfigurationProperties = new HashMap<>();
+        kieModuleConfigurationProperties.put(RuleBaseConfiguration.JOIN_COMPARISON_INDEX_PROPERTY, Boolean.toString(joinComparisonIndex));
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls(KieUtil.generateReleaseId("indexing-test"),
+                                                                 kieBaseTestConfiguration,
+                                                                 KieSessionTestConfiguration.STATEFUL_REALTIME,
+                                                                 kieModuleConfigurationProperties,
+                                                                 drl);
+        return KieServices.get().newKieContainer(kieModule.getReleaseId()).getKieBase();
+    }
+
+    @Test(timeout = 10000)
+    public void testJoinComparisonIndexUpdatesInPlace() {
+        final String drl = "import " + Cheese.class.getCanonicalName() + ";\n" +
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R1 when\n" +
+                "   Person( $age : age )\n" +
+                "   $c : Cheese( price > $age )\n" +
+                "then\n" +
+                "end\n";
+
+        final KieBase kbase = getKieBaseWithJoinComparisonIndex(true, drl);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final Map<String, Match> matches = new HashMap<>();
+            final List<Match> fired = new ArrayList<>();
+            ksession.addEventListener(new DefaultAgendaEventListener() {
+                @Override
+                public void afterMatchFired(final AfterMatchFiredEvent event) {
+                    fired.add(event.getMatch());
+                }
+            });
+
+            final Person person = new Person("A", 10);
+            final FactHandle personFH = ksession.insert(person);
+            final Cheese cheese = new Cheese("C1", 15);
+            final FactHandle cheeseFH = ksession.insert(cheese);
+            ksession.insert(new Cheese("C2", 20));
+            assertEquals(2, ksession.fireAllRules());
+            for (final Match match : fired) {
+                matches.put(((Cheese) match.getDeclarationValue("$c")).getType(), match);
+            }
+
+            // the matches still holding after an update are kept, not deleted and recreated
+            fired.clear();
+            person.setAge(12);
+            ksession.update(personFH, person);
+            assertEquals(2, ksession.fireAllRules());
+            for (final Match match : fired) {
+                assertSame(matches.get(((Cheese) match.getDeclarationValue("$c")).getType()), match);
+            }
+
+            fired.clear();
+            cheese.setPrice(16);
+            ksession.update(cheeseFH, cheese);
+            assertEquals(1, ksession.fireAllRules());
+            assertSame(matches.get("C1"), fired.get(0));
+
+            // only the match no longer holding is deleted
+            fired.clear();
+            person.setAge(18);
+            ksession.update(personFH, person);
+            assertEquals(1, ksession.fireAllRules());
+            assertSame(matches.get("C2"), fired.get(0));
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCompositeIndexDeeperThanThreeKeys() {
+        final String drl = "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R1 when\n" +
+                "   $p1 : Person( $name : name, $age : age, $likes : likes, $hair : hair )\n" +
+                "   $p2 : Person( name == $name, age == $age, likes == $likes, hair == $hair, this != $p1 )\n" +
+                "then\n" +
+                "end\n";
+
+        final Map<String, String> kieModuleConfigurationProperties = new HashMap<>();
+        kieModuleConfigurationProperties.put(CompositeKeyDepthOption.PROPERTY_NAME, "4");
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls(KieUtil.generateReleaseId("indexing-test"),
+                                                                 kieBaseTestConfiguration,
+                                                                 KieSessionTestConfiguration.STATEFUL_REALTIME,
+                                                                 kieModuleConfigurationProperties,
+                                                                 drl);
+        final KieBase kbase = KieServices.get().newKieContainer(kieModule.getReleaseId()).getKieBase();
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final ObjectTypeNode node = KieUtil.getObjectTypeNode(kbase, Person.class);
+            JoinNode j = null;
+            for (ObjectSink sink : node.getObjectSinkPropagator().getSinks()) {
+                if (sink instanceof JoinNode) {
+                    j = (JoinNode) sink;
+                }
+            }
+            assertNotNull(j);
+            final BetaMemory bm = (BetaMemory) ((InternalWorkingMemory) ksession).getNodeMemory(j);
+            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
+            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertTrue(((TupleIndexHashTable) bm.getRightTupleMemory()).getIndex() instanceof AbstractHashTable.MultiCompositeIndex);
+
+            final Person p1 = createPerson("A", 10, "cheddar", "brown");
+            final Person p2 = createPerson("A", 10, "cheddar", "brown");
+            final Person p3 = createPerson("A", 10, "cheddar", "black");
+            final FactHandle fh1 = ksession.insert(p1);
+            final FactHandle fh2 = ksession.insert(p2);
+            final FactHandle fh3 = ksession.insert(p3);
+            ksession.insert(createPerson("B", 10, "cheddar", "brown"));
+            assertEquals(2, ksession.fireAllRules());
+
+            // the updated fact moves to the bucket of the first two
+            p3.setHair("brown");
+            ksession.update(fh3, p3);
+            assertEquals(4, ksession.fireAllRules());
+
+            // the updated fact leaves the bucket, deleting its matches
+            p2.setAge(11);
+            ksession.update(fh2, p2);
+            assertEquals(0, ksession.fireAllRules());
+
+            ksession.delete(fh1);
+            p2.setAge(10);
+            ksession.update(fh2, p2);
+            assertEquals(2, ksession.fireAllRules());
+
+            ksession.delete(fh3);
+            assertEquals(0, ksession.fireAllRules());
+            assertEquals(2, ksession.getFactCount());
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private Person createPerson(final String name, final int age, final String likes, final String hair) {
+        final Person person = new Person(name, likes, age);
+        person.setHair(hair);
+        return person;
+    }
+
+    @Test(timeout = 10000)
+    public void testJoinComparisonIndexWithNullKeys() {
+        final String drl = "import " + Cheese.class.getCanonicalName() + ";\n" +
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R1 when\n" +
+                "   Person( $likes : likes )\n" +
+                "   Cheese( type <= $likes )\n" +
+                "then\n" +
+                "end\n";
+
+        final KieBase kbase = getKieBaseWithJoinComparisonIndex(true, drl);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final Person person = new Person("A");
+            final FactHandle personFH = ksession.insert(person);
+            final Cheese cheese = new Cheese(null, 10);
+            final FactHandle cheeseFH = ksession.insert(cheese);
+            ksession.insert(new Cheese("cheddar", 10));
+            assertEquals(0, ksession.fireAllRules());
+
+            person.setLikes("stilton");
+            ksession.update(personFH, person);
+            assertEquals(1, ksession.fireAllRules());
+
+            cheese.setType("brie");
+            ksession.update(cheeseFH, cheese);
+            assertEquals(1, ksession.fireAllRules());
+
+            cheese.setType(null);
+            ksession.update(cheeseFH, cheese);
+            ksession.delete(cheeseFH);
+            assertEquals(0, ksession.fireAllRules());
+        } finally {
+            ksession.dispose();
+        }
+    }
+
     @Test
     public void testRequireLeftReorderingWithRangeIndex() {
         // DROOLS-1326
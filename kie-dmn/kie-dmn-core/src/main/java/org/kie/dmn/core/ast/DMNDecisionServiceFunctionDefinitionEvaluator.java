@@ -32,6 +32,8 @@ import org.kie.dmn.core.api.DMNExpressionEvaluator;
 import org.kie.dmn.core.api.EvaluatorResult;
 import org.kie.dmn.core.api.EvaluatorResult.ResultType;
 import org.kie.dmn.core.ast.DMNFunctionDefinitionEvaluator.FormalParameter;
+import org.kie.dmn.core.impl.DMNInvocationCache;
+import org.kie.dmn.core.impl.DMNModelImpl;
 import org.kie.dmn.core.impl.DMNResultImpl;
 import org.kie.dmn.core.impl.DMNRuntimeImpl;
 import org.kie.dmn.core.util.Msg;
@@ -57,7 +59,7 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
     @Override
     public EvaluatorResult evaluate(DMNRuntimeEventManager eventManager, DMNResult dmnr) {
         DMNResultImpl result = (DMNResultImpl) dmnr;
-        DMNDSFunction function = new DMNDSFunction(dsNode.getName(), parameters, new DMNDecisionServiceEvaluator(dsNode, false, coerceSingletonResult), eventManager, result);
+        DMNDSFunction function = new DMNDSFunction(dsNode.getName(), dsNode, parameters, new DMNDecisionServiceEvaluator(dsNode, false, coerceSingletonResult), eventManager, result);
         return new EvaluatorResultImpl(function, ResultType.SUCCESS);
     }
 
@@ -88,17 +90,35 @@ public class DMNDecisionServiceFunctionDefinitionEvaluator implements DMNExpress
         private final DMNRuntimeEventManager eventManager;
         private final DMNResultImpl resultContext;
         private final boolean typeCheck;
+        private final DecisionServiceNode dsNode;
+        private final DMNInvocationCache invocationCache;
 
         public DMNDSFunction(String name, List<DSFormalParameter> parameters, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result) {
+            this(name, null, parameters, evaluator, eventManager, result);
+        }
+
+        /**
+         * @param dsNode the invoked decision service, if not null its results can be memoized.
+         */
+        public DMNDSFunction(String name, DecisionServiceNode dsNode, List<DSFormalParameter> parameters, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result) {
             super(name);
             this.parameters = parameters;
             this.evaluator = evaluator;
             this.eventManager = eventManager;
             this.resultContext = result;
             typeCheck = ((DMNRuntimeImpl) eventManager.getRuntime()).performRuntimeTypeCheck(result.getModel());
+            this.dsNode = dsNode;
+            this.invocationCache = dsNode != null ? ((DMNModelImpl) result.getModel()).getInvocationCache() : null;
         }
 
         public Object invoke(EvaluationContext ctx, Object[] params) {
+            if (invocationCache != null) {
+                return invocationCache.invoke(dsNode, params, resultContext, () -> invokeDecisionService(params));
+            }
+            return invokeDecisionService(params);
+        }
+
+        private Object invokeDecisionService(Object[] params) {
             DMNContext previousContext = resultContext.getContext();
 
             DMNContext dmnContext = eventManager.getRuntime().newContext();
@@ -33,6 +33,8 @@ import org.kie.dmn.core.api.EvaluatorResult;
 import org.kie.dmn.core.api.EvaluatorResult.ResultType;
 import org.kie.dmn.core.impl.BaseDMNTypeImpl;
 import org.kie.dmn.core.impl.DMNContextFEELCtxWrapper;
+import org.kie.dmn.core.impl.DMNInvocationCache;
+import org.kie.dmn.core.impl.DMNModelImpl;
 import org.kie.dmn.core.impl.DMNResultImpl;
 import org.kie.dmn.core.impl.DMNRuntimeEventManagerUtils;
 import org.kie.dmn.core.impl.DMNRuntimeImpl;
@@ -123,6 +125,7 @@ public class DMNFunctionDefinitionEvaluator
         private final DMNResultImpl resultContext;
         private final FunctionDefinition functionDefinition;
         private final boolean performRuntimeTypeCheck;
+        private final DMNInvocationCache invocationCache;
 
         public DMNFunction(String name, DMNNode originatorNode, List<FormalParameter> parameters, FunctionDefinition functionDefinition, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager,
                            DMNResultImpl result) {
@@ -134,9 +137,20 @@ public class DMNFunctionDefinitionEvaluator
             this.eventManager = eventManager;
             this.resultContext = result;
             performRuntimeTypeCheck = ((DMNRuntimeImpl) eventManager.getRuntime()).performRuntimeTypeCheck(result.getModel());
+            // only the encapsulated logic of a BKM is memoized, the functions defined in its body can depend on the enclosing context
+            boolean isBKMLogic = originatorNode instanceof BusinessKnowledgeModelNode
+                    && ((BusinessKnowledgeModelNode) originatorNode).getBusinessKnowledModel().getEncapsulatedLogic() == functionDefinition;
+            invocationCache = isBKMLogic ? ((DMNModelImpl) result.getModel()).getInvocationCache() : null;
         }
 
         public Object invoke(EvaluationContext ctx, Object[] params) {
+            if (invocationCache != null) {
+                return invocationCache.invoke(functionDefinition, params, resultContext, () -> invokeFunction(ctx, params));
+            }
+            return invokeFunction(ctx, params);
+        }
+
+        private Object invokeFunction(EvaluationContext ctx, Object[] params) {
             DMNContext previousContext = resultContext.getContext();
             // we could be more strict and only set the parameters and the dependencies as values in the new
             // context, but for now, cloning the original context
@@ -81,6 +81,8 @@ public class DMNCompilerConfigurationImpl implements DMNCompilerConfiguration {
             return (T) new CoerceDecisionServiceSingletonOutputOption(properties.get(CoerceDecisionServiceSingletonOutputOption.PROPERTY_NAME));
         } else if (ExecModelCompilerOption.class.equals(option)) {
             return (T) new ExecModelCompilerOption(properties.get(ExecModelCompilerOption.PROPERTY_NAME));
+        } else if (InvocationCacheOption.class.equals(option)) {
+            return (T) new InvocationCacheOption(properties.get(InvocationCacheOption.PROPERTY_NAME));
         }
         return null;
     }
@@ -113,6 +115,10 @@ public class DMNCompilerConfigurationImpl implements DMNCompilerConfiguration {
         return getOption(ExecModelCompilerOption.class).isUseExecModelCompiler();
     }
 
+    public int getInvocationCacheSize() {
+        return getOption(InvocationCacheOption.class).getMaxSize();
+    }
+
     public boolean isDeferredCompilation() {
         return deferredCompilation;
     }
@@ -64,6 +64,7 @@ import org.kie.dmn.feel.runtime.decisiontables.DTDecisionRule;
 import org.kie.dmn.feel.runtime.decisiontables.DTInputClause;
 import org.kie.dmn.feel.runtime.decisiontables.DTOutputClause;
 import org.kie.dmn.feel.runtime.decisiontables.DecisionTableImpl;
+import org.kie.dmn.feel.runtime.decisiontables.DecisionTableIndex;
 import org.kie.dmn.feel.runtime.functions.BaseFEELFunction;
 import org.kie.dmn.feel.runtime.functions.DTInvokerFunction;
 import org.kie.dmn.model.api.Binding;
@@ -670,9 +671,11 @@ public class DMNEvaluatorCompiler {
             dtName );
         }
         java.util.List<DTDecisionRule> rules = new ArrayList<>();
+        java.util.List<java.util.List<String>> inputEntriesText = new ArrayList<>();
         index = 0;
         for ( DecisionRule dr : dt.getRule() ) {
             DTDecisionRule rule = new DTDecisionRule( index );
+            java.util.List<String> ruleInputEntriesText = new ArrayList<>();
             for ( int i = 0; i < dr.getInputEntry().size(); i++ ) {
                 UnaryTests ut = dr.getInputEntry().get(i);
                 final java.util.List<UnaryTest> tests;
@@ -704,6 +707,7 @@ public class DMNEvaluatorCompiler {
                         ctx.exitFrame();
                     }
                 }
+                ruleInputEntriesText.add( ut != null ? ut.getText() : null );
                 rule.getInputEntry().add( (c, x) -> tests.stream().anyMatch( t -> {
                     Boolean result = t.apply( c, x );
                     return result != null && result;
@@ -726,6 +730,7 @@ public class DMNEvaluatorCompiler {
                 rule.getOutputEntry().add( compiledExpression );
             }
             rules.add( rule );
+            inputEntriesText.add( ruleInputEntriesText );
             index++;
         }
         String policy = dt.getHitPolicy().value() + (dt.getAggregation() != null ? " " + dt.getAggregation().value() : "");
@@ -749,6 +754,7 @@ public class DMNEvaluatorCompiler {
 
         DecisionTableImpl dti = new DecisionTableImpl(dtName, parameterNames, inputs, outputs, rules, hp, feelInstance);
         dti.setCompiledParameterNames(compiledParameterNames);
+        dti.setIndex(DecisionTableIndex.build(inputs.size(), inputEntriesText));
         DTInvokerFunction dtf = new DTInvokerFunction( dti );
         DMNDTExpressionEvaluator dtee = new DMNDTExpressionEvaluator(node, feelInstance, dtf);
         return dtee;
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+
+/**
+ * The maximum number of results of BKM and decision service invocations memoized by each model, the least recently
+ * used results being evicted first. The cache is disabled when the size is not positive, which is the default.
+ * <p/>
+ * It is meant for models invoking the same BKMs many times with the same arguments, and assumes that their results
+ * only depend on the arguments. A memoized invocation skips the evaluation, hence its events are not fired.
+ */
+public class InvocationCacheOption implements DMNOption {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".runtime.invocationcache";
+
+    /**
+     * The default value for this option
+     */
+    public static final int DEFAULT_VALUE = 0;
+
+    private final int maxSize;
+
+    public InvocationCacheOption(int value) {
+        this.maxSize = value;
+    }
+
+    public InvocationCacheOption(String value) {
+        this.maxSize = value == null ? DEFAULT_VALUE : Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.core.compiler.profiles;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.kie.dmn.api.marshalling.DMNExtensionRegister;
+import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.compiler.DRGElementCompiler;
+import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+
+/**
+ * A DMN profile compiling all the FEEL expressions of the models to Java classes while the models are compiled,
+ * for instance during the build of a KieModule, instead of interpreting them on each evaluation.
+ * It can be enabled as any other profile, e.g. with org.kie.dmn.profiles.doCompile=org.kie.dmn.core.compiler.profiles.DoCompileDMNProfile
+ */
+public final class DoCompileDMNProfile extends DoCompileFEELProfile implements DMNProfile {
+
+    @Override
+    public List<DMNExtensionRegister> getExtensionRegisters() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<DRGElementCompiler> getDRGElementCompilers() {
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded cache of the results of BKM and decision service invocations, shared by all the evaluations of a
+ * model and keyed by the invoked element and the values of the arguments. When full, the least recently used result
+ * is evicted.
+ * <p/>
+ * Only the invocations whose arguments and result are values (numbers, strings, booleans, dates, times, durations and
+ * lists or contexts of them) are memoized, and only if no message is reported while evaluating them. Lists and
+ * contexts are copied when stored and when returned, so the callers can't alter the memoized results.
+ */
+public class DMNInvocationCache {
+
+    private static final Object NOT_CACHEABLE = new Object();
+
+    private final int maxSize;
+    private final Map<InvocationKey, Object> results;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public DMNInvocationCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The size of the invocation cache must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.results = new LinkedHashMap<InvocationKey, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<InvocationKey, Object> eldest) {
+                if (size() > DMNInvocationCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the memoized result of the invocation of the given element with the given arguments, or performs the
+     * invocation and memoizes its result if it didn't report any message to the given DMNResult.
+     */
+    public Object invoke(Object invoked, Object[] params, DMNResultImpl result, Supplier<Object> invocation) {
+        InvocationKey key = InvocationKey.of(invoked, params);
+        if (key == null) {
+            return invocation.get();
+        }
+        synchronized (this) {
+            Object cached = results.getOrDefault(key, NOT_CACHEABLE);
+            if (cached != NOT_CACHEABLE) {
+                hits++;
+                return copyOf(cached);
+            }
+            misses++;
+        }
+        int messagesCount = result.getMessages().size();
+        Object value = invocation.get();
+        if (result.getMessages().size() == messagesCount) {
+            Object copy = copyOf(value);
+            if (copy != NOT_CACHEABLE) {
+                synchronized (this) {
+                    results.put(key, copy);
+                }
+            }
+        }
+        return value;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized void clear() {
+        results.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "DMNInvocationCache[size=" + results.size() + "/" + maxSize + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+
+    /**
+     * @return a copy of the given value not sharing any mutable state with it, or NOT_CACHEABLE if it is not a value.
+     */
+    private static Object copyOf(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof BigDecimal || value instanceof BigInteger
+                || value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Float
+                || value instanceof TemporalAccessor || value instanceof TemporalAmount) {
+            return value;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                Object elementCopy = copyOf(element);
+                if (elementCopy == NOT_CACHEABLE) {
+                    return NOT_CACHEABLE;
+                }
+                copy.add(elementCopy);
+            }
+            return copy;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Object entryCopy = copyOf(entry.getValue());
+                if (!(entry.getKey() instanceof String) || entryCopy == NOT_CACHEABLE) {
+                    return NOT_CACHEABLE;
+                }
+                copy.put(entry.getKey(), entryCopy);
+            }
+            return copy;
+        }
+        return NOT_CACHEABLE;
+    }
+
+    private static class InvocationKey {
+
+        private final Object invoked;
+        private final Object[] params;
+        private final int hashCode;
+
+        private InvocationKey(Object invoked, Object[] params) {
+            this.invoked = invoked;
+            this.params = params;
+            this.hashCode = 31 * System.identityHashCode(invoked) + Arrays.hashCode(params);
+        }
+
+        /**
+         * @return the key of the invocation, or null if any of its arguments is not a value.
+         */
+        static InvocationKey of(Object invoked, Object[] params) {
+            Object[] copy = new Object[params.length];
+            for (int i = 0; i < params.length; i++) {
+                copy[i] = copyOf(params[i]);
+                if (copy[i] == NOT_CACHEABLE) {
+                    return null;
+                }
+            }
+            return new InvocationKey(invoked, copy);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InvocationKey)) {
+                return false;
+            }
+            InvocationKey other = (InvocationKey) obj;
+            return invoked == other.invoked && hashCode == other.hashCode && Arrays.equals(params, other.params);
+        }
+    }
+}
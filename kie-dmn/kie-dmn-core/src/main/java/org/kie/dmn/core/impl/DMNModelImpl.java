@@ -92,6 +92,10 @@ public class DMNModelImpl
      * a compile-time preference to indicate if type-check should be performed during runtime evaluation. 
      */
     private boolean runtimeTypeCheck = false;
+    /**
+     * the memoized results of the BKM and decision service invocations, null when not enabled at compile-time.
+     */
+    private DMNInvocationCache invocationCache;
 
     private Map<String, QName> importAliases = new HashMap<>();
     private ImportChain importChain;
@@ -407,6 +411,17 @@ public class DMNModelImpl
         this.runtimeTypeCheck = runtimeTypeCheck;
     }
 
+    /**
+     * @return the memoized results of the BKM and decision service invocations, or null if not enabled at compile-time.
+     */
+    public DMNInvocationCache getInvocationCache() {
+        return invocationCache;
+    }
+
+    public void setInvocationCache(DMNInvocationCache invocationCache) {
+        this.invocationCache = invocationCache;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeObject(serializedAs);
@@ -454,6 +469,7 @@ public class DMNModelImpl
         this.messages  = compiledModel.messages  ;
         this.types     = compiledModel.types     ;
         this.runtimeTypeCheck = compiledModel.runtimeTypeCheck;
+        this.invocationCache = compiledModel.invocationCache;
         this.importAliases = compiledModel.importAliases;
     }
 
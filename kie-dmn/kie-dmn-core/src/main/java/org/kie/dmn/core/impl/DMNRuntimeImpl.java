@@ -105,10 +105,9 @@ public class DMNRuntimeImpl
         Objects.requireNonNull(model, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "model"));
         Objects.requireNonNull(context, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "context"));
         boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
-        DMNResultImpl result = createResult( model, context );
+        List<DecisionNode> decisions = getLocalDecisions(model);
+        DMNResultImpl result = createResult( model, context, decisions );
         DMNRuntimeEventManagerUtils.fireBeforeEvaluateAll( eventManager, model, result );
-        // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
-        Set<DecisionNode> decisions = model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
         for( DecisionNode decision : decisions ) {
             evaluateDecision(context, result, decision, performRuntimeTypeCheck);
         }
@@ -116,6 +115,13 @@ public class DMNRuntimeImpl
         return result;
     }
 
+    /**
+     * The engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
+     */
+    private static List<DecisionNode> getLocalDecisions(DMNModel model) {
+        return model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).distinct().collect(Collectors.toList());
+    }
+
     @Override
     @Deprecated
     public DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context) {
@@ -227,10 +233,14 @@ public class DMNRuntimeImpl
     }
 
     private DMNResultImpl createResult(DMNModel model, DMNContext context) {
+        return createResult(model, context, getLocalDecisions(model));
+    }
+
+    private DMNResultImpl createResult(DMNModel model, DMNContext context, List<DecisionNode> decisions) {
         DMNResultImpl result = new DMNResultImpl(model);
         result.setContext( context.clone() );
 
-        for (DecisionNode decision : model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet())) {
+        for (DecisionNode decision : decisions) {
             result.addDecisionResult(new DMNDecisionResultImpl(decision.getId(), decision.getName()));
         }
         return result;
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.BusinessKnowledgeModelNode;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.core.api.DMNExpressionEvaluator;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+import org.kie.dmn.core.ast.BusinessKnowledgeModelNodeImpl;
+import org.kie.dmn.core.ast.DMNFunctionDefinitionEvaluator;
+import org.kie.dmn.core.ast.DMNLiteralExpressionEvaluator;
+import org.kie.dmn.core.ast.DecisionNodeImpl;
+import org.kie.dmn.core.compiler.profiles.DoCompileDMNProfile;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.feel.codegen.feel11.ProcessedExpression;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.impl.CompiledExecutableExpression;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DMNCompiledFEELTest {
+
+    private static final String DO_COMPILE_PROFILE_PROPERTY = DMNAssemblerService.DMN_PROFILE_PREFIX + "doCompile";
+
+    @Before
+    public void before() {
+        System.setProperty(DO_COMPILE_PROFILE_PROPERTY, DoCompileDMNProfile.class.getCanonicalName());
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(DO_COMPILE_PROFILE_PROPERTY);
+    }
+
+    @Test
+    public void testDecisionTablesAndLiteralExpressions() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0020-vacation-days.dmn", this.getClass());
+        final DMNModel dmnModel = runtime.getModel("https://www.drools.org/kie-dmn", "0020-vacation-days");
+        assertThat(dmnModel, notNullValue());
+        assertFalse(dmnModel.getMessages().toString(), dmnModel.hasErrors());
+        assertLiteralExpressionsCompiled(dmnModel);
+
+        checkVacationDays(runtime, dmnModel, 16, 1, 27);
+        checkVacationDays(runtime, dmnModel, 25, 5, 22);
+        checkVacationDays(runtime, dmnModel, 44, 20, 24);
+        checkVacationDays(runtime, dmnModel, 60, 20, 30);
+    }
+
+    private void checkVacationDays(final DMNRuntime runtime, final DMNModel dmnModel, final int age, final int yearsService, final int expectedVacationDays) {
+        final DMNContext context = DMNFactory.newContext();
+        context.set("Age", age);
+        context.set("Years of Service", yearsService);
+
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, context);
+        assertFalse(dmnResult.getMessages().toString(), dmnResult.hasErrors());
+        assertThat(dmnResult.getContext().get("Total Vacation Days"), is(BigDecimal.valueOf(expectedVacationDays)));
+    }
+
+    @Test
+    public void testInvocation() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0009-invocation-arithmetic.dmn", this.getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_cb28c255-91cd-4c01-ac7b-1a9cb1ecdb11", "literal invocation1");
+        assertThat(dmnModel, notNullValue());
+        assertFalse(dmnModel.getMessages().toString(), dmnModel.hasErrors());
+        assertLiteralExpressionsCompiled(dmnModel);
+
+        final DMNContext context = DMNFactory.newContext();
+        context.set("fee", new BigDecimal(100));
+        final Map<String, Object> loan = new HashMap<>();
+        loan.put("amount", new BigDecimal(600000));
+        loan.put("rate", new BigDecimal("0.0375"));
+        loan.put("term", new BigDecimal(360));
+        context.set("Loan", loan);
+
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, context);
+        assertFalse(dmnResult.getMessages().toString(), dmnResult.hasErrors());
+        assertThat(((BigDecimal) dmnResult.getContext().get("MonthlyPayment")).setScale(8, BigDecimal.ROUND_DOWN),
+                   is(new BigDecimal("2878.69354943277").setScale(8, BigDecimal.ROUND_DOWN)));
+    }
+
+    private void assertLiteralExpressionsCompiled(final DMNModel dmnModel) {
+        final List<DMNExpressionEvaluator> evaluators = new ArrayList<>();
+        for (final DecisionNode decision : dmnModel.getDecisions()) {
+            evaluators.add(((DecisionNodeImpl) decision).getEvaluator());
+        }
+        for (final BusinessKnowledgeModelNode bkm : dmnModel.getBusinessKnowledgeModels()) {
+            evaluators.add(((BusinessKnowledgeModelNodeImpl) bkm).getEvaluator());
+        }
+
+        int literalExpressions = 0;
+        for (DMNExpressionEvaluator evaluator : evaluators) {
+            if (evaluator instanceof DMNFunctionDefinitionEvaluator) {
+                evaluator = ((DMNFunctionDefinitionEvaluator) evaluator).getEvaluator();
+            }
+            if (evaluator instanceof DMNLiteralExpressionEvaluator) {
+                final CompiledExpression expression = ((DMNLiteralExpressionEvaluator) evaluator).getExpression();
+                assertThat(expression, instanceOf(ProcessedExpression.class));
+                assertThat(((ProcessedExpression) expression).getDefaultResult(), instanceOf(CompiledExecutableExpression.class));
+                literalExpressions++;
+            }
+        }
+        assertTrue(literalExpressions > 0);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.compiler.InvocationCacheOption;
+import org.kie.dmn.core.decisionservices.DMNDecisionServicesTest;
+import org.kie.dmn.core.impl.DMNInvocationCache;
+import org.kie.dmn.core.impl.DMNModelImpl;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class DMNInvocationCacheTest {
+
+    @Before
+    public void before() {
+        System.setProperty(InvocationCacheOption.PROPERTY_NAME, "16");
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(InvocationCacheOption.PROPERTY_NAME);
+    }
+
+    @Test
+    public void testBKMInvocationIsMemoized() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0009-invocation-arithmetic.dmn", this.getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_cb28c255-91cd-4c01-ac7b-1a9cb1ecdb11", "literal invocation1");
+        assertThat(dmnModel, notNullValue());
+        assertFalse(dmnModel.getMessages().toString(), dmnModel.hasErrors());
+
+        final DMNInvocationCache cache = ((DMNModelImpl) dmnModel).getInvocationCache();
+        assertThat(cache, notNullValue());
+
+        final BigDecimal first = evaluateMonthlyPayment(runtime, dmnModel, new BigDecimal(600000));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(0L));
+
+        final BigDecimal second = evaluateMonthlyPayment(runtime, dmnModel, new BigDecimal(600000));
+        assertThat(second, is(first));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(1L));
+
+        evaluateMonthlyPayment(runtime, dmnModel, new BigDecimal(500000));
+        assertThat(cache.getMisses(), is(2L));
+        assertThat(cache.size(), is(2));
+    }
+
+    private BigDecimal evaluateMonthlyPayment(final DMNRuntime runtime, final DMNModel dmnModel, final BigDecimal amount) {
+        final Map<String, Object> loan = new HashMap<>();
+        loan.put("amount", amount);
+        loan.put("rate", new BigDecimal("0.0375"));
+        loan.put("term", BigDecimal.valueOf(360));
+        final DMNContext context = DMNFactory.newContext();
+        context.set("fee", 100);
+        context.set("Loan", loan);
+
+        final DMNResult dmnResult = runtime.evaluateAll(dmnModel, context);
+        assertFalse(dmnResult.getMessages().toString(), dmnResult.hasErrors());
+        return (BigDecimal) dmnResult.getContext().get("MonthlyPayment");
+    }
+
+    @Test
+    public void testDecisionServiceInvocationIsMemoized() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("DecisionServicesInLiteralExpression.dmn", DMNDecisionServicesTest.class);
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_686f58d4-4ec3-4c65-8c06-0e4fd8983def", "Decision Services");
+        assertThat(dmnModel, notNullValue());
+        assertFalse(dmnModel.getMessages().toString(), dmnModel.hasErrors());
+
+        final DMNInvocationCache cache = ((DMNModelImpl) dmnModel).getInvocationCache();
+        for (int i = 0; i < 3; i++) {
+            final DMNContext context = DMNFactory.newContext();
+            context.set("D", "d");
+            context.set("E", "e");
+
+            final DMNResult dmnResult = runtime.evaluateAll(dmnModel, context);
+            assertFalse(dmnResult.getMessages().toString(), dmnResult.hasErrors());
+            assertThat(dmnResult.getContext().get("Decide based on A and DS"), is("xyde"));
+        }
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(2L));
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() {
+        System.clearProperty(InvocationCacheOption.PROPERTY_NAME);
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0009-invocation-arithmetic.dmn", this.getClass());
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_cb28c255-91cd-4c01-ac7b-1a9cb1ecdb11", "literal invocation1");
+        assertThat(((DMNModelImpl) dmnModel).getInvocationCache(), nullValue());
+    }
+}
@@ -66,6 +66,13 @@ public class ProcessedExpression extends ProcessedFEELUnit {
         return this;
     }
 
+    /**
+     * Returns the compiled or interpreted expression evaluated by {@link #apply(EvaluationContext)}, as chosen by {@link #getResult()}
+     */
+    public CompiledFEELExpression getDefaultResult() {
+        return defaultResult;
+    }
+
     private DirectCompilerResult getCompilerResult() {
         if (compiledExpression == null) {
             if (errorListener.isError()) {
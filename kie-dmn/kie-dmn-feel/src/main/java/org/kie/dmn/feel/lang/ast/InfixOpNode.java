@@ -33,15 +33,20 @@ import java.util.function.BinaryOperator;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.lang.Type;
 import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.lang.types.impl.ComparablePeriod;
+import org.kie.dmn.feel.runtime.events.ASTEventBase;
 import org.kie.dmn.feel.util.EvalHelper;
+import org.kie.dmn.feel.util.Msg;
 
 public class InfixOpNode
         extends BaseNode {
 
+    private static final int DECIMAL128_PRECISION = MathContext.DECIMAL128.getPrecision();
+
     public static enum InfixOperator {
         ADD( "+" ),
         SUB( "-" ),
@@ -204,6 +209,9 @@ public class InfixOpNode
     }
 
     public static Object add(Object left, Object right, EvaluationContext ctx) {
+        if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            return addNumbers( (BigDecimal) left, (BigDecimal) right, false, ctx );
+        }
         if ( left == null || right == null ) {
             return null;
         } else if ( left instanceof String && right instanceof String ) {
@@ -258,6 +266,9 @@ public class InfixOpNode
     }
 
     public static Object sub(Object left, Object right, EvaluationContext ctx) {
+        if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            return addNumbers( (BigDecimal) left, (BigDecimal) right, true, ctx );
+        }
         if ( left == null || right == null ) {
             return null;
         } else if ( left instanceof Temporal && right instanceof Temporal ) {
@@ -303,6 +314,9 @@ public class InfixOpNode
     }
 
     public static Object mult(Object left, Object right, EvaluationContext ctx) {
+        if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            return multiplyNumbers( (BigDecimal) left, (BigDecimal) right, ctx );
+        }
         if ( left == null || right == null ) {
             return null;
         } else if ( left instanceof Duration && right instanceof Number ) {
@@ -323,6 +337,9 @@ public class InfixOpNode
     }
 
     public static Object div(Object left, Object right, EvaluationContext ctx) {
+        if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            return math( left, right, ctx, (l, r) -> l.divide( r, MathContext.DECIMAL128 ) );
+        }
         if ( left == null || right == null ) {
             return null;
         } else if ( left instanceof Duration && right instanceof Number ) {
@@ -342,6 +359,48 @@ public class InfixOpNode
         }
     }
 
+    /**
+     * Adds or subtracts two numbers. When the exact result fits in the DECIMAL128 precision it is also the result of
+     * the DECIMAL128 operation, with the same scale, so the rounding is skipped; the exact operation works on the
+     * compact long representation of the numbers that have less than 19 digits.
+     */
+    private static BigDecimal addNumbers(BigDecimal l, BigDecimal r, boolean subtract, EvaluationContext ctx) {
+        int scale = Math.max( l.scale(), r.scale() );
+        long digits = Math.max( (long) l.precision() + scale - l.scale(), (long) r.precision() + scale - r.scale() );
+        try {
+            if ( digits < DECIMAL128_PRECISION ) {
+                return subtract ? l.subtract( r ) : l.add( r );
+            }
+            return subtract ? l.subtract( r, MathContext.DECIMAL128 ) : l.add( r, MathContext.DECIMAL128 );
+        } catch ( ArithmeticException e ) {
+            return arithmeticError( subtract ? InfixOperator.SUB : InfixOperator.ADD, e, ctx );
+        }
+    }
+
+    /**
+     * Multiplies two numbers, skipping the rounding when the exact result fits in the DECIMAL128 precision as
+     * {@link #addNumbers(BigDecimal, BigDecimal, boolean, EvaluationContext)} does.
+     */
+    private static BigDecimal multiplyNumbers(BigDecimal l, BigDecimal r, EvaluationContext ctx) {
+        try {
+            if ( l.precision() + r.precision() <= DECIMAL128_PRECISION ) {
+                return l.multiply( r );
+            }
+            return l.multiply( r, MathContext.DECIMAL128 );
+        } catch ( ArithmeticException e ) {
+            return arithmeticError( InfixOperator.MULT, e, ctx );
+        }
+    }
+
+    /**
+     * Notifies an error for an operation whose result can't be represented, like an overflow of the exponent,
+     * and returns null as its result
+     */
+    private static BigDecimal arithmeticError(InfixOperator operator, ArithmeticException e, EvaluationContext ctx) {
+        ctx.notifyEvt( () -> new ASTEventBase( FEELEvent.Severity.ERROR, Msg.createMessage( Msg.ARITHMETIC_ERROR, operator.symbol, e.getMessage() ), null, e ) );
+        return null;
+    }
+
     public static Object math(Object left, Object right, EvaluationContext ctx, BinaryOperator<BigDecimal> op) {
         BigDecimal l = EvalHelper.getBigDecimalOrNull( left );
         BigDecimal r = EvalHelper.getBigDecimalOrNull( right );
@@ -17,6 +17,7 @@
 package org.kie.dmn.feel.runtime.decisiontables;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,6 +57,7 @@ public class DecisionTableImpl implements DecisionTable {
     private List<DTDecisionRule> decisionRules;
     private HitPolicy            hitPolicy;
     private boolean              hasDefaultValues;
+    private DecisionTableIndex   index;
 
     private FEEL feel;
 
@@ -248,9 +250,20 @@ public class DecisionTableImpl implements DecisionTable {
      */
     private List<DTDecisionRule> findMatches(EvaluationContext ctx, Object[] params) {
         List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
-        for ( DTDecisionRule decisionRule : decisionRules ) {
-            if ( matches( ctx, params, decisionRule ) ) {
-                matchingDecisionRules.add( decisionRule );
+        BitSet candidates = index != null ? index.findCandidates( params ) : null;
+        if ( candidates != null ) {
+            // only the rules that the index could not exclude are tested, still in the order of the table
+            for ( int i = candidates.nextSetBit( 0 ); i >= 0; i = candidates.nextSetBit( i + 1 ) ) {
+                DTDecisionRule decisionRule = decisionRules.get( i );
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
+            }
+        } else {
+            for ( DTDecisionRule decisionRule : decisionRules ) {
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
             }
         }
         ctx.notifyEvt( () -> {
@@ -369,6 +382,18 @@ public class DecisionTableImpl implements DecisionTable {
         return compiledParameterNames;
     }
 
+    /**
+     * Sets the index used to find the rules that can match the input values, built by the DMN layer from the text of
+     * the input entries. Without an index all the rules are tested.
+     */
+    public void setIndex(DecisionTableIndex index) {
+        this.index = index;
+    }
+
+    public DecisionTableIndex getIndex() {
+        return index;
+    }
+
     public String getSignature() {
         return getName() + "( " + parameterNames.stream().collect( Collectors.joining( ", " ) ) + " )";
     }
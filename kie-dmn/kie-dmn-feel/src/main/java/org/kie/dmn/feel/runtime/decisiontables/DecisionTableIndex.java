@@ -0,0 +1,417 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
+import org.kie.dmn.feel.codegen.feel11.ASTUnaryTestTransform;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.lang.ast.BooleanNode;
+import org.kie.dmn.feel.lang.ast.NumberNode;
+import org.kie.dmn.feel.lang.ast.RangeNode;
+import org.kie.dmn.feel.lang.ast.SignedUnaryNode;
+import org.kie.dmn.feel.lang.ast.StringNode;
+import org.kie.dmn.feel.lang.ast.UnaryTestListNode;
+import org.kie.dmn.feel.lang.ast.UnaryTestNode;
+import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
+import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
+import org.kie.dmn.feel.parser.feel11.FEELParser;
+import org.kie.dmn.feel.util.EvalHelper;
+
+/**
+ * An index of the rules of a decision table, built from the text of their input entries, used to find the rules
+ * that can possibly match a given set of input values without testing every rule.
+ *
+ * For each input column the entries that are literals (strings, numbers and booleans) are kept in a map from the
+ * value to the rules having it, and the entries that are numeric comparisons or ranges are kept in an interval tree.
+ * All the other entries ("-", negations, expressions, ...) are considered to match any value.
+ * The candidate rules are the intersection of the rules found for each column; the index is only a prefilter,
+ * the candidates are still tested with their input entries, so the hit policies apply as with a linear scan.
+ */
+public class DecisionTableIndex {
+
+    /**
+     * Decision tables with fewer rules than this are scanned linearly
+     */
+    public static final int MIN_INDEXED_RULES = 8;
+
+    private final ColumnIndex[] columns;
+
+    private DecisionTableIndex(ColumnIndex[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Builds the index of a decision table
+     *
+     * @param inputsCount the number of input clauses of the decision table
+     * @param inputEntries for each rule, in order, the text of its input entries
+     * @return the index, or null if the table is too small or none of its columns can be indexed
+     */
+    public static DecisionTableIndex build(int inputsCount, List<List<String>> inputEntries) {
+        if (inputsCount == 0 || inputEntries.size() < MIN_INDEXED_RULES) {
+            return null;
+        }
+        ColumnIndex[] columns = new ColumnIndex[inputsCount];
+        boolean indexed = false;
+        for (int i = 0; i < inputsCount; i++) {
+            ColumnIndex column = new ColumnIndex();
+            for (int rule = 0; rule < inputEntries.size(); rule++) {
+                List<String> entries = inputEntries.get(rule);
+                column.addEntry(rule, i < entries.size() ? entries.get(i) : null);
+            }
+            if (column.isIndexed()) {
+                column.buildIntervals();
+                columns[i] = column;
+                indexed = true;
+            }
+        }
+        return indexed ? new DecisionTableIndex(columns) : null;
+    }
+
+    /**
+     * Returns the positions of the rules that can match the given input values, in ascending order, or null if
+     * none of the values can be looked up in the index and all the rules have to be tested
+     */
+    public BitSet findCandidates(Object[] params) {
+        BitSet candidates = null;
+        for (int i = 0; i < columns.length && i < params.length; i++) {
+            if (columns[i] == null) {
+                continue;
+            }
+            BitSet columnCandidates = columns[i].findCandidates(params[i]);
+            if (columnCandidates == null) {
+                continue;
+            }
+            if (candidates == null) {
+                candidates = columnCandidates;
+            } else {
+                candidates.and(columnCandidates);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private static BaseNode parse(String text) {
+        boolean[] error = new boolean[1];
+        FEELEventListenersManager eventsManager = new FEELEventListenersManager();
+        eventsManager.addListener(e -> error[0] |= e.getSeverity() == FEELEvent.Severity.ERROR);
+        try {
+            ParseTree tree = FEELParser.parse(eventsManager,
+                                              text,
+                                              Collections.emptyMap(),
+                                              Collections.emptyMap(),
+                                              Collections.emptyList(),
+                                              Collections.emptyList(),
+                                              null).unaryTestsRoot();
+            BaseNode ast = tree.accept(new ASTBuilderVisitor(Collections.emptyMap(), null));
+            ast = ast.accept(new ASTUnaryTestTransform()).node();
+            return error[0] ? null : ast;
+        } catch (RuntimeException e) {
+            // the entry is tested as usual, it is just not indexed
+            return null;
+        }
+    }
+
+    private static Object key(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal number = (BigDecimal) value;
+            // 1 and 1.0 are the same FEEL number
+            return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+        }
+        return value;
+    }
+
+    private static BigDecimal numberValue(BaseNode node) {
+        if (node instanceof NumberNode) {
+            return ((NumberNode) node).getValue();
+        }
+        if (node instanceof SignedUnaryNode && ((SignedUnaryNode) node).getExpression() instanceof NumberNode) {
+            BigDecimal value = ((NumberNode) ((SignedUnaryNode) node).getExpression()).getValue();
+            return ((SignedUnaryNode) node).getSign() == SignedUnaryNode.Sign.NEGATIVE ? value.negate() : value;
+        }
+        return null;
+    }
+
+    private static class ColumnIndex {
+
+        private final BitSet anyValueRules = new BitSet();
+        private final BitSet intervalRules = new BitSet();
+        private final Map<Object, BitSet> literalRules = new HashMap<>();
+        private final List<Interval> intervals = new ArrayList<>();
+        private IntervalTree intervalTree;
+
+        private void addEntry(int rule, String text) {
+            BaseNode ast = text == null || text.isEmpty() ? null : parse(text);
+            if (!(ast instanceof UnaryTestListNode) || ((UnaryTestListNode) ast).isNegated()) {
+                anyValueRules.set(rule);
+                return;
+            }
+            List<Object> literals = new ArrayList<>();
+            List<Interval> ruleIntervals = new ArrayList<>();
+            for (BaseNode test : ((UnaryTestListNode) ast).getElements()) {
+                if (!addTest(rule, test, literals, ruleIntervals)) {
+                    // the entry matches if any of its tests does
+                    anyValueRules.set(rule);
+                    return;
+                }
+            }
+            for (Object literal : literals) {
+                literalRules.computeIfAbsent(literal, k -> new BitSet()).set(rule);
+            }
+            if (!ruleIntervals.isEmpty()) {
+                intervals.addAll(ruleIntervals);
+                intervalRules.set(rule);
+            }
+        }
+
+        private boolean addTest(int rule, BaseNode node, List<Object> literals, List<Interval> ruleIntervals) {
+            if (!(node instanceof UnaryTestNode)) {
+                return false;
+            }
+            UnaryTestNode test = (UnaryTestNode) node;
+            BaseNode value = test.getValue();
+            BigDecimal number = numberValue(value);
+            switch (test.getOperator()) {
+                case EQ:
+                    if (number != null) {
+                        literals.add(key(number));
+                    } else if (value instanceof StringNode) {
+                        literals.add(EvalHelper.unescapeString(value.getText()));
+                    } else if (value instanceof BooleanNode) {
+                        literals.add(((BooleanNode) value).getValue());
+                    } else {
+                        return false;
+                    }
+                    return true;
+                case LT:
+                case LTE:
+                    if (number == null) {
+                        return false;
+                    }
+                    ruleIntervals.add(new Interval(rule, null, false, number, test.getOperator() == UnaryTestNode.UnaryOperator.LTE));
+                    return true;
+                case GT:
+                case GTE:
+                    if (number == null) {
+                        return false;
+                    }
+                    ruleIntervals.add(new Interval(rule, number, test.getOperator() == UnaryTestNode.UnaryOperator.GTE, null, false));
+                    return true;
+                case IN:
+                    if (!(value instanceof RangeNode)) {
+                        return false;
+                    }
+                    RangeNode range = (RangeNode) value;
+                    BigDecimal start = numberValue(range.getStart());
+                    BigDecimal end = numberValue(range.getEnd());
+                    if (start == null || end == null) {
+                        return false;
+                    }
+                    ruleIntervals.add(new Interval(rule,
+                                                   start, range.getLowerBound() == RangeNode.IntervalBoundary.CLOSED,
+                                                   end, range.getUpperBound() == RangeNode.IntervalBoundary.CLOSED));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private boolean isIndexed() {
+            return !literalRules.isEmpty() || !intervals.isEmpty();
+        }
+
+        private void buildIntervals() {
+            intervalTree = IntervalTree.build(intervals);
+            intervals.clear();
+        }
+
+        private BitSet findCandidates(Object param) {
+            if (param instanceof BigDecimal) {
+                BitSet candidates = (BitSet) anyValueRules.clone();
+                BitSet literalMatches = literalRules.get(key(param));
+                if (literalMatches != null) {
+                    candidates.or(literalMatches);
+                }
+                if (intervalTree != null) {
+                    intervalTree.collect((BigDecimal) param, candidates);
+                }
+                return candidates;
+            }
+            if (param instanceof String || param instanceof Boolean) {
+                BitSet candidates = (BitSet) anyValueRules.clone();
+                BitSet literalMatches = literalRules.get(param);
+                if (literalMatches != null) {
+                    candidates.or(literalMatches);
+                }
+                // a range tested with a value that is not a number reports an error, so these rules are still tested
+                candidates.or(intervalRules);
+                return candidates;
+            }
+            // nulls, other numbers, dates, lists, ... go through all the rules
+            return null;
+        }
+    }
+
+    private static class Interval {
+
+        private static final Comparator<Interval> BY_LOW = (i1, i2) -> compareBounds(i1.low, i2.low, -1);
+        private static final Comparator<Interval> BY_HIGH_DESCENDING = (i1, i2) -> compareBounds(i2.high, i1.high, 1);
+
+        private final int rule;
+        private final BigDecimal low;
+        private final boolean lowClosed;
+        private final BigDecimal high;
+        private final boolean highClosed;
+
+        private Interval(int rule, BigDecimal low, boolean lowClosed, BigDecimal high, boolean highClosed) {
+            this.rule = rule;
+            this.low = low;
+            this.lowClosed = lowClosed;
+            this.high = high;
+            this.highClosed = highClosed;
+        }
+
+        private boolean includes(BigDecimal value) {
+            if (low != null) {
+                int compare = low.compareTo(value);
+                if (compare > 0 || (compare == 0 && !lowClosed)) {
+                    return false;
+                }
+            }
+            if (high != null) {
+                int compare = high.compareTo(value);
+                return compare > 0 || (compare == 0 && highClosed);
+            }
+            return true;
+        }
+
+        /**
+         * Compares two bounds where null is an infinite bound, below all the numbers when unboundedSign is -1 and
+         * above them when it is 1
+         */
+        private static int compareBounds(BigDecimal b1, BigDecimal b2, int unboundedSign) {
+            if (b1 == null) {
+                return b2 == null ? 0 : unboundedSign;
+            }
+            return b2 == null ? -unboundedSign : b1.compareTo(b2);
+        }
+    }
+
+    /**
+     * A centered interval tree: each node keeps the intervals containing its center, sorted by their lower and by
+     * their upper bound, while the intervals entirely below or above the center go to the left or right subtree.
+     */
+    private static class IntervalTree {
+
+        private final BigDecimal center;
+        private final Interval[] byLow;
+        private final Interval[] byHighDescending;
+        private final IntervalTree left;
+        private final IntervalTree right;
+
+        private IntervalTree(BigDecimal center, List<Interval> centered, IntervalTree left, IntervalTree right) {
+            this.center = center;
+            this.byLow = centered.toArray(new Interval[centered.size()]);
+            Arrays.sort(byLow, Interval.BY_LOW);
+            this.byHighDescending = centered.toArray(new Interval[centered.size()]);
+            Arrays.sort(byHighDescending, Interval.BY_HIGH_DESCENDING);
+            this.left = left;
+            this.right = right;
+        }
+
+        private static IntervalTree build(List<Interval> intervals) {
+            if (intervals.isEmpty()) {
+                return null;
+            }
+            TreeSet<BigDecimal> bounds = new TreeSet<>();
+            for (Interval interval : intervals) {
+                if (interval.low != null) {
+                    bounds.add(interval.low);
+                }
+                if (interval.high != null) {
+                    bounds.add(interval.high);
+                }
+            }
+            // every interval has at least a bound, so the one defining the center stays in this node
+            BigDecimal center = new ArrayList<>(bounds).get(bounds.size() / 2);
+            List<Interval> below = new ArrayList<>();
+            List<Interval> above = new ArrayList<>();
+            List<Interval> centered = new ArrayList<>();
+            for (Interval interval : intervals) {
+                if (interval.high != null && interval.high.compareTo(center) < 0) {
+                    below.add(interval);
+                } else if (interval.low != null && interval.low.compareTo(center) > 0) {
+                    above.add(interval);
+                } else {
+                    centered.add(interval);
+                }
+            }
+            return new IntervalTree(center, centered, build(below), build(above));
+        }
+
+        private void collect(BigDecimal value, BitSet rules) {
+            int compare = value.compareTo(center);
+            if (compare < 0) {
+                for (Interval interval : byLow) {
+                    if (interval.low != null && interval.low.compareTo(value) > 0) {
+                        break;
+                    }
+                    if (interval.includes(value)) {
+                        rules.set(interval.rule);
+                    }
+                }
+                if (left != null) {
+                    left.collect(value, rules);
+                }
+            } else if (compare > 0) {
+                for (Interval interval : byHighDescending) {
+                    if (interval.high != null && interval.high.compareTo(value) < 0) {
+                        break;
+                    }
+                    if (interval.includes(value)) {
+                        rules.set(interval.rule);
+                    }
+                }
+                if (right != null) {
+                    right.collect(value, rules);
+                }
+            } else {
+                for (Interval interval : byLow) {
+                    if (interval.includes(value)) {
+                        rules.set(interval.rule);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -146,6 +146,9 @@ public class EvalHelper {
     }
 
     public static BigDecimal getBigDecimalOrNull(Object value) {
+        if ( value instanceof BigDecimal ) {
+            return (BigDecimal) value;
+        }
         if ( value == null ||
                 !(value instanceof Number
                 || value instanceof String)
@@ -156,7 +159,8 @@ public class EvalHelper {
         if ( !BigDecimal.class.isAssignableFrom( value.getClass() ) ) {
             if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
                  value instanceof AtomicLong || value instanceof AtomicInteger ) {
-                value = new BigDecimal( ((Number) value).longValue(), MathContext.DECIMAL128 );
+                // a long never needs rounding to DECIMAL128, and the small values are cached
+                value = BigDecimal.valueOf( ((Number) value).longValue() );
             } else if ( value instanceof BigInteger ) {
                 value = new BigDecimal( (BigInteger) value, MathContext.DECIMAL128 );
             } else if ( value instanceof String ) {
@@ -512,6 +516,9 @@ public class EvalHelper {
     public static Boolean compare(Object left, Object right, EvaluationContext ctx, BiPredicate<Comparable, Comparable> op) {
         if ( left == null || right == null ) {
             return null;
+        } else if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            // the most common case, checked first
+            return op.test( (BigDecimal) left, (BigDecimal) right );
         } else if (left instanceof ChronoPeriod && right instanceof ChronoPeriod) {
             // periods have special compare semantics in FEEL as it ignores "days". Only months and years are compared
             Long l = ComparablePeriod.toTotalMonths((ChronoPeriod) left);
@@ -551,6 +558,9 @@ public class EvalHelper {
         if ( left == null || right == null ) {
             return left == right;
         }
+        if ( left instanceof BigDecimal && right instanceof BigDecimal ) {
+            return ((BigDecimal) left).compareTo( (BigDecimal) right ) == 0;
+        }
 
         // spec defines that "a=[a]", i.e., singleton collections should be treated as the single element
         // and vice-versa
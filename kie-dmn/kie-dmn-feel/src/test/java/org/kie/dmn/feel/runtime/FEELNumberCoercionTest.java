@@ -16,13 +16,22 @@
 package org.kie.dmn.feel.runtime;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.codegen.feel11.CodegenTestUtil;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.ast.InfixOpNode;
 import org.kie.dmn.feel.lang.ast.InfixOpNode.InfixOperator;
+import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -77,6 +86,37 @@ public class FEELNumberCoercionTest {
         assertThat( evaluate("ceiling( x.y )", var("x", new HashMap<String, Object>(){{ put("y", 1.01d); }} )), is( getBigDecimalOrNull( 2d ) ) );
     }
 
+    @Test
+    public void testArithmeticFastPathMatchesDecimal128() {
+        final BigDecimal[] values = {
+                BigDecimal.ZERO, new BigDecimal( "0.000" ), new BigDecimal( "0E+5" ), BigDecimal.ONE, new BigDecimal( "-7" ),
+                new BigDecimal( "1.10" ), new BigDecimal( "123456789.123456789" ), new BigDecimal( "5E+3" ),
+                new BigDecimal( Long.MAX_VALUE ), new BigDecimal( "12345678901234567890123456789012345" ),
+                new BigDecimal( "0.1234567890123456789012345678901234" ), new BigDecimal( "9999999999999999.9999999999999999" ) };
+        for ( final BigDecimal l : values ) {
+            for ( final BigDecimal r : values ) {
+                // equals() also checks the scale, that shows in the string representation of the results
+                assertThat( InfixOpNode.add( l, r, null ), is( l.add( r, MathContext.DECIMAL128 ) ) );
+                assertThat( InfixOpNode.sub( l, r, null ), is( l.subtract( r, MathContext.DECIMAL128 ) ) );
+                assertThat( InfixOpNode.mult( l, r, null ), is( l.multiply( r, MathContext.DECIMAL128 ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void testArithmeticFastPathNotifiesError() {
+        final List<FEELEvent> events = new ArrayList<>();
+        final FEELEventListenersManager mgr = new FEELEventListenersManager();
+        mgr.addListener( events::add );
+        final EvaluationContext ctx = CodegenTestUtil.newEmptyEvaluationContext( mgr );
+
+        // the exponent of the product overflows
+        final BigDecimal huge = new BigDecimal( BigInteger.ONE, Integer.MIN_VALUE + 1 );
+        assertThat( InfixOpNode.mult( huge, huge, ctx ), is( nullValue() ) );
+        assertThat( events.size(), is( 1 ) );
+        assertThat( events.get( 0 ).getSeverity(), is( FEELEvent.Severity.ERROR ) );
+    }
+
     @Test
     public void testMethodGetBigDecimalOrNull() {
         assertThat( getBigDecimalOrNull((short) 1), is(BigDecimal.ONE) );
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.FEELImpl;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DecisionTableIndexTest {
+
+    private static final List<List<String>> RULES = Arrays.asList(
+            Arrays.asList("\"gold\"", "< 10"),
+            Arrays.asList("\"gold\"", "[10..20]"),
+            Arrays.asList("\"gold\"", "> 20"),
+            Arrays.asList("\"silver\"", "<= 5"),
+            Arrays.asList("\"silver\",\"bronze\"", "(5..15)"),
+            Arrays.asList("\"silver\"", ">= 15"),
+            Arrays.asList("-", "-42"),
+            Arrays.asList("not(\"gold\")", "42"),
+            Arrays.asList("\"bronze\"", "-"),
+            Arrays.asList("\"gold\"", "[-5..0]"));
+
+    @Test
+    public void testCandidatesContainTheMatchingRules() {
+        DecisionTableIndex index = DecisionTableIndex.build(2, RULES);
+
+        for (String category : Arrays.asList("gold", "silver", "bronze", "platinum")) {
+            for (int amount = -50; amount <= 50; amount++) {
+                Object[] params = {category, new BigDecimal(amount)};
+                BitSet candidates = index.findCandidates(params);
+                BitSet matches = findMatches(params);
+                BitSet missing = (BitSet) matches.clone();
+                missing.andNot(candidates);
+                assertTrue("Rules " + missing + " missing for " + Arrays.toString(params), missing.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testLookupExcludesRules() {
+        DecisionTableIndex index = DecisionTableIndex.build(2, RULES);
+
+        assertEquals(bits(1), index.findCandidates(new Object[]{"gold", new BigDecimal("10.0")}));
+        assertEquals(bits(3), index.findCandidates(new Object[]{"silver", new BigDecimal(5)}));
+        // rule 6 matches any category
+        assertEquals(bits(3, 6), index.findCandidates(new Object[]{"silver", new BigDecimal(-42)}));
+        assertEquals(bits(0, 9), index.findCandidates(new Object[]{"gold", BigDecimal.ZERO}));
+        // a null amount can't be looked up, only the category is
+        assertEquals(bits(3, 4, 5, 6, 7), index.findCandidates(new Object[]{"silver", null}));
+    }
+
+    @Test
+    public void testNoIndexForSmallOrNotIndexableTables() {
+        assertNull(DecisionTableIndex.build(2, RULES.subList(0, DecisionTableIndex.MIN_INDEXED_RULES - 1)));
+        assertNull(DecisionTableIndex.build(1, Collections.nCopies(RULES.size(), Collections.singletonList("-"))));
+    }
+
+    private static BitSet findMatches(Object[] params) {
+        FEEL feel = FEEL.newInstance();
+        EvaluationContext ctx = ((FEELImpl) feel).newEvaluationContext(Collections.emptyList(), Collections.emptyMap());
+        BitSet matches = new BitSet();
+        for (int rule = 0; rule < RULES.size(); rule++) {
+            boolean match = true;
+            for (int i = 0; i < params.length && match; i++) {
+                match = false;
+                for (UnaryTest test : feel.evaluateUnaryTests(RULES.get(rule).get(i))) {
+                    Boolean result = test.apply(ctx, params[i]);
+                    match |= result != null && result;
+                }
+            }
+            if (match) {
+                matches.set(rule);
+            }
+        }
+        return matches;
+    }
+
+    private static BitSet bits(int... rules) {
+        BitSet bits = new BitSet();
+        for (int rule : rules) {
+            bits.set(rule);
+        }
+        return bits;
+    }
+}